@@ -0,0 +1,106 @@
+package com.uav.dockingmanagement.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Records and compares JMH JSON results.
+ *
+ * <pre>
+ * record  &lt;jmh-result.json&gt; &lt;baseline.json&gt;
+ * compare &lt;baseline.json&gt; &lt;jmh-result.json&gt; [thresholdPercent]
+ * </pre>
+ *
+ * Results are matched on benchmark name and parameters. {@code compare} prints the change of every
+ * score and exits with status 1 when any benchmark is slower than the baseline by more than the
+ * threshold (default 10%), taking into account whether higher or lower is better for its mode.
+ */
+public final class BenchmarkBaseline {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private BenchmarkBaseline() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length >= 3 && "record".equals(args[0])) {
+            File baseline = new File(args[2]);
+            if (baseline.getParentFile() != null) {
+                baseline.getParentFile().mkdirs();
+            }
+            MAPPER.writerWithDefaultPrettyPrinter().writeValue(baseline, MAPPER.readTree(new File(args[1])));
+            System.out.println("Recorded baseline " + baseline);
+        } else if (args.length >= 3 && "compare".equals(args[0])) {
+            double threshold = args.length >= 4 ? Double.parseDouble(args[3]) : 10.0;
+            System.exit(compare(new File(args[1]), new File(args[2]), threshold) ? 0 : 1);
+        } else {
+            System.err.println("Usage: record <jmh-result.json> <baseline.json> | compare <baseline.json> <jmh-result.json> [thresholdPercent]");
+            System.exit(2);
+        }
+    }
+
+    /**
+     * @return true when no benchmark regressed by more than {@code thresholdPercent}
+     */
+    static boolean compare(File baselineFile, File resultFile, double thresholdPercent) throws IOException {
+        Map<String, JsonNode> baseline = index(MAPPER.readTree(baselineFile));
+        Map<String, JsonNode> current = index(MAPPER.readTree(resultFile));
+
+        boolean passed = true;
+        System.out.printf("%-90s %14s %14s %9s%n", "Benchmark", "Baseline", "Current", "Change");
+        for (Map.Entry<String, JsonNode> entry : current.entrySet()) {
+            JsonNode result = entry.getValue();
+            double score = result.path("primaryMetric").path("score").asDouble();
+            String unit = result.path("primaryMetric").path("scoreUnit").asText();
+            JsonNode previous = baseline.get(entry.getKey());
+            if (previous == null) {
+                System.out.printf("%-90s %14s %14.3f %9s  %s%n", entry.getKey(), "-", score, "new", unit);
+                continue;
+            }
+
+            double baselineScore = previous.path("primaryMetric").path("score").asDouble();
+            double changePercent = baselineScore == 0.0 ? 0.0 : (score - baselineScore) / baselineScore * 100.0;
+            // Throughput modes are better when higher, time modes when lower
+            boolean higherIsBetter = "thrpt".equals(result.path("mode").asText());
+            double regressionPercent = higherIsBetter ? -changePercent : changePercent;
+            boolean regressed = regressionPercent > thresholdPercent;
+            passed &= !regressed;
+
+            System.out.printf("%-90s %14.3f %14.3f %+8.1f%%  %s%s%n", entry.getKey(), baselineScore, score,
+                              changePercent, unit, regressed ? "  REGRESSION" : "");
+        }
+        for (String missing : baseline.keySet()) {
+            if (!current.containsKey(missing)) {
+                System.out.printf("%-90s %14s%n", missing, "not run");
+            }
+        }
+        return passed;
+    }
+
+    private static Map<String, JsonNode> index(JsonNode results) {
+        Map<String, JsonNode> indexed = new LinkedHashMap<>();
+        for (JsonNode result : results) {
+            indexed.put(key(result), result);
+        }
+        return indexed;
+    }
+
+    private static String key(JsonNode result) {
+        StringBuilder key = new StringBuilder(result.path("benchmark").asText());
+        Map<String, String> params = new TreeMap<>();
+        Iterator<Map.Entry<String, JsonNode>> fields = result.path("params").fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            params.put(field.getKey(), field.getValue().asText());
+        }
+        params.forEach((name, value) -> key.append(' ').append(name).append('=').append(value));
+        return key.toString();
+    }
+}
@@ -0,0 +1,62 @@
+package com.uav.dockingmanagement.benchmark;
+
+import com.uav.dockingmanagement.service.ConflictDetector;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One deconfliction cycle at constant traffic density.
+ * The area grows with the fleet size, so time per cycle divided by {@code uavCount}
+ * should stay roughly flat if the grid scales near-linearly.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ConflictDetectorBenchmark {
+
+    /** Area side in degrees holding 1000 UAVs, about 2.8 km */
+    private static final double SIDE_PER_1000 = 0.025;
+
+    @Param({"1000", "10000", "100000"})
+    private int uavCount;
+
+    private ConflictDetector detector;
+    private int[] ids;
+    private double[] latitudes;
+    private double[] longitudes;
+    private double[] altitudes;
+    private double[] speeds;
+    private double[] headings;
+
+    @Setup
+    public void setUp() {
+        detector = new ConflictDetector(50.0, 15.0, 10.0);
+        Random random = new Random(42);
+        double side = SIDE_PER_1000 * Math.sqrt(uavCount / 1000.0);
+        ids = new int[uavCount];
+        latitudes = new double[uavCount];
+        longitudes = new double[uavCount];
+        altitudes = new double[uavCount];
+        speeds = new double[uavCount];
+        headings = new double[uavCount];
+        for (int i = 0; i < uavCount; i++) {
+            ids[i] = i + 1;
+            latitudes[i] = 40.0 + random.nextDouble() * side;
+            longitudes[i] = -74.0 + random.nextDouble() * side;
+            altitudes[i] = 20.0 + random.nextDouble() * 100.0;
+            speeds[i] = random.nextDouble() * 80.0;
+            headings[i] = random.nextDouble() * 360.0;
+        }
+    }
+
+    @Benchmark
+    public List<ConflictDetector.Conflict> detectionCycle() {
+        return detector.detect(uavCount, ids, latitudes, longitudes, altitudes, speeds, headings);
+    }
+}
@@ -0,0 +1,81 @@
+package com.uav.dockingmanagement.benchmark;
+
+import com.uav.dockingmanagement.UavDockingManagementSystemApplication;
+import com.uav.dockingmanagement.config.TestRateLimitingConfig;
+import com.uav.dockingmanagement.model.DockingStation;
+import com.uav.dockingmanagement.model.UAV;
+import com.uav.dockingmanagement.repository.DockingStationRepository;
+import com.uav.dockingmanagement.repository.UAVRepository;
+import com.uav.dockingmanagement.service.DockingStationService;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A full dock and undock cycle through {@link DockingStationService} against the application
+ * context in H2 mode, covering the repository lookups, record and occupancy writes and the
+ * STOMP broadcasts. Docking records accumulate across iterations as they would in production.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class DockingCycleBenchmark {
+
+    private ConfigurableApplicationContext context;
+    private DockingStationService dockingStationService;
+    private Integer uavId;
+    private Long stationId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(UavDockingManagementSystemApplication.class, TestRateLimitingConfig.class)
+            .profiles("test")
+            .properties("server.port=0", "logging.level.com.uav.dockingmanagement=WARN")
+            .run();
+        dockingStationService = context.getBean(DockingStationService.class);
+
+        UAV uav = new UAV();
+        uav.setRfidTag("BENCH-DOCK-001");
+        uav.setOwnerName("Benchmark");
+        uav.setModel("Benchmark Model");
+        uav.setStatus(UAV.Status.AUTHORIZED);
+        uav.setOperationalStatus(UAV.OperationalStatus.READY);
+        uav.setCurrentLatitude(40.7128);
+        uav.setCurrentLongitude(-74.0060);
+        uav.setCurrentAltitudeMeters(50.0);
+        uav.setLastLocationUpdate(LocalDateTime.now());
+        uavId = context.getBean(UAVRepository.class).save(uav).getId();
+
+        DockingStation station = new DockingStation("Benchmark Station", 40.7130, -74.0058, 10);
+        station.setCurrentOccupancy(0);
+        station.setStatus(DockingStation.StationStatus.OPERATIONAL);
+        station.setChargingAvailable(true);
+        stationId = context.getBean(DockingStationRepository.class).save(station).getId();
+
+        // Fail fast rather than measure the error path
+        Map<String, Object> docked = dockingStationService.dockUAV(uavId, stationId, "CHARGING");
+        Map<String, Object> undocked = dockingStationService.undockUAV(uavId);
+        if (!Boolean.TRUE.equals(docked.get("success")) || !Boolean.TRUE.equals(undocked.get("success"))) {
+            throw new IllegalStateException("Dock/undock cycle failed: " + docked.get("message") + ", " + undocked.get("message"));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public void dockUndockCycle(Blackhole blackhole) {
+        blackhole.consume(dockingStationService.dockUAV(uavId, stationId, "CHARGING"));
+        blackhole.consume(dockingStationService.undockUAV(uavId));
+    }
+}
@@ -0,0 +1,73 @@
+package com.uav.dockingmanagement.benchmark;
+
+import com.uav.dockingmanagement.model.Geofence;
+import com.uav.dockingmanagement.service.GeofenceBatchChecker;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link GeofenceBatchChecker#check} of a replayed fleet, 1000 tracks of one-second fixes,
+ * against a few hundred circular fences spread over the same 50 km area.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GeofenceBatchCheckBenchmark {
+
+    private static final int TRACKS = 1000;
+
+    @Param({"10000", "1000000"})
+    private int pointCount;
+
+    @Param({"300"})
+    private int fenceCount;
+
+    private GeofenceBatchChecker checker;
+    private double[] latitudes;
+    private double[] longitudes;
+    private double[] altitudes;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        List<Geofence> geofences = new ArrayList<>();
+        for (int f = 0; f < fenceCount; f++) {
+            geofences.add(Geofence.createCircularFence("Fence " + f,
+                40.0 + random.nextDouble() * 0.5, -74.0 + random.nextDouble() * 0.5,
+                100.0 + random.nextDouble() * 3000.0,
+                f % 10 == 0 ? Geofence.BoundaryType.INCLUSION : Geofence.BoundaryType.EXCLUSION));
+        }
+        checker = new GeofenceBatchChecker(geofences);
+
+        latitudes = new double[pointCount];
+        longitudes = new double[pointCount];
+        altitudes = new double[pointCount];
+        int perTrack = pointCount / TRACKS;
+        for (int t = 0; t < TRACKS; t++) {
+            double latitude = 40.0 + random.nextDouble() * 0.5;
+            double longitude = -74.0 + random.nextDouble() * 0.5;
+            double heading = random.nextDouble() * 2 * Math.PI;
+            for (int k = 0; k < perTrack; k++) {
+                int i = t * perTrack + k;
+                heading += (random.nextDouble() - 0.5) * 0.2;
+                latitude += 15.0 * Math.cos(heading) / 111_320.0;
+                longitude += 15.0 * Math.sin(heading) / 85_000.0;
+                latitudes[i] = latitude;
+                longitudes[i] = longitude;
+                altitudes[i] = 20.0 + random.nextDouble() * 100.0;
+            }
+        }
+    }
+
+    @Benchmark
+    public GeofenceBatchChecker.ViolationMatrix checkBatch() {
+        return checker.check(latitudes, longitudes, altitudes);
+    }
+}
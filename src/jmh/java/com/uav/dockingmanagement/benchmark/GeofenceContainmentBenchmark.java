@@ -0,0 +1,56 @@
+package com.uav.dockingmanagement.benchmark;
+
+import com.uav.dockingmanagement.model.Geofence;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link Geofence#isPointInside(double, double)} for circular and polygonal fences,
+ * with points spread so that roughly half of them fall inside the circle.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@OperationsPerInvocation(GeofenceContainmentBenchmark.POINTS)
+public class GeofenceContainmentBenchmark {
+
+    static final int POINTS = 1024;
+
+    @Param({"CIRCULAR", "POLYGONAL"})
+    private Geofence.FenceType fenceType;
+
+    private Geofence geofence;
+    private double[] latitudes;
+    private double[] longitudes;
+
+    @Setup
+    public void setUp() {
+        geofence = new Geofence("Benchmark fence", fenceType, Geofence.BoundaryType.EXCLUSION);
+        geofence.setCenterLatitude(40.7128);
+        geofence.setCenterLongitude(-74.0060);
+        geofence.setRadiusMeters(1000.0);
+        geofence.setPolygonCoordinates(
+            "[[40.70,-74.02],[40.70,-73.99],[40.72,-73.99],[40.72,-74.02],[40.70,-74.02]]");
+
+        Random random = new Random(42);
+        latitudes = new double[POINTS];
+        longitudes = new double[POINTS];
+        for (int i = 0; i < POINTS; i++) {
+            latitudes[i] = 40.7128 + (random.nextDouble() - 0.5) * 0.025;
+            longitudes[i] = -74.0060 + (random.nextDouble() - 0.5) * 0.033;
+        }
+    }
+
+    @Benchmark
+    public void isPointInside(Blackhole blackhole) {
+        for (int i = 0; i < POINTS; i++) {
+            blackhole.consume(geofence.isPointInside(latitudes[i], longitudes[i]));
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.uav.dockingmanagement.benchmark;
+
+import com.uav.dockingmanagement.service.DockingStationService;
+import com.uav.dockingmanagement.service.GeofenceService;
+import com.uav.dockingmanagement.service.LocationService;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Haversine distance as implemented in each service.
+ * The GeofenceService and DockingStationService variants are private, so they are called through
+ * constant method handles, which the JIT compiles down to a direct call.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@OperationsPerInvocation(HaversineBenchmark.PAIRS)
+public class HaversineBenchmark {
+
+    static final int PAIRS = 1024;
+
+    private static final MethodHandle GEOFENCE_DISTANCE = privateDistance(GeofenceService.class);
+    private static final MethodHandle DOCKING_DISTANCE = privateDistance(DockingStationService.class);
+
+    private final LocationService locationService = new LocationService();
+    private final GeofenceService geofenceService = new GeofenceService();
+    private final DockingStationService dockingStationService = new DockingStationService();
+
+    private double[] lat1;
+    private double[] lon1;
+    private double[] lat2;
+    private double[] lon2;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        lat1 = new double[PAIRS];
+        lon1 = new double[PAIRS];
+        lat2 = new double[PAIRS];
+        lon2 = new double[PAIRS];
+        for (int i = 0; i < PAIRS; i++) {
+            lat1[i] = 40.0 + random.nextDouble();
+            lon1[i] = -74.0 + random.nextDouble();
+            lat2[i] = 40.0 + random.nextDouble();
+            lon2[i] = -74.0 + random.nextDouble();
+        }
+    }
+
+    @Benchmark
+    public void locationService(Blackhole blackhole) {
+        for (int i = 0; i < PAIRS; i++) {
+            blackhole.consume(locationService.calculateDistance(lat1[i], lon1[i], lat2[i], lon2[i]));
+        }
+    }
+
+    @Benchmark
+    public void geofenceService(Blackhole blackhole) throws Throwable {
+        for (int i = 0; i < PAIRS; i++) {
+            blackhole.consume((double) GEOFENCE_DISTANCE.invokeExact(geofenceService, lat1[i], lon1[i], lat2[i], lon2[i]));
+        }
+    }
+
+    @Benchmark
+    public void dockingStationService(Blackhole blackhole) throws Throwable {
+        for (int i = 0; i < PAIRS; i++) {
+            blackhole.consume((double) DOCKING_DISTANCE.invokeExact(dockingStationService, lat1[i], lon1[i], lat2[i], lon2[i]));
+        }
+    }
+
+    private static MethodHandle privateDistance(Class<?> owner) {
+        try {
+            return MethodHandles.privateLookupIn(owner, MethodHandles.lookup())
+                .findVirtual(owner, "calculateDistance",
+                             MethodType.methodType(double.class, double.class, double.class, double.class, double.class))
+                .asType(MethodType.methodType(double.class, owner, double.class, double.class, double.class, double.class));
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("calculateDistance not found on " + owner.getName(), e);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.uav.dockingmanagement.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.uav.dockingmanagement.model.LocationHistory;
+import com.uav.dockingmanagement.model.UAV;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of the location payloads: the per-fix LOCATION_UPDATE message sent to
+ * {@code /topic/location-updates} and the {@code /api/location/current} response body.
+ * The mapper is configured the way Spring Boot configures its own.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LocationPayloadSerializationBenchmark {
+
+    @Param({"100", "1000"})
+    private int uavCount;
+
+    private ObjectMapper objectMapper;
+    private Map<String, Object> locationUpdate;
+    private List<Map<String, Object>> currentLocations;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        LocalDateTime now = LocalDateTime.now();
+
+        locationUpdate = new HashMap<>();
+        locationUpdate.put("type", "LOCATION_UPDATE");
+        locationUpdate.put("timestamp", now);
+        locationUpdate.put("uavId", 1);
+        locationUpdate.put("rfidTag", "UAV-000001");
+        locationUpdate.put("latitude", 40.7128);
+        locationUpdate.put("longitude", -74.0060);
+        locationUpdate.put("altitude", 85.5);
+        locationUpdate.put("speed", 42.3);
+        locationUpdate.put("heading", 271.0);
+        locationUpdate.put("batteryLevel", 76);
+        locationUpdate.put("status", UAV.Status.AUTHORIZED);
+        locationUpdate.put("operationalStatus", UAV.OperationalStatus.IN_FLIGHT);
+
+        currentLocations = new ArrayList<>(uavCount);
+        for (int i = 0; i < uavCount; i++) {
+            Map<String, Object> locationData = new HashMap<>();
+            locationData.put("uavId", i + 1);
+            locationData.put("rfidTag", String.format("UAV-%06d", i + 1));
+            locationData.put("ownerName", "Owner " + i);
+            locationData.put("model", "Quadcopter X4");
+            locationData.put("status", UAV.Status.AUTHORIZED);
+            locationData.put("operationalStatus", UAV.OperationalStatus.IN_FLIGHT);
+            locationData.put("latitude", 40.7128 + i * 1e-4);
+            locationData.put("longitude", -74.0060 - i * 1e-4);
+            locationData.put("altitude", 50.0 + i % 70);
+            locationData.put("lastUpdate", now);
+            locationData.put("inHibernatePod", false);
+            locationData.put("speed", 30.0 + i % 40);
+            locationData.put("heading", (double) (i * 7 % 360));
+            locationData.put("batteryLevel", 100 - i % 80);
+            locationData.put("accuracy", 2.5);
+            locationData.put("signalStrength", 90);
+            locationData.put("locationSource", LocationHistory.LocationSource.GPS);
+            currentLocations.add(locationData);
+        }
+    }
+
+    @Benchmark
+    public byte[] locationUpdateMessage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(locationUpdate);
+    }
+
+    @Benchmark
+    public byte[] currentLocationsResponse() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(currentLocations);
+    }
+}
@@ -0,0 +1,91 @@
+package com.uav.dockingmanagement.benchmark;
+
+import com.uav.dockingmanagement.geo.GeofencePolygon;
+import com.uav.dockingmanagement.geo.PolygonEdgeIndex;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Point-in-polygon tests against a jagged, border-like ring of 10, 1,000 or 100,000 vertices: a ray
+ * cast over every edge, the {@link PolygonEdgeIndex} slab lookup, and the slab lookup on the ring
+ * simplified to 1 m. Points are spread over the ring's bounding box.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@OperationsPerInvocation(PolygonContainmentBenchmark.POINTS)
+public class PolygonContainmentBenchmark {
+
+    static final int POINTS = 1024;
+
+    @Param({"10", "1000", "100000"})
+    private int vertices;
+
+    private double[] ringLatitudes;
+    private double[] ringLongitudes;
+    private PolygonEdgeIndex index;
+    private PolygonEdgeIndex simplified;
+    private double[] latitudes;
+    private double[] longitudes;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        ringLatitudes = new double[vertices];
+        ringLongitudes = new double[vertices];
+        for (int i = 0; i < vertices; i++) {
+            double angle = 2 * Math.PI * i / vertices;
+            // About 5 km across, with a few metres of noise on every vertex like a surveyed border
+            double radius = 0.04 + 0.005 * Math.sin(7 * angle) + (random.nextDouble() - 0.5) * 0.0001;
+            ringLatitudes[i] = 40.7 + radius * Math.sin(angle);
+            ringLongitudes[i] = -74.0 + radius * Math.cos(angle) / Math.cos(Math.toRadians(40.7));
+        }
+        index = new PolygonEdgeIndex(ringLatitudes, ringLongitudes);
+        double[][] reduced = GeofencePolygon.simplify(ringLatitudes, ringLongitudes, 1.0);
+        simplified = new PolygonEdgeIndex(reduced[0], reduced[1]);
+
+        latitudes = new double[POINTS];
+        longitudes = new double[POINTS];
+        for (int i = 0; i < POINTS; i++) {
+            latitudes[i] = index.getMinLatitude() + random.nextDouble() * (index.getMaxLatitude() - index.getMinLatitude());
+            longitudes[i] = index.getMinLongitude() + random.nextDouble() * (index.getMaxLongitude() - index.getMinLongitude());
+        }
+    }
+
+    @Benchmark
+    public void rayCastAllEdges(Blackhole blackhole) {
+        for (int p = 0; p < POINTS; p++) {
+            double latitude = latitudes[p];
+            double longitude = longitudes[p];
+            boolean inside = false;
+            for (int i = 0, j = vertices - 1; i < vertices; j = i++) {
+                if ((ringLatitudes[i] > latitude) != (ringLatitudes[j] > latitude)
+                        && longitude < ringLongitudes[i] + (ringLongitudes[j] - ringLongitudes[i])
+                            * (latitude - ringLatitudes[i]) / (ringLatitudes[j] - ringLatitudes[i])) {
+                    inside = !inside;
+                }
+            }
+            blackhole.consume(inside);
+        }
+    }
+
+    @Benchmark
+    public void edgeIndex(Blackhole blackhole) {
+        for (int i = 0; i < POINTS; i++) {
+            blackhole.consume(index.contains(latitudes[i], longitudes[i]));
+        }
+    }
+
+    @Benchmark
+    public void simplifiedEdgeIndex(Blackhole blackhole) {
+        for (int i = 0; i < POINTS; i++) {
+            blackhole.consume(simplified.contains(latitudes[i], longitudes[i]));
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.uav.dockingmanagement.benchmark;
+
+import com.uav.dockingmanagement.config.RateLimitingConfig;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * {@link RateLimitingConfig.InMemoryRateLimitService#isAllowed(String, int, long)} under contention.
+ * {@code sharedKey} has every thread hit one bucket, as when many requests come from one client;
+ * {@code perThreadKey} gives each thread its own bucket, so only the map lookup is shared.
+ * After the first {@code maxRequests} calls a bucket stays full, so the numbers reflect the
+ * steady state of a throttled client, including the sliding-window cleanup.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(8)
+public class RateLimitBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Limiter {
+        @Param({"100", "1000"})
+        int maxRequests;
+
+        RateLimitingConfig.InMemoryRateLimitService service;
+        final AtomicInteger threadIds = new AtomicInteger();
+
+        @Setup
+        public void setUp() {
+            service = new RateLimitingConfig.InMemoryRateLimitService();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Client {
+        String key;
+
+        @Setup
+        public void setUp(Limiter limiter) {
+            key = "USER:ip:10.0.0." + limiter.threadIds.incrementAndGet() + ":api";
+        }
+    }
+
+    @Benchmark
+    public boolean sharedKey(Limiter limiter) {
+        return limiter.service.isAllowed("USER:ip:10.0.0.1:api", limiter.maxRequests, 60);
+    }
+
+    @Benchmark
+    public boolean perThreadKey(Limiter limiter, Client client) {
+        return limiter.service.isAllowed(client.key, limiter.maxRequests, 60);
+    }
+}
@@ -0,0 +1,70 @@
+package com.uav.dockingmanagement.benchmark;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.uav.dockingmanagement.config.RateLimitingConfig;
+import com.uav.dockingmanagement.config.TestRateLimitingConfig;
+import com.uav.dockingmanagement.interceptor.RateLimitInterceptor;
+import org.openjdk.jmh.annotations.*;
+import org.slf4j.LoggerFactory;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link RateLimitInterceptor#preHandle} for an authenticated operator calling a location endpoint.
+ * {@code allowAll} isolates the interceptor's own overhead (key building, role lookup, headers);
+ * {@code inMemory} uses the production limiter, whose bucket is full after the first 500 calls,
+ * so it measures the rejection path that a throttled client keeps hitting, minus its log output.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RateLimitInterceptorBenchmark {
+
+    @Param({"allowAll", "inMemory"})
+    private String rateLimiter;
+
+    private RateLimitInterceptor interceptor;
+    private MockHttpServletRequest request;
+
+    @Setup
+    public void setUp() {
+        // The rejection path logs a warning per request, which would otherwise dominate the measurement
+        ((Logger) LoggerFactory.getLogger(RateLimitInterceptor.class)).setLevel(Level.ERROR);
+
+        RateLimitingConfig.RateLimitService service = "inMemory".equals(rateLimiter)
+            ? new RateLimitingConfig.InMemoryRateLimitService()
+            : new TestRateLimitingConfig.MockRateLimitService();
+
+        interceptor = new RateLimitInterceptor();
+        ReflectionTestUtils.setField(interceptor, "rateLimitService", service);
+        ReflectionTestUtils.setField(interceptor, "objectMapper", new ObjectMapper());
+
+        request = new MockHttpServletRequest("POST", "/api/location/update/1");
+        request.setRemoteAddr("10.0.0.1");
+
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+            "operator", "n/a", List.of(new SimpleGrantedAuthority("ROLE_OPERATOR"))));
+    }
+
+    @TearDown
+    public void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Benchmark
+    public boolean preHandle() throws Exception {
+        return interceptor.preHandle(request, new MockHttpServletResponse(), this);
+    }
+}
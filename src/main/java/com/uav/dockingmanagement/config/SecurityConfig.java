@@ -33,6 +33,7 @@ public class SecurityConfig {
                 // Admin endpoints - require ADMIN role
                 .requestMatchers("/api/uav/delete/**").hasRole("ADMIN")
                 .requestMatchers("/api/hibernate-pod/add", "/api/hibernate-pod/remove").hasRole("ADMIN")
+                .requestMatchers("/api/simulation/**").hasRole("ADMIN")
                 .requestMatchers("/api/docking-stations/*/delete", "/api/docking-stations").hasRole("ADMIN")
                 .requestMatchers("/api/geofences/*/delete", "/api/geofences").hasRole("ADMIN")
 
@@ -48,7 +49,7 @@ public class SecurityConfig {
                 .requestMatchers("/api/hibernate-pod/status", "/api/hibernate-pod/uavs").hasAnyRole("USER", "OPERATOR", "ADMIN")
                 .requestMatchers("/api/uav/statistics").hasAnyRole("USER", "OPERATOR", "ADMIN")
                 .requestMatchers("/api/location/current/**", "/api/location/history/**").hasAnyRole("USER", "OPERATOR", "ADMIN")
-                .requestMatchers("/api/location/flight-path/**", "/api/location/area", "/api/location/active").hasAnyRole("USER", "OPERATOR", "ADMIN")
+                .requestMatchers("/api/location/flight-path/**", "/api/location/area", "/api/location/active", "/api/location/lost-link").hasAnyRole("USER", "OPERATOR", "ADMIN")
                 .requestMatchers("/api/location/stats/**", "/api/location/nearby").hasAnyRole("USER", "OPERATOR", "ADMIN")
                 .requestMatchers("/api/docking-stations/operational", "/api/docking-stations/available").hasAnyRole("USER", "OPERATOR", "ADMIN")
                 .requestMatchers("/api/docking-stations/nearest", "/api/docking-stations/area").hasAnyRole("USER", "OPERATOR", "ADMIN")
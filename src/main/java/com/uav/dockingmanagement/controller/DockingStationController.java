@@ -1,13 +1,16 @@
 package com.uav.dockingmanagement.controller;
 
 import com.uav.dockingmanagement.model.DockingStation;
+import com.uav.dockingmanagement.model.StationOccupancyBucket;
 import com.uav.dockingmanagement.repository.DockingStationRepository;
 import com.uav.dockingmanagement.service.DockingStationService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -102,6 +105,7 @@ public class DockingStationController {
             }
 
             DockingStation savedStation = dockingStationRepository.save(station);
+            dockingStationService.onStationSaved(savedStation);
             
             response.put("success", true);
             response.put("message", "Docking station created successfully");
@@ -161,6 +165,12 @@ public class DockingStationController {
             if (stationUpdate.getChargingAvailable() != null) {
                 existingStation.setChargingAvailable(stationUpdate.getChargingAvailable());
             }
+            if (stationUpdate.getChargerCount() != null) {
+                existingStation.setChargerCount(stationUpdate.getChargerCount());
+            }
+            if (stationUpdate.getChargingPowerBudgetWatts() != null) {
+                existingStation.setChargingPowerBudgetWatts(stationUpdate.getChargingPowerBudgetWatts());
+            }
             if (stationUpdate.getMaintenanceAvailable() != null) {
                 existingStation.setMaintenanceAvailable(stationUpdate.getMaintenanceAvailable());
             }
@@ -175,6 +185,7 @@ public class DockingStationController {
             }
 
             DockingStation savedStation = dockingStationRepository.save(existingStation);
+            dockingStationService.onStationSaved(savedStation);
             
             response.put("success", true);
             response.put("message", "Station updated successfully");
@@ -342,6 +353,232 @@ public class DockingStationController {
         }
     }
 
+    /**
+     * Dock a UAV at a station; with purpose CHARGING it is given a charger or queued for one
+     */
+    @PostMapping("/{id}/dock")
+    public ResponseEntity<Map<String, Object>> dockUAV(
+            @PathVariable Long id,
+            @RequestParam Integer uavId,
+            @RequestParam(required = false) String purpose,
+            @RequestParam(required = false) Integer missionPriority) {
+        try {
+            Map<String, Object> result = missionPriority == null
+                ? dockingStationService.dockUAV(uavId, id, purpose)
+                : dockingStationService.dockUAV(uavId, id, purpose, missionPriority);
+            return Boolean.TRUE.equals(result.get("success"))
+                ? ResponseEntity.ok(result)
+                : ResponseEntity.status(HttpStatus.BAD_REQUEST).body(result);
+        } catch (Exception e) {
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", false);
+            response.put("message", "Error docking UAV: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+        }
+    }
+
+    /**
+     * Undock a UAV from its station
+     */
+    @PostMapping("/undock")
+    public ResponseEntity<Map<String, Object>> undockUAV(@RequestParam Integer uavId) {
+        try {
+            Map<String, Object> result = dockingStationService.undockUAV(uavId);
+            return Boolean.TRUE.equals(result.get("success"))
+                ? ResponseEntity.ok(result)
+                : ResponseEntity.status(HttpStatus.BAD_REQUEST).body(result);
+        } catch (Exception e) {
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", false);
+            response.put("message", "Error undocking UAV: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+        }
+    }
+
+    /**
+     * Charging sessions and queue of a station with estimated start and completion times
+     */
+    @GetMapping("/{id}/charging")
+    public ResponseEntity<Map<String, Object>> getStationCharging(@PathVariable Long id) {
+        Map<String, Object> response = new HashMap<>();
+
+        try {
+            if (dockingStationRepository.findById(id).isEmpty()) {
+                response.put("success", false);
+                response.put("message", "Station not found");
+                return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
+            }
+
+            Optional<Map<String, Object>> charging = dockingStationService.getStationCharging(id);
+            response.put("success", true);
+            response.put("stationId", id);
+            response.put("charging", charging.orElse(null));
+            if (charging.isEmpty()) {
+                response.put("message", "No charging dockings at this station since startup");
+            }
+            return ResponseEntity.ok(response);
+
+        } catch (Exception e) {
+            response.put("success", false);
+            response.put("message", "Error getting charging status: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+        }
+    }
+
+    /**
+     * Utilization, peak occupancy and idle time of every station over a time range
+     */
+    @GetMapping("/utilization")
+    public ResponseEntity<Map<String, Object>> getUtilizationReport(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startTime,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endTime) {
+        try {
+            return ResponseEntity.ok(dockingStationService.getStationUtilizationReport(startTime, endTime));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    /**
+     * Occupancy time series of a station at MINUTE, HOUR or DAY resolution
+     */
+    @GetMapping("/{id}/occupancy")
+    public ResponseEntity<Map<String, Object>> getStationOccupancy(
+            @PathVariable Long id,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startTime,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endTime,
+            @RequestParam(defaultValue = "HOUR") String resolution) {
+        Map<String, Object> response = new HashMap<>();
+
+        try {
+            if (dockingStationRepository.findById(id).isEmpty()) {
+                response.put("success", false);
+                response.put("message", "Station not found");
+                return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
+            }
+
+            StationOccupancyBucket.Resolution bucketResolution =
+                StationOccupancyBucket.Resolution.valueOf(resolution.toUpperCase());
+            response.put("success", true);
+            response.put("stationId", id);
+            response.put("resolution", bucketResolution);
+            response.put("buckets", dockingStationService.getStationOccupancySeries(id, bucketResolution, startTime, endTime));
+            return ResponseEntity.ok(response);
+
+        } catch (IllegalArgumentException e) {
+            response.put("success", false);
+            response.put("message", "Invalid resolution value");
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
+        } catch (Exception e) {
+            response.put("success", false);
+            response.put("message", "Error getting station occupancy: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+        }
+    }
+
+    /**
+     * UAVs docked at a station at an instant ({@code at}) or at some point in {@code [startTime, endTime)}
+     */
+    @GetMapping("/{id}/occupants")
+    public ResponseEntity<Map<String, Object>> getStationOccupants(
+            @PathVariable Long id,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime at,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startTime,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endTime) {
+        Map<String, Object> response = new HashMap<>();
+
+        try {
+            if (dockingStationRepository.findById(id).isEmpty()) {
+                response.put("success", false);
+                response.put("message", "Station not found");
+                return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
+            }
+            boolean range = startTime != null && endTime != null;
+            if ((at == null) == !range || (range && !startTime.isBefore(endTime))) {
+                response.put("success", false);
+                response.put("message", "Give either at, or startTime before endTime");
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
+            }
+
+            List<Map<String, Object>> occupants = range
+                ? dockingStationService.getStationOccupants(id, startTime, endTime)
+                : dockingStationService.getStationOccupants(id, at, null);
+            response.put("success", true);
+            response.put("stationId", id);
+            response.put("occupants", occupants);
+            response.put("count", occupants.size());
+            return ResponseEntity.ok(response);
+
+        } catch (Exception e) {
+            response.put("success", false);
+            response.put("message", "Error getting station occupants: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+        }
+    }
+
+    /**
+     * Stations a UAV was docked at in {@code [startTime, endTime)}, in visiting order
+     */
+    @GetMapping("/visits")
+    public ResponseEntity<Map<String, Object>> getUavDockingVisits(
+            @RequestParam Integer uavId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startTime,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endTime) {
+        Map<String, Object> response = new HashMap<>();
+
+        try {
+            if (!startTime.isBefore(endTime)) {
+                response.put("success", false);
+                response.put("message", "startTime must be before endTime");
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
+            }
+
+            List<Map<String, Object>> visits = dockingStationService.getUavDockingVisits(uavId, startTime, endTime);
+            response.put("success", true);
+            response.put("uavId", uavId);
+            response.put("visits", visits);
+            response.put("count", visits.size());
+            return ResponseEntity.ok(response);
+
+        } catch (Exception e) {
+            response.put("success", false);
+            response.put("message", "Error getting docking visits: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+        }
+    }
+
+    /**
+     * Where UAVs are docked right now: one UAV ({@code uavId}), one station ({@code stationId}) or all
+     */
+    @GetMapping("/current-dockings")
+    public ResponseEntity<Map<String, Object>> getCurrentDockings(
+            @RequestParam(required = false) Integer uavId,
+            @RequestParam(required = false) Long stationId) {
+        Map<String, Object> response = new HashMap<>();
+
+        try {
+            if (uavId != null) {
+                Optional<Map<String, Object>> docking = dockingStationService.getCurrentDocking(uavId);
+                response.put("success", true);
+                response.put("uavId", uavId);
+                response.put("docked", docking.isPresent());
+                response.put("docking", docking.orElse(null));
+                return ResponseEntity.ok(response);
+            }
+
+            List<Map<String, Object>> dockings = dockingStationService.getCurrentDockings(stationId);
+            response.put("success", true);
+            response.put("dockings", dockings);
+            response.put("count", dockings.size());
+            return ResponseEntity.ok(response);
+
+        } catch (Exception e) {
+            response.put("success", false);
+            response.put("message", "Error getting current dockings: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+        }
+    }
+
     /**
      * Update station status
      */
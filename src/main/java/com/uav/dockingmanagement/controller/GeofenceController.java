@@ -1,13 +1,22 @@
 package com.uav.dockingmanagement.controller;
 
+import com.uav.dockingmanagement.dto.GeofenceBatchCheckRequest;
+import com.uav.dockingmanagement.geo.GeofencePolygon;
 import com.uav.dockingmanagement.model.Geofence;
+import com.uav.dockingmanagement.model.GeofenceAuditReport;
 import com.uav.dockingmanagement.repository.GeofenceRepository;
+import com.uav.dockingmanagement.service.GeofenceAuditService;
+import com.uav.dockingmanagement.service.GeofenceImportService;
 import com.uav.dockingmanagement.service.GeofenceService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.InputStream;
 import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.List;
@@ -29,6 +38,12 @@ public class GeofenceController {
     @Autowired
     private GeofenceService geofenceService;
 
+    @Autowired
+    private GeofenceImportService geofenceImportService;
+
+    @Autowired
+    private GeofenceAuditService geofenceAuditService;
+
     /**
      * Get all geofences
      */
@@ -91,10 +106,17 @@ public class GeofenceController {
                     response.put("message", "Radius must be greater than 0");
                     return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
                 }
-            } else if (geofence.getFenceType() == Geofence.FenceType.POLYGONAL) {
+            } else if (geofence.getFenceType() != null && geofence.getFenceType().isPolygon()) {
                 if (geofence.getPolygonCoordinates() == null || geofence.getPolygonCoordinates().trim().isEmpty()) {
                     response.put("success", false);
-                    response.put("message", "Polygonal geofence requires polygon coordinates");
+                    response.put("message", "Polygonal and rectangular geofences require polygon coordinates");
+                    return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
+                }
+                try {
+                    GeofencePolygon.validate(geofence.getPolygonCoordinates());
+                } catch (IllegalArgumentException e) {
+                    response.put("success", false);
+                    response.put("message", "Invalid polygon: " + e.getMessage());
                     return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
                 }
             }
@@ -115,6 +137,7 @@ public class GeofenceController {
             response.put("success", true);
             response.put("message", "Geofence created successfully");
             response.put("geofence", savedGeofence);
+            putConflictAnalysis(response, savedGeofence);
             
             return ResponseEntity.status(HttpStatus.CREATED).body(response);
             
@@ -179,6 +202,7 @@ public class GeofenceController {
             response.put("success", true);
             response.put("message", "Geofence updated successfully");
             response.put("geofence", savedGeofence);
+            putConflictAnalysis(response, savedGeofence);
             
             return ResponseEntity.ok(response);
             
@@ -224,7 +248,7 @@ public class GeofenceController {
     @GetMapping("/active")
     public ResponseEntity<List<Geofence>> getActiveGeofences() {
         try {
-            List<Geofence> geofences = geofenceRepository.findCurrentlyActiveGeofences(LocalDateTime.now());
+            List<Geofence> geofences = geofenceService.getCurrentlyActiveGeofences();
             return ResponseEntity.ok(geofences);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
@@ -267,6 +291,210 @@ public class GeofenceController {
         }
     }
 
+    /**
+     * Bulk import geofences from a GeoJSON FeatureCollection or a KML document in the request body.
+     * The format is taken from the {@code format} parameter, else from the content type.
+     */
+    @PostMapping("/import")
+    public ResponseEntity<Map<String, Object>> importGeofences(
+            InputStream body,
+            @RequestParam(required = false) String format,
+            @RequestParam(defaultValue = "EXCLUSION") String boundaryType,
+            @RequestHeader(value = "Content-Type", required = false) String contentType) {
+        try {
+            GeofenceImportService.Format importFormat = format != null
+                ? GeofenceImportService.Format.valueOf(format.toUpperCase())
+                : contentType != null && contentType.toLowerCase().contains("kml")
+                    ? GeofenceImportService.Format.KML : GeofenceImportService.Format.GEOJSON;
+            Geofence.BoundaryType defaultBoundaryType = Geofence.BoundaryType.valueOf(boundaryType.toUpperCase());
+
+            Map<String, Object> result = geofenceImportService.importGeofences(body, importFormat, defaultBoundaryType, "import");
+            return Boolean.TRUE.equals(result.get("success"))
+                ? ResponseEntity.ok(result)
+                : ResponseEntity.status(HttpStatus.BAD_REQUEST).body(result);
+        } catch (IllegalArgumentException e) {
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("success", false);
+            errorResponse.put("message", "Invalid import parameters: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
+        } catch (Exception e) {
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("success", false);
+            errorResponse.put("message", "Error importing geofences: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
+        }
+    }
+
+    /**
+     * Check a batch of points against the active geofences.
+     * Violations are returned as a compressed sparse matrix: for each entry of {@code violatingPoints},
+     * the indexes into {@code geofenceIds} it violates are {@code violatedGeofences} between
+     * consecutive {@code violationOffsets}.
+     */
+    @PostMapping("/check-batch")
+    public ResponseEntity<Map<String, Object>> checkBatch(@RequestBody GeofenceBatchCheckRequest request) {
+        try {
+            Map<String, Object> result = geofenceService.checkPointsAgainstGeofences(
+                request.getLatitudes(), request.getLongitudes(), request.getAltitudes());
+            return ResponseEntity.ok(result);
+        } catch (IllegalArgumentException e) {
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("success", false);
+            errorResponse.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
+        } catch (Exception e) {
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("success", false);
+            errorResponse.put("message", "Error checking points: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
+        }
+    }
+
+    /**
+     * Airspace raster as a transparent PNG map tile (Web Mercator z/x/y): forbidden cells red, cells on a
+     * fence boundary orange
+     */
+    @GetMapping(value = "/airspace/tiles/{z}/{x}/{y}.png", produces = MediaType.IMAGE_PNG_VALUE)
+    public ResponseEntity<byte[]> getAirspaceTile(@PathVariable int z, @PathVariable int x, @PathVariable int y) {
+        try {
+            byte[] tile = geofenceService.renderAirspaceTile(z, x, y);
+            return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(tile);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+    }
+
+    /**
+     * Overlaps of a stored geofence with the geofences in force, and the contradictions and redundant
+     * fences among them
+     */
+    @GetMapping("/{id}/conflicts")
+    public ResponseEntity<Map<String, Object>> getGeofenceConflicts(@PathVariable Long id) {
+        try {
+            Optional<Geofence> geofenceOpt = geofenceRepository.findById(id);
+            if (geofenceOpt.isEmpty()) {
+                Map<String, Object> response = new HashMap<>();
+                response.put("success", false);
+                response.put("message", "Geofence not found");
+                return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
+            }
+            Map<String, Object> result = geofenceService.analyzeGeofenceConflicts(geofenceOpt.get());
+            result.put("success", true);
+            return ResponseEntity.ok(result);
+        } catch (Exception e) {
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("success", false);
+            errorResponse.put("message", "Error analyzing geofence conflicts: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
+        }
+    }
+
+    /**
+     * Conflict analysis of a geofence that is not stored, e.g. before creating it
+     */
+    @PostMapping("/conflicts")
+    public ResponseEntity<Map<String, Object>> analyzeGeofenceConflicts(@RequestBody Geofence geofence) {
+        try {
+            if (geofence.getFenceType() != null && geofence.getFenceType().isPolygon()) {
+                GeofencePolygon.validate(geofence.getPolygonCoordinates());
+            }
+            Map<String, Object> result = geofenceService.analyzeGeofenceConflicts(geofence);
+            result.put("success", true);
+            return ResponseEntity.ok(result);
+        } catch (IllegalArgumentException e) {
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("success", false);
+            errorResponse.put("message", "Invalid polygon: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
+        } catch (Exception e) {
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("success", false);
+            errorResponse.put("message", "Error analyzing geofence conflicts: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
+        }
+    }
+
+    /**
+     * Start a retroactive audit of location history in {@code [from, to)} against a geofence.
+     * The audit runs in the background; poll {@code /audits/{reportId}} for progress and the report.
+     */
+    @PostMapping("/{id}/audits")
+    public ResponseEntity<Map<String, Object>> startAudit(
+            @PathVariable Long id,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "api") String requestedBy) {
+
+        Map<String, Object> response = new HashMap<>();
+
+        try {
+            Optional<Geofence> geofenceOpt = geofenceRepository.findById(id);
+            if (geofenceOpt.isEmpty()) {
+                response.put("success", false);
+                response.put("message", "Geofence not found");
+                return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
+            }
+
+            GeofenceAuditReport report = geofenceAuditService.startAudit(geofenceOpt.get(), from, to, requestedBy);
+            response.put("success", true);
+            response.put("message", "Geofence audit started");
+            response.put("reportId", report.getId());
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
+        } catch (IllegalArgumentException e) {
+            response.put("success", false);
+            response.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
+        } catch (Exception e) {
+            response.put("success", false);
+            response.put("message", "Error starting geofence audit: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+        }
+    }
+
+    /**
+     * Audit reports of a geofence, newest first
+     */
+    @GetMapping("/{id}/audits")
+    public ResponseEntity<List<Map<String, Object>>> getAudits(@PathVariable Long id) {
+        try {
+            return ResponseEntity.ok(geofenceAuditService.getAuditsForGeofence(id));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    /**
+     * Progress of a running audit, or the stored report with its per-flight violation intervals
+     */
+    @GetMapping("/audits/{reportId}")
+    public ResponseEntity<Map<String, Object>> getAudit(@PathVariable Long reportId) {
+        try {
+            return geofenceAuditService.getAudit(reportId)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    /**
+     * Cancel a running audit; the report keeps what was found before it stopped
+     */
+    @DeleteMapping("/audits/{reportId}")
+    public ResponseEntity<Map<String, Object>> cancelAudit(@PathVariable Long reportId) {
+        Map<String, Object> response = new HashMap<>();
+        if (geofenceAuditService.cancelAudit(reportId)) {
+            response.put("success", true);
+            response.put("message", "Geofence audit cancellation requested");
+            return ResponseEntity.ok(response);
+        }
+        response.put("success", false);
+        response.put("message", "No running audit with this ID");
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
+    }
+
     /**
      * Get geofences in geographical area
      */
@@ -344,6 +572,7 @@ public class GeofenceController {
             response.put("success", true);
             response.put("message", "Circular geofence created successfully");
             response.put("geofence", savedGeofence);
+            putConflictAnalysis(response, savedGeofence);
             
             return ResponseEntity.status(HttpStatus.CREATED).body(response);
             
@@ -398,4 +627,16 @@ public class GeofenceController {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
         }
     }
+
+    /**
+     * Add the conflict analysis of a saved geofence to a response. The save stands either way, so a
+     * failed analysis is only reported.
+     */
+    private void putConflictAnalysis(Map<String, Object> response, Geofence geofence) {
+        try {
+            response.put("conflictAnalysis", geofenceService.analyzeGeofenceConflicts(geofence));
+        } catch (Exception e) {
+            response.put("conflictAnalysis", Map.of("error", "Conflict analysis failed: " + e.getMessage()));
+        }
+    }
 }
@@ -1,8 +1,8 @@
 package com.uav.dockingmanagement.controller;
 
 import com.uav.dockingmanagement.model.HibernatePod;
-import com.uav.dockingmanagement.model.UAV;
-import com.uav.dockingmanagement.repository.UAVRepository;
+import com.uav.dockingmanagement.service.HibernatePodService;
+import com.uav.dockingmanagement.service.HibernatePodService.PodOperationResult;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -10,7 +10,6 @@ import org.springframework.web.bind.annotation.*;
 
 import java.util.HashMap;
 import java.util.Map;
-import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/hibernate-pod")
@@ -18,48 +17,50 @@ import java.util.Optional;
 public class HibernatePodController {
 
     @Autowired
-    private UAVRepository uavRepository;
+    private HibernatePodService hibernatePodService;
 
     @Autowired
     private HibernatePod hibernatePod;
 
     /**
      * Add UAV to hibernate pod
+     *
+     * @param podId optional target pod; the first pod with free capacity is used when omitted
      */
     @PostMapping("/add")
-    public ResponseEntity<Map<String, Object>> addUAVToHibernatePod(@RequestParam int uavId) {
+    public ResponseEntity<Map<String, Object>> addUAVToHibernatePod(@RequestParam int uavId,
+                                                                   @RequestParam(required = false) String podId) {
         Map<String, Object> response = new HashMap<>();
 
         try {
-            Optional<UAV> uavOpt = uavRepository.findById(uavId);
-            if (uavOpt.isEmpty()) {
-                response.put("success", false);
-                response.put("message", "UAV not found");
-                return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
-            }
-
-            UAV uav = uavOpt.get();
-
-            if (uav.isInHibernatePod()) {
-                response.put("success", false);
-                response.put("message", "UAV is already in hibernate pod");
-                return ResponseEntity.badRequest().body(response);
-            }
-
-            if (hibernatePod.isFull()) {
-                response.put("success", false);
-                response.put("message", "Hibernate pod is full");
-                response.put("currentCapacity", hibernatePod.getCurrentCapacity());
-                response.put("maxCapacity", hibernatePod.getMaxCapacity());
-                return ResponseEntity.badRequest().body(response);
+            PodOperationResult result = hibernatePodService.admit(uavId, podId);
+            switch (result) {
+                case UAV_NOT_FOUND:
+                    response.put("success", false);
+                    response.put("message", "UAV not found");
+                    return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
+                case ALREADY_HIBERNATING:
+                    response.put("success", false);
+                    response.put("message", "UAV is already in hibernate pod");
+                    return ResponseEntity.badRequest().body(response);
+                case UNKNOWN_POD:
+                    response.put("success", false);
+                    response.put("message", "Hibernate pod not found: " + podId);
+                    return ResponseEntity.badRequest().body(response);
+                case POD_FULL:
+                    response.put("success", false);
+                    response.put("message", "Hibernate pod is full");
+                    response.put("currentCapacity", hibernatePod.getCurrentCapacity());
+                    response.put("maxCapacity", hibernatePod.getMaxCapacity());
+                    return ResponseEntity.badRequest().body(response);
+                default:
+                    break;
             }
 
-            hibernatePod.addUAV(uav);
-            uavRepository.save(uav);
-
             response.put("success", true);
             response.put("message", "UAV successfully added to hibernate pod");
-            response.put("uavId", uav.getId());
+            response.put("uavId", uavId);
+            response.put("podId", hibernatePod.getPodId(uavId));
             response.put("currentCapacity", hibernatePod.getCurrentCapacity());
             response.put("maxCapacity", hibernatePod.getMaxCapacity());
 
@@ -80,27 +81,21 @@ public class HibernatePodController {
         Map<String, Object> response = new HashMap<>();
 
         try {
-            Optional<UAV> uavOpt = uavRepository.findById(uavId);
-            if (uavOpt.isEmpty()) {
+            PodOperationResult result = hibernatePodService.release(uavId);
+            if (result == PodOperationResult.UAV_NOT_FOUND) {
                 response.put("success", false);
                 response.put("message", "UAV not found");
                 return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
             }
-
-            UAV uav = uavOpt.get();
-
-            if (!uav.isInHibernatePod()) {
+            if (result == PodOperationResult.NOT_HIBERNATING) {
                 response.put("success", false);
                 response.put("message", "UAV is not in hibernate pod");
                 return ResponseEntity.badRequest().body(response);
             }
 
-            hibernatePod.removeUAV(uav);
-            uavRepository.save(uav);
-
             response.put("success", true);
             response.put("message", "UAV successfully removed from hibernate pod");
-            response.put("uavId", uav.getId());
+            response.put("uavId", uavId);
             response.put("currentCapacity", hibernatePod.getCurrentCapacity());
             response.put("maxCapacity", hibernatePod.getMaxCapacity());
 
@@ -114,29 +109,22 @@ public class HibernatePodController {
     }
 
     /**
-     * Get hibernate pod status
+     * Get hibernate pod status, including per-pod occupancy
      */
     @GetMapping("/status")
     public ResponseEntity<Map<String, Object>> getHibernatePodStatus() {
-        Map<String, Object> status = new HashMap<>();
-
         try {
-            status.put("currentCapacity", hibernatePod.getCurrentCapacity());
-            status.put("maxCapacity", hibernatePod.getMaxCapacity());
-            status.put("isFull", hibernatePod.isFull());
-            status.put("availableCapacity", hibernatePod.getAvailableCapacity());
-            status.put("uavIds", hibernatePod.getUAVs().stream().map(UAV::getId).toList());
-
-            return ResponseEntity.ok(status);
+            return ResponseEntity.ok(hibernatePodService.getPodStatus());
 
         } catch (Exception e) {
+            Map<String, Object> status = new HashMap<>();
             status.put("error", "Error retrieving hibernate pod status: " + e.getMessage());
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(status);
         }
     }
 
     /**
-     * Get all UAVs in hibernate pod
+     * Get ids of all UAVs in hibernate pods
      */
     @GetMapping("/uavs")
     public ResponseEntity<Map<String, Object>> getUAVsInHibernatePod() {
@@ -144,7 +132,7 @@ public class HibernatePodController {
 
         try {
             response.put("success", true);
-            response.put("uavs", hibernatePod.getUAVs());
+            response.put("uavIds", hibernatePod.getUAVIds());
             response.put("count", hibernatePod.getCurrentCapacity());
 
             return ResponseEntity.ok(response);
@@ -4,13 +4,17 @@ import com.uav.dockingmanagement.model.LocationHistory;
 import com.uav.dockingmanagement.model.UAV;
 import com.uav.dockingmanagement.repository.LocationHistoryRepository;
 import com.uav.dockingmanagement.repository.UAVRepository;
+import com.uav.dockingmanagement.service.FlightStatisticsService;
+import com.uav.dockingmanagement.service.LinkMonitoringService;
 import com.uav.dockingmanagement.service.LocationService;
+import com.uav.dockingmanagement.service.RecentFixCache;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.List;
@@ -64,6 +68,18 @@ public class LocationController {
     @Autowired
     private LocationService locationService;
 
+    /** In-memory buffers of each UAV's most recent fixes */
+    @Autowired
+    private RecentFixCache recentFixCache;
+
+    /** Running statistics of in-progress flights */
+    @Autowired
+    private FlightStatisticsService flightStatisticsService;
+
+    /** Last-seen times and lost-link state of every UAV */
+    @Autowired
+    private LinkMonitoringService linkMonitoringService;
+
     /**
      * Updates the current location of a specific UAV.
      *
@@ -147,13 +163,6 @@ public class LocationController {
             Integer batteryLevel = locationData.containsKey("batteryLevel") ? 
                 Integer.valueOf(locationData.get("batteryLevel").toString()) : null;
 
-            // Update UAV current location
-            uav.setCurrentLatitude(latitude);
-            uav.setCurrentLongitude(longitude);
-            uav.setCurrentAltitudeMeters(altitude);
-            uav.setLastLocationUpdate(LocalDateTime.now());
-            uavRepository.save(uav);
-
             // Create location history record
             LocationHistory locationHistory = new LocationHistory(uav, latitude, longitude, altitude);
             locationHistory.setSpeedKmh(speed);
@@ -175,10 +184,8 @@ public class LocationController {
                 }
             }
 
-            locationHistoryRepository.save(locationHistory);
-
-            // Check geofences
-            locationService.checkGeofenceViolations(uav, latitude, longitude, altitude);
+            // Store, check geofences and broadcast through the shared ingestion path
+            locationService.recordLocation(uav, locationHistory);
 
             response.put("success", true);
             response.put("message", "Location updated successfully");
@@ -241,7 +248,7 @@ public class LocationController {
             @PathVariable Integer uavId,
             @RequestParam(defaultValue = "100") Integer limit) {
         try {
-            List<LocationHistory> history = locationHistoryRepository.findRecentLocationsByUavId(uavId, limit);
+            List<LocationHistory> history = recentFixCache.findRecent(uavId, limit);
             return ResponseEntity.ok(history);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
@@ -257,7 +264,7 @@ public class LocationController {
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startTime,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endTime) {
         try {
-            List<LocationHistory> history = locationHistoryRepository.findByUavIdAndTimestampBetween(uavId, startTime, endTime);
+            List<LocationHistory> history = recentFixCache.findBetween(uavId, startTime, endTime);
             return ResponseEntity.ok(history);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
@@ -273,7 +280,7 @@ public class LocationController {
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startTime,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endTime) {
         try {
-            List<LocationHistory> flightPath = locationHistoryRepository.getFlightPath(uavId, startTime, endTime);
+            List<LocationHistory> flightPath = recentFixCache.findBetween(uavId, startTime, endTime);
             return ResponseEntity.ok(flightPath);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
@@ -309,9 +316,23 @@ public class LocationController {
     @GetMapping("/active")
     public ResponseEntity<List<UAV>> getActiveUAVs(@RequestParam(defaultValue = "30") Integer minutesBack) {
         try {
-            LocalDateTime since = LocalDateTime.now().minusMinutes(minutesBack);
-            List<UAV> activeUAVs = locationHistoryRepository.findActiveUAVsSince(since);
-            return ResponseEntity.ok(activeUAVs);
+            List<Integer> activeIds = linkMonitoringService.findActiveUavIds(Duration.ofMinutes(minutesBack));
+            return ResponseEntity.ok(uavRepository.findAllById(activeIds));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    /**
+     * Get UAVs that stopped reporting while airborne
+     */
+    @GetMapping("/lost-link")
+    public ResponseEntity<Map<String, Object>> getLostLinkUAVs() {
+        try {
+            List<UAV> lostUAVs = uavRepository.findAllById(linkMonitoringService.findLostLinkUavIds());
+            Map<String, Object> response = linkMonitoringService.getStatistics();
+            response.put("lostLinkUAVs", lostUAVs);
+            return ResponseEntity.ok(response);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
@@ -343,6 +364,30 @@ public class LocationController {
         }
     }
 
+    /**
+     * Get statistics of a flight, live while it is in progress
+     */
+    @GetMapping("/stats/flight/{flightLogId}")
+    public ResponseEntity<Map<String, Object>> getFlightStats(@PathVariable Long flightLogId) {
+        try {
+            return ResponseEntity.ok(flightStatisticsService.getFlightStatistics(flightLogId));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.notFound().build();
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    /**
+     * Get live statistics of the UAV's in-progress flight
+     */
+    @GetMapping("/stats/{uavId}/current-flight")
+    public ResponseEntity<Map<String, Object>> getCurrentFlightStats(@PathVariable Integer uavId) {
+        return flightStatisticsService.getActiveFlightStatistics(uavId)
+            .map(ResponseEntity::ok)
+            .orElse(ResponseEntity.notFound().build());
+    }
+
     /**
      * Find UAVs near a point
      */
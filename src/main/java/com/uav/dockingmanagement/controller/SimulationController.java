@@ -0,0 +1,92 @@
+package com.uav.dockingmanagement.controller;
+
+import com.uav.dockingmanagement.service.LoadSimulationService;
+import com.uav.dockingmanagement.service.RealTimeSimulationService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * REST controller for the demo simulation and the fleet load generator
+ */
+@RestController
+@RequestMapping("/api/simulation")
+@CrossOrigin(origins = "*")
+public class SimulationController {
+
+    @Autowired
+    private LoadSimulationService loadSimulationService;
+
+    @Autowired
+    private RealTimeSimulationService realTimeSimulationService;
+
+    /**
+     * Start a load run of virtual UAVs against the location ingestion path
+     */
+    @PostMapping("/load/start")
+    public ResponseEntity<Map<String, Object>> startLoadSimulation(
+            @RequestParam(defaultValue = "1000") int uavCount,
+            @RequestParam(defaultValue = "1.0") double updateRateHz,
+            @RequestParam(defaultValue = "42") long seed,
+            @RequestParam(defaultValue = "60") int durationSeconds,
+            @RequestParam(defaultValue = "40.7128") double centerLat,
+            @RequestParam(defaultValue = "-74.0060") double centerLon,
+            @RequestParam(defaultValue = "5000") double radiusMeters) {
+
+        Map<String, Object> response = new HashMap<>();
+        try {
+            Map<String, Object> report = loadSimulationService.start(uavCount, updateRateHz, seed, durationSeconds,
+                                                                     centerLat, centerLon, radiusMeters);
+            response.put("success", true);
+            response.put("message", "Load simulation started");
+            response.put("report", report);
+            return ResponseEntity.ok(response);
+
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            response.put("success", false);
+            response.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        } catch (Exception e) {
+            response.put("success", false);
+            response.put("message", "Error starting load simulation: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+        }
+    }
+
+    /**
+     * Stop the running load simulation
+     */
+    @PostMapping("/load/stop")
+    public ResponseEntity<Map<String, Object>> stopLoadSimulation() {
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("message", "Load simulation stopped");
+        response.put("report", loadSimulationService.stop());
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Throughput and latency report for the current or last load run
+     */
+    @GetMapping("/load/report")
+    public ResponseEntity<Map<String, Object>> getLoadReport() {
+        return ResponseEntity.ok(loadSimulationService.getReport());
+    }
+
+    /**
+     * Enable or disable the demo movement simulation
+     */
+    @PostMapping("/realtime")
+    public ResponseEntity<Map<String, Object>> setRealTimeSimulation(@RequestParam boolean enabled) {
+        realTimeSimulationService.setSimulationEnabled(enabled);
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("simulationEnabled", realTimeSimulationService.isSimulationEnabled());
+        return ResponseEntity.ok(response);
+    }
+}
@@ -4,6 +4,8 @@ import com.uav.dockingmanagement.model.Region;
 import com.uav.dockingmanagement.model.UAV;
 import com.uav.dockingmanagement.repository.RegionRepository;
 import com.uav.dockingmanagement.repository.UAVRepository;
+import com.uav.dockingmanagement.service.HibernatePodService;
+import com.uav.dockingmanagement.service.HibernatePodService.PodOperationResult;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
@@ -24,6 +26,9 @@ public class UAVController {
 
     @Autowired
     private HibernatePod hibernatePod;
+
+    @Autowired
+    private HibernatePodService hibernatePodService;
     // Show all UAVs
     @GetMapping("/")
     public String getAllUAVs(Model model) {
@@ -67,12 +72,9 @@ public class UAVController {
                     model.addAttribute("hibernatePodFull", hibernatePod.isFull());
                     return "index";
                 }
-                hibernatePod.addUAV(uav);
-                uav.setInHibernatePod(true);
-                System.out.println("UAV added to hibernate pod");
-            } else {
-                uav.setInHibernatePod(false);
             }
+            // Pod admission is keyed by UAV id, so it happens after the UAV is saved
+            uav.setInHibernatePod(false);
 
             // Set regions if any were selected
             if (regionIds != null && regionIds.length > 0) {
@@ -93,6 +95,14 @@ public class UAVController {
             System.out.println("UAV saved successfully with ID: " + savedUAV.getId());
             model.addAttribute("message", "UAV added successfully: " + savedUAV.getRfidTag());
 
+            if (Boolean.TRUE.equals(inHibernatePod)) {
+                if (hibernatePodService.admit(savedUAV.getId(), null) == PodOperationResult.ADMITTED) {
+                    System.out.println("UAV added to hibernate pod");
+                } else {
+                    model.addAttribute("message", "UAV added, but hibernate pod is full: " + savedUAV.getRfidTag());
+                }
+            }
+
         } catch (Exception e) {
             System.err.println("Error adding UAV: " + e.getMessage());
             e.printStackTrace();
@@ -118,7 +128,7 @@ public class UAVController {
 
             // Remove from hibernate pod if present
             if (uav.isInHibernatePod()) {
-                hibernatePod.removeUAV(uav);
+                hibernatePodService.release(id);
                 System.out.println("Removed UAV from hibernate pod before deletion");
             }
 
@@ -5,6 +5,7 @@ import com.uav.dockingmanagement.model.Region;
 import com.uav.dockingmanagement.model.UAV;
 import com.uav.dockingmanagement.repository.RegionRepository;
 import com.uav.dockingmanagement.repository.UAVRepository;
+import com.uav.dockingmanagement.service.HibernatePodService;
 import com.uav.dockingmanagement.service.UAVService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
@@ -56,6 +57,10 @@ public class UAVRestController {
     @Autowired
     private HibernatePod hibernatePod;
 
+    /** Hibernate pod admission and release with persistence and change events */
+    @Autowired
+    private HibernatePodService hibernatePodService;
+
     /**
      * Retrieves all UAVs in the system with their associated regions.
      *
@@ -208,7 +213,7 @@ public class UAVRestController {
      * @warning This operation is irreversible and will delete all associated data
      *
      * @see UAVRepository#deleteById(Object)
-     * @see HibernatePod#removeUAV(UAV)
+     * @see HibernatePodService#release(int)
      */
     @DeleteMapping("/{id}")
     public ResponseEntity<Map<String, Object>> deleteUAV(@PathVariable int id) {
@@ -224,7 +229,7 @@ public class UAVRestController {
             // Remove from hibernate pod if present
             Optional<UAV> uavOpt = uavRepository.findById(id);
             if (uavOpt.isPresent() && uavOpt.get().isInHibernatePod()) {
-                hibernatePod.removeUAV(uavOpt.get());
+                hibernatePodService.release(id);
             }
             
             uavRepository.deleteById(id);
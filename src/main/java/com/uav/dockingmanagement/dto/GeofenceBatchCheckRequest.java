@@ -0,0 +1,46 @@
+package com.uav.dockingmanagement.dto;
+
+/**
+ * Request body for batch geofence checks: point i is
+ * ({@code latitudes[i]}, {@code longitudes[i]}, {@code altitudes[i]}).
+ * Altitudes may be omitted to skip altitude limits.
+ */
+public class GeofenceBatchCheckRequest {
+    private double[] latitudes;
+    private double[] longitudes;
+    private double[] altitudes;
+
+    // Constructors
+    public GeofenceBatchCheckRequest() {}
+
+    public GeofenceBatchCheckRequest(double[] latitudes, double[] longitudes, double[] altitudes) {
+        this.latitudes = latitudes;
+        this.longitudes = longitudes;
+        this.altitudes = altitudes;
+    }
+
+    // Getters and Setters
+    public double[] getLatitudes() {
+        return latitudes;
+    }
+
+    public void setLatitudes(double[] latitudes) {
+        this.latitudes = latitudes;
+    }
+
+    public double[] getLongitudes() {
+        return longitudes;
+    }
+
+    public void setLongitudes(double[] longitudes) {
+        this.longitudes = longitudes;
+    }
+
+    public double[] getAltitudes() {
+        return altitudes;
+    }
+
+    public void setAltitudes(double[] altitudes) {
+        this.altitudes = altitudes;
+    }
+}
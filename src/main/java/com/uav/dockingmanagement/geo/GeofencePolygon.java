@@ -0,0 +1,307 @@
+package com.uav.dockingmanagement.geo;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Validation and normalization of polygon geofence rings.
+ *
+ * <p>A ring may be given open or closed. Consecutive duplicate vertices are dropped, and the ring
+ * must keep at least three vertices, a non-zero area and no touching non-adjacent edges. The
+ * normalized ring is closed (first vertex repeated last) and counter-clockwise, as in GeoJSON.
+ * Self-intersection is found by sweeping the edges in order of their west end and testing only edges
+ * whose longitude ranges overlap, which is near-linear for the rings of real boundaries. Coordinates
+ * are treated as planar; rings crossing the antimeridian are not supported. {@link #simplify} thins
+ * large rings within a stated distance of the original.</p>
+ */
+public final class GeofencePolygon {
+
+    static final double METERS_PER_DEGREE = 111_320.0;
+    private static final Pattern NUMBER = Pattern.compile("-?\\d+(?:\\.\\d+)?(?:[eE][-+]?\\d+)?");
+
+    private GeofencePolygon() {
+    }
+
+    /**
+     * Parse {@code [[lat,lon],[lat,lon],...]} into {@code {latitudes, longitudes}}, or null if malformed
+     */
+    public static double[][] parse(String coordinates) {
+        if (coordinates == null || coordinates.isBlank()) {
+            return null;
+        }
+        List<Double> numbers = new ArrayList<>();
+        Matcher matcher = NUMBER.matcher(coordinates);
+        while (matcher.find()) {
+            numbers.add(Double.parseDouble(matcher.group()));
+        }
+        if (numbers.size() < 6 || numbers.size() % 2 != 0) {
+            return null;
+        }
+        int count = numbers.size() / 2;
+        double[] latitudes = new double[count];
+        double[] longitudes = new double[count];
+        for (int i = 0; i < count; i++) {
+            latitudes[i] = numbers.get(2 * i);
+            longitudes[i] = numbers.get(2 * i + 1);
+            if (Math.abs(latitudes[i]) > 90 || Math.abs(longitudes[i]) > 180) {
+                return null;
+            }
+        }
+        return new double[][] {latitudes, longitudes};
+    }
+
+    /**
+     * Validate a {@code [[lat,lon],...]} coordinate string
+     *
+     * @throws IllegalArgumentException describing why the polygon is invalid
+     */
+    public static void validate(String polygonCoordinates) {
+        double[][] polygon = parse(polygonCoordinates);
+        if (polygon == null) {
+            throw new IllegalArgumentException("Polygon coordinates must be [[lat,lon],...] with at least 3 valid vertices");
+        }
+        normalize(polygon[0], polygon[1]);
+    }
+
+    /**
+     * Validate a ring and return it closed and counter-clockwise as {@code {latitudes, longitudes}}
+     *
+     * @throws IllegalArgumentException describing why the ring is invalid
+     */
+    public static double[][] normalize(double[] latitudes, double[] longitudes) {
+        if (latitudes.length != longitudes.length) {
+            throw new IllegalArgumentException("Latitude and longitude counts differ");
+        }
+        int count = 0;
+        double[] lats = new double[latitudes.length];
+        double[] lons = new double[longitudes.length];
+        for (int i = 0; i < latitudes.length; i++) {
+            if (!(Math.abs(latitudes[i]) <= 90) || !(Math.abs(longitudes[i]) <= 180)) {
+                throw new IllegalArgumentException("Vertex " + i + " is out of range");
+            }
+            if (count == 0 || latitudes[i] != lats[count - 1] || longitudes[i] != lons[count - 1]) {
+                lats[count] = latitudes[i];
+                lons[count] = longitudes[i];
+                count++;
+            }
+        }
+        while (count > 1 && lats[0] == lats[count - 1] && lons[0] == lons[count - 1]) {
+            count--;
+        }
+        if (count < 3) {
+            throw new IllegalArgumentException("Polygon needs at least 3 distinct vertices");
+        }
+
+        double area = 0;
+        for (int i = 0, j = count - 1; i < count; j = i++) {
+            area += lons[j] * lats[i] - lons[i] * lats[j];
+        }
+        if (area == 0) {
+            throw new IllegalArgumentException("Polygon has no area");
+        }
+        int selfIntersection = findSelfIntersection(lats, lons, count);
+        if (selfIntersection >= 0) {
+            throw new IllegalArgumentException("Polygon intersects itself at edge " + selfIntersection);
+        }
+
+        double[] resultLatitudes = new double[count + 1];
+        double[] resultLongitudes = new double[count + 1];
+        for (int i = 0; i < count; i++) {
+            int source = area > 0 ? i : count - 1 - i;
+            resultLatitudes[i] = lats[source];
+            resultLongitudes[i] = lons[source];
+        }
+        resultLatitudes[count] = resultLatitudes[0];
+        resultLongitudes[count] = resultLongitudes[0];
+        return new double[][] {resultLatitudes, resultLongitudes};
+    }
+
+    /**
+     * Simplify a ring (Douglas-Peucker) keeping it within {@code toleranceMeters} of the original.
+     *
+     * <p>Error bound: the Hausdorff distance between the original and simplified boundaries is at most
+     * {@code toleranceMeters}. Every dropped vertex lies within the tolerance of the segment replacing
+     * it, and a path staying within the tolerance of a segment also passes within it of every point of
+     * the segment. A containment test against the simplified ring can therefore only differ from the
+     * original for points within {@code toleranceMeters} of the boundary. Distances are measured in an
+     * equirectangular projection at the ring's mean latitude, within 1% of the true distance for fences
+     * up to a few hundred kilometres across.</p>
+     *
+     * <p>Kept vertices are original vertices, in their original order, and a closed ring stays closed.
+     * If the simplified ring would be degenerate or self-intersecting the input is returned unchanged.</p>
+     *
+     * @return {@code {latitudes, longitudes}}
+     */
+    public static double[][] simplify(double[] latitudes, double[] longitudes, double toleranceMeters) {
+        int n = latitudes.length;
+        boolean closed = n > 1 && latitudes[0] == latitudes[n - 1] && longitudes[0] == longitudes[n - 1];
+        int count = closed ? n - 1 : n;
+        if (count <= 3 || !(toleranceMeters > 0)) {
+            return new double[][] {latitudes, longitudes};
+        }
+
+        double meanLatitude = 0;
+        for (int i = 0; i < count; i++) {
+            meanLatitude += latitudes[i] / count;
+        }
+        double xScale = METERS_PER_DEGREE * Math.cos(Math.toRadians(meanLatitude));
+        double[] x = new double[count];
+        double[] y = new double[count];
+        for (int i = 0; i < count; i++) {
+            x[i] = longitudes[i] * xScale;
+            y[i] = latitudes[i] * METERS_PER_DEGREE;
+        }
+
+        // Split the ring at vertex 0 and the vertex farthest from it, then simplify both chains
+        int far = 0;
+        for (int i = 1; i < count; i++) {
+            if (Math.hypot(x[i] - x[0], y[i] - y[0]) > Math.hypot(x[far] - x[0], y[far] - y[0])) {
+                far = i;
+            }
+        }
+        boolean[] keep = new boolean[count];
+        keep[0] = true;
+        keep[far] = true;
+        Deque<int[]> chains = new ArrayDeque<>();
+        chains.push(new int[] {0, far});
+        chains.push(new int[] {far, count});
+        while (!chains.isEmpty()) {
+            int[] chain = chains.pop();
+            int from = chain[0];
+            int to = chain[1] % count;
+            int farthest = -1;
+            double distance = toleranceMeters;
+            for (int i = chain[0] + 1; i < chain[1]; i++) {
+                double d = segmentDistance(x, y, i, from, to);
+                if (d > distance) {
+                    distance = d;
+                    farthest = i;
+                }
+            }
+            if (farthest >= 0) {
+                keep[farthest] = true;
+                chains.push(new int[] {chain[0], farthest});
+                chains.push(new int[] {farthest, chain[1]});
+            }
+        }
+
+        int kept = 0;
+        for (boolean k : keep) {
+            kept += k ? 1 : 0;
+        }
+        if (kept < 3 || kept == count) {
+            return new double[][] {latitudes, longitudes};
+        }
+        double[] resultLatitudes = new double[closed ? kept + 1 : kept];
+        double[] resultLongitudes = new double[resultLatitudes.length];
+        for (int i = 0, k = 0; i < count; i++) {
+            if (keep[i]) {
+                resultLatitudes[k] = latitudes[i];
+                resultLongitudes[k] = longitudes[i];
+                k++;
+            }
+        }
+        if (closed) {
+            resultLatitudes[kept] = resultLatitudes[0];
+            resultLongitudes[kept] = resultLongitudes[0];
+        }
+        try {
+            normalize(resultLatitudes, resultLongitudes);
+        } catch (IllegalArgumentException e) {
+            return new double[][] {latitudes, longitudes};
+        }
+        return new double[][] {resultLatitudes, resultLongitudes};
+    }
+
+    /**
+     * Distance from point {@code p} to the segment from {@code a} to {@code b}
+     */
+    private static double segmentDistance(double[] x, double[] y, int p, int a, int b) {
+        double dx = x[b] - x[a];
+        double dy = y[b] - y[a];
+        double length = dx * dx + dy * dy;
+        double t = length > 0 ? ((x[p] - x[a]) * dx + (y[p] - y[a]) * dy) / length : 0;
+        t = Math.max(0, Math.min(1, t));
+        return Math.hypot(x[p] - x[a] - t * dx, y[p] - y[a] - t * dy);
+    }
+
+    /**
+     * Format a ring as the {@code [[lat,lon],...]} string stored in {@code polygonCoordinates}
+     */
+    public static String toCoordinates(double[][] ring) {
+        StringBuilder builder = new StringBuilder(ring[0].length * 24).append('[');
+        for (int i = 0; i < ring[0].length; i++) {
+            if (i > 0) {
+                builder.append(',');
+            }
+            builder.append('[').append(ring[0][i]).append(',').append(ring[1][i]).append(']');
+        }
+        return builder.append(']').toString();
+    }
+
+    /**
+     * Index of an edge touching a non-adjacent edge, or of an edge folding back over its neighbour; -1 if none
+     */
+    private static int findSelfIntersection(double[] lats, double[] lons, int count) {
+        Integer[] order = new Integer[count];
+        for (int i = 0; i < count; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.comparingDouble(i -> Math.min(lons[i], lons[(i + 1) % count])));
+
+        List<Integer> active = new ArrayList<>();
+        for (int edge : order) {
+            int next = (edge + 1) % count;
+            double west = Math.min(lons[edge], lons[next]);
+            active.removeIf(other -> Math.max(lons[other], lons[(other + 1) % count]) < west);
+            for (int other : active) {
+                if (touches(lats, lons, count, edge, other)) {
+                    return Math.min(edge, other);
+                }
+            }
+            active.add(edge);
+        }
+        return -1;
+    }
+
+    private static boolean touches(double[] lats, double[] lons, int count, int a, int b) {
+        int a2 = (a + 1) % count;
+        int b2 = (b + 1) % count;
+        if (a2 == b || b2 == a) {
+            // Adjacent edges share a vertex; they only conflict when one folds back along the other
+            int shared = a2 == b ? a2 : b2;
+            int farA = a2 == b ? a : a2;
+            int farB = a2 == b ? b2 : b;
+            return orientation(lats, lons, shared, farA, farB) == 0
+                && (onSegment(lats, lons, shared, farA, farB) || onSegment(lats, lons, shared, farB, farA));
+        }
+        int o1 = orientation(lats, lons, a, a2, b);
+        int o2 = orientation(lats, lons, a, a2, b2);
+        int o3 = orientation(lats, lons, b, b2, a);
+        int o4 = orientation(lats, lons, b, b2, a2);
+        if (o1 != o2 && o3 != o4) {
+            return true;
+        }
+        return (o1 == 0 && onSegment(lats, lons, a, b, a2)) || (o2 == 0 && onSegment(lats, lons, a, b2, a2))
+            || (o3 == 0 && onSegment(lats, lons, b, a, b2)) || (o4 == 0 && onSegment(lats, lons, b, a2, b2));
+    }
+
+    private static int orientation(double[] lats, double[] lons, int p, int q, int r) {
+        double cross = (lons[q] - lons[p]) * (lats[r] - lats[p]) - (lats[q] - lats[p]) * (lons[r] - lons[p]);
+        return cross > 0 ? 1 : cross < 0 ? -1 : 0;
+    }
+
+    /**
+     * Whether collinear point {@code q} lies within the box of segment {@code p}-{@code r}
+     */
+    private static boolean onSegment(double[] lats, double[] lons, int p, int q, int r) {
+        return lons[q] <= Math.max(lons[p], lons[r]) && lons[q] >= Math.min(lons[p], lons[r])
+            && lats[q] <= Math.max(lats[p], lats[r]) && lats[q] >= Math.min(lats[p], lats[r]);
+    }
+}
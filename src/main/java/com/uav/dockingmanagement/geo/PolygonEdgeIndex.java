@@ -0,0 +1,199 @@
+package com.uav.dockingmanagement.geo;
+
+import java.util.Arrays;
+
+/**
+ * Slab index over the edges of a polygon ring, so a containment test touches only the edges at the
+ * point's latitude.
+ *
+ * <p>The ring's latitude range is cut into equal horizontal slabs, about one per vertex, and each edge
+ * is listed in every slab its latitude range overlaps. The even-odd ray cast for a point only counts
+ * edges spanning its latitude, and those all sit in its slab, so a test costs the size of one slab:
+ * roughly the number of times a parallel crosses the boundary, which for real boundaries does not grow
+ * with the vertex count. Edge endpoints are copied into flat arrays in slab order for locality. If long
+ * edges would make the slabs too full, fewer slabs are used. Answers are identical to a ray cast over
+ * every edge.</p>
+ */
+public final class PolygonEdgeIndex {
+
+    /** A ring with no vertices, containing no point */
+    public static final PolygonEdgeIndex EMPTY = new PolygonEdgeIndex(new double[0], new double[0]);
+
+    static final int MAX_SLABS = 1 << 20;
+    /** Average slab entries per edge above which the slab count is halved */
+    private static final int MAX_ENTRIES_PER_EDGE = 16;
+
+    private final double[] latitudes;
+    private final double[] longitudes;
+    private final double minLatitude;
+    private final double maxLatitude;
+    private final double minLongitude;
+    private final double maxLongitude;
+    private final int slabCount;
+    private final double slabScale;
+    /** Entries of slab {@code s} are {@code offsets[s]} to {@code offsets[s + 1]} */
+    private final int[] offsets;
+    private final double[] fromLatitudes;
+    private final double[] fromLongitudes;
+    private final double[] toLatitudes;
+    private final double[] toLongitudes;
+
+    /**
+     * @param latitudes ring vertex latitudes, open or closed
+     */
+    public PolygonEdgeIndex(double[] latitudes, double[] longitudes) {
+        if (latitudes.length != longitudes.length) {
+            throw new IllegalArgumentException("Latitude and longitude counts differ");
+        }
+        this.latitudes = latitudes;
+        this.longitudes = longitudes;
+        int n = latitudes.length;
+        double minLat = Double.POSITIVE_INFINITY;
+        double maxLat = Double.NEGATIVE_INFINITY;
+        double minLon = Double.POSITIVE_INFINITY;
+        double maxLon = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < n; i++) {
+            minLat = Math.min(minLat, latitudes[i]);
+            maxLat = Math.max(maxLat, latitudes[i]);
+            minLon = Math.min(minLon, longitudes[i]);
+            maxLon = Math.max(maxLon, longitudes[i]);
+        }
+        this.minLatitude = minLat;
+        this.maxLatitude = maxLat;
+        this.minLongitude = minLon;
+        this.maxLongitude = maxLon;
+
+        int slabs = Math.max(1, Math.min(n, MAX_SLABS));
+        int[] counts;
+        while (true) {
+            counts = countEntries(slabs, scale(slabs));
+            long entries = 0;
+            for (int count : counts) {
+                entries += count;
+            }
+            if (slabs == 1 || entries <= (long) MAX_ENTRIES_PER_EDGE * n) {
+                break;
+            }
+            slabs /= 2;
+        }
+        this.slabCount = slabs;
+        this.slabScale = scale(slabs);
+
+        this.offsets = new int[slabs + 1];
+        for (int s = 0; s < slabs; s++) {
+            offsets[s + 1] = offsets[s] + counts[s];
+        }
+        int total = offsets[slabs];
+        fromLatitudes = new double[total];
+        fromLongitudes = new double[total];
+        toLatitudes = new double[total];
+        toLongitudes = new double[total];
+        int[] next = Arrays.copyOf(offsets, slabs);
+        for (int i = 0, j = n - 1; i < n; j = i++) {
+            if (latitudes[i] == latitudes[j]) {
+                // Horizontal edges never cross a ray along a parallel
+                continue;
+            }
+            int last = slab(Math.max(latitudes[i], latitudes[j]));
+            for (int s = slab(Math.min(latitudes[i], latitudes[j])); s <= last; s++) {
+                int k = next[s]++;
+                fromLatitudes[k] = latitudes[i];
+                fromLongitudes[k] = longitudes[i];
+                toLatitudes[k] = latitudes[j];
+                toLongitudes[k] = longitudes[j];
+            }
+        }
+    }
+
+    /**
+     * Index of a {@code [[lat,lon],...]} coordinate string, or null if it is not a polygon
+     */
+    public static PolygonEdgeIndex parse(String polygonCoordinates) {
+        double[][] polygon = GeofencePolygon.parse(polygonCoordinates);
+        return polygon != null ? new PolygonEdgeIndex(polygon[0], polygon[1]) : null;
+    }
+
+    /**
+     * Even-odd containment of a point
+     */
+    public boolean contains(double latitude, double longitude) {
+        if (!(latitude >= minLatitude && latitude <= maxLatitude && longitude >= minLongitude && longitude <= maxLongitude)) {
+            return false;
+        }
+        int s = slab(latitude);
+        boolean inside = false;
+        for (int k = offsets[s], end = offsets[s + 1]; k < end; k++) {
+            double fromLatitude = fromLatitudes[k];
+            double toLatitude = toLatitudes[k];
+            if ((fromLatitude > latitude) != (toLatitude > latitude)
+                    && longitude < fromLongitudes[k] + (toLongitudes[k] - fromLongitudes[k])
+                        * (latitude - fromLatitude) / (toLatitude - fromLatitude)) {
+                inside = !inside;
+            }
+        }
+        return inside;
+    }
+
+    public double[] getLatitudes() {
+        return latitudes;
+    }
+
+    public double[] getLongitudes() {
+        return longitudes;
+    }
+
+    public int getVertexCount() {
+        return latitudes.length;
+    }
+
+    public int getSlabCount() {
+        return slabCount;
+    }
+
+    /**
+     * Edges in the fullest slab, the worst-case cost of one containment test
+     */
+    public int getLargestSlab() {
+        int largest = 0;
+        for (int s = 0; s < slabCount; s++) {
+            largest = Math.max(largest, offsets[s + 1] - offsets[s]);
+        }
+        return largest;
+    }
+
+    public double getMinLatitude() { return minLatitude; }
+    public double getMaxLatitude() { return maxLatitude; }
+    public double getMinLongitude() { return minLongitude; }
+    public double getMaxLongitude() { return maxLongitude; }
+
+    private double scale(int slabs) {
+        double height = maxLatitude - minLatitude;
+        return height > 0 ? slabs / height : 0;
+    }
+
+    /**
+     * Entries per slab, from a difference array so long edges cost O(1) each
+     */
+    private int[] countEntries(int slabs, double scale) {
+        int[] counts = new int[slabs + 1];
+        for (int i = 0, j = latitudes.length - 1; i < latitudes.length; j = i++) {
+            if (latitudes[i] == latitudes[j]) {
+                continue;
+            }
+            counts[slab(Math.min(latitudes[i], latitudes[j]), slabs, scale)]++;
+            counts[slab(Math.max(latitudes[i], latitudes[j]), slabs, scale) + 1]--;
+        }
+        for (int s = 1; s <= slabs; s++) {
+            counts[s] += counts[s - 1];
+        }
+        return Arrays.copyOf(counts, slabs);
+    }
+
+    private int slab(double latitude) {
+        return slab(latitude, slabCount, slabScale);
+    }
+
+    private int slab(double latitude, int slabs, double scale) {
+        return Math.min(slabs - 1, (int) ((latitude - minLatitude) * scale));
+    }
+}
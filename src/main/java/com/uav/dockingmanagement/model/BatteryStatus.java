@@ -13,6 +13,7 @@ import java.util.Objects;
  */
 @Entity
 @Table(name = "battery_status")
+@EntityListeners(BatteryStatusListener.class)
 public class BatteryStatus {
 
     @Id
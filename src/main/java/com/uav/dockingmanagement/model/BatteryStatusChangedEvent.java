@@ -0,0 +1,10 @@
+package com.uav.dockingmanagement.model;
+
+/**
+ * Published by {@link BatteryStatusListener} when a battery status row is written or deleted.
+ * Listeners run inside the writing transaction and must defer side effects until it commits.
+ *
+ * @param removed true if the row was deleted, false if it was inserted or updated
+ */
+public record BatteryStatusChangedEvent(BatteryStatus batteryStatus, boolean removed) {
+}
@@ -0,0 +1,30 @@
+package com.uav.dockingmanagement.model;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+
+/**
+ * JPA entity listener publishing {@link BatteryStatus} changes as {@link BatteryStatusChangedEvent}s.
+ *
+ * <p>Instantiated by Hibernate through Spring's bean container. Publishing an event keeps the entity
+ * free of the services that react to it.</p>
+ */
+public class BatteryStatusListener {
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @PostPersist
+    @PostUpdate
+    public void onSaved(BatteryStatus batteryStatus) {
+        eventPublisher.publishEvent(new BatteryStatusChangedEvent(batteryStatus, false));
+    }
+
+    @PostRemove
+    public void onRemoved(BatteryStatus batteryStatus) {
+        eventPublisher.publishEvent(new BatteryStatusChangedEvent(batteryStatus, true));
+    }
+}
@@ -57,6 +57,18 @@ public class DockingStation {
     @Column(name = "charging_available")
     private Boolean chargingAvailable = true;
 
+    /**
+     * Chargers that can run at once; null = one per docking slot
+     */
+    @Column(name = "charger_count")
+    private Integer chargerCount;
+
+    /**
+     * Power shared by the chargers; null = uav.charging.default-power-budget-watts
+     */
+    @Column(name = "charging_power_budget_watts")
+    private Double chargingPowerBudgetWatts;
+
     @Column(name = "maintenance_available")
     private Boolean maintenanceAvailable = false;
 
@@ -190,6 +202,22 @@ public class DockingStation {
         this.chargingAvailable = chargingAvailable;
     }
 
+    public Integer getChargerCount() {
+        return chargerCount;
+    }
+
+    public void setChargerCount(Integer chargerCount) {
+        this.chargerCount = chargerCount;
+    }
+
+    public Double getChargingPowerBudgetWatts() {
+        return chargingPowerBudgetWatts;
+    }
+
+    public void setChargingPowerBudgetWatts(Double chargingPowerBudgetWatts) {
+        this.chargingPowerBudgetWatts = chargingPowerBudgetWatts;
+    }
+
     public Boolean getMaintenanceAvailable() {
         return maintenanceAvailable;
     }
@@ -1,5 +1,6 @@
 package com.uav.dockingmanagement.model;
 
+import com.uav.dockingmanagement.geo.PolygonEdgeIndex;
 import jakarta.persistence.*;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
@@ -17,6 +18,7 @@ import java.time.LocalDateTime;
     @Index(name = "idx_geofence_status", columnList = "status"),
     @Index(name = "idx_geofence_center", columnList = "center_latitude, center_longitude")
 })
+@EntityListeners(GeofenceListener.class)
 public class Geofence {
 
     @Id
@@ -108,6 +110,10 @@ public class Geofence {
     @Column(name = "expires_at")
     private LocalDateTime expiresAt;
 
+    /** Edge index of the polygon, built on first containment test */
+    @Transient
+    private PolygonEdgeIndex polygonEdges;
+
     // Constructors
     public Geofence() {}
 
@@ -211,6 +217,7 @@ public class Geofence {
 
     public void setPolygonCoordinates(String polygonCoordinates) {
         this.polygonCoordinates = polygonCoordinates;
+        this.polygonEdges = null;
     }
 
     public Double getMinAltitudeMeters() {
@@ -365,12 +372,30 @@ public class Geofence {
     public boolean isPointInside(double latitude, double longitude) {
         if (fenceType == FenceType.CIRCULAR) {
             return isPointInCircle(latitude, longitude);
-        } else if (fenceType == FenceType.POLYGONAL) {
+        } else if (fenceType != null && fenceType.isPolygon()) {
             return isPointInPolygon(latitude, longitude);
         }
         return false;
     }
 
+    /**
+     * Whether an altitude lies within the fence's altitude band; an unknown altitude matches any band
+     */
+    public boolean containsAltitude(Double altitude) {
+        return altitude == null
+            || ((minAltitudeMeters == null || altitude >= minAltitudeMeters)
+                && (maxAltitudeMeters == null || altitude <= maxAltitudeMeters));
+    }
+
+    /**
+     * Whether a position violates the fence, taken as a prism over its altitude band: outside an
+     * INCLUSION prism or inside an EXCLUSION prism
+     */
+    public boolean isViolatedBy(double latitude, double longitude, Double altitude) {
+        boolean inside = isPointInside(latitude, longitude) && containsAltitude(altitude);
+        return boundaryType == BoundaryType.EXCLUSION ? inside : !inside;
+    }
+
     private boolean isPointInCircle(double latitude, double longitude) {
         if (centerLatitude == null || centerLongitude == null || radiusMeters == null) {
             return false;
@@ -381,9 +406,12 @@ public class Geofence {
     }
 
     private boolean isPointInPolygon(double latitude, double longitude) {
-        // Simplified polygon check - in production, use a proper geometry library
-        // This is a basic implementation for demonstration
-        return false; // TODO: Implement proper polygon containment check
+        PolygonEdgeIndex edges = polygonEdges;
+        if (edges == null) {
+            edges = PolygonEdgeIndex.parse(polygonCoordinates);
+            polygonEdges = edges = edges != null ? edges : PolygonEdgeIndex.EMPTY;
+        }
+        return edges.contains(latitude, longitude);
     }
 
     private double calculateDistance(double lat1, double lon1, double lat2, double lon2) {
@@ -403,7 +431,15 @@ public class Geofence {
     public enum FenceType {
         CIRCULAR,
         POLYGONAL,
-        RECTANGULAR
+        /** A polygon given by its corners */
+        RECTANGULAR;
+
+        /**
+         * Whether the shape is the ring in {@code polygonCoordinates}
+         */
+        public boolean isPolygon() {
+            return this != CIRCULAR;
+        }
     }
 
     public enum BoundaryType {
@@ -0,0 +1,234 @@
+package com.uav.dockingmanagement.model;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * Geofence Audit Report entity: which past flights would have violated a geofence over a time range.
+ * Violations are stored as per-flight intervals, one JSON array in {@code intervals}.
+ */
+@Entity
+@Table(name = "geofence_audit_reports", indexes = {
+    @Index(name = "idx_geofence_audit_geofence", columnList = "geofence_id"),
+    @Index(name = "idx_geofence_audit_status", columnList = "status")
+})
+public class GeofenceAuditReport {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "geofence_id", nullable = false)
+    private Long geofenceId;
+
+    @Column(name = "geofence_name", length = 100)
+    private String geofenceName;
+
+    @Column(name = "from_time", nullable = false)
+    private LocalDateTime fromTime;
+
+    @Column(name = "to_time", nullable = false)
+    private LocalDateTime toTime;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    private AuditStatus status = AuditStatus.RUNNING;
+
+    @Column(name = "scanned_points")
+    private Long scannedPoints = 0L;
+
+    @Column(name = "violating_points")
+    private Long violatingPoints = 0L;
+
+    @Column(name = "flight_count")
+    private Integer flightCount = 0;
+
+    @Column(name = "interval_count")
+    private Integer intervalCount = 0;
+
+    // JSON format: [{"uavId":..,"flightLogId":..,"startTime":..,"endTime":..,"points":..},...]
+    @Column(name = "intervals", columnDefinition = "TEXT")
+    private String intervals;
+
+    @Column(name = "message", length = 500)
+    private String message;
+
+    @Column(name = "requested_by", length = 100)
+    private String requestedBy;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+
+    public enum AuditStatus {
+        RUNNING,
+        COMPLETED,
+        CANCELLED,
+        FAILED
+    }
+
+    // Constructors
+    public GeofenceAuditReport() {}
+
+    public GeofenceAuditReport(Geofence geofence, LocalDateTime fromTime, LocalDateTime toTime) {
+        this.geofenceId = geofence.getId();
+        this.geofenceName = geofence.getName();
+        this.fromTime = fromTime;
+        this.toTime = toTime;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getGeofenceId() {
+        return geofenceId;
+    }
+
+    public void setGeofenceId(Long geofenceId) {
+        this.geofenceId = geofenceId;
+    }
+
+    public String getGeofenceName() {
+        return geofenceName;
+    }
+
+    public void setGeofenceName(String geofenceName) {
+        this.geofenceName = geofenceName;
+    }
+
+    public LocalDateTime getFromTime() {
+        return fromTime;
+    }
+
+    public void setFromTime(LocalDateTime fromTime) {
+        this.fromTime = fromTime;
+    }
+
+    public LocalDateTime getToTime() {
+        return toTime;
+    }
+
+    public void setToTime(LocalDateTime toTime) {
+        this.toTime = toTime;
+    }
+
+    public AuditStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(AuditStatus status) {
+        this.status = status;
+    }
+
+    public Long getScannedPoints() {
+        return scannedPoints;
+    }
+
+    public void setScannedPoints(Long scannedPoints) {
+        this.scannedPoints = scannedPoints;
+    }
+
+    public Long getViolatingPoints() {
+        return violatingPoints;
+    }
+
+    public void setViolatingPoints(Long violatingPoints) {
+        this.violatingPoints = violatingPoints;
+    }
+
+    public Integer getFlightCount() {
+        return flightCount;
+    }
+
+    public void setFlightCount(Integer flightCount) {
+        this.flightCount = flightCount;
+    }
+
+    public Integer getIntervalCount() {
+        return intervalCount;
+    }
+
+    public void setIntervalCount(Integer intervalCount) {
+        this.intervalCount = intervalCount;
+    }
+
+    public String getIntervals() {
+        return intervals;
+    }
+
+    public void setIntervals(String intervals) {
+        this.intervals = intervals;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+
+    public String getRequestedBy() {
+        return requestedBy;
+    }
+
+    public void setRequestedBy(String requestedBy) {
+        this.requestedBy = requestedBy;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getCompletedAt() {
+        return completedAt;
+    }
+
+    public void setCompletedAt(LocalDateTime completedAt) {
+        this.completedAt = completedAt;
+    }
+
+    public boolean isRunning() {
+        return status == AuditStatus.RUNNING;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        GeofenceAuditReport that = (GeofenceAuditReport) o;
+        return Objects.equals(id, that.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id);
+    }
+
+    @Override
+    public String toString() {
+        return "GeofenceAuditReport{" +
+                "id=" + id +
+                ", geofenceId=" + geofenceId +
+                ", status=" + status +
+                ", scannedPoints=" + scannedPoints +
+                ", intervalCount=" + intervalCount +
+                '}';
+    }
+}
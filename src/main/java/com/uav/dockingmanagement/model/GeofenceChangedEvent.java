@@ -0,0 +1,10 @@
+package com.uav.dockingmanagement.model;
+
+/**
+ * Published by {@link GeofenceListener} when a geofence is written or deleted. Listeners run inside
+ * the writing transaction and must defer side effects until it commits.
+ *
+ * @param removed true if the fence was deleted, false if it was inserted or updated
+ */
+public record GeofenceChangedEvent(Geofence geofence, boolean removed) {
+}
@@ -0,0 +1,28 @@
+package com.uav.dockingmanagement.model;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+
+/**
+ * JPA entity listener publishing {@link Geofence} changes as {@link GeofenceChangedEvent}s, as
+ * {@link BatteryStatusListener} does for battery status.
+ */
+public class GeofenceListener {
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @PostPersist
+    @PostUpdate
+    public void onSaved(Geofence geofence) {
+        eventPublisher.publishEvent(new GeofenceChangedEvent(geofence, false));
+    }
+
+    @PostRemove
+    public void onRemoved(Geofence geofence) {
+        eventPublisher.publishEvent(new GeofenceChangedEvent(geofence, true));
+    }
+}
@@ -5,91 +5,291 @@ import jakarta.annotation.PostConstruct;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
+/**
+ * In-memory capacity registry for the hibernate pods (休眠仓).
+ *
+ * <p>Occupancy is tracked per pod with lock-free counters and a concurrent map of
+ * UAV id to pod id, so admission is atomic across controller threads and no UAV
+ * entity graphs are retained in memory. Pods and their capacities are configured
+ * with {@code uav.hibernate-pod.capacities} as a comma separated list of
+ * {@code podId=capacity} pairs; a single pod named {@value #DEFAULT_POD_ID} with a
+ * capacity of 5 is used when nothing is configured.</p>
+ *
+ * <p>This class only holds state. Persisting the assignment on the UAV row and
+ * publishing change events is done by
+ * {@link com.uav.dockingmanagement.service.HibernatePodService}.</p>
+ */
 @Component
 public class HibernatePod {  //休眠仓类
     private static final Logger logger = LoggerFactory.getLogger(HibernatePod.class);
 
-    private int maxCapacity = 5; // 休眠仓最大容?
-    private Set<UAV> uavs = new HashSet<>();
+    public static final String DEFAULT_POD_ID = "default";
+    private static final int DEFAULT_CAPACITY = 5;
+
+    @Value("${uav.hibernate-pod.capacities:" + DEFAULT_POD_ID + "=" + DEFAULT_CAPACITY + "}")
+    private String podCapacities = DEFAULT_POD_ID + "=" + DEFAULT_CAPACITY;
+
+    /**
+     * Pods in configuration order; replaced wholesale on reconfiguration.
+     */
+    private volatile Map<String, Pod> pods = Collections.singletonMap(DEFAULT_POD_ID, new Pod(DEFAULT_POD_ID, DEFAULT_CAPACITY));
+
+    private final ConcurrentHashMap<Integer, String> podByUav = new ConcurrentHashMap<>();
 
     @Autowired
     private UAVRepository uavRepository;
 
     /**
-     * Initialize hibernate pod by loading UAVs from database that are marked as in hibernate pod
+     * Initialize hibernate pods from configuration and load UAVs from database that are marked as in hibernate pod
      */
     @PostConstruct
     public void initializeFromDatabase() {
+        configurePods(podCapacities);
         if (uavRepository != null) {
             try {
                 List<UAV> hibernatingUAVs = uavRepository.findByInHibernatePod(true);
-                uavs.clear();
+                podByUav.clear();
+                pods.values().forEach(pod -> pod.occupied.set(0));
                 for (UAV uav : hibernatingUAVs) {
-                    if (uavs.size() < maxCapacity) {
-                        uavs.add(uav);
-                    } else {
+                    String storedPodId = uav.getHibernatePodId();
+                    String assignedPodId = admit(uav.getId(), hasPod(storedPodId) ? storedPodId : null);
+                    if (assignedPodId == null && storedPodId != null) {
+                        assignedPodId = admit(uav.getId(), null);
+                    }
+                    if (assignedPodId == null) {
                         // If more UAVs are marked as hibernating than capacity allows,
                         // remove the excess from hibernate pod
                         uav.setInHibernatePod(false);
+                        uav.setHibernatePodId(null);
+                        uavRepository.save(uav);
+                    } else if (!assignedPodId.equals(storedPodId)) {
+                        uav.setHibernatePodId(assignedPodId);
                         uavRepository.save(uav);
                     }
                 }
-                logger.info("Initialized HibernatePod with {} UAVs from database", uavs.size());
+                logger.info("Initialized {} hibernate pod(s) with {} UAVs from database", pods.size(), podByUav.size());
             } catch (Exception e) {
                 // This can happen during tests or when database tables don't exist yet
                 logger.warn("Could not initialize HibernatePod from database: {}. Starting with empty pod.", e.getMessage());
-                uavs.clear();
+                podByUav.clear();
+                pods.values().forEach(pod -> pod.occupied.set(0));
+            }
+        }
+    }
+
+    /**
+     * Replace the pod layout with the given {@code podId=capacity} list.
+     * Intended for startup; existing assignments are cleared.
+     */
+    public void configurePods(String capacities) {
+        Map<String, Pod> configured = new LinkedHashMap<>();
+        if (capacities != null) {
+            for (String entry : capacities.split(",")) {
+                String[] parts = entry.trim().split("=");
+                if (parts.length != 2 || parts[0].isBlank()) {
+                    continue;
+                }
+                try {
+                    int capacity = Integer.parseInt(parts[1].trim());
+                    if (capacity > 0) {
+                        configured.put(parts[0].trim(), new Pod(parts[0].trim(), capacity));
+                    }
+                } catch (NumberFormatException e) {
+                    logger.warn("Ignoring invalid hibernate pod capacity entry '{}'", entry);
+                }
+            }
+        }
+        if (configured.isEmpty()) {
+            logger.warn("No valid hibernate pods configured in '{}', using default pod", capacities);
+            configured.put(DEFAULT_POD_ID, new Pod(DEFAULT_POD_ID, DEFAULT_CAPACITY));
+        }
+        podByUav.clear();
+        pods = Collections.unmodifiableMap(configured);
+    }
+
+    /**
+     * Atomically reserve a slot for the UAV.
+     *
+     * @param uavId UAV identifier
+     * @param podId preferred pod, or null to take the first pod with free capacity
+     * @return the pod the UAV was admitted to, or null if no capacity is left or the UAV is already admitted
+     */
+    public String admit(int uavId, String podId) {
+        if (podByUav.containsKey(uavId)) {
+            return null;
+        }
+        if (podId != null) {
+            Pod pod = pods.get(podId);
+            return pod != null && reserve(uavId, pod) ? pod.id : null;
+        }
+        for (Pod pod : pods.values()) {
+            if (reserve(uavId, pod)) {
+                return pod.id;
             }
         }
+        return null;
+    }
+
+    /**
+     * Release the slot held by the UAV.
+     *
+     * @return the pod the UAV was released from, or null if it was not admitted
+     */
+    public String release(int uavId) {
+        String podId = podByUav.remove(uavId);
+        if (podId != null) {
+            Pod pod = pods.get(podId);
+            if (pod != null) {
+                pod.occupied.decrementAndGet();
+            }
+        }
+        return podId;
+    }
+
+    private boolean reserve(int uavId, Pod pod) {
+        if (!pod.tryAcquire()) {
+            return false;
+        }
+        if (podByUav.putIfAbsent(uavId, pod.id) != null) {
+            // Lost a race with a concurrent admission of the same UAV
+            pod.occupied.decrementAndGet();
+            return false;
+        }
+        return true;
     }
 
     public boolean addUAV(UAV uav) {
-        if (uavs.size() >= maxCapacity) {
+        String podId = admit(uav.getId(), null);
+        if (podId == null) {
             return false; // 已满
         }
-        uavs.add(uav);
         uav.setInHibernatePod(true);
+        uav.setHibernatePodId(podId);
         return true;
     }
 
     public void removeUAV(UAV uav) {
-        uavs.remove(uav);
+        release(uav.getId());
         uav.setInHibernatePod(false);
+        uav.setHibernatePodId(null);
     }
 
     public boolean isFull() {
-        return uavs.size() >= maxCapacity;
+        return getAvailableCapacity() == 0;
     }
 
     public int getCurrentCapacity() {
-        return uavs.size();
+        int used = 0;
+        for (Pod pod : pods.values()) {
+            used += pod.occupied.get();
+        }
+        return used;
     }
 
     public int getMaxCapacity() {
-        return maxCapacity;
+        int capacity = 0;
+        for (Pod pod : pods.values()) {
+            capacity += pod.capacity;
+        }
+        return capacity;
     }
 
-    public Set<UAV> getUAVs() {
-        return new HashSet<>(uavs); // Return a copy to prevent external modification
+    /**
+     * Ids of all UAVs currently held in any pod
+     */
+    public Set<Integer> getUAVIds() {
+        return new HashSet<>(podByUav.keySet()); // Return a copy to prevent external modification
+    }
+
+    /**
+     * Ids of the UAVs held in a specific pod
+     */
+    public Set<Integer> getUAVIds(String podId) {
+        Set<Integer> ids = new HashSet<>();
+        podByUav.forEach((uavId, assigned) -> {
+            if (assigned.equals(podId)) {
+                ids.add(uavId);
+            }
+        });
+        return ids;
     }
 
     /**
      * Check if a specific UAV is in the hibernate pod
      */
     public boolean containsUAV(UAV uav) {
-        return uavs.contains(uav);
+        return containsUAV(uav.getId());
+    }
+
+    public boolean containsUAV(int uavId) {
+        return podByUav.containsKey(uavId);
+    }
+
+    /**
+     * Pod currently holding the UAV, or null
+     */
+    public String getPodId(int uavId) {
+        return podByUav.get(uavId);
+    }
+
+    public boolean hasPod(String podId) {
+        return podId != null && pods.containsKey(podId);
+    }
+
+    public List<String> getPodIds() {
+        return new ArrayList<>(pods.keySet());
+    }
+
+    public int getPodCapacity(String podId) {
+        Pod pod = pods.get(podId);
+        return pod != null ? pod.capacity : 0;
+    }
+
+    public int getPodOccupancy(String podId) {
+        Pod pod = pods.get(podId);
+        return pod != null ? pod.occupied.get() : 0;
     }
 
     /**
      * Get available capacity
      */
     public int getAvailableCapacity() {
-        return maxCapacity - uavs.size();
+        return Math.max(0, getMaxCapacity() - getCurrentCapacity());
+    }
+
+    private static final class Pod {
+        private final String id;
+        private final int capacity;
+        private final AtomicInteger occupied = new AtomicInteger();
+
+        private Pod(String id, int capacity) {
+            this.id = id;
+            this.capacity = capacity;
+        }
+
+        private boolean tryAcquire() {
+            while (true) {
+                int current = occupied.get();
+                if (current >= capacity) {
+                    return false;
+                }
+                if (occupied.compareAndSet(current, current + 1)) {
+                    return true;
+                }
+            }
+        }
     }
 }
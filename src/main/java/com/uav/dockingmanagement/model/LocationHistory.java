@@ -14,6 +14,7 @@ import java.time.LocalDateTime;
 @Table(name = "location_history", indexes = {
     @Index(name = "idx_location_history_uav", columnList = "uav_id"),
     @Index(name = "idx_location_history_timestamp", columnList = "timestamp"),
+    @Index(name = "idx_location_history_uav_timestamp", columnList = "uav_id, timestamp"),
     @Index(name = "idx_location_history_location", columnList = "latitude, longitude"),
     @Index(name = "idx_location_history_flight_log", columnList = "flight_log_id")
 })
@@ -0,0 +1,177 @@
+package com.uav.dockingmanagement.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Station Occupancy Bucket entity: occupancy of one docking station over one minute, hour or day.
+ * Hour and day buckets are the sums of their minutes, so utilization over a range is
+ * occupiedSlotMillis / capacitySlotMillis of the buckets covering it.
+ */
+@Entity
+@Table(name = "station_occupancy_buckets",
+    uniqueConstraints = @UniqueConstraint(name = "uk_station_occupancy_bucket",
+        columnNames = {"station_id", "resolution", "bucket_start"}),
+    indexes = {
+        @Index(name = "idx_station_occupancy_range", columnList = "resolution, bucket_start")
+    })
+public class StationOccupancyBucket {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "station_id", nullable = false)
+    private Long stationId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "resolution", nullable = false, length = 10)
+    private Resolution resolution;
+
+    @Column(name = "bucket_start", nullable = false)
+    private LocalDateTime bucketStart;
+
+    // Part of the bucket the station was followed
+    @Column(name = "covered_millis", nullable = false)
+    private Long coveredMillis = 0L;
+
+    // Occupied slots integrated over time
+    @Column(name = "occupied_slot_millis", nullable = false)
+    private Long occupiedSlotMillis = 0L;
+
+    // Capacity integrated over time
+    @Column(name = "capacity_slot_millis", nullable = false)
+    private Long capacitySlotMillis = 0L;
+
+    // Time with nothing docked
+    @Column(name = "idle_millis", nullable = false)
+    private Long idleMillis = 0L;
+
+    @Column(name = "peak_occupancy", nullable = false)
+    private Integer peakOccupancy = 0;
+
+    @Column(name = "dock_count", nullable = false)
+    private Integer dockCount = 0;
+
+    @Column(name = "undock_count", nullable = false)
+    private Integer undockCount = 0;
+
+    public enum Resolution {
+        MINUTE,
+        HOUR,
+        DAY
+    }
+
+    // Constructors
+    public StationOccupancyBucket() {}
+
+    public StationOccupancyBucket(Long stationId, Resolution resolution, LocalDateTime bucketStart) {
+        this.stationId = stationId;
+        this.resolution = resolution;
+        this.bucketStart = bucketStart;
+    }
+
+    /**
+     * Add a bucket of a shorter resolution that lies within this one
+     */
+    public void add(long coveredMillis, long occupiedSlotMillis, long capacitySlotMillis, long idleMillis,
+                    int peakOccupancy, int dockCount, int undockCount) {
+        this.coveredMillis += coveredMillis;
+        this.occupiedSlotMillis += occupiedSlotMillis;
+        this.capacitySlotMillis += capacitySlotMillis;
+        this.idleMillis += idleMillis;
+        this.peakOccupancy = Math.max(this.peakOccupancy, peakOccupancy);
+        this.dockCount += dockCount;
+        this.undockCount += undockCount;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getStationId() {
+        return stationId;
+    }
+
+    public void setStationId(Long stationId) {
+        this.stationId = stationId;
+    }
+
+    public Resolution getResolution() {
+        return resolution;
+    }
+
+    public void setResolution(Resolution resolution) {
+        this.resolution = resolution;
+    }
+
+    public LocalDateTime getBucketStart() {
+        return bucketStart;
+    }
+
+    public void setBucketStart(LocalDateTime bucketStart) {
+        this.bucketStart = bucketStart;
+    }
+
+    public Long getCoveredMillis() {
+        return coveredMillis;
+    }
+
+    public void setCoveredMillis(Long coveredMillis) {
+        this.coveredMillis = coveredMillis;
+    }
+
+    public Long getOccupiedSlotMillis() {
+        return occupiedSlotMillis;
+    }
+
+    public void setOccupiedSlotMillis(Long occupiedSlotMillis) {
+        this.occupiedSlotMillis = occupiedSlotMillis;
+    }
+
+    public Long getCapacitySlotMillis() {
+        return capacitySlotMillis;
+    }
+
+    public void setCapacitySlotMillis(Long capacitySlotMillis) {
+        this.capacitySlotMillis = capacitySlotMillis;
+    }
+
+    public Long getIdleMillis() {
+        return idleMillis;
+    }
+
+    public void setIdleMillis(Long idleMillis) {
+        this.idleMillis = idleMillis;
+    }
+
+    public Integer getPeakOccupancy() {
+        return peakOccupancy;
+    }
+
+    public void setPeakOccupancy(Integer peakOccupancy) {
+        this.peakOccupancy = peakOccupancy;
+    }
+
+    public Integer getDockCount() {
+        return dockCount;
+    }
+
+    public void setDockCount(Integer dockCount) {
+        this.dockCount = dockCount;
+    }
+
+    public Integer getUndockCount() {
+        return undockCount;
+    }
+
+    public void setUndockCount(Integer undockCount) {
+        this.undockCount = undockCount;
+    }
+}
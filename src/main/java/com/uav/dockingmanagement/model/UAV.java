@@ -75,6 +75,13 @@ public class UAV {
      */
     boolean inHibernatePod;
 
+    /**
+     * Identifier of the hibernate pod the UAV is stored in, or null when not hibernating.
+     * Persisted alongside {@link #inHibernatePod} so pod assignments survive restarts.
+     */
+    @Column(name = "hibernate_pod_id", length = 32)
+    private String hibernatePodId;
+
     /**
      * Authorization status of the UAV for system operations.
      * Determines access permissions and operational capabilities.
@@ -218,6 +225,14 @@ public class UAV {
         this.inHibernatePod = inHibernatePod;
     }
 
+    public String getHibernatePodId() {
+        return hibernatePodId;
+    }
+
+    public void setHibernatePodId(String hibernatePodId) {
+        this.hibernatePodId = hibernatePodId;
+    }
+
     public int getId() {
         return id;
     }
@@ -23,6 +23,12 @@ public interface BatteryStatusRepository extends JpaRepository<BatteryStatus, Lo
      */
     Optional<BatteryStatus> findByUav(UAV uav);
 
+    /**
+     * Find all battery statuses with their UAV loaded
+     */
+    @Query("SELECT bs FROM BatteryStatus bs JOIN FETCH bs.uav")
+    List<BatteryStatus> findAllWithUav();
+
     /**
      * Find battery status by UAV ID
      */
@@ -53,6 +53,26 @@ public interface DockingRecordRepository extends JpaRepository<DockingRecord, Lo
     @Query("SELECT dr FROM DockingRecord dr WHERE dr.dockingStation.id = :stationId AND dr.status = 'DOCKED' AND dr.undockTime IS NULL")
     List<DockingRecord> findCurrentlyDockedAtStation(@Param("stationId") Long stationId);
 
+    /**
+     * Find current charging dockings with their UAV, battery and station, oldest first
+     */
+    @Query("SELECT dr FROM DockingRecord dr JOIN FETCH dr.uav u LEFT JOIN FETCH u.batteryStatus JOIN FETCH dr.dockingStation " +
+           "WHERE dr.status = 'DOCKED' AND dr.undockTime IS NULL AND UPPER(dr.purpose) = 'CHARGING' ORDER BY dr.dockTime ASC")
+    List<DockingRecord> findCurrentChargingDockings();
+
+    /**
+     * Get the interval of every docking record: id, UAV id, station id, dock time, undock time, status
+     */
+    @Query("SELECT dr.id, dr.uav.id, dr.dockingStation.id, dr.dockTime, dr.undockTime, dr.status FROM DockingRecord dr")
+    List<Object[]> findAllIntervals();
+
+    /**
+     * Get every current docking: id, UAV id, station id, dock time, purpose
+     */
+    @Query("SELECT dr.id, dr.uav.id, dr.dockingStation.id, dr.dockTime, dr.purpose FROM DockingRecord dr " +
+           "WHERE dr.status = 'DOCKED' AND dr.undockTime IS NULL")
+    List<Object[]> findCurrentDockingSummaries();
+
     /**
      * Find if UAV is currently docked
      */
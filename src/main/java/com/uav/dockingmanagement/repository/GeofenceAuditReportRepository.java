@@ -0,0 +1,24 @@
+package com.uav.dockingmanagement.repository;
+
+import com.uav.dockingmanagement.model.GeofenceAuditReport;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Repository interface for GeofenceAuditReport entity
+ */
+@Repository
+public interface GeofenceAuditReportRepository extends JpaRepository<GeofenceAuditReport, Long> {
+
+    /**
+     * Find audit reports of a geofence, newest first
+     */
+    List<GeofenceAuditReport> findByGeofenceIdOrderByCreatedAtDesc(Long geofenceId);
+
+    /**
+     * Find audit reports by status
+     */
+    List<GeofenceAuditReport> findByStatus(GeofenceAuditReport.AuditStatus status);
+}
@@ -2,9 +2,11 @@ package com.uav.dockingmanagement.repository;
 
 import com.uav.dockingmanagement.model.Geofence;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -178,6 +180,22 @@ public interface GeofenceRepository extends JpaRepository<Geofence, Long> {
     @Query("UPDATE Geofence g SET g.totalViolations = g.totalViolations + 1, g.lastViolationTime = :violationTime WHERE g.id = :geofenceId")
     void incrementViolationCount(@Param("geofenceId") Long geofenceId, @Param("violationTime") LocalDateTime violationTime);
 
+    /**
+     * Names of all geofences, for duplicate checks during bulk imports
+     */
+    @Query("SELECT g.name FROM Geofence g")
+    List<String> findAllNames();
+
+    /**
+     * Add a batch of violations to a geofence's counters in one statement
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE Geofence g SET g.totalViolations = COALESCE(g.totalViolations, 0) + :count, " +
+           "g.lastViolationTime = :violationTime WHERE g.id = :geofenceId")
+    int addViolations(@Param("geofenceId") Long geofenceId, @Param("count") int count,
+                      @Param("violationTime") LocalDateTime violationTime);
+
     /**
      * Find geofences that need to be checked for a specific point
      * This is a simplified query - in production, you'd use spatial queries
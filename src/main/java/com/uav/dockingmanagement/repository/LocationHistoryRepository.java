@@ -14,9 +14,10 @@ import java.util.Optional;
 /**
  * Repository interface for LocationHistory entity
  * Provides data access methods for UAV location tracking
+ * Proximity queries are implemented in {@link LocationHistoryRepositoryImpl}
  */
 @Repository
-public interface LocationHistoryRepository extends JpaRepository<LocationHistory, Long> {
+public interface LocationHistoryRepository extends JpaRepository<LocationHistory, Long>, LocationHistoryRepositoryCustom {
 
     /**
      * Find location history for a specific UAV
@@ -140,22 +141,6 @@ public interface LocationHistoryRepository extends JpaRepository<LocationHistory
                                       @Param("startTime") LocalDateTime startTime,
                                       @Param("endTime") LocalDateTime endTime);
 
-    /**
-     * Find locations near a point
-     */
-    @Query(value = "SELECT *, " +
-           "(6371 * acos(cos(radians(:latitude)) * cos(radians(latitude)) * " +
-           "cos(radians(longitude) - radians(:longitude)) + " +
-           "sin(radians(:latitude)) * sin(radians(latitude)))) AS distance " +
-           "FROM location_history " +
-           "WHERE timestamp > :since " +
-           "HAVING distance <= :radiusKm " +
-           "ORDER BY timestamp DESC", nativeQuery = true)
-    List<LocationHistory> findLocationsNearPoint(@Param("latitude") Double latitude,
-                                                @Param("longitude") Double longitude,
-                                                @Param("radiusKm") Double radiusKm,
-                                                @Param("since") LocalDateTime since);
-
     /**
      * Get average speed for UAV in time period
      */
@@ -0,0 +1,17 @@
+package com.uav.dockingmanagement.repository;
+
+import com.uav.dockingmanagement.model.LocationHistory;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Location history queries that cannot be expressed as a single portable JPQL query
+ */
+public interface LocationHistoryRepositoryCustom {
+
+    /**
+     * Find locations within {@code radiusKm} of a point recorded after {@code since}, newest first
+     */
+    List<LocationHistory> findLocationsNearPoint(Double latitude, Double longitude, Double radiusKm, LocalDateTime since);
+}
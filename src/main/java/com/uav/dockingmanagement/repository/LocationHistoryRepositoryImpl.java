@@ -0,0 +1,100 @@
+package com.uav.dockingmanagement.repository;
+
+import com.uav.dockingmanagement.model.LocationHistory;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Proximity queries over location history.
+ *
+ * <p>Both paths prefilter with a bounding box around the search circle so an index can be used,
+ * then refine with the great-circle distance. On MySQL with the spatial column in place
+ * (see {@link LocationSpatialSchema}) the box is matched against the SPATIAL index and refined with
+ * {@code ST_Distance_Sphere}. Otherwise, including H2 in tests, the box is matched against the
+ * (latitude, longitude) index and refined with the haversine formula in Java.</p>
+ */
+public class LocationHistoryRepositoryImpl implements LocationHistoryRepositoryCustom {
+
+    /** Slightly below the mean earth radius so the box always contains the circle */
+    private static final double BOX_EARTH_RADIUS_KM = 6370.0;
+
+    private static final String SPATIAL_QUERY =
+        "SELECT * FROM location_history " +
+        "WHERE timestamp > :since " +
+        "AND MBRContains(ST_GeomFromText(:box, 4326, 'axis-order=long-lat'), " + LocationSpatialSchema.COLUMN + ") " +
+        "AND ST_Distance_Sphere(" + LocationSpatialSchema.COLUMN + ", ST_SRID(POINT(:longitude, :latitude), 4326)) <= :radiusMeters " +
+        "ORDER BY timestamp DESC";
+
+    private static final String BOX_QUERY =
+        "SELECT lh FROM LocationHistory lh " +
+        "WHERE lh.timestamp > :since " +
+        "AND lh.latitude BETWEEN :minLatitude AND :maxLatitude " +
+        "AND lh.longitude BETWEEN :minLongitude AND :maxLongitude " +
+        "ORDER BY lh.timestamp DESC";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private LocationSpatialSchema spatialSchema;
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<LocationHistory> findLocationsNearPoint(Double latitude, Double longitude, Double radiusKm,
+                                                        LocalDateTime since) {
+        double[] box = boundingBox(latitude, longitude, radiusKm);
+
+        if (spatialSchema.isAvailable()) {
+            return entityManager.createNativeQuery(SPATIAL_QUERY, LocationHistory.class)
+                .setParameter("since", since)
+                .setParameter("box", toWkt(box))
+                .setParameter("latitude", latitude)
+                .setParameter("longitude", longitude)
+                .setParameter("radiusMeters", radiusKm * 1000.0)
+                .getResultList();
+        }
+
+        double radiusMeters = radiusKm * 1000.0;
+        return entityManager.createQuery(BOX_QUERY, LocationHistory.class)
+            .setParameter("since", since)
+            .setParameter("minLatitude", box[0])
+            .setParameter("maxLatitude", box[1])
+            .setParameter("minLongitude", box[2])
+            .setParameter("maxLongitude", box[3])
+            .getResultStream()
+            .filter(location -> location.distanceToPoint(latitude, longitude) <= radiusMeters)
+            .toList();
+    }
+
+    /**
+     * Smallest latitude/longitude box containing the circle, as {minLat, maxLat, minLon, maxLon}.
+     * Circles reaching a pole or crossing the antimeridian get the full longitude range.
+     */
+    static double[] boundingBox(double latitude, double longitude, double radiusKm) {
+        double angle = radiusKm / BOX_EARTH_RADIUS_KM;
+        double minLatitude = latitude - Math.toDegrees(angle);
+        double maxLatitude = latitude + Math.toDegrees(angle);
+        if (minLatitude <= -90.0 || maxLatitude >= 90.0 || angle >= Math.PI / 2) {
+            return new double[] { Math.max(minLatitude, -90.0), Math.min(maxLatitude, 90.0), -180.0, 180.0 };
+        }
+
+        double longitudeDelta = Math.toDegrees(Math.asin(Math.sin(angle) / Math.cos(Math.toRadians(latitude))));
+        double minLongitude = longitude - longitudeDelta;
+        double maxLongitude = longitude + longitudeDelta;
+        if (minLongitude < -180.0 || maxLongitude > 180.0) {
+            minLongitude = -180.0;
+            maxLongitude = 180.0;
+        }
+        return new double[] { minLatitude, maxLatitude, minLongitude, maxLongitude };
+    }
+
+    private static String toWkt(double[] box) {
+        return String.format(Locale.ROOT, "POLYGON((%.9f %.9f, %.9f %.9f, %.9f %.9f, %.9f %.9f, %.9f %.9f))",
+            box[2], box[0], box[3], box[0], box[3], box[1], box[2], box[1], box[2], box[0]);
+    }
+}
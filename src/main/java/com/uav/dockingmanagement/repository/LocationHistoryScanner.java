@@ -0,0 +1,148 @@
+package com.uav.dockingmanagement.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Chunked JDBC scans of location history for jobs that read large time ranges.
+ *
+ * <p>Rows are read as plain columns into arrays instead of entities, so a chunk costs a few arrays
+ * and nothing is held by a persistence context. Chunks are pages by keyset: within a time window rows
+ * come in (timestamp, id) order, which is the order of the timestamp index since InnoDB secondary
+ * indexes end with the primary key, and the next page starts after the last (timestamp, id) of the
+ * previous one. Every page is then a range scan of that index starting where the previous one stopped,
+ * however far into the window it is, and rows arrive in time order whatever order they were inserted in.</p>
+ */
+@Repository
+public class LocationHistoryScanner {
+
+    private static final String SCAN_SQL = "SELECT id, uav_id, flight_log_id, timestamp, latitude, longitude, " +
+        "altitude_meters FROM location_history WHERE timestamp >= ? AND timestamp < ?";
+
+    // (timestamp, id) > (?, ?), spelled out so the optimizer sees a range on the timestamp index
+    private static final String AFTER_KEY = " AND (timestamp > ? OR (timestamp = ? AND id > ?))";
+
+    private static final String BOX_FILTER = " AND latitude BETWEEN ? AND ? AND longitude BETWEEN ? AND ?";
+
+    private static final String ORDER_AND_LIMIT = " ORDER BY timestamp, id LIMIT ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public LocationHistoryScanner(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    /**
+     * Next chunk of locations recorded in {@code [from, to)}
+     *
+     * @param box       {minLat, maxLat, minLon, maxLon} to restrict the scan to, or null for everywhere
+     * @param afterTime only rows after ({@code afterTime}, {@code afterId}); the last timestamp of the
+     *                  previous chunk, or null to start
+     * @param afterId   the last id of the previous chunk
+     * @param limit     maximum rows in the chunk
+     */
+    public LocationChunk scan(LocalDateTime from, LocalDateTime to, double[] box, LocalDateTime afterTime,
+                              long afterId, int limit) {
+        List<Object> arguments = new ArrayList<>(List.of(Timestamp.valueOf(from), Timestamp.valueOf(to)));
+        String sql = SCAN_SQL;
+        if (afterTime != null) {
+            sql += AFTER_KEY;
+            arguments.addAll(List.of(Timestamp.valueOf(afterTime), Timestamp.valueOf(afterTime), afterId));
+        }
+        if (box != null) {
+            sql += BOX_FILTER;
+            arguments.addAll(List.of(box[0], box[1], box[2], box[3]));
+        }
+        arguments.add(limit);
+
+        return jdbcTemplate.query(sql + ORDER_AND_LIMIT, (ResultSetExtractor<LocationChunk>) resultSet -> {
+            LocationChunk chunk = new LocationChunk(Math.min(limit, 1024));
+            while (resultSet.next()) {
+                chunk.add(resultSet);
+            }
+            return chunk.trim();
+        }, arguments.toArray());
+    }
+
+    /**
+     * Locations as parallel arrays. A missing flight log is 0 and a missing altitude is NaN.
+     */
+    public static final class LocationChunk {
+        private int size;
+        private long[] ids;
+        private int[] uavIds;
+        private long[] flightLogIds;
+        private LocalDateTime[] timestamps;
+        private double[] latitudes;
+        private double[] longitudes;
+        private double[] altitudes;
+
+        LocationChunk(int capacity) {
+            resize(Math.max(1, capacity));
+        }
+
+        public int size() { return size; }
+        public long[] getIds() { return ids; }
+        public int[] getUavIds() { return uavIds; }
+        public long[] getFlightLogIds() { return flightLogIds; }
+        public LocalDateTime[] getTimestamps() { return timestamps; }
+        public double[] getLatitudes() { return latitudes; }
+        public double[] getLongitudes() { return longitudes; }
+        public double[] getAltitudes() { return altitudes; }
+
+        public long lastId() {
+            return ids[size - 1];
+        }
+
+        public LocalDateTime lastTimestamp() {
+            return timestamps[size - 1];
+        }
+
+        private void add(ResultSet resultSet) throws SQLException {
+            if (size == ids.length) {
+                resize(size * 2);
+            }
+            ids[size] = resultSet.getLong(1);
+            uavIds[size] = resultSet.getInt(2);
+            flightLogIds[size] = resultSet.getLong(3);
+            timestamps[size] = resultSet.getTimestamp(4).toLocalDateTime();
+            latitudes[size] = resultSet.getDouble(5);
+            longitudes[size] = resultSet.getDouble(6);
+            double altitude = resultSet.getDouble(7);
+            altitudes[size] = resultSet.wasNull() ? Double.NaN : altitude;
+            size++;
+        }
+
+        /**
+         * Shrink the arrays to the row count, so they can be handed to array-length based checks
+         */
+        private LocationChunk trim() {
+            if (size != ids.length) {
+                resize(size);
+            }
+            return this;
+        }
+
+        private void resize(int capacity) {
+            ids = ids == null ? new long[capacity] : Arrays.copyOf(ids, capacity);
+            uavIds = uavIds == null ? new int[capacity] : Arrays.copyOf(uavIds, capacity);
+            flightLogIds = flightLogIds == null ? new long[capacity] : Arrays.copyOf(flightLogIds, capacity);
+            timestamps = timestamps == null ? new LocalDateTime[capacity] : Arrays.copyOf(timestamps, capacity);
+            latitudes = latitudes == null ? new double[capacity] : Arrays.copyOf(latitudes, capacity);
+            longitudes = longitudes == null ? new double[capacity] : Arrays.copyOf(longitudes, capacity);
+            altitudes = altitudes == null ? new double[capacity] : Arrays.copyOf(altitudes, capacity);
+        }
+    }
+}
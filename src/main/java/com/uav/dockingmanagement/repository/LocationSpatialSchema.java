@@ -0,0 +1,94 @@
+package com.uav.dockingmanagement.repository;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+
+/**
+ * Maintains the spatial column and SPATIAL index of location_history on MySQL.
+ *
+ * <p>The column is a stored generated {@code POINT SRID 4326} derived from latitude and longitude,
+ * so the entity and every insert path stay unchanged and Hibernate's schema update leaves it alone.
+ * It is added once, after startup, because the ALTER rebuilds the table; proximity queries use the
+ * portable bounding-box path until it is in place. Other databases are left untouched.</p>
+ */
+@Component
+public class LocationSpatialSchema {
+
+    private static final Logger logger = LoggerFactory.getLogger(LocationSpatialSchema.class);
+
+    public static final String COLUMN = "geo_point";
+    public static final String INDEX = "idx_location_history_geo_point";
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Value("${uav.location.spatial-index.enabled:true}")
+    private boolean enabled = true;
+
+    private volatile boolean available;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            String product;
+            try (Connection connection = dataSource.getConnection()) {
+                product = connection.getMetaData().getDatabaseProductName();
+            }
+            if (!"MySQL".equalsIgnoreCase(product)) {
+                logger.info("Spatial index not supported on {}; using bounding-box proximity queries", product);
+                return;
+            }
+
+            JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+            if (!columnExists(jdbcTemplate)) {
+                logger.info("Adding spatial column {} to location_history; this rebuilds the table", COLUMN);
+                jdbcTemplate.execute("ALTER TABLE location_history ADD COLUMN " + COLUMN + " POINT SRID 4326 " +
+                    "GENERATED ALWAYS AS (ST_SRID(POINT(longitude, latitude), 4326)) STORED NOT NULL");
+            }
+            if (!indexExists(jdbcTemplate)) {
+                logger.info("Creating SPATIAL index {}", INDEX);
+                jdbcTemplate.execute("CREATE SPATIAL INDEX " + INDEX + " ON location_history (" + COLUMN + ")");
+            }
+            available = true;
+            logger.info("Spatial proximity queries enabled for location_history");
+
+        } catch (Exception e) {
+            logger.error("Error preparing spatial index, using bounding-box proximity queries: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Whether proximity queries can use the spatial column and index
+     */
+    public boolean isAvailable() {
+        return available;
+    }
+
+    private boolean columnExists(JdbcTemplate jdbcTemplate) {
+        Integer count = jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM information_schema.COLUMNS " +
+            "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'location_history' AND COLUMN_NAME = ?",
+            Integer.class, COLUMN);
+        return count != null && count > 0;
+    }
+
+    private boolean indexExists(JdbcTemplate jdbcTemplate) {
+        Integer count = jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM information_schema.STATISTICS " +
+            "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'location_history' AND INDEX_NAME = ?",
+            Integer.class, INDEX);
+        return count != null && count > 0;
+    }
+}
@@ -0,0 +1,54 @@
+package com.uav.dockingmanagement.repository;
+
+import com.uav.dockingmanagement.model.StationOccupancyBucket;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository interface for StationOccupancyBucket entity
+ */
+@Repository
+public interface StationOccupancyBucketRepository extends JpaRepository<StationOccupancyBucket, Long> {
+
+    /**
+     * Find buckets of every station starting in [from, to)
+     */
+    @Query("SELECT b FROM StationOccupancyBucket b WHERE b.resolution = :resolution " +
+           "AND b.bucketStart >= :fromTime AND b.bucketStart < :toTime")
+    List<StationOccupancyBucket> findInRange(@Param("resolution") StationOccupancyBucket.Resolution resolution,
+                                             @Param("fromTime") LocalDateTime fromTime,
+                                             @Param("toTime") LocalDateTime toTime);
+
+    /**
+     * Find buckets of a station starting in [from, to), oldest first
+     */
+    @Query("SELECT b FROM StationOccupancyBucket b WHERE b.stationId = :stationId AND b.resolution = :resolution " +
+           "AND b.bucketStart >= :fromTime AND b.bucketStart < :toTime ORDER BY b.bucketStart")
+    List<StationOccupancyBucket> findStationInRange(@Param("stationId") Long stationId,
+                                                    @Param("resolution") StationOccupancyBucket.Resolution resolution,
+                                                    @Param("fromTime") LocalDateTime fromTime,
+                                                    @Param("toTime") LocalDateTime toTime);
+
+    /**
+     * Find the buckets of one resolution starting at any of the given times
+     */
+    List<StationOccupancyBucket> findByResolutionAndBucketStartIn(StationOccupancyBucket.Resolution resolution,
+                                                                  Collection<LocalDateTime> bucketStarts);
+
+    /**
+     * Delete buckets of a resolution older than a cutoff
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM StationOccupancyBucket b WHERE b.resolution = :resolution AND b.bucketStart < :cutoffTime")
+    int deleteOlderThan(@Param("resolution") StationOccupancyBucket.Resolution resolution,
+                        @Param("cutoffTime") LocalDateTime cutoffTime);
+}
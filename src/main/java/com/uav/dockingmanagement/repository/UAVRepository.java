@@ -15,6 +15,11 @@ public interface UAVRepository extends JpaRepository<UAV, Integer> {
 
     Optional<UAV> findByRfidTag(String rfidTag);
 
+    /**
+     * Find UAVs whose RFID tag starts with the given prefix
+     */
+    List<UAV> findByRfidTagStartingWith(String prefix);
+
     /**
      * Find UAVs by hibernate pod status
      */
@@ -59,6 +64,11 @@ public interface UAVRepository extends JpaRepository<UAV, Integer> {
      */
     @Query("SELECT COUNT(u) FROM UAV u WHERE u.currentLatitude IS NOT NULL AND u.currentLongitude IS NOT NULL")
     long countUAVsWithLocation();
-}
 
+    /**
+     * Ids of every registered UAV
+     */
+    @Query("SELECT u.id FROM UAV u")
+    List<Integer> findAllIds();
+}
 
@@ -0,0 +1,469 @@
+package com.uav.dockingmanagement.service;
+
+import com.uav.dockingmanagement.model.Geofence;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Precomputed multi-resolution raster of the airspace, so most point checks need no geometry at all.
+ *
+ * <p>The world is divided into tiles of {@code tileDegrees}, and each tile is a quadtree down to
+ * {@code maxDepth} levels. A node is ALLOWED when no fence can be violated anywhere in it at any
+ * altitude, FORBIDDEN when some fence is violated everywhere in it at every altitude, and otherwise is
+ * split; at the last level it is a BOUNDARY leaf listing the fences that still need an exact test. A
+ * lookup is one hash probe for the tile and a descent through an int array. Tiles no fence touches take
+ * the background state: FORBIDDEN if any INCLUSION fence exists, since being outside one is a violation,
+ * otherwise ALLOWED. Tiles equal to the background are not stored.</p>
+ *
+ * <p>Instances are immutable. {@link #update} builds the raster for a new fence set by rebuilding only
+ * the tiles under EXCLUSION fences that were added or removed, sharing the rest; a change to an
+ * INCLUSION fence moves the background and rebuilds everything. Nodes are classified against circles
+ * with a margin covering the planar approximation, and against polygons with only the edges that cross
+ * the parent node, which are passed down the tree. An edge of a simplified polygon counts as crossing
+ * every node within the simplification tolerance of it, so a node is only ALLOWED or FORBIDDEN where
+ * the original ring gives the same answer; BOUNDARY leaves test the original geometry.</p>
+ */
+public final class AirspaceRaster {
+
+    public enum State {
+        ALLOWED,
+        FORBIDDEN,
+        BOUNDARY
+    }
+
+    private static final double METERS_PER_DEGREE = 111_320.0;
+    /** Slack when classifying nodes against circles, relative to the radius and absolute */
+    private static final double CIRCLE_MARGIN_RATIO = 0.01;
+    private static final double CIRCLE_MARGIN_METERS = 1.0;
+    static final int MAX_DEPTH = 20;
+
+    /** Node encoding: the low two bits are the kind, the rest the first child or the leaf's fence list */
+    private static final int ALLOWED = 0;
+    private static final int FORBIDDEN = 1;
+    private static final int BOUNDARY = 2;
+    private static final int SPLIT = 3;
+
+    /** Horizontal relation of a fence's shape to a node */
+    private static final int OUTSIDE = 0;
+    private static final int INSIDE = 1;
+    private static final int CROSSES = 2;
+
+    private static final Tile ALLOWED_TILE = new Tile(new int[] {ALLOWED}, new GeofenceIndex.IndexedFence[0][]);
+    private static final Tile FORBIDDEN_TILE = new Tile(new int[] {FORBIDDEN}, new GeofenceIndex.IndexedFence[0][]);
+
+    private final GeofenceIndex index;
+    private final double tileDegrees;
+    private final int maxDepth;
+    private final int columns;
+    private final int rows;
+    private final int inclusionCount;
+    private final Tile background;
+    private final Map<Long, Tile> tiles;
+
+    public AirspaceRaster(GeofenceIndex index, double tileDegrees, int maxDepth) {
+        this(index, tileDegrees, maxDepth, Map.of(), null);
+    }
+
+    /**
+     * @param dirty tiles to rebuild on top of {@code base}, or null to build every tile a fence touches
+     */
+    private AirspaceRaster(GeofenceIndex index, double tileDegrees, int maxDepth, Map<Long, Tile> base, Set<Long> dirty) {
+        if (!(tileDegrees > 0) || tileDegrees > 90) {
+            throw new IllegalArgumentException("Tile size must be between 0 and 90 degrees");
+        }
+        if (maxDepth < 0 || maxDepth > MAX_DEPTH) {
+            throw new IllegalArgumentException("Depth must be between 0 and " + MAX_DEPTH);
+        }
+        this.index = index;
+        this.tileDegrees = tileDegrees;
+        this.maxDepth = maxDepth;
+        this.rows = (int) Math.ceil(180 / tileDegrees);
+        this.columns = (int) Math.ceil(360 / tileDegrees);
+        this.inclusionCount = (int) index.getFences().stream()
+            .filter(fence -> fence.getGeofence().getBoundaryType() != Geofence.BoundaryType.EXCLUSION).count();
+        this.background = inclusionCount > 0 ? FORBIDDEN_TILE : ALLOWED_TILE;
+
+        Set<Long> keys = dirty;
+        if (keys == null) {
+            keys = new HashSet<>();
+            for (GeofenceIndex.IndexedFence fence : index.getFences()) {
+                addTileKeys(fence, keys);
+            }
+        }
+        Map<Long, Tile> built = new HashMap<>(base);
+        keys.parallelStream()
+            .map(key -> Map.entry(key, buildTile(key)))
+            .toList()
+            .forEach(entry -> {
+                if (entry.getValue() == background) {
+                    built.remove(entry.getKey());
+                } else {
+                    built.put(entry.getKey(), entry.getValue());
+                }
+            });
+        this.tiles = Collections.unmodifiableMap(built);
+    }
+
+    public static AirspaceRaster empty() {
+        return new AirspaceRaster(GeofenceIndex.empty(), 1.0, 0);
+    }
+
+    /**
+     * Raster for the fences of {@code next}, with the same tile size and depth, rebuilding only what the
+     * difference from this raster's fences touches. Fences are compared by identity.
+     */
+    public AirspaceRaster update(GeofenceIndex next) {
+        Map<Geofence, GeofenceIndex.IndexedFence> before = new IdentityHashMap<>();
+        index.getFences().forEach(fence -> before.put(fence.getGeofence(), fence));
+        List<GeofenceIndex.IndexedFence> changed = new ArrayList<>();
+        for (GeofenceIndex.IndexedFence fence : next.getFences()) {
+            if (before.remove(fence.getGeofence()) == null) {
+                changed.add(fence);
+            }
+        }
+        changed.addAll(before.values());
+
+        Set<Long> dirty = new HashSet<>();
+        for (GeofenceIndex.IndexedFence fence : changed) {
+            if (fence.getGeofence().getBoundaryType() != Geofence.BoundaryType.EXCLUSION) {
+                return new AirspaceRaster(next, tileDegrees, maxDepth);
+            }
+            addTileKeys(fence, dirty);
+        }
+        return new AirspaceRaster(next, tileDegrees, maxDepth, tiles, dirty);
+    }
+
+    /**
+     * Whether a position violates any fence; BOUNDARY cells fall back to exact tests of their fences
+     *
+     * @param altitude altitude in meters, or null to ignore altitude bands
+     */
+    public boolean isForbidden(double latitude, double longitude, Double altitude) {
+        int row = row(latitude);
+        int column = column(longitude);
+        Tile tile = tiles.getOrDefault(key(row, column), background);
+        int node = find(tile, row, column, latitude, longitude);
+        int kind = node & 3;
+        if (kind != BOUNDARY) {
+            return kind == FORBIDDEN;
+        }
+        for (GeofenceIndex.IndexedFence fence : tile.leaves[node >>> 2]) {
+            boolean inside = fence.containsExactly(latitude, longitude)
+                && (altitude == null || fence.containsAltitude(altitude));
+            if (inside == (fence.getGeofence().getBoundaryType() == Geofence.BoundaryType.EXCLUSION)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * State of the cell containing a position, without exact tests
+     */
+    public State stateAt(double latitude, double longitude) {
+        int row = row(latitude);
+        int column = column(longitude);
+        Tile tile = tiles.getOrDefault(key(row, column), background);
+        return switch (find(tile, row, column, latitude, longitude) & 3) {
+            case ALLOWED -> State.ALLOWED;
+            case FORBIDDEN -> State.FORBIDDEN;
+            default -> State.BOUNDARY;
+        };
+    }
+
+    /**
+     * Whether any tile differs from the background in the given box, i.e. whether it needs lookups at all
+     */
+    public boolean hasTilesIn(double minLatitude, double minLongitude, double maxLatitude, double maxLongitude) {
+        for (int row = row(minLatitude); row <= row(maxLatitude); row++) {
+            for (int column = column(minLongitude); column <= column(maxLongitude); column++) {
+                if (tiles.containsKey(key(row, column))) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    public State getBackground() {
+        return background == FORBIDDEN_TILE ? State.FORBIDDEN : State.ALLOWED;
+    }
+
+    public int getFenceCount() {
+        return index.size();
+    }
+
+    public int getTileCount() {
+        return tiles.size();
+    }
+
+    public long getNodeCount() {
+        return tiles.values().stream().mapToLong(tile -> tile.nodes.length).sum();
+    }
+
+    public long getBoundaryCellCount() {
+        return tiles.values().stream().mapToLong(tile -> tile.leaves.length).sum();
+    }
+
+    /**
+     * Size of the finest cells in degrees
+     */
+    public double getCellDegrees() {
+        return tileDegrees / (1 << maxDepth);
+    }
+
+    private int find(Tile tile, int row, int column, double latitude, double longitude) {
+        int node = tile.nodes[0];
+        if ((node & 3) != SPLIT) {
+            return node;
+        }
+        int resolution = 1 << maxDepth;
+        int y = fixed((latitude + 90 - row * tileDegrees) / tileDegrees, resolution);
+        int x = fixed((longitude + 180 - column * tileDegrees) / tileDegrees, resolution);
+        for (int bit = maxDepth - 1; (node & 3) == SPLIT; bit--) {
+            node = tile.nodes[(node >>> 2) + ((((y >>> bit) & 1) << 1) | ((x >>> bit) & 1))];
+        }
+        return node;
+    }
+
+    private static int fixed(double fraction, int resolution) {
+        return Math.max(0, Math.min(resolution - 1, (int) (fraction * resolution)));
+    }
+
+    private int row(double latitude) {
+        return Math.max(0, Math.min(rows - 1, (int) Math.floor((latitude + 90) / tileDegrees)));
+    }
+
+    private int column(double longitude) {
+        return Math.max(0, Math.min(columns - 1, (int) Math.floor((longitude + 180) / tileDegrees)));
+    }
+
+    private static long key(int row, int column) {
+        return ((long) row << 32) ^ (column & 0xffffffffL);
+    }
+
+    private void addTileKeys(GeofenceIndex.IndexedFence fence, Set<Long> keys) {
+        if (!fence.isBounded()) {
+            // No usable geometry: contains no point, so it never changes a tile
+            return;
+        }
+        for (int row = row(fence.getMinLatitude()); row <= row(fence.getMaxLatitude()); row++) {
+            for (int column = column(fence.getMinLongitude()); column <= column(fence.getMaxLongitude()); column++) {
+                keys.add(key(row, column));
+            }
+        }
+    }
+
+    private Tile buildTile(long key) {
+        int row = (int) (key >> 32);
+        int column = (int) key;
+        double minLatitude = row * tileDegrees - 90;
+        double minLongitude = column * tileDegrees - 180;
+
+        List<Ref> refs = new ArrayList<>();
+        int inclusions = 0;
+        for (GeofenceIndex.IndexedFence fence : index.query(minLatitude, minLongitude,
+                minLatitude + tileDegrees, minLongitude + tileDegrees)) {
+            if (!fence.isBounded()) {
+                continue;
+            }
+            if (fence.getGeofence().getBoundaryType() != Geofence.BoundaryType.EXCLUSION) {
+                inclusions++;
+            }
+            refs.add(new Ref(fence, fence.isCircle() ? null : allEdges(fence)));
+        }
+        if (inclusions < inclusionCount) {
+            // Outside some INCLUSION fence everywhere in the tile
+            return FORBIDDEN_TILE;
+        }
+
+        TileBuilder builder = new TileBuilder();
+        builder.allocate(1);
+        build(builder, 0, 0, minLatitude, minLongitude, tileDegrees, refs);
+        if (builder.size == 1 && builder.nodes[0] != BOUNDARY) {
+            return builder.nodes[0] == FORBIDDEN ? FORBIDDEN_TILE : ALLOWED_TILE;
+        }
+        return new Tile(Arrays.copyOf(builder.nodes, builder.size),
+            builder.leaves.toArray(new GeofenceIndex.IndexedFence[0][]));
+    }
+
+    private void build(TileBuilder builder, int node, int depth, double minLatitude, double minLongitude,
+                       double size, List<Ref> refs) {
+        List<Ref> partial = new ArrayList<>();
+        for (Ref ref : refs) {
+            Ref crossing = classify(ref, minLatitude, minLongitude, minLatitude + size, minLongitude + size);
+            if (crossing == Ref.ALWAYS) {
+                builder.nodes[node] = FORBIDDEN;
+                return;
+            }
+            if (crossing != Ref.NEVER) {
+                partial.add(crossing);
+            }
+        }
+        if (partial.isEmpty()) {
+            builder.nodes[node] = ALLOWED;
+            return;
+        }
+        if (depth == maxDepth) {
+            builder.nodes[node] = (builder.leaves.size() << 2) | BOUNDARY;
+            builder.leaves.add(partial.stream().map(Ref::fence).toArray(GeofenceIndex.IndexedFence[]::new));
+            return;
+        }
+
+        int first = builder.allocate(4);
+        builder.nodes[node] = (first << 2) | SPLIT;
+        double half = size / 2;
+        for (int quadrant = 0; quadrant < 4; quadrant++) {
+            build(builder, first + quadrant, depth + 1, minLatitude + (quadrant >> 1) * half,
+                  minLongitude + (quadrant & 1) * half, half, partial);
+        }
+        // Four equal solid children are their parent; they are the last nodes allocated
+        int child = builder.nodes[first];
+        if ((child == ALLOWED || child == FORBIDDEN) && builder.size == first + 4
+                && builder.nodes[first + 1] == child && builder.nodes[first + 2] == child
+                && builder.nodes[first + 3] == child) {
+            builder.nodes[node] = child;
+            builder.size = first;
+        }
+    }
+
+    /**
+     * Relation of a fence to a node: {@link Ref#NEVER}, {@link Ref#ALWAYS}, or the fence with the edges
+     * crossing the node when it must be looked at more closely
+     */
+    private static Ref classify(Ref ref, double minLatitude, double minLongitude, double maxLatitude, double maxLongitude) {
+        GeofenceIndex.IndexedFence fence = ref.fence;
+        boolean exclusion = fence.getGeofence().getBoundaryType() == Geofence.BoundaryType.EXCLUSION;
+        boolean banded = fence.getMinAltitude() != Double.NEGATIVE_INFINITY
+            || fence.getMaxAltitude() != Double.POSITIVE_INFINITY;
+
+        int relation;
+        int[] edges = null;
+        if (fence.getMinLatitude() > maxLatitude || fence.getMaxLatitude() < minLatitude
+                || fence.getMinLongitude() > maxLongitude || fence.getMaxLongitude() < minLongitude) {
+            relation = OUTSIDE;
+        } else if (fence.isCircle()) {
+            relation = circleRelation(fence.getGeofence(), minLatitude, minLongitude, maxLatitude, maxLongitude);
+        } else {
+            // Widened by the simplification error, so a node without edges is on one side of both rings
+            double marginLatitude = fence.getEdgeMarginLatitude();
+            double marginLongitude = fence.getEdgeMarginLongitude();
+            edges = crossingEdges(fence, ref.edges, minLatitude - marginLatitude, minLongitude - marginLongitude,
+                maxLatitude + marginLatitude, maxLongitude + marginLongitude);
+            relation = edges.length > 0 ? CROSSES
+                : fence.contains((minLatitude + maxLatitude) / 2, (minLongitude + maxLongitude) / 2) ? INSIDE : OUTSIDE;
+        }
+
+        if (relation == CROSSES) {
+            return new Ref(fence, edges);
+        }
+        boolean inside = relation == INSIDE;
+        if (inside && banded) {
+            // Violated or not depending on altitude
+            return new Ref(fence, edges);
+        }
+        return inside == exclusion ? Ref.ALWAYS : Ref.NEVER;
+    }
+
+    private static int circleRelation(Geofence circle, double minLatitude, double minLongitude,
+                                      double maxLatitude, double maxLongitude) {
+        double latitude = circle.getCenterLatitude();
+        double longitude = circle.getCenterLongitude();
+        double radius = circle.getRadiusMeters();
+        double slack = radius * CIRCLE_MARGIN_RATIO + CIRCLE_MARGIN_METERS;
+
+        double near = planarDistance(latitude, longitude,
+            Math.max(minLatitude, Math.min(maxLatitude, latitude)), Math.max(minLongitude, Math.min(maxLongitude, longitude)));
+        if (near > radius + slack) {
+            return OUTSIDE;
+        }
+        double far = Math.max(
+            Math.max(planarDistance(latitude, longitude, minLatitude, minLongitude),
+                     planarDistance(latitude, longitude, minLatitude, maxLongitude)),
+            Math.max(planarDistance(latitude, longitude, maxLatitude, minLongitude),
+                     planarDistance(latitude, longitude, maxLatitude, maxLongitude)));
+        return far < radius - slack ? INSIDE : CROSSES;
+    }
+
+    private static double planarDistance(double lat1, double lon1, double lat2, double lon2) {
+        double north = (lat2 - lat1) * METERS_PER_DEGREE;
+        double east = (lon2 - lon1) * METERS_PER_DEGREE * Math.cos(Math.toRadians((lat1 + lat2) / 2));
+        return Math.hypot(north, east);
+    }
+
+    private static int[] allEdges(GeofenceIndex.IndexedFence fence) {
+        int[] edges = new int[fence.getPolygonLatitudes().length];
+        for (int i = 0; i < edges.length; i++) {
+            edges[i] = i;
+        }
+        return edges;
+    }
+
+    /**
+     * Edges among {@code candidates} touching the box; edge {@code i} runs from vertex {@code i} to the next
+     */
+    private static int[] crossingEdges(GeofenceIndex.IndexedFence fence, int[] candidates, double minLatitude,
+                                       double minLongitude, double maxLatitude, double maxLongitude) {
+        double[] lats = fence.getPolygonLatitudes();
+        double[] lons = fence.getPolygonLongitudes();
+        int[] result = new int[candidates.length];
+        int count = 0;
+        for (int edge : candidates) {
+            int next = edge + 1 == lats.length ? 0 : edge + 1;
+            double lat1 = lats[edge];
+            double lon1 = lons[edge];
+            double lat2 = lats[next];
+            double lon2 = lons[next];
+            if (Math.max(lat1, lat2) < minLatitude || Math.min(lat1, lat2) > maxLatitude
+                    || Math.max(lon1, lon2) < minLongitude || Math.min(lon1, lon2) > maxLongitude) {
+                continue;
+            }
+            // The segment's line must separate the box's corners, or touch one
+            double dLat = lat2 - lat1;
+            double dLon = lon2 - lon1;
+            double c1 = dLon * (minLatitude - lat1) - dLat * (minLongitude - lon1);
+            double c2 = dLon * (minLatitude - lat1) - dLat * (maxLongitude - lon1);
+            double c3 = dLon * (maxLatitude - lat1) - dLat * (minLongitude - lon1);
+            double c4 = dLon * (maxLatitude - lat1) - dLat * (maxLongitude - lon1);
+            if ((c1 > 0 && c2 > 0 && c3 > 0 && c4 > 0) || (c1 < 0 && c2 < 0 && c3 < 0 && c4 < 0)) {
+                continue;
+            }
+            result[count++] = edge;
+        }
+        return Arrays.copyOf(result, count);
+    }
+
+    /**
+     * A fence still undecided for a node, with the polygon edges crossing it
+     */
+    private record Ref(GeofenceIndex.IndexedFence fence, int[] edges) {
+        private static final Ref NEVER = new Ref(null, null);
+        private static final Ref ALWAYS = new Ref(null, null);
+    }
+
+    private record Tile(int[] nodes, GeofenceIndex.IndexedFence[][] leaves) {
+    }
+
+    private static final class TileBuilder {
+        private int[] nodes = new int[64];
+        private int size;
+        private final List<GeofenceIndex.IndexedFence[]> leaves = new ArrayList<>();
+
+        private int allocate(int count) {
+            if (size + count > nodes.length) {
+                nodes = Arrays.copyOf(nodes, Math.max(nodes.length * 2, size + count));
+            }
+            int first = size;
+            size += count;
+            return first;
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.uav.dockingmanagement.service;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+
+/**
+ * Renders an {@link AirspaceRaster} as Web Mercator map tiles ({@code z/x/y}, 256 pixels square) for a
+ * map overlay. Each pixel takes the state of the raster cell under its center: FORBIDDEN red, BOUNDARY
+ * orange, ALLOWED transparent. Tiles that hold no raster tiles are filled with the background directly.
+ */
+public final class AirspaceTileRenderer {
+
+    public static final int TILE_SIZE = 256;
+    public static final int MAX_ZOOM = 22;
+
+    private static final int FORBIDDEN_COLOR = 0x80E74C3C;
+    private static final int BOUNDARY_COLOR = 0x80F39C12;
+
+    private AirspaceTileRenderer() {
+    }
+
+    /**
+     * PNG image of one map tile
+     *
+     * @throws IllegalArgumentException if the tile does not exist at its zoom level
+     */
+    public static byte[] renderPng(AirspaceRaster raster, int zoom, int x, int y) {
+        if (zoom < 0 || zoom > MAX_ZOOM) {
+            throw new IllegalArgumentException("Zoom must be between 0 and " + MAX_ZOOM);
+        }
+        int tiles = 1 << zoom;
+        if (x < 0 || x >= tiles || y < 0 || y >= tiles) {
+            throw new IllegalArgumentException("Tile " + x + "/" + y + " does not exist at zoom " + zoom);
+        }
+
+        double[] longitudes = new double[TILE_SIZE];
+        double[] latitudes = new double[TILE_SIZE];
+        for (int i = 0; i < TILE_SIZE; i++) {
+            longitudes[i] = (x + (i + 0.5) / TILE_SIZE) / tiles * 360.0 - 180.0;
+            latitudes[i] = Math.toDegrees(Math.atan(Math.sinh(Math.PI * (1 - 2 * (y + (i + 0.5) / TILE_SIZE) / tiles))));
+        }
+
+        BufferedImage image = new BufferedImage(TILE_SIZE, TILE_SIZE, BufferedImage.TYPE_INT_ARGB);
+        int[] pixels = new int[TILE_SIZE * TILE_SIZE];
+        if (raster.hasTilesIn(latitudes[TILE_SIZE - 1], longitudes[0], latitudes[0], longitudes[TILE_SIZE - 1])) {
+            for (int row = 0; row < TILE_SIZE; row++) {
+                for (int column = 0; column < TILE_SIZE; column++) {
+                    pixels[row * TILE_SIZE + column] = color(raster.stateAt(latitudes[row], longitudes[column]));
+                }
+            }
+        } else {
+            Arrays.fill(pixels, color(raster.getBackground()));
+        }
+        image.setRGB(0, 0, TILE_SIZE, TILE_SIZE, pixels, 0, TILE_SIZE);
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try {
+            ImageIO.write(image, "png", output);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return output.toByteArray();
+    }
+
+    private static int color(AirspaceRaster.State state) {
+        return switch (state) {
+            case FORBIDDEN -> FORBIDDEN_COLOR;
+            case BOUNDARY -> BOUNDARY_COLOR;
+            default -> 0;
+        };
+    }
+}
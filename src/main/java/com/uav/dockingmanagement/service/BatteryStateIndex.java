@@ -0,0 +1,250 @@
+package com.uav.dockingmanagement.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Latest battery state of every UAV, bucketed for threshold queries.
+ *
+ * <p>Charge and health are bucketed per percent and temperature per degree Celsius. "How many UAVs
+ * are below X" sums the counts of the buckets fully below X and checks only the members of the bucket
+ * containing X, so the cost depends on the number of buckets, not the number of UAVs. Values outside
+ * a band's range are kept in its first or last bucket.</p>
+ *
+ * <p>All methods are synchronized; updates are a few hash operations.</p>
+ */
+public class BatteryStateIndex {
+
+    private final Map<Integer, BatteryState> states = new HashMap<>();
+    private final Band chargeBand = new Band(0, 100);
+    private final Band healthBand = new Band(0, 100);
+    private final Band temperatureBand = new Band(-40, 125);
+    private int chargingCount;
+
+    /**
+     * Update a UAV's battery state; null arguments keep the previous value
+     */
+    public synchronized void update(int uavId, String rfidTag, Integer chargePercentage, Integer healthPercentage,
+                                    Double temperatureCelsius, Boolean charging, long updatedMillis) {
+        BatteryState previous = states.get(uavId);
+        BatteryState state = new BatteryState(uavId,
+            rfidTag != null ? rfidTag : previous != null ? previous.rfidTag : null,
+            chargePercentage != null ? chargePercentage : previous != null ? previous.chargePercentage : null,
+            healthPercentage != null ? healthPercentage : previous != null ? previous.healthPercentage : null,
+            temperatureCelsius != null ? temperatureCelsius : previous != null ? previous.temperatureCelsius : null,
+            charging != null ? charging : previous != null && previous.charging,
+            updatedMillis);
+        states.put(uavId, state);
+
+        chargeBand.put(uavId, state.chargePercentage);
+        healthBand.put(uavId, state.healthPercentage);
+        temperatureBand.put(uavId, state.temperatureCelsius);
+        if (previous != null && previous.charging) {
+            chargingCount--;
+        }
+        if (state.charging) {
+            chargingCount++;
+        }
+    }
+
+    public synchronized void remove(int uavId) {
+        BatteryState previous = states.remove(uavId);
+        if (previous != null) {
+            chargeBand.put(uavId, null);
+            healthBand.put(uavId, null);
+            temperatureBand.put(uavId, null);
+            if (previous.charging) {
+                chargingCount--;
+            }
+        }
+    }
+
+    public synchronized Optional<BatteryState> get(int uavId) {
+        return Optional.ofNullable(states.get(uavId));
+    }
+
+    public synchronized long countChargeBelow(double percentage) {
+        return chargeBand.countBelow(percentage);
+    }
+
+    /**
+     * UAVs with charge below the threshold, lowest first
+     */
+    public synchronized List<BatteryState> findChargeBelow(double percentage) {
+        return sorted(chargeBand.findBelow(percentage), Comparator.comparing(BatteryState::getChargePercentage));
+    }
+
+    public synchronized long countHealthBelow(double percentage) {
+        return healthBand.countBelow(percentage);
+    }
+
+    /**
+     * UAVs with battery health below the threshold, lowest first
+     */
+    public synchronized List<BatteryState> findHealthBelow(double percentage) {
+        return sorted(healthBand.findBelow(percentage), Comparator.comparing(BatteryState::getHealthPercentage));
+    }
+
+    public synchronized long countTemperatureAbove(double celsius) {
+        return temperatureBand.countAbove(celsius);
+    }
+
+    /**
+     * UAVs with battery temperature above the threshold, hottest first
+     */
+    public synchronized List<BatteryState> findTemperatureAbove(double celsius) {
+        return sorted(temperatureBand.findAbove(celsius),
+            Comparator.comparing(BatteryState::getTemperatureCelsius).reversed());
+    }
+
+    public synchronized int countCharging() {
+        return chargingCount;
+    }
+
+    public synchronized int size() {
+        return states.size();
+    }
+
+    private List<BatteryState> sorted(List<Integer> uavIds, Comparator<BatteryState> order) {
+        List<BatteryState> result = new ArrayList<>(uavIds.size());
+        for (Integer uavId : uavIds) {
+            result.add(states.get(uavId));
+        }
+        result.sort(order);
+        return result;
+    }
+
+    /**
+     * Latest known battery values of one UAV; null when never reported
+     */
+    public static final class BatteryState {
+        private final int uavId;
+        private final String rfidTag;
+        private final Integer chargePercentage;
+        private final Integer healthPercentage;
+        private final Double temperatureCelsius;
+        private final boolean charging;
+        private final long updatedMillis;
+
+        private BatteryState(int uavId, String rfidTag, Integer chargePercentage, Integer healthPercentage,
+                             Double temperatureCelsius, boolean charging, long updatedMillis) {
+            this.uavId = uavId;
+            this.rfidTag = rfidTag;
+            this.chargePercentage = chargePercentage;
+            this.healthPercentage = healthPercentage;
+            this.temperatureCelsius = temperatureCelsius;
+            this.charging = charging;
+            this.updatedMillis = updatedMillis;
+        }
+
+        public int getUavId() { return uavId; }
+        public String getRfidTag() { return rfidTag; }
+        public Integer getChargePercentage() { return chargePercentage; }
+        public Integer getHealthPercentage() { return healthPercentage; }
+        public Double getTemperatureCelsius() { return temperatureCelsius; }
+        public boolean isCharging() { return charging; }
+        public long getUpdatedMillis() { return updatedMillis; }
+    }
+
+    /**
+     * Unit-width buckets over [min, max] with the exact value of each member
+     */
+    private static final class Band {
+        private final int min;
+        private final long[] counts;
+        private final List<Set<Integer>> members;
+        private final Map<Integer, Double> values = new HashMap<>();
+
+        private Band(int min, int max) {
+            this.min = min;
+            this.counts = new long[max - min + 1];
+            this.members = new ArrayList<>(counts.length);
+            for (int i = 0; i < counts.length; i++) {
+                members.add(new HashSet<>());
+            }
+        }
+
+        /**
+         * Set or clear (null) a member's value
+         */
+        private void put(int uavId, Number value) {
+            Double previous = value != null ? values.put(uavId, value.doubleValue()) : values.remove(uavId);
+            if (previous != null) {
+                int bucket = bucket(previous);
+                counts[bucket]--;
+                members.get(bucket).remove(uavId);
+            }
+            if (value != null) {
+                int bucket = bucket(value.doubleValue());
+                counts[bucket]++;
+                members.get(bucket).add(uavId);
+            }
+        }
+
+        private long countBelow(double threshold) {
+            int edge = bucket(threshold);
+            long count = 0;
+            for (int bucket = 0; bucket < edge; bucket++) {
+                count += counts[bucket];
+            }
+            for (Integer uavId : members.get(edge)) {
+                if (values.get(uavId) < threshold) {
+                    count++;
+                }
+            }
+            return count;
+        }
+
+        private List<Integer> findBelow(double threshold) {
+            int edge = bucket(threshold);
+            List<Integer> result = new ArrayList<>();
+            for (int bucket = 0; bucket < edge; bucket++) {
+                result.addAll(members.get(bucket));
+            }
+            for (Integer uavId : members.get(edge)) {
+                if (values.get(uavId) < threshold) {
+                    result.add(uavId);
+                }
+            }
+            return result;
+        }
+
+        private long countAbove(double threshold) {
+            int edge = bucket(threshold);
+            long count = 0;
+            for (int bucket = edge + 1; bucket < counts.length; bucket++) {
+                count += counts[bucket];
+            }
+            for (Integer uavId : members.get(edge)) {
+                if (values.get(uavId) > threshold) {
+                    count++;
+                }
+            }
+            return count;
+        }
+
+        private List<Integer> findAbove(double threshold) {
+            int edge = bucket(threshold);
+            List<Integer> result = new ArrayList<>();
+            for (int bucket = edge + 1; bucket < counts.length; bucket++) {
+                result.addAll(members.get(bucket));
+            }
+            for (Integer uavId : members.get(edge)) {
+                if (values.get(uavId) > threshold) {
+                    result.add(uavId);
+                }
+            }
+            return result;
+        }
+
+        private int bucket(double value) {
+            return (int) Math.max(0, Math.min(counts.length - 1, Math.floor(value) - min));
+        }
+    }
+}
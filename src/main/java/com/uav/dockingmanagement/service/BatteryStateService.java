@@ -0,0 +1,128 @@
+package com.uav.dockingmanagement.service;
+
+import com.uav.dockingmanagement.model.BatteryStatus;
+import com.uav.dockingmanagement.model.BatteryStatusChangedEvent;
+import com.uav.dockingmanagement.model.LocationHistory;
+import com.uav.dockingmanagement.model.UAV;
+import com.uav.dockingmanagement.repository.BatteryStatusRepository;
+import jakarta.annotation.PostConstruct;
+import org.hibernate.Hibernate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Live battery state of every UAV, answering "how many and which UAVs are below X%" without
+ * touching the database.
+ *
+ * <p>The {@link BatteryStateIndex} is loaded from battery_status at startup and kept current from
+ * two sources: the charge reported with each location fix, and committed changes to
+ * {@link BatteryStatus} rows (see {@link BatteryStatusChangedEvent}).</p>
+ */
+@Service
+public class BatteryStateService implements LocationFixListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(BatteryStateService.class);
+
+    @Autowired
+    private BatteryStatusRepository batteryStatusRepository;
+
+    private final BatteryStateIndex index = new BatteryStateIndex();
+
+    @PostConstruct
+    public void initialize() {
+        try {
+            for (BatteryStatus batteryStatus : batteryStatusRepository.findAllWithUav()) {
+                apply(batteryStatus.getUav().getId(), batteryStatus.getUav().getRfidTag(), batteryStatus);
+            }
+            logger.info("Loaded battery state of {} UAVs", index.size());
+        } catch (Exception e) {
+            logger.error("Error loading battery state: {}", e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void onLocationFix(UAV uav, LocationHistory fix) {
+        if (fix.getBatteryLevel() != null) {
+            index.update(uav.getId(), uav.getRfidTag(), fix.getBatteryLevel(), null, null, null,
+                         System.currentTimeMillis());
+        }
+    }
+
+    /**
+     * Index a saved or deleted battery status once its transaction commits
+     */
+    @EventListener
+    public void onBatteryStatusChanged(BatteryStatusChangedEvent event) {
+        if (event.removed()) {
+            onBatteryStatusRemoved(event.batteryStatus());
+        } else {
+            onBatteryStatusSaved(event.batteryStatus());
+        }
+    }
+
+    private void onBatteryStatusSaved(BatteryStatus batteryStatus) {
+        UAV uav = batteryStatus.getUav();
+        if (uav == null || uav.getId() == 0) {
+            return;
+        }
+        int uavId = uav.getId();
+        // Only read the tag if the UAV is loaded; the index keeps the previous one otherwise
+        String rfidTag = Hibernate.isInitialized(uav) ? uav.getRfidTag() : null;
+        TransactionHooks.afterCommit(() -> apply(uavId, rfidTag, batteryStatus));
+    }
+
+    private void onBatteryStatusRemoved(BatteryStatus batteryStatus) {
+        UAV uav = batteryStatus.getUav();
+        if (uav != null && uav.getId() != 0) {
+            int uavId = uav.getId();
+            TransactionHooks.afterCommit(() -> index.remove(uavId));
+        }
+    }
+
+    public long countChargeBelow(int percentage) {
+        return index.countChargeBelow(percentage);
+    }
+
+    public List<BatteryStateIndex.BatteryState> findChargeBelow(int percentage) {
+        return index.findChargeBelow(percentage);
+    }
+
+    public long countTemperatureAbove(double celsius) {
+        return index.countTemperatureAbove(celsius);
+    }
+
+    public List<BatteryStateIndex.BatteryState> findTemperatureAbove(double celsius) {
+        return index.findTemperatureAbove(celsius);
+    }
+
+    public long countHealthBelow(int percentage) {
+        return index.countHealthBelow(percentage);
+    }
+
+    public List<BatteryStateIndex.BatteryState> findHealthBelow(int percentage) {
+        return index.findHealthBelow(percentage);
+    }
+
+    public int countCharging() {
+        return index.countCharging();
+    }
+
+    public int countTracked() {
+        return index.size();
+    }
+
+    public Optional<BatteryStateIndex.BatteryState> getBatteryState(Integer uavId) {
+        return index.get(uavId);
+    }
+
+    private void apply(int uavId, String rfidTag, BatteryStatus batteryStatus) {
+        index.update(uavId, rfidTag, batteryStatus.getCurrentChargePercentage(), batteryStatus.getHealthPercentage(),
+                     batteryStatus.getTemperatureCelsius(), batteryStatus.getIsCharging(), System.currentTimeMillis());
+    }
+}
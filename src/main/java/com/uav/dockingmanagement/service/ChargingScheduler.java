@@ -0,0 +1,451 @@
+package com.uav.dockingmanagement.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+
+/**
+ * Charging sessions of every docking station: which docked UAVs hold a charger, how a station's power
+ * budget is split between them, and in what order waiting UAVs get the next free charger.
+ *
+ * <p>Each station has a number of chargers and a power budget. Waiting UAVs are kept in a heap ordered by
+ * urgency: UAVs below the critical charge first, then higher mission priority, then lower charge, then
+ * arrival. A waiting UAV is admitted while a charger is free and the budget still gives every session at
+ * least {@code minSessionWatts}. The budget is split max-min fair: no session gets more than its battery
+ * accepts and what is left is shared equally. Charge grows linearly at the allocated power (no taper); a
+ * session that reaches the target charge completes and its charger goes to the next waiting UAV. Sessions
+ * are never preempted, and a station whose charger count is lowered keeps its sessions until they end.</p>
+ *
+ * <p>Time only moves when a method is called with a later {@code nowMillis}. Every mutation first advances
+ * the station completion by completion, so a dock or undock decision costs O(log q) for the heap plus
+ * O(c log c) per completion passed, with c chargers and q waiting UAVs. Estimated start and completion
+ * times come from replaying a copy of the station without further arrivals, and are only computed for
+ * {@link #getStation} and {@link #getSession}.</p>
+ */
+public class ChargingScheduler {
+
+    private static final double MILLIS_PER_HOUR = 3_600_000.0;
+
+    private static final Comparator<Session> URGENCY = Comparator
+        .comparing((Session session) -> !session.critical)
+        .thenComparing(Comparator.comparingInt((Session session) -> session.missionPriority).reversed())
+        .thenComparingDouble(session -> session.chargePercent)
+        .thenComparingLong(session -> session.sequence);
+
+    private final double targetPercent;
+    private final double criticalPercent;
+    private final double minSessionWatts;
+
+    private final Map<Long, Station> stations = new HashMap<>();
+    private final Map<Integer, Session> sessions = new HashMap<>();
+    private long nextSequence;
+
+    /**
+     * @param targetPercent charge at which a session completes
+     * @param criticalPercent charge below which a UAV waits ahead of every mission priority
+     * @param minSessionWatts least power each session must get for another one to be admitted
+     */
+    public ChargingScheduler(double targetPercent, double criticalPercent, double minSessionWatts) {
+        this.targetPercent = targetPercent;
+        this.criticalPercent = criticalPercent;
+        this.minSessionWatts = minSessionWatts;
+    }
+
+    /**
+     * Set the chargers and power budget of a station, adding it if new
+     *
+     * @return sessions started by a larger budget or more chargers
+     */
+    public synchronized List<Change> configure(long stationId, int chargers, double powerBudgetWatts, long nowMillis) {
+        List<Change> changes = new ArrayList<>();
+        Station station = stations.get(stationId);
+        if (station == null) {
+            station = new Station(stationId, nowMillis);
+            stations.put(stationId, station);
+        } else {
+            station.advanceTo(nowMillis, changes);
+        }
+        station.chargers = Math.max(0, chargers);
+        station.powerBudgetWatts = Math.max(0, powerBudgetWatts);
+        station.allocate();
+        station.admit(changes);
+        return changes;
+    }
+
+    /**
+     * Ask for a charger for a UAV docked at a configured station. A UAV already known at another station
+     * is released there first; one already known at this station is left as it is.
+     *
+     * @param missionPriority higher number = higher priority
+     * @param capacityWh usable battery energy
+     * @param maxPowerWatts most power the battery accepts
+     * @return every change caused, including the UAV's own CHARGING, QUEUED or COMPLETED
+     * @throws IllegalStateException if the station has not been configured
+     */
+    public synchronized List<Change> request(long stationId, int uavId, int missionPriority, double chargePercent,
+                                             double capacityWh, double maxPowerWatts, long nowMillis) {
+        Station station = stations.get(stationId);
+        if (station == null) {
+            throw new IllegalStateException("Charging station " + stationId + " is not configured");
+        }
+        List<Change> changes = new ArrayList<>();
+        Session existing = sessions.get(uavId);
+        if (existing != null) {
+            if (existing.stationId == stationId) {
+                return changes;
+            }
+            release(existing, nowMillis, changes);
+        }
+
+        station.advanceTo(nowMillis, changes);
+        Session session = new Session(uavId, stationId, missionPriority, chargePercent < criticalPercent,
+            Math.max(capacityWh, 1e-9), Math.max(maxPowerWatts, 0), nextSequence++);
+        session.chargePercent = chargePercent;
+        sessions.put(uavId, session);
+        station.members.put(uavId, session);
+        if (chargePercent >= targetPercent) {
+            session.state = State.COMPLETED;
+            session.startMillis = nowMillis;
+            session.endMillis = nowMillis;
+            changes.add(new Change(stationId, uavId, State.COMPLETED));
+            return changes;
+        }
+        station.waiting.add(session);
+        station.admit(changes);
+        if (session.state == State.QUEUED) {
+            changes.add(new Change(stationId, uavId, State.QUEUED));
+        }
+        return changes;
+    }
+
+    /**
+     * Forget a UAV that left its station, handing its charger to the next waiting UAV
+     *
+     * @return changes of the other UAVs at the station; empty if the UAV was not known
+     */
+    public synchronized List<Change> release(int uavId, long nowMillis) {
+        List<Change> changes = new ArrayList<>();
+        Session session = sessions.get(uavId);
+        if (session != null) {
+            release(session, nowMillis, changes);
+        }
+        return changes;
+    }
+
+    /**
+     * Forget a UAV if its session is at the given station, as {@link #release(int, long)} does
+     *
+     * @return changes of the other UAVs at the station; empty if the UAV has no session there
+     */
+    public synchronized List<Change> releaseAt(long stationId, int uavId, long nowMillis) {
+        List<Change> changes = new ArrayList<>();
+        Session session = sessions.get(uavId);
+        if (session != null && session.stationId == stationId) {
+            release(session, nowMillis, changes);
+        }
+        return changes;
+    }
+
+    /**
+     * What to pass to {@link #request} to ask again for a UAV's session, at the charge it has reached
+     */
+    public synchronized Optional<Request> requestOf(int uavId) {
+        Session session = sessions.get(uavId);
+        if (session == null) {
+            return Optional.empty();
+        }
+        return Optional.of(new Request(session.stationId, uavId, session.missionPriority, session.chargePercent,
+            session.capacityWh, session.maxPowerWatts));
+    }
+
+    /**
+     * Move every station to {@code nowMillis}, completing sessions that reached the target charge
+     */
+    public synchronized List<Change> advance(long nowMillis) {
+        List<Change> changes = new ArrayList<>();
+        for (Station station : stations.values()) {
+            station.advanceTo(nowMillis, changes);
+        }
+        return changes;
+    }
+
+    /**
+     * Sessions of a station at {@code nowMillis}: charging ones first, then waiting ones in admission order,
+     * then completed ones. Does not change the scheduler.
+     */
+    public synchronized Optional<StationView> getStation(long stationId, long nowMillis) {
+        Station station = stations.get(stationId);
+        return station == null ? Optional.empty() : Optional.of(view(station, nowMillis));
+    }
+
+    /**
+     * The session of a UAV at {@code nowMillis}. Does not change the scheduler.
+     */
+    public synchronized Optional<SessionView> getSession(int uavId, long nowMillis) {
+        Session session = sessions.get(uavId);
+        if (session == null) {
+            return Optional.empty();
+        }
+        return view(stations.get(session.stationId), nowMillis).sessions().stream()
+            .filter(view -> view.uavId() == uavId)
+            .findFirst();
+    }
+
+    public synchronized int size() {
+        return sessions.size();
+    }
+
+    private void release(Session session, long nowMillis, List<Change> changes) {
+        Station station = stations.get(session.stationId);
+        station.advanceTo(nowMillis, changes);
+        sessions.remove(session.uavId);
+        station.members.remove(session.uavId);
+        if (session.state == State.CHARGING) {
+            station.active.remove(session);
+            station.allocate();
+            station.admit(changes);
+        } else if (session.state == State.QUEUED) {
+            station.waiting.remove(session);
+        }
+    }
+
+    private StationView view(Station station, long nowMillis) {
+        Station replay = station.copy();
+        replay.advanceTo(nowMillis, null);
+
+        List<Session> charging = new ArrayList<>(replay.active);
+        charging.sort(Comparator.comparingLong(session -> session.sequence));
+        List<Session> waiting = new ArrayList<>(replay.waiting);
+        waiting.sort(URGENCY);
+        List<Session> completed = new ArrayList<>();
+        for (Session session : replay.members.values()) {
+            if (session.state == State.COMPLETED) {
+                completed.add(session);
+            }
+        }
+        completed.sort(Comparator.comparingLong(session -> session.endMillis));
+
+        // Present state, before the replay runs on to the end
+        List<SessionView> views = new ArrayList<>();
+        double allocatedWatts = 0;
+        for (Session session : charging) {
+            allocatedWatts += session.powerWatts;
+        }
+        int position = 0;
+        for (List<Session> group : List.of(charging, waiting, completed)) {
+            for (Session session : group) {
+                views.add(new SessionView(session.uavId, session.state, session.missionPriority,
+                    session.chargePercent, session.state == State.CHARGING ? session.powerWatts : 0,
+                    session.state == State.QUEUED ? ++position : 0, 0, 0));
+            }
+        }
+
+        replay.advanceTo(Long.MAX_VALUE, null);
+        for (int i = 0; i < views.size(); i++) {
+            SessionView view = views.get(i);
+            Session session = replay.members.get(view.uavId());
+            views.set(i, new SessionView(view.uavId(), view.state(), view.missionPriority(), view.chargePercent(),
+                view.powerWatts(), view.queuePosition(),
+                session.state == State.QUEUED ? -1 : session.startMillis,
+                session.state == State.COMPLETED ? session.endMillis : -1));
+        }
+        return new StationView(station.id, station.chargers, station.powerBudgetWatts, allocatedWatts, views);
+    }
+
+    private final class Station {
+        private final long id;
+        private int chargers;
+        private double powerBudgetWatts;
+        private long clock;
+        private final List<Session> active = new ArrayList<>();
+        private final PriorityQueue<Session> waiting = new PriorityQueue<>(URGENCY);
+        private final Map<Integer, Session> members = new LinkedHashMap<>();
+
+        private Station(long id, long clock) {
+            this.id = id;
+            this.clock = clock;
+        }
+
+        /**
+         * Run the charging sessions to {@code nowMillis} one completion at a time; with
+         * {@code Long.MAX_VALUE}, until no session can make progress
+         */
+        private void advanceTo(long nowMillis, List<Change> changes) {
+            while (true) {
+                Session next = null;
+                long nextEnd = Long.MAX_VALUE;
+                for (Session session : active) {
+                    long end = completionMillis(session);
+                    if (end < nextEnd) {
+                        next = session;
+                        nextEnd = end;
+                    }
+                }
+                if (next == null || nextEnd > nowMillis) {
+                    break;
+                }
+                integrate(nextEnd);
+                active.remove(next);
+                next.state = State.COMPLETED;
+                next.chargePercent = targetPercent;
+                next.powerWatts = 0;
+                next.endMillis = nextEnd;
+                if (changes != null) {
+                    changes.add(new Change(id, next.uavId, State.COMPLETED));
+                }
+                allocate();
+                admit(changes);
+            }
+            if (nowMillis != Long.MAX_VALUE) {
+                integrate(nowMillis);
+            }
+        }
+
+        private long completionMillis(Session session) {
+            if (session.powerWatts <= 0) {
+                return Long.MAX_VALUE;
+            }
+            double remainingWh = Math.max(0, targetPercent - session.chargePercent) / 100 * session.capacityWh;
+            double end = clock + Math.ceil(remainingWh / session.powerWatts * MILLIS_PER_HOUR);
+            return end >= Long.MAX_VALUE ? Long.MAX_VALUE : (long) end;
+        }
+
+        private void integrate(long untilMillis) {
+            if (untilMillis <= clock) {
+                return;
+            }
+            double hours = (untilMillis - clock) / MILLIS_PER_HOUR;
+            for (Session session : active) {
+                session.chargePercent = Math.min(targetPercent,
+                    session.chargePercent + session.powerWatts * hours / session.capacityWh * 100);
+            }
+            clock = untilMillis;
+        }
+
+        private void admit(List<Change> changes) {
+            boolean admitted = false;
+            while (active.size() < chargers && !waiting.isEmpty()
+                && (active.size() + 1) * minSessionWatts <= powerBudgetWatts) {
+                Session session = waiting.poll();
+                session.state = State.CHARGING;
+                session.startMillis = clock;
+                active.add(session);
+                admitted = true;
+                if (changes != null) {
+                    changes.add(new Change(id, session.uavId, State.CHARGING));
+                }
+            }
+            if (admitted) {
+                allocate();
+            }
+        }
+
+        /**
+         * Max-min fair split: sessions in increasing order of what they accept each take at most an equal
+         * share of what is left
+         */
+        private void allocate() {
+            active.sort(Comparator.comparingDouble(session -> session.maxPowerWatts));
+            double remaining = powerBudgetWatts;
+            for (int i = 0; i < active.size(); i++) {
+                Session session = active.get(i);
+                session.powerWatts = Math.min(session.maxPowerWatts, remaining / (active.size() - i));
+                remaining -= session.powerWatts;
+            }
+        }
+
+        private Station copy() {
+            Station copy = new Station(id, clock);
+            copy.chargers = chargers;
+            copy.powerBudgetWatts = powerBudgetWatts;
+            Map<Session, Session> copies = new IdentityHashMap<>();
+            for (Session session : members.values()) {
+                Session sessionCopy = session.copy();
+                copies.put(session, sessionCopy);
+                copy.members.put(session.uavId, sessionCopy);
+            }
+            for (Session session : active) {
+                copy.active.add(copies.get(session));
+            }
+            for (Session session : waiting) {
+                copy.waiting.add(copies.get(session));
+            }
+            return copy;
+        }
+    }
+
+    private static final class Session {
+        private final int uavId;
+        private final long stationId;
+        private final int missionPriority;
+        private final boolean critical;
+        private final double capacityWh;
+        private final double maxPowerWatts;
+        private final long sequence;
+        private State state = State.QUEUED;
+        private double chargePercent;
+        private double powerWatts;
+        private long startMillis = -1;
+        private long endMillis = -1;
+
+        private Session(int uavId, long stationId, int missionPriority, boolean critical, double capacityWh,
+                        double maxPowerWatts, long sequence) {
+            this.uavId = uavId;
+            this.stationId = stationId;
+            this.missionPriority = missionPriority;
+            this.critical = critical;
+            this.capacityWh = capacityWh;
+            this.maxPowerWatts = maxPowerWatts;
+            this.sequence = sequence;
+        }
+
+        private Session copy() {
+            Session copy = new Session(uavId, stationId, missionPriority, critical, capacityWh, maxPowerWatts, sequence);
+            copy.state = state;
+            copy.chargePercent = chargePercent;
+            copy.powerWatts = powerWatts;
+            copy.startMillis = startMillis;
+            copy.endMillis = endMillis;
+            return copy;
+        }
+    }
+
+    public enum State {
+        CHARGING,
+        QUEUED,
+        COMPLETED
+    }
+
+    /**
+     * A UAV entering a state; callers apply these to UAV status and notify clients
+     */
+    public record Change(long stationId, int uavId, State state) {
+    }
+
+    /**
+     * Arguments of {@link #request}
+     */
+    public record Request(long stationId, int uavId, int missionPriority, double chargePercent, double capacityWh,
+                          double maxPowerWatts) {
+    }
+
+    /**
+     * @param queuePosition 1-based place among waiting UAVs, 0 if not waiting
+     * @param estimatedStartMillis when charging started or is expected to start, -1 if it would never start
+     *                             without another change at the station
+     * @param estimatedCompletionMillis when the target charge was or is expected to be reached, -1 if never
+     */
+    public record SessionView(int uavId, State state, int missionPriority, double chargePercent, double powerWatts,
+                              int queuePosition, long estimatedStartMillis, long estimatedCompletionMillis) {
+    }
+
+    public record StationView(long stationId, int chargers, double powerBudgetWatts, double allocatedWatts,
+                              List<SessionView> sessions) {
+    }
+}
@@ -0,0 +1,324 @@
+package com.uav.dockingmanagement.service;
+
+import com.uav.dockingmanagement.model.BatteryStatus;
+import com.uav.dockingmanagement.model.DockingRecord;
+import com.uav.dockingmanagement.model.DockingStation;
+import com.uav.dockingmanagement.model.UAV;
+import com.uav.dockingmanagement.repository.DockingRecordRepository;
+import com.uav.dockingmanagement.repository.UAVRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongFunction;
+
+/**
+ * Charger and power allocation for UAVs docked for CHARGING.
+ *
+ * <p>Decisions are made in memory by a {@link ChargingScheduler} on every dock and undock, inside the
+ * docking transaction, so the UAV status changes they cause (CHARGING when admitted, READY when the target
+ * charge is reached) commit with the docking itself. A UAV waiting for a charger keeps its status. A tick
+ * every {@code uav.charging.tick-seconds} completes sessions between events. The scheduler is loaded from
+ * the current charging dockings at startup, with mission priority 0 since priorities are not stored. Each
+ * dock, undock or station update remembers what it changed and reverts only that if its transaction rolls
+ * back, so sessions of other transactions are left alone.</p>
+ *
+ * <p>A station has {@link DockingStation#getChargerCount()} chargers (default: one per slot) sharing
+ * {@link DockingStation#getChargingPowerBudgetWatts()} (default: {@code uav.charging.default-power-budget-watts}).
+ * Battery energy is capacity x voltage x health from {@link BatteryStatus}, and a battery accepts at most
+ * {@code uav.charging.max-c-rate} times its energy per hour. Charge comes from {@link BatteryStateService}
+ * when it knows the UAV; an unknown charge is taken as empty.</p>
+ */
+@Service
+public class ChargingSchedulerService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ChargingSchedulerService.class);
+
+    @Autowired
+    private DockingRecordRepository dockingRecordRepository;
+
+    @Autowired
+    private UAVRepository uavRepository;
+
+    @Autowired
+    private SimpMessagingTemplate messagingTemplate;
+
+    @Autowired
+    private BatteryStateService batteryStateService;
+
+    @Value("${uav.charging.target-percent:95}")
+    private double targetPercent = 95;
+
+    @Value("${uav.charging.critical-percent:20}")
+    private double criticalPercent = 20;
+
+    @Value("${uav.charging.min-session-watts:100}")
+    private double minSessionWatts = 100;
+
+    @Value("${uav.charging.default-power-budget-watts:2000}")
+    private double defaultPowerBudgetWatts = 2000;
+
+    @Value("${uav.charging.max-c-rate:1.0}")
+    private double maxCRate = 1.0;
+
+    @Value("${uav.charging.default-battery-wh:100}")
+    private double defaultBatteryWh = 100;
+
+    @Value("${uav.charging.tick-seconds:30}")
+    private long tickSeconds = 30;
+
+    private final ZoneId zone = ZoneId.systemDefault();
+    private ChargingScheduler scheduler;
+    private ScheduledExecutorService executor;
+
+    @PostConstruct
+    public void start() {
+        scheduler = new ChargingScheduler(targetPercent, criticalPercent, minSessionWatts);
+        load();
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "charging-scheduler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleAtFixedRate(this::safeTick, tickSeconds, tickSeconds, TimeUnit.SECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Ask for a charger for a UAV that just docked for CHARGING
+     *
+     * @param missionPriority higher number = higher priority; null = 0
+     * @return the UAV's charging session
+     */
+    public Map<String, Object> onDocked(UAV uav, DockingStation station, Integer missionPriority) {
+        long now = System.currentTimeMillis();
+        long stationId = station.getId();
+        int uavId = uav.getId();
+        Optional<ChargingScheduler.Request> previous = scheduler.requestOf(uavId);
+        List<ChargingScheduler.Change> changes = new ArrayList<>(configure(scheduler, station, now));
+        double capacityWh = capacityWh(uav.getBatteryStatus());
+        changes.addAll(scheduler.request(stationId, uavId, missionPriority != null ? missionPriority : 0,
+            chargePercent(uav), capacityWh, capacityWh * maxCRate, now));
+        apply(changes, uav);
+        if (previous.isEmpty() || previous.get().stationId() != stationId) {
+            revertOnRollback(time -> {
+                List<ChargingScheduler.Change> reverted = new ArrayList<>(scheduler.releaseAt(stationId, uavId, time));
+                previous.ifPresent(request -> reverted.addAll(request(request, time)));
+                return reverted;
+            });
+        }
+        return scheduler.getSession(uavId, now).map(this::toMap).orElseGet(HashMap::new);
+    }
+
+    /**
+     * Hand the charger of a UAV that left its station to the next waiting UAV
+     */
+    public void onUndocked(Integer uavId, DockingStation station) {
+        long now = System.currentTimeMillis();
+        Optional<ChargingScheduler.Request> released = scheduler.requestOf(uavId);
+        List<ChargingScheduler.Change> changes = new ArrayList<>(scheduler.release(uavId, now));
+        changes.addAll(configure(scheduler, station, now));
+        apply(changes, null);
+        // The UAV asks again at the charge it had reached; chargers handed out meanwhile are not taken back
+        released.ifPresent(request -> revertOnRollback(time -> request(request, time)));
+    }
+
+    /**
+     * Apply a station's new charger count or power budget
+     */
+    public void onStationUpdated(DockingStation station) {
+        long now = System.currentTimeMillis();
+        long stationId = station.getId();
+        Optional<ChargingScheduler.StationView> previous = scheduler.getStation(stationId, now);
+        apply(configure(scheduler, station, now), null);
+        previous.ifPresent(view -> revertOnRollback(
+            time -> scheduler.configure(stationId, view.chargers(), view.powerBudgetWatts(), time)));
+    }
+
+    /**
+     * Chargers, power and sessions of a station with estimated start and completion times, if it has had
+     * a charging docking since startup
+     */
+    public Optional<Map<String, Object>> getStationCharging(Long stationId) {
+        return scheduler.getStation(stationId, System.currentTimeMillis()).map(view -> {
+            Map<String, Object> result = new HashMap<>();
+            result.put("stationId", view.stationId());
+            result.put("chargers", view.chargers());
+            result.put("powerBudgetWatts", view.powerBudgetWatts());
+            result.put("allocatedWatts", round(view.allocatedWatts()));
+            result.put("sessions", view.sessions().stream().map(this::toMap).toList());
+            result.put("charging", view.sessions().stream()
+                .filter(session -> session.state() == ChargingScheduler.State.CHARGING).count());
+            result.put("queued", view.sessions().stream()
+                .filter(session -> session.state() == ChargingScheduler.State.QUEUED).count());
+            return result;
+        });
+    }
+
+    /**
+     * Load every session from the current charging dockings, before any dock or undock is handled
+     */
+    private void load() {
+        try {
+            long now = System.currentTimeMillis();
+            List<ChargingScheduler.Change> changes = new ArrayList<>();
+            for (DockingRecord record : dockingRecordRepository.findCurrentChargingDockings()) {
+                UAV uav = record.getUav();
+                changes.addAll(configure(scheduler, record.getDockingStation(), now));
+                double capacityWh = capacityWh(uav.getBatteryStatus());
+                changes.addAll(scheduler.request(record.getDockingStation().getId(), uav.getId(), 0, chargePercent(uav),
+                    capacityWh, capacityWh * maxCRate, now));
+            }
+            apply(changes, null);
+            logger.info("Loaded {} charging sessions", scheduler.size());
+        } catch (Exception e) {
+            logger.error("Error loading charging sessions: {}", e.getMessage(), e);
+        }
+    }
+
+    private void safeTick() {
+        try {
+            apply(scheduler.advance(System.currentTimeMillis()), null);
+        } catch (Exception e) {
+            logger.error("Error advancing charging sessions: {}", e.getMessage(), e);
+        }
+    }
+
+    private List<ChargingScheduler.Change> request(ChargingScheduler.Request request, long now) {
+        return scheduler.request(request.stationId(), request.uavId(), request.missionPriority(),
+            request.chargePercent(), request.capacityWh(), request.maxPowerWatts(), now);
+    }
+
+    private List<ChargingScheduler.Change> configure(ChargingScheduler target, DockingStation station, long now) {
+        int chargers = station.getChargerCount() != null ? station.getChargerCount()
+            : station.getMaxCapacity() != null ? station.getMaxCapacity() : 1;
+        double budget = station.getChargingPowerBudgetWatts() != null ? station.getChargingPowerBudgetWatts()
+            : defaultPowerBudgetWatts;
+        return target.configure(station.getId(), chargers, budget, now);
+    }
+
+    private double chargePercent(UAV uav) {
+        Optional<BatteryStateIndex.BatteryState> state = batteryStateService.getBatteryState(uav.getId());
+        if (state.isPresent() && state.get().getChargePercentage() != null) {
+            return state.get().getChargePercentage();
+        }
+        BatteryStatus batteryStatus = uav.getBatteryStatus();
+        return batteryStatus != null && batteryStatus.getCurrentChargePercentage() != null
+            ? batteryStatus.getCurrentChargePercentage() : 0;
+    }
+
+    private double capacityWh(BatteryStatus batteryStatus) {
+        if (batteryStatus == null || batteryStatus.getCapacityMah() == null || batteryStatus.getVoltage() == null
+            || batteryStatus.getCapacityMah() <= 0 || batteryStatus.getVoltage() <= 0) {
+            return defaultBatteryWh;
+        }
+        double health = batteryStatus.getHealthPercentage() != null ? batteryStatus.getHealthPercentage() / 100.0 : 1;
+        return batteryStatus.getCapacityMah() * batteryStatus.getVoltage() / 1000 * Math.max(health, 0.1);
+    }
+
+    /**
+     * Update the status of UAVs whose session changed and notify clients
+     *
+     * @param known an already loaded UAV that may be among the changes
+     */
+    private void apply(List<ChargingScheduler.Change> changes, UAV known) {
+        for (ChargingScheduler.Change change : changes) {
+            try {
+                UAV.OperationalStatus status = switch (change.state()) {
+                    case CHARGING -> UAV.OperationalStatus.CHARGING;
+                    case COMPLETED -> UAV.OperationalStatus.READY;
+                    case QUEUED -> null;
+                };
+                if (status != null) {
+                    Optional<UAV> uav = known != null && known.getId() == change.uavId()
+                        ? Optional.of(known) : uavRepository.findById(change.uavId());
+                    // Only a charging UAV is made READY; other statuses were set by someone else
+                    if (uav.isPresent() && uav.get().getOperationalStatus() != status
+                        && (status == UAV.OperationalStatus.CHARGING
+                            || uav.get().getOperationalStatus() == UAV.OperationalStatus.CHARGING)) {
+                        uav.get().setOperationalStatus(status);
+                        uavRepository.save(uav.get());
+                    }
+                }
+                broadcast(change);
+            } catch (Exception e) {
+                logger.error("Error applying charging change {}: {}", change, e.getMessage(), e);
+            }
+        }
+    }
+
+    private void broadcast(ChargingScheduler.Change change) {
+        Map<String, Object> event = new HashMap<>();
+        event.put("type", "CHARGING_EVENT");
+        event.put("eventType", change.state());
+        event.put("timestamp", LocalDateTime.now());
+        event.put("uavId", change.uavId());
+        event.put("stationId", change.stationId());
+        TransactionHooks.afterCommit(() -> {
+            try {
+                messagingTemplate.convertAndSend("/topic/charging", event);
+                messagingTemplate.convertAndSend("/topic/station/" + change.stationId() + "/charging", event);
+            } catch (Exception e) {
+                logger.error("Error broadcasting charging event: {}", e.getMessage(), e);
+            }
+        });
+    }
+
+    /**
+     * Decisions are made before the transaction commits; if it does not, undo them with {@code revert},
+     * given the time of the rollback
+     */
+    private void revertOnRollback(LongFunction<List<ChargingScheduler.Change>> revert) {
+        TransactionHooks.afterCompletion(status -> {
+            if (status != TransactionSynchronization.STATUS_COMMITTED) {
+                List<ChargingScheduler.Change> changes = revert.apply(System.currentTimeMillis());
+                // Status updates need a transaction of their own, which a completion callback cannot start
+                executor.execute(() -> apply(changes, null));
+            }
+        });
+    }
+
+    private Map<String, Object> toMap(ChargingScheduler.SessionView session) {
+        Map<String, Object> result = new HashMap<>();
+        result.put("uavId", session.uavId());
+        result.put("state", session.state());
+        result.put("missionPriority", session.missionPriority());
+        result.put("chargePercent", round(session.chargePercent()));
+        result.put("powerWatts", round(session.powerWatts()));
+        result.put("queuePosition", session.queuePosition());
+        result.put("estimatedStart", toTime(session.estimatedStartMillis()));
+        result.put("estimatedCompletion", toTime(session.estimatedCompletionMillis()));
+        return result;
+    }
+
+    private LocalDateTime toTime(long millis) {
+        return millis < 0 ? null : LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), zone);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 10) / 10.0;
+    }
+}
@@ -0,0 +1,247 @@
+package com.uav.dockingmanagement.service;
+
+import com.uav.dockingmanagement.model.LocationHistory;
+import com.uav.dockingmanagement.model.UAV;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Airborne deconfliction service
+ * Keeps the latest fix of every airborne UAV and runs a {@link ConflictDetector} cycle over the
+ * whole batch at a fixed interval. New conflicts are published to /topic/alerts once per pair,
+ * and a clearance is published when the pair regains separation.
+ */
+@Service
+public class ConflictDetectionService implements LocationFixListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(ConflictDetectionService.class);
+
+    @Autowired
+    private SimpMessagingTemplate messagingTemplate;
+
+    @Value("${uav.deconfliction.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${uav.deconfliction.interval-ms:1000}")
+    private long intervalMs = 1000;
+
+    @Value("${uav.deconfliction.horizontal-separation-meters:50}")
+    private double horizontalSeparationMeters = 50;
+
+    @Value("${uav.deconfliction.vertical-separation-meters:15}")
+    private double verticalSeparationMeters = 15;
+
+    @Value("${uav.deconfliction.lookahead-seconds:10}")
+    private double lookaheadSeconds = 10;
+
+    @Value("${uav.deconfliction.min-altitude-meters:5}")
+    private double minAirborneAltitudeMeters = 5;
+
+    @Value("${uav.deconfliction.stale-after-seconds:5}")
+    private long staleAfterSeconds = 5;
+
+    private final ConcurrentHashMap<Integer, Track> tracks = new ConcurrentHashMap<>();
+    private final Set<Long> activeConflictKeys = new HashSet<>();
+    private volatile List<ConflictDetector.Conflict> activeConflicts = List.of();
+
+    private ConflictDetector detector;
+    private ScheduledExecutorService scheduler;
+
+    // Scratch arrays for the detection cycle, only touched under the cycle lock
+    private int[] ids = new int[0];
+    private double[] latitudes = new double[0];
+    private double[] longitudes = new double[0];
+    private double[] altitudes = new double[0];
+    private double[] speeds = new double[0];
+    private double[] headings = new double[0];
+
+    @PostConstruct
+    public void start() {
+        detector = new ConflictDetector(horizontalSeparationMeters, verticalSeparationMeters, lookaheadSeconds);
+        if (!enabled) {
+            logger.info("Airborne deconfliction is disabled");
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "deconfliction");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleAtFixedRate(this::safeRunDetectionCycle, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+        logger.info("Airborne deconfliction started: {} m horizontal, {} m vertical, {} s look-ahead, every {} ms",
+                   horizontalSeparationMeters, verticalSeparationMeters, lookaheadSeconds, intervalMs);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    @Override
+    public void onLocationFix(UAV uav, LocationHistory fix) {
+        Double altitude = fix.getAltitudeMeters();
+        if (altitude == null || altitude < minAirborneAltitudeMeters) {
+            tracks.remove(uav.getId());
+            return;
+        }
+        tracks.put(uav.getId(), new Track(fix.getLatitude(), fix.getLongitude(), altitude,
+            fix.getSpeedKmh() != null ? fix.getSpeedKmh() : 0.0,
+            fix.getHeadingDegrees() != null ? fix.getHeadingDegrees() : 0.0,
+            System.currentTimeMillis()));
+    }
+
+    /**
+     * Conflicts found by the most recent cycle
+     */
+    public List<ConflictDetector.Conflict> getActiveConflicts() {
+        return activeConflicts;
+    }
+
+    public int getAirborneCount() {
+        return tracks.size();
+    }
+
+    private void safeRunDetectionCycle() {
+        try {
+            runDetectionCycle();
+        } catch (Exception e) {
+            logger.error("Error running deconfliction cycle: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Run one detection cycle over the current airborne batch and publish changes
+     */
+    public synchronized List<ConflictDetector.Conflict> runDetectionCycle() {
+        long staleBefore = System.currentTimeMillis() - TimeUnit.SECONDS.toMillis(staleAfterSeconds);
+        tracks.entrySet().removeIf(entry -> entry.getValue().receivedAtMillis < staleBefore);
+
+        int count = 0;
+        ensureCapacity(tracks.size());
+        for (Map.Entry<Integer, Track> entry : tracks.entrySet()) {
+            if (count == ids.length) {
+                ensureCapacity(Math.max(16, count * 2));
+            }
+            Track track = entry.getValue();
+            ids[count] = entry.getKey();
+            latitudes[count] = track.latitude;
+            longitudes[count] = track.longitude;
+            altitudes[count] = track.altitude;
+            speeds[count] = track.speedKmh;
+            headings[count] = track.headingDegrees;
+            count++;
+        }
+
+        List<ConflictDetector.Conflict> conflicts =
+            detector.detect(count, ids, latitudes, longitudes, altitudes, speeds, headings);
+
+        Set<Long> currentKeys = new HashSet<>();
+        for (ConflictDetector.Conflict conflict : conflicts) {
+            currentKeys.add(conflict.getPairKey());
+            if (!activeConflictKeys.contains(conflict.getPairKey())) {
+                broadcastConflict(conflict);
+            }
+        }
+        for (Long key : activeConflictKeys) {
+            if (!currentKeys.contains(key)) {
+                broadcastClearance(key);
+            }
+        }
+        activeConflictKeys.clear();
+        activeConflictKeys.addAll(currentKeys);
+        activeConflicts = List.copyOf(conflicts);
+        return conflicts;
+    }
+
+    private void ensureCapacity(int size) {
+        if (ids.length < size) {
+            ids = Arrays.copyOf(ids, size);
+            latitudes = Arrays.copyOf(latitudes, size);
+            longitudes = Arrays.copyOf(longitudes, size);
+            altitudes = Arrays.copyOf(altitudes, size);
+            speeds = Arrays.copyOf(speeds, size);
+            headings = Arrays.copyOf(headings, size);
+        }
+    }
+
+    private void broadcastConflict(ConflictDetector.Conflict conflict) {
+        try {
+            Map<String, Object> alert = new HashMap<>();
+            alert.put("type", "PROXIMITY_CONFLICT");
+            alert.put("timestamp", LocalDateTime.now());
+            alert.put("uavIds", List.of(conflict.getUavIdA(), conflict.getUavIdB()));
+            alert.put("currentDistanceMeters", conflict.getCurrentDistanceMeters());
+            alert.put("closestApproachMeters", conflict.getClosestApproachMeters());
+            alert.put("timeToClosestApproachSeconds", conflict.getTimeToClosestApproachSeconds());
+            alert.put("verticalSeparationMeters", conflict.getVerticalSeparationMeters());
+            alert.put("severity", conflict.getCurrentDistanceMeters() < horizontalSeparationMeters ? "CRITICAL" : "HIGH");
+            alert.put("message", String.format("UAV %d and UAV %d predicted within %.0f m in %.1f s",
+                conflict.getUavIdA(), conflict.getUavIdB(), conflict.getClosestApproachMeters(),
+                conflict.getTimeToClosestApproachSeconds()));
+
+            messagingTemplate.convertAndSend("/topic/alerts", alert);
+            logger.warn("Proximity conflict between UAV {} and UAV {}: closest approach {} m in {} s",
+                       conflict.getUavIdA(), conflict.getUavIdB(),
+                       String.format("%.1f", conflict.getClosestApproachMeters()),
+                       String.format("%.1f", conflict.getTimeToClosestApproachSeconds()));
+        } catch (Exception e) {
+            logger.error("Error broadcasting proximity conflict: {}", e.getMessage(), e);
+        }
+    }
+
+    private void broadcastClearance(long pairKey) {
+        try {
+            int uavIdA = (int) (pairKey >>> 32);
+            int uavIdB = (int) pairKey;
+            Map<String, Object> alert = new HashMap<>();
+            alert.put("type", "PROXIMITY_CLEARED");
+            alert.put("timestamp", LocalDateTime.now());
+            alert.put("uavIds", List.of(uavIdA, uavIdB));
+            alert.put("severity", "LOW");
+            alert.put("message", String.format("UAV %d and UAV %d are separated again", uavIdA, uavIdB));
+
+            messagingTemplate.convertAndSend("/topic/alerts", alert);
+        } catch (Exception e) {
+            logger.error("Error broadcasting proximity clearance: {}", e.getMessage(), e);
+        }
+    }
+
+    private static final class Track {
+        private final double latitude;
+        private final double longitude;
+        private final double altitude;
+        private final double speedKmh;
+        private final double headingDegrees;
+        private final long receivedAtMillis;
+
+        private Track(double latitude, double longitude, double altitude, double speedKmh,
+                      double headingDegrees, long receivedAtMillis) {
+            this.latitude = latitude;
+            this.longitude = longitude;
+            this.altitude = altitude;
+            this.speedKmh = speedKmh;
+            this.headingDegrees = headingDegrees;
+            this.receivedAtMillis = receivedAtMillis;
+        }
+    }
+}
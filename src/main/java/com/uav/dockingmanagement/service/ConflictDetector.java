@@ -0,0 +1,234 @@
+package com.uav.dockingmanagement.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Grid based pairwise conflict detection for airborne UAVs.
+ *
+ * <p>Positions are bucketed into a uniform 3D grid over latitude, longitude and altitude.
+ * The horizontal cell size is the horizontal separation minimum plus the largest distance
+ * two UAVs can close within the look-ahead horizon, and the vertical cell size is the vertical
+ * separation minimum, so any pair that can lose separation within the horizon lies in the
+ * same or a neighboring cell. Only those 27 cells are compared, which keeps a cycle close to
+ * linear in the number of UAVs instead of O(n^2).</p>
+ *
+ * <p>Each candidate pair is extrapolated along a straight line using speed and heading, and the
+ * closest point of approach within the horizon is computed in closed form on a local
+ * equirectangular projection. Altitude is assumed constant over the horizon.</p>
+ *
+ * <p>Instances reuse their scratch buffers between cycles and are not thread-safe.
+ * The grid does not wrap across the antimeridian.</p>
+ */
+public class ConflictDetector {
+
+    private static final double METERS_PER_DEGREE = 111_320.0;
+    private static final double KMH_TO_MS = 1000.0 / 3600.0;
+    private static final long CELL_MASK = (1L << 21) - 1;
+
+    private final double horizontalSeparationMeters;
+    private final double verticalSeparationMeters;
+    private final double lookaheadSeconds;
+
+    private double[] velocityEast = new double[0];
+    private double[] velocityNorth = new double[0];
+    private int[] rows = new int[0];
+    private int[] cols = new int[0];
+    private int[] levels = new int[0];
+    private int[] next = new int[0];
+    private long[] tableKeys = new long[0];
+    private int[] tableHeads = new int[0];
+
+    public ConflictDetector(double horizontalSeparationMeters, double verticalSeparationMeters, double lookaheadSeconds) {
+        if (horizontalSeparationMeters <= 0 || verticalSeparationMeters <= 0 || lookaheadSeconds < 0) {
+            throw new IllegalArgumentException("Separation minima must be positive and look-ahead non-negative");
+        }
+        this.horizontalSeparationMeters = horizontalSeparationMeters;
+        this.verticalSeparationMeters = verticalSeparationMeters;
+        this.lookaheadSeconds = lookaheadSeconds;
+    }
+
+    /**
+     * Detect all pairs predicted to lose separation within the look-ahead horizon.
+     *
+     * @param count number of valid entries in the arrays
+     * @param ids UAV ids
+     * @param latitudes latitudes in degrees
+     * @param longitudes longitudes in degrees
+     * @param altitudes altitudes in meters
+     * @param speedsKmh ground speeds in km/h, 0 when unknown
+     * @param headingsDegrees headings in degrees clockwise from north, 0 when unknown
+     * @return conflicts, one per pair
+     */
+    public List<Conflict> detect(int count, int[] ids, double[] latitudes, double[] longitudes, double[] altitudes,
+                                 double[] speedsKmh, double[] headingsDegrees) {
+        List<Conflict> conflicts = new ArrayList<>();
+        if (count < 2) {
+            return conflicts;
+        }
+        ensureCapacity(count);
+
+        double maxSpeed = 0.0;
+        double maxAbsLatitude = 0.0;
+        for (int i = 0; i < count; i++) {
+            double speed = speedsKmh[i] * KMH_TO_MS;
+            double heading = Math.toRadians(headingsDegrees[i]);
+            velocityEast[i] = speed * Math.sin(heading);
+            velocityNorth[i] = speed * Math.cos(heading);
+            maxSpeed = Math.max(maxSpeed, speed);
+            maxAbsLatitude = Math.max(maxAbsLatitude, Math.abs(latitudes[i]));
+        }
+
+        // Two UAVs can close at most 2 * maxSpeed per second
+        double cellMeters = horizontalSeparationMeters + 2.0 * maxSpeed * lookaheadSeconds;
+        double cellLatDegrees = cellMeters / METERS_PER_DEGREE;
+        // Size longitude cells for the highest latitude so that no cell is narrower than cellMeters
+        double minCos = Math.max(Math.cos(Math.toRadians(Math.min(maxAbsLatitude, 89.0))), 0.01);
+        double cellLonDegrees = cellMeters / (METERS_PER_DEGREE * minCos);
+
+        Arrays.fill(tableHeads, 0, tableCapacityFor(count), -1);
+        int mask = tableCapacityFor(count) - 1;
+        for (int i = 0; i < count; i++) {
+            rows[i] = (int) Math.floor(latitudes[i] / cellLatDegrees);
+            cols[i] = (int) Math.floor(longitudes[i] / cellLonDegrees);
+            levels[i] = (int) Math.floor(altitudes[i] / verticalSeparationMeters);
+            long key = cellKey(rows[i], cols[i], levels[i]);
+            int slot = findSlot(key, mask);
+            if (tableHeads[slot] == -1) {
+                tableKeys[slot] = key;
+            }
+            next[i] = tableHeads[slot];
+            tableHeads[slot] = i;
+        }
+
+        double separationSquared = horizontalSeparationMeters * horizontalSeparationMeters;
+        for (int i = 0; i < count; i++) {
+            for (int dr = -1; dr <= 1; dr++) {
+                for (int dc = -1; dc <= 1; dc++) {
+                    for (int dl = -1; dl <= 1; dl++) {
+                        int slot = findSlot(cellKey(rows[i] + dr, cols[i] + dc, levels[i] + dl), mask);
+                        for (int j = tableHeads[slot]; j != -1; j = next[j]) {
+                            if (j > i) {
+                                Conflict conflict = checkPair(i, j, ids, latitudes, longitudes, altitudes, separationSquared);
+                                if (conflict != null) {
+                                    conflicts.add(conflict);
+                                }
+                            }
+                        }
+                    }
+                }
+            }
+        }
+        return conflicts;
+    }
+
+    private Conflict checkPair(int i, int j, int[] ids, double[] latitudes, double[] longitudes, double[] altitudes,
+                               double separationSquared) {
+        double verticalSeparation = Math.abs(altitudes[j] - altitudes[i]);
+        if (verticalSeparation >= verticalSeparationMeters) {
+            return null;
+        }
+
+        double deltaLon = longitudes[j] - longitudes[i];
+        if (deltaLon > 180.0) {
+            deltaLon -= 360.0;
+        } else if (deltaLon < -180.0) {
+            deltaLon += 360.0;
+        }
+        double cosMid = Math.cos(Math.toRadians((latitudes[i] + latitudes[j]) / 2.0));
+        double px = deltaLon * METERS_PER_DEGREE * cosMid;
+        double py = (latitudes[j] - latitudes[i]) * METERS_PER_DEGREE;
+        double vx = velocityEast[j] - velocityEast[i];
+        double vy = velocityNorth[j] - velocityNorth[i];
+
+        double relativeSpeedSquared = vx * vx + vy * vy;
+        double t = 0.0;
+        if (relativeSpeedSquared > 0.0) {
+            t = Math.max(0.0, Math.min(lookaheadSeconds, -(px * vx + py * vy) / relativeSpeedSquared));
+        }
+        double cx = px + vx * t;
+        double cy = py + vy * t;
+        double closestSquared = cx * cx + cy * cy;
+        if (closestSquared >= separationSquared) {
+            return null;
+        }
+        return new Conflict(ids[i], ids[j], t, Math.sqrt(closestSquared), Math.sqrt(px * px + py * py), verticalSeparation);
+    }
+
+    private static long cellKey(int row, int col, int level) {
+        return ((row & CELL_MASK) << 42) | ((col & CELL_MASK) << 21) | (level & CELL_MASK);
+    }
+
+    private int findSlot(long key, int mask) {
+        int slot = (int) mix(key) & mask;
+        while (tableHeads[slot] != -1 && tableKeys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private static long mix(long key) {
+        key ^= key >>> 33;
+        key *= 0xff51afd7ed558ccdL;
+        key ^= key >>> 33;
+        return key;
+    }
+
+    private static int tableCapacityFor(int count) {
+        return Integer.highestOneBit(Math.max(count, 2) * 2 - 1) << 1;
+    }
+
+    private void ensureCapacity(int count) {
+        if (rows.length < count) {
+            int size = Math.max(count, rows.length * 2);
+            velocityEast = new double[size];
+            velocityNorth = new double[size];
+            rows = new int[size];
+            cols = new int[size];
+            levels = new int[size];
+            next = new int[size];
+        }
+        int tableCapacity = tableCapacityFor(count);
+        if (tableHeads.length < tableCapacity) {
+            tableKeys = new long[tableCapacity];
+            tableHeads = new int[tableCapacity];
+        }
+    }
+
+    /**
+     * A predicted loss of separation between two UAVs
+     */
+    public static final class Conflict {
+        private final int uavIdA;
+        private final int uavIdB;
+        private final double timeToClosestApproachSeconds;
+        private final double closestApproachMeters;
+        private final double currentDistanceMeters;
+        private final double verticalSeparationMeters;
+
+        public Conflict(int uavIdA, int uavIdB, double timeToClosestApproachSeconds, double closestApproachMeters,
+                        double currentDistanceMeters, double verticalSeparationMeters) {
+            this.uavIdA = Math.min(uavIdA, uavIdB);
+            this.uavIdB = Math.max(uavIdA, uavIdB);
+            this.timeToClosestApproachSeconds = timeToClosestApproachSeconds;
+            this.closestApproachMeters = closestApproachMeters;
+            this.currentDistanceMeters = currentDistanceMeters;
+            this.verticalSeparationMeters = verticalSeparationMeters;
+        }
+
+        /**
+         * Order-independent key identifying the pair
+         */
+        public long getPairKey() {
+            return ((long) uavIdA << 32) | (uavIdB & 0xFFFFFFFFL);
+        }
+
+        public int getUavIdA() { return uavIdA; }
+        public int getUavIdB() { return uavIdB; }
+        public double getTimeToClosestApproachSeconds() { return timeToClosestApproachSeconds; }
+        public double getClosestApproachMeters() { return closestApproachMeters; }
+        public double getCurrentDistanceMeters() { return currentDistanceMeters; }
+        public double getVerticalSeparationMeters() { return verticalSeparationMeters; }
+    }
+}
@@ -0,0 +1,90 @@
+package com.uav.dockingmanagement.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The current docking of every docked UAV, by UAV id.
+ *
+ * <p>A dock first claims the UAV with a pending entry (no record id yet), which atomically fails if the
+ * UAV already has an entry, so two concurrent docks of one UAV cannot both succeed. The claim is then
+ * replaced by the saved record. Entries are only ever replaced or removed when they still equal what the
+ * caller saw, so a late rollback cannot undo a newer change. Lookups are lock-free.</p>
+ */
+public class CurrentDockingRegistry {
+
+    private final ConcurrentHashMap<Integer, CurrentDocking> dockings = new ConcurrentHashMap<>();
+
+    public Optional<CurrentDocking> get(int uavId) {
+        return Optional.ofNullable(dockings.get(uavId));
+    }
+
+    public List<CurrentDocking> getAll() {
+        return new ArrayList<>(dockings.values());
+    }
+
+    public int size() {
+        return dockings.size();
+    }
+
+    /**
+     * Claim a UAV for a docking not saved yet
+     *
+     * @return the pending entry, or null if the UAV already has an entry
+     */
+    public CurrentDocking claim(int uavId, long stationId, String purpose, LocalDateTime now) {
+        CurrentDocking pending = new CurrentDocking(uavId, null, stationId, now, purpose);
+        return dockings.putIfAbsent(uavId, pending) == null ? pending : null;
+    }
+
+    /**
+     * Replace {@code expected} with {@code updated} if the UAV's entry is still {@code expected}
+     */
+    public boolean replace(CurrentDocking expected, CurrentDocking updated) {
+        return dockings.replace(expected.uavId(), expected, updated);
+    }
+
+    /**
+     * Remove the UAV's entry if it is still {@code expected}
+     */
+    public boolean remove(CurrentDocking expected) {
+        return dockings.remove(expected.uavId(), expected);
+    }
+
+    /**
+     * Put back an entry removed by a change that did not happen, unless the UAV has a newer one
+     */
+    public boolean restore(CurrentDocking docking) {
+        return dockings.putIfAbsent(docking.uavId(), docking) == null;
+    }
+
+    /**
+     * Replace every entry, e.g. with what the database holds
+     */
+    public synchronized void reset(Collection<CurrentDocking> current) {
+        dockings.clear();
+        for (CurrentDocking docking : current) {
+            dockings.put(docking.uavId(), docking);
+        }
+    }
+
+    /**
+     * @param dockingRecordId null while the docking is being saved
+     */
+    public record CurrentDocking(int uavId, Long dockingRecordId, long stationId, LocalDateTime dockTime,
+                                 String purpose) {
+
+        public boolean isPending() {
+            return dockingRecordId == null;
+        }
+
+        public CurrentDocking withRecord(Long dockingRecordId, LocalDateTime dockTime) {
+            return new CurrentDocking(uavId, dockingRecordId, stationId, dockTime != null ? dockTime : this.dockTime,
+                purpose);
+        }
+    }
+}
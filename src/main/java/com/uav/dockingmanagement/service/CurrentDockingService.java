@@ -0,0 +1,100 @@
+package com.uav.dockingmanagement.service;
+
+import com.uav.dockingmanagement.model.DockingRecord;
+import com.uav.dockingmanagement.repository.DockingRecordRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Where every docked UAV is docked: a {@link CurrentDockingRegistry} loaded from docking_records at
+ * startup and changed by docks and undocks as they happen.
+ *
+ * <p>A dock claims the UAV before saving its record and an undock drops the entry once its record is
+ * saved, so the registry answers "is this UAV docked" the same way the transaction in progress will.
+ * If the transaction rolls back the change is reverted; a claim that never got its record is dropped
+ * whatever the outcome.</p>
+ */
+@Service
+public class CurrentDockingService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CurrentDockingService.class);
+
+    @Autowired
+    private DockingRecordRepository dockingRecordRepository;
+
+    private final CurrentDockingRegistry registry = new CurrentDockingRegistry();
+
+    @PostConstruct
+    public void rebuild() {
+        try {
+            List<CurrentDockingRegistry.CurrentDocking> current = new ArrayList<>();
+            for (Object[] row : dockingRecordRepository.findCurrentDockingSummaries()) {
+                current.add(new CurrentDockingRegistry.CurrentDocking((Integer) row[1], (Long) row[0], (Long) row[2],
+                    (LocalDateTime) row[3], (String) row[4]));
+            }
+            registry.reset(current);
+            logger.info("Loaded {} current dockings", registry.size());
+        } catch (Exception e) {
+            logger.error("Error loading current dockings: {}", e.getMessage(), e);
+        }
+    }
+
+    public Optional<CurrentDockingRegistry.CurrentDocking> find(Integer uavId) {
+        return registry.get(uavId);
+    }
+
+    public List<CurrentDockingRegistry.CurrentDocking> findAll() {
+        return registry.getAll();
+    }
+
+    /**
+     * Claim a UAV for a docking about to be saved
+     *
+     * @return the claim to pass to {@link #confirm}, or null if the UAV is already docked or being docked
+     */
+    public CurrentDockingRegistry.CurrentDocking claim(Integer uavId, Long stationId, String purpose) {
+        CurrentDockingRegistry.CurrentDocking claim = registry.claim(uavId, stationId, purpose, LocalDateTime.now());
+        if (claim != null) {
+            TransactionHooks.afterCompletion(status -> registry.remove(claim));
+        }
+        return claim;
+    }
+
+    /**
+     * Replace a claim with the docking record saved for it
+     */
+    public void confirm(CurrentDockingRegistry.CurrentDocking claim, DockingRecord dockingRecord) {
+        CurrentDockingRegistry.CurrentDocking docking = claim.withRecord(dockingRecord.getId(), dockingRecord.getDockTime());
+        if (registry.replace(claim, docking)) {
+            TransactionHooks.afterCompletion(status -> {
+                if (status != TransactionSynchronization.STATUS_COMMITTED) {
+                    registry.remove(docking);
+                }
+            });
+        }
+    }
+
+    /**
+     * Drop the entry of a docking record just closed
+     */
+    public void release(DockingRecord dockingRecord) {
+        Optional<CurrentDockingRegistry.CurrentDocking> current = registry.get(dockingRecord.getUav().getId())
+            .filter(docking -> dockingRecord.getId().equals(docking.dockingRecordId()));
+        if (current.isPresent() && registry.remove(current.get())) {
+            TransactionHooks.afterCompletion(status -> {
+                if (status != TransactionSynchronization.STATUS_COMMITTED) {
+                    registry.restore(current.get());
+                }
+            });
+        }
+    }
+}
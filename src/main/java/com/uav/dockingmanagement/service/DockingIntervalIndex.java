@@ -0,0 +1,102 @@
+package com.uav.dockingmanagement.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Docking records as time intervals, indexed per station and per UAV in {@link IntervalTree}s, answering
+ * "who was docked at this station at T" and "where was this UAV docked between A and B" without reading
+ * docking_records. Times are epoch milliseconds; a docking still in progress ends at {@code Long.MAX_VALUE}.
+ */
+public class DockingIntervalIndex {
+
+    public static final long OPEN = Long.MAX_VALUE;
+
+    private final Map<Long, Docking> dockings = new HashMap<>();
+    private final Map<Long, IntervalTree<Docking>> byStation = new HashMap<>();
+    private final Map<Integer, IntervalTree<Docking>> byUav = new HashMap<>();
+
+    /**
+     * Add a docking, or replace the one with the same record id (e.g. when it ends)
+     */
+    public synchronized void put(Docking docking) {
+        remove(docking.recordId());
+        dockings.put(docking.recordId(), docking);
+        byStation.computeIfAbsent(docking.stationId(), id -> new IntervalTree<>())
+            .insert(docking.recordId(), docking.startMillis(), docking.endMillis(), docking);
+        byUav.computeIfAbsent(docking.uavId(), id -> new IntervalTree<>())
+            .insert(docking.recordId(), docking.startMillis(), docking.endMillis(), docking);
+    }
+
+    public synchronized boolean remove(long recordId) {
+        Docking docking = dockings.remove(recordId);
+        if (docking == null) {
+            return false;
+        }
+        remove(byStation, docking.stationId(), docking);
+        remove(byUav, docking.uavId(), docking);
+        return true;
+    }
+
+    /**
+     * Dockings at a station that include {@code atMillis}, ordered by start
+     */
+    public synchronized List<Docking> atStation(long stationId, long atMillis) {
+        List<Docking> result = new ArrayList<>();
+        IntervalTree<Docking> tree = byStation.get(stationId);
+        if (tree != null) {
+            tree.stab(atMillis, result);
+        }
+        return result;
+    }
+
+    /**
+     * Dockings at a station overlapping {@code [fromMillis, toMillis)}, ordered by start
+     */
+    public synchronized List<Docking> atStation(long stationId, long fromMillis, long toMillis) {
+        List<Docking> result = new ArrayList<>();
+        IntervalTree<Docking> tree = byStation.get(stationId);
+        if (tree != null) {
+            tree.overlap(fromMillis, toMillis, result);
+        }
+        return result;
+    }
+
+    /**
+     * Dockings of a UAV overlapping {@code [fromMillis, toMillis)}, ordered by start
+     */
+    public synchronized List<Docking> ofUav(int uavId, long fromMillis, long toMillis) {
+        List<Docking> result = new ArrayList<>();
+        IntervalTree<Docking> tree = byUav.get(uavId);
+        if (tree != null) {
+            tree.overlap(fromMillis, toMillis, result);
+        }
+        return result;
+    }
+
+    public synchronized int size() {
+        return dockings.size();
+    }
+
+    private static <K> void remove(Map<K, IntervalTree<Docking>> trees, K key, Docking docking) {
+        IntervalTree<Docking> tree = trees.get(key);
+        if (tree != null) {
+            tree.remove(docking.recordId(), docking.startMillis());
+            if (tree.size() == 0) {
+                trees.remove(key);
+            }
+        }
+    }
+
+    /**
+     * One docking record; {@code endMillis} is {@link #OPEN} while the UAV is still docked
+     */
+    public record Docking(long recordId, int uavId, long stationId, long startMillis, long endMillis) {
+
+        public boolean isOpen() {
+            return endMillis == OPEN;
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package com.uav.dockingmanagement.service;
+
+import com.uav.dockingmanagement.model.DockingRecord;
+import com.uav.dockingmanagement.model.DockingStation;
+import com.uav.dockingmanagement.model.UAV;
+import com.uav.dockingmanagement.repository.DockingRecordRepository;
+import com.uav.dockingmanagement.repository.DockingStationRepository;
+import com.uav.dockingmanagement.repository.UAVRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Who was docked where, and when: a {@link DockingIntervalIndex} over every docking record.
+ *
+ * <p>The index is loaded from docking_records at startup (ids and times only) and kept current from
+ * committed docks and undocks. Queries read the index, then load the names of the UAVs and stations
+ * found in one query each.</p>
+ */
+@Service
+public class DockingIntervalService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DockingIntervalService.class);
+
+    @Autowired
+    private DockingRecordRepository dockingRecordRepository;
+
+    @Autowired
+    private DockingStationRepository dockingStationRepository;
+
+    @Autowired
+    private UAVRepository uavRepository;
+
+    private final DockingIntervalIndex index = new DockingIntervalIndex();
+    private final ZoneId zone = ZoneId.systemDefault();
+
+    @PostConstruct
+    public void initialize() {
+        try {
+            for (Object[] row : dockingRecordRepository.findAllIntervals()) {
+                LocalDateTime dockTime = (LocalDateTime) row[3];
+                if (dockTime == null) {
+                    continue;
+                }
+                LocalDateTime undockTime = (LocalDateTime) row[4];
+                long start = toMillis(dockTime);
+                // Records closed without an undock time (e.g. aborted) count as never docked
+                long end = undockTime != null ? toMillis(undockTime)
+                    : row[5] == DockingRecord.DockingStatus.DOCKED ? DockingIntervalIndex.OPEN : start;
+                index.put(new DockingIntervalIndex.Docking((Long) row[0], (Integer) row[1], (Long) row[2], start, end));
+            }
+            logger.info("Indexed {} docking intervals", index.size());
+        } catch (Exception e) {
+            logger.error("Error loading docking intervals: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Index a new docking once its transaction commits
+     */
+    public void onDocked(DockingRecord dockingRecord) {
+        DockingIntervalIndex.Docking docking = toDocking(dockingRecord);
+        TransactionHooks.afterCommit(() -> index.put(docking));
+    }
+
+    /**
+     * Close a docking in the index once its transaction commits
+     */
+    public void onUndocked(DockingRecord dockingRecord) {
+        DockingIntervalIndex.Docking docking = toDocking(dockingRecord);
+        TransactionHooks.afterCommit(() -> index.put(docking));
+    }
+
+    /**
+     * UAVs docked at a station at some point in {@code [from, to)}, or at {@code from} if {@code to} is null
+     */
+    public List<Map<String, Object>> getStationOccupants(Long stationId, LocalDateTime from, LocalDateTime to) {
+        return describe(to == null
+            ? index.atStation(stationId, toMillis(from))
+            : index.atStation(stationId, toMillis(from), toMillis(to)));
+    }
+
+    /**
+     * Stations a UAV was docked at in {@code [from, to)}, in visiting order
+     */
+    public List<Map<String, Object>> getUavVisits(Integer uavId, LocalDateTime from, LocalDateTime to) {
+        return describe(index.ofUav(uavId, toMillis(from), toMillis(to)));
+    }
+
+    public int size() {
+        return index.size();
+    }
+
+    private DockingIntervalIndex.Docking toDocking(DockingRecord dockingRecord) {
+        long start = toMillis(dockingRecord.getDockTime() != null ? dockingRecord.getDockTime() : LocalDateTime.now());
+        long end = dockingRecord.getUndockTime() != null ? toMillis(dockingRecord.getUndockTime()) : DockingIntervalIndex.OPEN;
+        return new DockingIntervalIndex.Docking(dockingRecord.getId(), dockingRecord.getUav().getId(),
+            dockingRecord.getDockingStation().getId(), start, end);
+    }
+
+    private List<Map<String, Object>> describe(List<DockingIntervalIndex.Docking> dockings) {
+        Set<Integer> uavIds = new HashSet<>();
+        Set<Long> stationIds = new HashSet<>();
+        for (DockingIntervalIndex.Docking docking : dockings) {
+            uavIds.add(docking.uavId());
+            stationIds.add(docking.stationId());
+        }
+        Map<Integer, String> rfidTags = new HashMap<>();
+        Map<Long, String> stationNames = new HashMap<>();
+        if (!dockings.isEmpty()) {
+            for (UAV uav : uavRepository.findAllById(uavIds)) {
+                rfidTags.put(uav.getId(), uav.getRfidTag());
+            }
+            for (DockingStation station : dockingStationRepository.findAllById(stationIds)) {
+                stationNames.put(station.getId(), station.getName());
+            }
+        }
+
+        List<Map<String, Object>> result = new ArrayList<>();
+        for (DockingIntervalIndex.Docking docking : dockings) {
+            Map<String, Object> entry = new HashMap<>();
+            entry.put("dockingRecordId", docking.recordId());
+            entry.put("uavId", docking.uavId());
+            entry.put("uavRfidTag", rfidTags.get(docking.uavId()));
+            entry.put("stationId", docking.stationId());
+            entry.put("stationName", stationNames.get(docking.stationId()));
+            entry.put("dockTime", toTime(docking.startMillis()));
+            entry.put("undockTime", docking.isOpen() ? null : toTime(docking.endMillis()));
+            result.add(entry);
+        }
+        return result;
+    }
+
+    private long toMillis(LocalDateTime time) {
+        return time.atZone(zone).toInstant().toEpochMilli();
+    }
+
+    private LocalDateTime toTime(long millis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), zone);
+    }
+}
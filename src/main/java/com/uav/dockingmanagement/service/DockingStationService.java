@@ -2,6 +2,7 @@ package com.uav.dockingmanagement.service;
 
 import com.uav.dockingmanagement.model.DockingRecord;
 import com.uav.dockingmanagement.model.DockingStation;
+import com.uav.dockingmanagement.model.StationOccupancyBucket;
 import com.uav.dockingmanagement.model.UAV;
 import com.uav.dockingmanagement.repository.DockingRecordRepository;
 import com.uav.dockingmanagement.repository.DockingStationRepository;
@@ -41,6 +42,18 @@ public class DockingStationService {
     @Autowired
     private SimpMessagingTemplate messagingTemplate;
 
+    @Autowired
+    private ChargingSchedulerService chargingSchedulerService;
+
+    @Autowired
+    private StationOccupancyService stationOccupancyService;
+
+    @Autowired
+    private DockingIntervalService dockingIntervalService;
+
+    @Autowired
+    private CurrentDockingService currentDockingService;
+
     /**
      * Get all docking stations
      */
@@ -83,6 +96,7 @@ public class DockingStationService {
             }
 
             DockingStation savedStation = dockingStationRepository.save(station);
+            onStationSaved(savedStation);
             logger.info("Created new docking station: {}", savedStation.getName());
             return savedStation;
         } catch (Exception e) {
@@ -129,6 +143,12 @@ public class DockingStationService {
             if (updatedStation.getChargingAvailable() != null) {
                 existing.setChargingAvailable(updatedStation.getChargingAvailable());
             }
+            if (updatedStation.getChargerCount() != null) {
+                existing.setChargerCount(updatedStation.getChargerCount());
+            }
+            if (updatedStation.getChargingPowerBudgetWatts() != null) {
+                existing.setChargingPowerBudgetWatts(updatedStation.getChargingPowerBudgetWatts());
+            }
             if (updatedStation.getMaintenanceAvailable() != null) {
                 existing.setMaintenanceAvailable(updatedStation.getMaintenanceAvailable());
             }
@@ -142,6 +162,7 @@ public class DockingStationService {
             existing.setUpdatedAt(LocalDateTime.now());
 
             DockingStation savedStation = dockingStationRepository.save(existing);
+            onStationSaved(savedStation);
             logger.info("Updated docking station: {}", savedStation.getName());
             return savedStation;
         } catch (Exception e) {
@@ -150,6 +171,14 @@ public class DockingStationService {
         }
     }
 
+    /**
+     * Apply a created or updated station's chargers and capacity, and follow its occupancy from now on
+     */
+    public void onStationSaved(DockingStation station) {
+        chargingSchedulerService.onStationUpdated(station);
+        stationOccupancyService.onStationUpdated(station);
+    }
+
     /**
      * Delete docking station
      */
@@ -263,6 +292,15 @@ public class DockingStationService {
      */
     @Transactional
     public Map<String, Object> dockUAV(Integer uavId, Long stationId, String purpose) {
+        return dockUAV(uavId, stationId, purpose, null);
+    }
+
+    /**
+     * Dock UAV at station; a UAV docking for CHARGING waits for a charger in order of battery urgency and
+     * mission priority (higher number = higher priority, null = 0)
+     */
+    @Transactional
+    public Map<String, Object> dockUAV(Integer uavId, Long stationId, String purpose, Integer missionPriority) {
         Map<String, Object> result = new HashMap<>();
         
         try {
@@ -286,8 +324,7 @@ public class DockingStationService {
             DockingStation station = stationOpt.get();
             
             // Check if UAV is already docked
-            Optional<DockingRecord> existingDocking = dockingRecordRepository.findCurrentDockingByUavId(uavId);
-            if (existingDocking.isPresent()) {
+            if (currentDockingService.find(uavId).isPresent()) {
                 result.put("success", false);
                 result.put("message", "UAV is already docked at another station");
                 return result;
@@ -306,6 +343,14 @@ public class DockingStationService {
                 return result;
             }
             
+            // Claim the UAV so a concurrent dock of it fails here instead of saving a second record
+            CurrentDockingRegistry.CurrentDocking claim = currentDockingService.claim(uavId, stationId, purpose);
+            if (claim == null) {
+                result.put("success", false);
+                result.put("message", "UAV is already docked at another station");
+                return result;
+            }
+            
             // Create docking record
             DockingRecord dockingRecord = new DockingRecord(uav, station, purpose);
             
@@ -315,14 +360,17 @@ public class DockingStationService {
             }
             
             dockingRecordRepository.save(dockingRecord);
+            currentDockingService.confirm(claim, dockingRecord);
+            dockingIntervalService.onDocked(dockingRecord);
             
             // Update station occupancy
             station.setCurrentOccupancy(station.getCurrentOccupancy() + 1);
             dockingStationRepository.save(station);
+            stationOccupancyService.onDocked(station);
             
             // Update UAV status if needed
             if (purpose != null && purpose.equalsIgnoreCase("CHARGING")) {
-                uav.setOperationalStatus(UAV.OperationalStatus.CHARGING);
+                result.put("charging", chargingSchedulerService.onDocked(uav, station, missionPriority));
             } else if (purpose != null && purpose.equalsIgnoreCase("MAINTENANCE")) {
                 uav.setOperationalStatus(UAV.OperationalStatus.MAINTENANCE);
             }
@@ -354,8 +402,10 @@ public class DockingStationService {
         Map<String, Object> result = new HashMap<>();
         
         try {
-            // Find current docking
-            Optional<DockingRecord> dockingOpt = dockingRecordRepository.findCurrentDockingByUavId(uavId);
+            // Find current docking by primary key
+            Optional<DockingRecord> dockingOpt = currentDockingService.find(uavId)
+                .filter(docking -> !docking.isPending())
+                .flatMap(docking -> dockingRecordRepository.findById(docking.dockingRecordId()));
             if (dockingOpt.isEmpty()) {
                 result.put("success", false);
                 result.put("message", "UAV is not currently docked");
@@ -375,14 +425,20 @@ public class DockingStationService {
             }
             
             dockingRecordRepository.save(dockingRecord);
+            currentDockingService.release(dockingRecord);
+            dockingIntervalService.onUndocked(dockingRecord);
             
             // Update station occupancy
             station.setCurrentOccupancy(Math.max(0, station.getCurrentOccupancy() - 1));
             dockingStationRepository.save(station);
+            stationOccupancyService.onUndocked(station);
             
             // Update UAV status
             uav.setOperationalStatus(UAV.OperationalStatus.READY);
             uavRepository.save(uav);
+
+            // Hand a freed charger to the next waiting UAV
+            chargingSchedulerService.onUndocked(uavId, station);
             
             // Broadcast undocking event
             broadcastDockingEvent("UNDOCKED", uav, station, dockingRecord);
@@ -403,6 +459,59 @@ public class DockingStationService {
         return result;
     }
 
+    /**
+     * Charging sessions and queue of a station
+     */
+    public Optional<Map<String, Object>> getStationCharging(Long stationId) {
+        return chargingSchedulerService.getStationCharging(stationId);
+    }
+
+    /**
+     * Where a UAV is docked right now, or empty if it is not docked
+     */
+    public Optional<Map<String, Object>> getCurrentDocking(Integer uavId) {
+        return currentDockingService.find(uavId)
+            .filter(docking -> !docking.isPending())
+            .map(this::describeCurrentDocking);
+    }
+
+    /**
+     * Every UAV docked right now, optionally only those at one station
+     */
+    public List<Map<String, Object>> getCurrentDockings(Long stationId) {
+        List<Map<String, Object>> result = new ArrayList<>();
+        for (CurrentDockingRegistry.CurrentDocking docking : currentDockingService.findAll()) {
+            if (!docking.isPending() && (stationId == null || stationId == docking.stationId())) {
+                result.add(describeCurrentDocking(docking));
+            }
+        }
+        return result;
+    }
+
+    private Map<String, Object> describeCurrentDocking(CurrentDockingRegistry.CurrentDocking docking) {
+        Map<String, Object> entry = new HashMap<>();
+        entry.put("uavId", docking.uavId());
+        entry.put("stationId", docking.stationId());
+        entry.put("dockingRecordId", docking.dockingRecordId());
+        entry.put("dockTime", docking.dockTime());
+        entry.put("purpose", docking.purpose());
+        return entry;
+    }
+
+    /**
+     * UAVs docked at a station at an instant ({@code endTime} null) or at some point in a time range
+     */
+    public List<Map<String, Object>> getStationOccupants(Long stationId, LocalDateTime startTime, LocalDateTime endTime) {
+        return dockingIntervalService.getStationOccupants(stationId, startTime, endTime);
+    }
+
+    /**
+     * Stations a UAV was docked at in a time range, in visiting order
+     */
+    public List<Map<String, Object>> getUavDockingVisits(Integer uavId, LocalDateTime startTime, LocalDateTime endTime) {
+        return dockingIntervalService.getUavVisits(uavId, startTime, endTime);
+    }
+
     /**
      * Find optimal docking station for UAV
      */
@@ -496,33 +605,22 @@ public class DockingStationService {
     }
 
     /**
-     * Get station utilization report
+     * Get station utilization report: occupancy from the pre-aggregated time series
      */
     public Map<String, Object> getStationUtilizationReport(LocalDateTime startTime, LocalDateTime endTime) {
         Map<String, Object> report = new HashMap<>();
         
         try {
-            List<Object[]> utilizationStats = dockingRecordRepository.getStationUtilizationStats(startTime, endTime);
-            
+            Map<Long, Map<String, Object>> stationData = new HashMap<>(
+                stationOccupancyService.getUtilization(null, startTime, endTime));
+
+            // One query for the names and capacities of every reported station
             Map<String, Map<String, Object>> stationStats = new HashMap<>();
-            
-            for (Object[] stat : utilizationStats) {
-                Long stationId = (Long) stat[0];
-                Long dockingCount = (Long) stat[1];
-                Double avgDuration = (Double) stat[2];
-                
-                Optional<DockingStation> stationOpt = dockingStationRepository.findById(stationId);
-                if (stationOpt.isPresent()) {
-                    DockingStation station = stationOpt.get();
-                    
-                    Map<String, Object> stationData = new HashMap<>();
-                    stationData.put("stationName", station.getName());
-                    stationData.put("dockingCount", dockingCount);
-                    stationData.put("averageDurationMinutes", avgDuration != null ? avgDuration : 0.0);
-                    stationData.put("maxCapacity", station.getMaxCapacity());
-                    
-                    stationStats.put(stationId.toString(), stationData);
-                }
+            for (DockingStation station : dockingStationRepository.findAllById(stationData.keySet())) {
+                Map<String, Object> data = stationData.get(station.getId());
+                data.put("stationName", station.getName());
+                data.put("maxCapacity", station.getMaxCapacity());
+                stationStats.put(station.getId().toString(), data);
             }
             
             report.put("stationStats", stationStats);
@@ -536,6 +634,14 @@ public class DockingStationService {
         return report;
     }
 
+    /**
+     * Occupancy buckets of a station at one resolution, oldest first
+     */
+    public List<Map<String, Object>> getStationOccupancySeries(Long stationId, StationOccupancyBucket.Resolution resolution,
+                                                               LocalDateTime startTime, LocalDateTime endTime) {
+        return stationOccupancyService.getSeries(stationId, resolution, startTime, endTime);
+    }
+
     /**
      * Initialize sample docking stations if none exist
      */
@@ -0,0 +1,158 @@
+package com.uav.dockingmanagement.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Deterministic kinematics for a large virtual fleet.
+ *
+ * <p>State is held in primitive arrays indexed by virtual UAV, and every UAV owns a
+ * SplitMix64 random stream derived from the simulation seed and its index. A step only
+ * touches the UAV's own slot and stream, so stepping is partitioned across the common
+ * fork-join pool and the trajectory for a given seed is identical regardless of the
+ * number of cores or how the range is split.</p>
+ */
+public class FleetSimulator {
+
+    private static final double METERS_PER_DEGREE = 111_320.0;
+    private static final double KMH_TO_MS = 1000.0 / 3600.0;
+    private static final int PARTITION_SIZE = 4096;
+
+    private static final double MIN_ALTITUDE = 20.0;
+    private static final double MAX_ALTITUDE = 120.0;
+    private static final double MIN_SPEED_KMH = 10.0;
+    private static final double MAX_SPEED_KMH = 70.0;
+
+    private final int size;
+    private final double centerLatitude;
+    private final double centerLongitude;
+    private final double radiusDegrees;
+
+    private final long[] rngState;
+    private final double[] latitudes;
+    private final double[] longitudes;
+    private final double[] altitudes;
+    private final double[] speedsKmh;
+    private final double[] headingsDegrees;
+    private final double[] batteryLevels;
+
+    /**
+     * @param size number of virtual UAVs
+     * @param seed simulation seed; the same seed always produces the same trajectories
+     * @param centerLatitude center of the operating area
+     * @param centerLongitude center of the operating area
+     * @param radiusMeters UAVs are spawned within and kept inside this radius
+     */
+    public FleetSimulator(int size, long seed, double centerLatitude, double centerLongitude, double radiusMeters) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("Fleet size must be positive");
+        }
+        this.size = size;
+        this.centerLatitude = centerLatitude;
+        this.centerLongitude = centerLongitude;
+        this.radiusDegrees = radiusMeters / METERS_PER_DEGREE;
+
+        rngState = new long[size];
+        latitudes = new double[size];
+        longitudes = new double[size];
+        altitudes = new double[size];
+        speedsKmh = new double[size];
+        headingsDegrees = new double[size];
+        batteryLevels = new double[size];
+
+        for (int i = 0; i < size; i++) {
+            rngState[i] = mix(seed + i * 0x9E3779B97F4A7C15L);
+            double angle = nextDouble(i) * 2 * Math.PI;
+            double distance = Math.sqrt(nextDouble(i)) * radiusDegrees;
+            latitudes[i] = centerLatitude + distance * Math.cos(angle);
+            longitudes[i] = centerLongitude + distance * Math.sin(angle) / Math.cos(Math.toRadians(centerLatitude));
+            altitudes[i] = MIN_ALTITUDE + nextDouble(i) * (MAX_ALTITUDE - MIN_ALTITUDE);
+            speedsKmh[i] = MIN_SPEED_KMH + nextDouble(i) * (MAX_SPEED_KMH - MIN_SPEED_KMH);
+            headingsDegrees[i] = nextDouble(i) * 360.0;
+            batteryLevels[i] = 60.0 + nextDouble(i) * 40.0;
+        }
+    }
+
+    /**
+     * Advance every UAV by {@code dtSeconds}, in parallel
+     */
+    public void step(double dtSeconds) {
+        ForkJoinPool.commonPool().invoke(new StepTask(0, size, dtSeconds));
+    }
+
+    /**
+     * Advance UAVs {@code [from, to)} by {@code dtSeconds} on the calling thread
+     */
+    public void step(int from, int to, double dtSeconds) {
+        double cosCenter = Math.cos(Math.toRadians(centerLatitude));
+        for (int i = from; i < to; i++) {
+            // Random walk on heading, speed and altitude
+            headingsDegrees[i] = (headingsDegrees[i] + (nextDouble(i) - 0.5) * 20.0 * dtSeconds + 360.0) % 360.0;
+            speedsKmh[i] = clamp(speedsKmh[i] + (nextDouble(i) - 0.5) * 4.0 * dtSeconds, MIN_SPEED_KMH, MAX_SPEED_KMH);
+            altitudes[i] = clamp(altitudes[i] + (nextDouble(i) - 0.5) * 2.0 * dtSeconds, MIN_ALTITUDE, MAX_ALTITUDE);
+            batteryLevels[i] = Math.max(0.0, batteryLevels[i] - 0.01 * dtSeconds);
+
+            double meters = speedsKmh[i] * KMH_TO_MS * dtSeconds;
+            double heading = Math.toRadians(headingsDegrees[i]);
+            latitudes[i] += meters * Math.cos(heading) / METERS_PER_DEGREE;
+            longitudes[i] += meters * Math.sin(heading) / (METERS_PER_DEGREE * cosCenter);
+
+            // Turn back towards the center when leaving the operating area
+            double dLat = latitudes[i] - centerLatitude;
+            double dLon = (longitudes[i] - centerLongitude) * cosCenter;
+            if (dLat * dLat + dLon * dLon > radiusDegrees * radiusDegrees) {
+                headingsDegrees[i] = (Math.toDegrees(Math.atan2(-dLon, -dLat)) + 360.0) % 360.0;
+            }
+        }
+    }
+
+    public int size() { return size; }
+    public double latitude(int i) { return latitudes[i]; }
+    public double longitude(int i) { return longitudes[i]; }
+    public double altitude(int i) { return altitudes[i]; }
+    public double speedKmh(int i) { return speedsKmh[i]; }
+    public double headingDegrees(int i) { return headingsDegrees[i]; }
+    public int batteryLevel(int i) { return (int) Math.round(batteryLevels[i]); }
+
+    private double nextDouble(int i) {
+        long z = rngState[i] += 0x9E3779B97F4A7C15L;
+        return (mix(z) >>> 11) * 0x1.0p-53;
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    private static double clamp(double value, double min, double max) {
+        return Math.max(min, Math.min(max, value));
+    }
+
+    private final class StepTask extends RecursiveAction {
+        private final int from;
+        private final int to;
+        private final double dtSeconds;
+
+        private StepTask(int from, int to, double dtSeconds) {
+            this.from = from;
+            this.to = to;
+            this.dtSeconds = dtSeconds;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= PARTITION_SIZE) {
+                step(from, to, dtSeconds);
+                return;
+            }
+            List<StepTask> tasks = new ArrayList<>();
+            for (int start = from; start < to; start += PARTITION_SIZE) {
+                tasks.add(new StepTask(start, Math.min(to, start + PARTITION_SIZE), dtSeconds));
+            }
+            invokeAll(tasks);
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package com.uav.dockingmanagement.service;
+
+import com.uav.dockingmanagement.model.FlightLog;
+import com.uav.dockingmanagement.model.LocationHistory;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Running statistics of one flight, updated fix by fix in constant time and space.
+ *
+ * <p>Distance is the great-circle length of the path between consecutive fixes; a fix older than
+ * the last one seen (late delivery) still counts towards the extremes and speed moments but does
+ * not move the path. Speed mean and variance use Welford's update.</p>
+ */
+public class FlightAccumulator {
+
+    private final Long flightLogId;
+    private final Integer uavId;
+    private final LocalDateTime startTime;
+
+    private long fixCount;
+    private double distanceMeters;
+    private double maxAltitudeMeters = Double.NaN;
+
+    private long speedCount;
+    private double speedMean;
+    private double speedM2;
+    private double maxSpeedKmh = Double.NaN;
+
+    private Integer batteryStart;
+    private Integer batteryEnd;
+    private Integer batteryMin;
+
+    private Double startLatitude;
+    private Double startLongitude;
+    private LocationHistory last;
+
+    public FlightAccumulator(Long flightLogId, Integer uavId, LocalDateTime startTime) {
+        this.flightLogId = flightLogId;
+        this.uavId = uavId;
+        this.startTime = startTime;
+    }
+
+    public synchronized void add(LocationHistory fix) {
+        fixCount++;
+
+        if (fix.getAltitudeMeters() != null && !(fix.getAltitudeMeters() <= maxAltitudeMeters)) {
+            maxAltitudeMeters = fix.getAltitudeMeters();
+        }
+        if (fix.getSpeedKmh() != null) {
+            double speed = fix.getSpeedKmh();
+            speedCount++;
+            double delta = speed - speedMean;
+            speedMean += delta / speedCount;
+            speedM2 += delta * (speed - speedMean);
+            if (!(speed <= maxSpeedKmh)) {
+                maxSpeedKmh = speed;
+            }
+        }
+        if (fix.getBatteryLevel() != null) {
+            if (batteryStart == null) {
+                batteryStart = fix.getBatteryLevel();
+            }
+            batteryMin = batteryMin == null ? fix.getBatteryLevel() : Math.min(batteryMin, fix.getBatteryLevel());
+        }
+
+        if (last == null) {
+            startLatitude = fix.getLatitude();
+            startLongitude = fix.getLongitude();
+        } else if (fix.getTimestamp() != null && last.getTimestamp() != null
+                   && fix.getTimestamp().isBefore(last.getTimestamp())) {
+            return;
+        } else {
+            distanceMeters += fix.distanceToPoint(last.getLatitude(), last.getLongitude());
+        }
+        last = fix;
+        if (fix.getBatteryLevel() != null) {
+            batteryEnd = fix.getBatteryLevel();
+        }
+    }
+
+    /**
+     * Copy the accumulated values into a flight log that has ended
+     */
+    public synchronized void applyTo(FlightLog flightLog) {
+        flightLog.setDistanceTraveledKm(distanceMeters / 1000.0);
+        if (!Double.isNaN(maxAltitudeMeters)) {
+            flightLog.setMaxAltitudeMeters(maxAltitudeMeters);
+        }
+        if (speedCount > 0) {
+            flightLog.setAverageSpeedKmh(speedMean);
+            flightLog.setMaxSpeedKmh(maxSpeedKmh);
+        }
+        if (flightLog.getBatteryStartPercentage() == null) {
+            flightLog.setBatteryStartPercentage(batteryStart);
+        }
+        if (batteryEnd != null) {
+            flightLog.setBatteryEndPercentage(batteryEnd);
+        }
+        if (flightLog.getStartLatitude() == null) {
+            flightLog.setStartLatitude(startLatitude);
+            flightLog.setStartLongitude(startLongitude);
+        }
+        if (last != null) {
+            flightLog.setEndLatitude(last.getLatitude());
+            flightLog.setEndLongitude(last.getLongitude());
+        }
+    }
+
+    /**
+     * Current values as a response map
+     */
+    public synchronized Map<String, Object> toMap() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("flightLogId", flightLogId);
+        stats.put("uavId", uavId);
+        stats.put("flightStartTime", startTime);
+        stats.put("fixCount", fixCount);
+        stats.put("distanceTraveledKm", distanceMeters / 1000.0);
+        stats.put("maxAltitudeMeters", Double.isNaN(maxAltitudeMeters) ? null : maxAltitudeMeters);
+        stats.put("averageSpeedKmh", speedCount > 0 ? speedMean : null);
+        stats.put("speedStdDevKmh", speedCount > 1 ? Math.sqrt(speedM2 / (speedCount - 1)) : null);
+        stats.put("maxSpeedKmh", Double.isNaN(maxSpeedKmh) ? null : maxSpeedKmh);
+        stats.put("batteryStartPercentage", batteryStart);
+        stats.put("batteryCurrentPercentage", batteryEnd);
+        stats.put("batteryMinPercentage", batteryMin);
+        stats.put("batteryDrainPercentage", batteryStart != null && batteryEnd != null ? batteryStart - batteryEnd : null);
+        stats.put("currentLatitude", last != null ? last.getLatitude() : null);
+        stats.put("currentLongitude", last != null ? last.getLongitude() : null);
+        stats.put("lastFixTime", last != null ? last.getTimestamp() : null);
+        stats.put("elapsedMinutes", startTime != null ? Duration.between(startTime, LocalDateTime.now()).toMinutes() : null);
+        return stats;
+    }
+
+    public Long getFlightLogId() {
+        return flightLogId;
+    }
+
+    public Integer getUavId() {
+        return uavId;
+    }
+
+    public synchronized long getFixCount() {
+        return fixCount;
+    }
+
+    public synchronized double getDistanceMeters() {
+        return distanceMeters;
+    }
+}
@@ -32,6 +32,9 @@ public class FlightLogService {
     @Autowired
     private UAVRepository uavRepository;
 
+    @Autowired
+    private FlightStatisticsService flightStatisticsService;
+
     /**
      * Create a new flight log
      */
@@ -115,6 +118,7 @@ public class FlightLogService {
         uavRepository.save(uav);
 
         FlightLog savedLog = flightLogRepository.save(flightLog);
+        flightStatisticsService.startFlight(savedLog);
         logger.info("Flight started for mission: {} (ID: {})", flightLog.getMissionName(), flightLogId);
         return savedLog;
     }
@@ -133,7 +137,10 @@ public class FlightLogService {
         flightLog.setFlightStatus(FlightLog.FlightStatus.COMPLETED);
         flightLog.setFlightEndTime(LocalDateTime.now());
 
-        // Update flight data
+        // Fill in the statistics accumulated from location fixes
+        flightStatisticsService.finishFlight(flightLog);
+
+        // Values supplied by the caller take precedence
         if (flightData.getFlightDurationMinutes() != null) {
             flightLog.setFlightDurationMinutes(flightData.getFlightDurationMinutes());
         }
@@ -188,6 +195,7 @@ public class FlightLogService {
         FlightLog flightLog = flightLogOpt.get();
         flightLog.setFlightStatus(FlightLog.FlightStatus.ABORTED);
         flightLog.setFlightEndTime(LocalDateTime.now());
+        flightStatisticsService.finishFlight(flightLog);
         flightLog.setNotes(flightLog.getNotes() != null ? 
             flightLog.getNotes() + "\nAborted: " + reason : "Aborted: " + reason);
 
@@ -216,6 +224,7 @@ public class FlightLogService {
         flightLog.setFlightStatus(FlightLog.FlightStatus.EMERGENCY_LANDED);
         flightLog.setEmergencyLanding(true);
         flightLog.setFlightEndTime(LocalDateTime.now());
+        flightStatisticsService.finishFlight(flightLog);
         flightLog.setEndLatitude(latitude);
         flightLog.setEndLongitude(longitude);
         flightLog.setNotes(flightLog.getNotes() != null ? 
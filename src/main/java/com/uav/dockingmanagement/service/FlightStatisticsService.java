@@ -0,0 +1,156 @@
+package com.uav.dockingmanagement.service;
+
+import com.uav.dockingmanagement.model.FlightLog;
+import com.uav.dockingmanagement.model.LocationHistory;
+import com.uav.dockingmanagement.model.UAV;
+import com.uav.dockingmanagement.repository.FlightLogRepository;
+import com.uav.dockingmanagement.repository.LocationHistoryRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Live statistics of in-progress flights.
+ *
+ * <p>Each started flight gets a {@link FlightAccumulator} keyed by its UAV, fed from the location
+ * fix path. When the flight ends the accumulated distance, altitude, speed, battery and end position
+ * are written into its {@link FlightLog}, so finished flights are answered from that row and running
+ * flights from memory, both without scanning location history. Accumulators of flights still in
+ * progress at startup are rebuilt once from their stored path.</p>
+ */
+@Service
+public class FlightStatisticsService implements LocationFixListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(FlightStatisticsService.class);
+
+    @Autowired
+    private FlightLogRepository flightLogRepository;
+
+    @Autowired
+    private LocationHistoryRepository locationHistoryRepository;
+
+    private final Map<Integer, FlightAccumulator> activeByUav = new ConcurrentHashMap<>();
+    private final Map<Long, FlightAccumulator> activeByFlight = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void initialize() {
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            for (FlightLog flightLog : flightLogRepository.findByFlightStatusOrderByCreatedAtDesc(FlightLog.FlightStatus.IN_PROGRESS)) {
+                Integer uavId = flightLog.getUav().getId();
+                if (activeByUav.containsKey(uavId)) {
+                    continue; // Older duplicate; the newest flight wins
+                }
+                FlightAccumulator accumulator = register(flightLog);
+                if (flightLog.getFlightStartTime() != null) {
+                    for (LocationHistory fix : locationHistoryRepository.getFlightPath(uavId, flightLog.getFlightStartTime(), now)) {
+                        accumulator.add(fix);
+                    }
+                }
+            }
+            logger.info("Restored statistics for {} in-progress flights", activeByFlight.size());
+        } catch (Exception e) {
+            logger.error("Error restoring in-progress flight statistics: {}", e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void onLocationFix(UAV uav, LocationHistory fix) {
+        FlightAccumulator accumulator = activeByUav.get(uav.getId());
+        if (accumulator != null) {
+            accumulator.add(fix);
+        }
+    }
+
+    /**
+     * Start accumulating a flight that has just been started, once the transaction commits
+     */
+    public void startFlight(FlightLog flightLog) {
+        TransactionHooks.afterCommit(() -> register(flightLog));
+    }
+
+    /**
+     * Write the accumulated statistics into a flight log that is ending and stop accumulating it
+     * once the transaction commits. The flight duration is derived from its start and end times.
+     */
+    public void finishFlight(FlightLog flightLog) {
+        FlightAccumulator accumulator = activeByFlight.get(flightLog.getId());
+        if (accumulator != null) {
+            accumulator.applyTo(flightLog);
+        }
+        if (flightLog.getFlightStartTime() != null && flightLog.getFlightEndTime() != null) {
+            flightLog.setFlightDurationMinutes(
+                (int) Duration.between(flightLog.getFlightStartTime(), flightLog.getFlightEndTime()).toMinutes());
+        }
+        TransactionHooks.afterCommit(() -> unregister(flightLog.getId()));
+    }
+
+    /**
+     * Statistics of a flight: live values while it is in progress, the stored flight log otherwise
+     */
+    public Map<String, Object> getFlightStatistics(Long flightLogId) {
+        FlightAccumulator accumulator = activeByFlight.get(flightLogId);
+        if (accumulator != null) {
+            Map<String, Object> stats = accumulator.toMap();
+            stats.put("flightStatus", FlightLog.FlightStatus.IN_PROGRESS);
+            return stats;
+        }
+
+        Optional<FlightLog> flightLogOpt = flightLogRepository.findById(flightLogId);
+        if (flightLogOpt.isEmpty()) {
+            throw new IllegalArgumentException("Flight log not found with ID: " + flightLogId);
+        }
+        FlightLog flightLog = flightLogOpt.get();
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("flightLogId", flightLog.getId());
+        stats.put("flightStatus", flightLog.getFlightStatus());
+        stats.put("flightStartTime", flightLog.getFlightStartTime());
+        stats.put("flightEndTime", flightLog.getFlightEndTime());
+        stats.put("flightDurationMinutes", flightLog.getFlightDurationMinutes());
+        stats.put("distanceTraveledKm", flightLog.getDistanceTraveledKm());
+        stats.put("maxAltitudeMeters", flightLog.getMaxAltitudeMeters());
+        stats.put("averageSpeedKmh", flightLog.getAverageSpeedKmh());
+        stats.put("maxSpeedKmh", flightLog.getMaxSpeedKmh());
+        stats.put("batteryStartPercentage", flightLog.getBatteryStartPercentage());
+        stats.put("batteryEndPercentage", flightLog.getBatteryEndPercentage());
+        stats.put("batteryDrainPercentage",
+            flightLog.getBatteryStartPercentage() != null && flightLog.getBatteryEndPercentage() != null
+                ? flightLog.getBatteryStartPercentage() - flightLog.getBatteryEndPercentage() : null);
+        return stats;
+    }
+
+    /**
+     * Live statistics of the UAV's in-progress flight, if any
+     */
+    public Optional<Map<String, Object>> getActiveFlightStatistics(Integer uavId) {
+        FlightAccumulator accumulator = activeByUav.get(uavId);
+        return accumulator == null ? Optional.empty() : Optional.of(accumulator.toMap());
+    }
+
+    private FlightAccumulator register(FlightLog flightLog) {
+        FlightAccumulator accumulator = new FlightAccumulator(
+            flightLog.getId(), flightLog.getUav().getId(), flightLog.getFlightStartTime());
+        FlightAccumulator previous = activeByUav.put(accumulator.getUavId(), accumulator);
+        if (previous != null) {
+            activeByFlight.remove(previous.getFlightLogId());
+        }
+        activeByFlight.put(accumulator.getFlightLogId(), accumulator);
+        return accumulator;
+    }
+
+    private void unregister(Long flightLogId) {
+        FlightAccumulator accumulator = activeByFlight.remove(flightLogId);
+        if (accumulator != null) {
+            activeByUav.remove(accumulator.getUavId(), accumulator);
+        }
+    }
+}
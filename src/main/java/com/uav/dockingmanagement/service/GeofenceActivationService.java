@@ -0,0 +1,333 @@
+package com.uav.dockingmanagement.service;
+
+import com.uav.dockingmanagement.model.Geofence;
+import com.uav.dockingmanagement.model.GeofenceChangedEvent;
+import com.uav.dockingmanagement.repository.GeofenceRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps the set of geofences that are in force right now.
+ *
+ * <p>Each {@code ACTIVE} fence's schedule is compiled once into a {@link GeofenceSchedule}, and a timer
+ * in a {@link HashedTimerWheel} is armed for its next transition. When the timer fires the fence is
+ * switched into or out of the live set, and a fence past its {@code activeUntil} is marked
+ * {@code EXPIRED}. The per-fix path reads {@link #getLiveGeofences()}, an immutable list ordered by
+ * priority, without parsing schedules or querying the database; {@link #getLiveIndex()} is a
+ * {@link GeofenceIndex} over the same fences for proximity queries, and {@link #getLiveRaster()} an
+ * {@link AirspaceRaster} of them, updated incrementally, for lookups without geometry.</p>
+ *
+ * <p>Fence changes arrive as {@link GeofenceChangedEvent}s and are applied after their transaction commits;
+ * bulk writes that bypass JPA call {@link #reload()} once instead.</p>
+ */
+@Service
+public class GeofenceActivationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(GeofenceActivationService.class);
+
+    private static final Comparator<Geofence> BY_PRIORITY = Comparator.comparing(
+        (Geofence geofence) -> geofence.getPriorityLevel() != null ? geofence.getPriorityLevel() : 0).reversed();
+
+    @Autowired
+    private GeofenceRepository geofenceRepository;
+
+    @Value("${uav.geofence.schedule.tick-ms:1000}")
+    private long tickMillis = 1000;
+
+    @Value("${uav.geofence.index.cell-degrees:0.05}")
+    private double indexCellDegrees = 0.05;
+
+    @Value("${uav.geofence.polygon.simplify-tolerance-meters:1.0}")
+    private double polygonSimplifyToleranceMeters = 1.0;
+
+    @Value("${uav.geofence.raster.tile-degrees:0.25}")
+    private double rasterTileDegrees = 0.25;
+
+    @Value("${uav.geofence.raster.max-depth:8}")
+    private int rasterMaxDepth = 8;
+
+    private final Map<Long, Entry> entries = new HashMap<>();
+    /** Fences recompiled since the last publish, whose indexed geometry is stale */
+    private final Set<Long> recompiled = new HashSet<>();
+    private volatile List<Geofence> liveGeofences = List.of();
+    private volatile GeofenceIndex liveIndex = GeofenceIndex.empty();
+    private volatile AirspaceRaster liveRaster = AirspaceRaster.empty();
+    private final ZoneId zone = ZoneId.systemDefault();
+
+    private HashedTimerWheel<Timer> wheel;
+    private ScheduledExecutorService scheduler;
+
+    @PostConstruct
+    public void start() {
+        synchronized (this) {
+            wheel = new HashedTimerWheel<>(tickMillis, 4096, System.currentTimeMillis());
+        }
+        try {
+            reload();
+        } catch (Exception e) {
+            logger.error("Error loading geofence schedules: {}", e.getMessage(), e);
+        }
+
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "geofence-schedule");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleAtFixedRate(this::safeAdvance, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    /**
+     * Geofences in force now, highest priority first; do not modify
+     */
+    public List<Geofence> getLiveGeofences() {
+        return liveGeofences;
+    }
+
+    /**
+     * Spatial index over {@link #getLiveGeofences()}, updated whenever the live set changes
+     */
+    public GeofenceIndex getLiveIndex() {
+        return liveIndex;
+    }
+
+    /**
+     * Airspace raster of {@link #getLiveGeofences()}, updated whenever the live set changes
+     */
+    public AirspaceRaster getLiveRaster() {
+        return liveRaster;
+    }
+
+    /**
+     * Number of fences with a compiled schedule, in force or not
+     */
+    public synchronized int getScheduledCount() {
+        return entries.size();
+    }
+
+    /**
+     * Recompile every active fence from the database and publish the live set once,
+     * e.g. after a bulk import that bypassed the entity listener
+     */
+    public void reload() {
+        List<Geofence> geofences = geofenceRepository.findByStatus(Geofence.FenceStatus.ACTIVE);
+        LocalDateTime now = LocalDateTime.now();
+        synchronized (this) {
+            entries.clear();
+            for (Geofence geofence : geofences) {
+                register(geofence, now);
+            }
+            publish();
+        }
+        logger.info("Compiled schedules of {} geofences, {} in force", geofences.size(), liveGeofences.size());
+        expireDue();
+    }
+
+    /**
+     * Recompile a created or updated fence, or drop a deleted one, once its transaction commits
+     */
+    @EventListener
+    public void onGeofenceChanged(GeofenceChangedEvent event) {
+        if (event.removed()) {
+            onGeofenceRemoved(event.geofence());
+        } else {
+            onGeofenceSaved(event.geofence());
+        }
+    }
+
+    private void onGeofenceSaved(Geofence geofence) {
+        TransactionHooks.afterCommit(() -> {
+            synchronized (this) {
+                register(geofence, LocalDateTime.now());
+                publish();
+            }
+            // A write here would join the transaction that just committed and never be flushed
+            ScheduledExecutorService executor = scheduler;
+            if (executor != null) {
+                executor.execute(this::expireDue);
+            } else {
+                expireDue();
+            }
+        });
+    }
+
+    private void onGeofenceRemoved(Geofence geofence) {
+        TransactionHooks.afterCommit(() -> {
+            synchronized (this) {
+                if (entries.remove(geofence.getId()) != null) {
+                    publish();
+                }
+            }
+        });
+    }
+
+    private void safeAdvance() {
+        try {
+            boolean changed;
+            synchronized (this) {
+                long nowMillis = System.currentTimeMillis();
+                LocalDateTime now = toLocalDateTime(nowMillis);
+                List<Entry> due = new ArrayList<>();
+                wheel.advance(nowMillis, timer -> {
+                    // Drop timers superseded by a later evaluation or a recompiled fence
+                    if (timer.entry.generation == timer.generation && entries.get(timer.entry.geofence.getId()) == timer.entry) {
+                        due.add(timer.entry);
+                    }
+                });
+                changed = false;
+                for (Entry entry : due) {
+                    changed |= evaluate(entry, now);
+                }
+                if (changed) {
+                    publish();
+                }
+            }
+            if (changed) {
+                expireDue();
+            }
+        } catch (Exception e) {
+            logger.error("Error advancing geofence schedules: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Compile and evaluate a fence, replacing any previous schedule; caller publishes
+     */
+    private void register(Geofence geofence, LocalDateTime now) {
+        entries.remove(geofence.getId());
+        recompiled.add(geofence.getId());
+        if (geofence.getStatus() != Geofence.FenceStatus.ACTIVE) {
+            return;
+        }
+        GeofenceSchedule schedule;
+        try {
+            schedule = GeofenceSchedule.compile(geofence.getDaysOfWeek(), geofence.getTimeFrom(),
+                geofence.getTimeUntil(), geofence.getActiveFrom(), geofence.getActiveUntil());
+        } catch (IllegalArgumentException e) {
+            // Enforce a fence whose schedule cannot be read rather than silently dropping it
+            logger.warn("Invalid schedule for geofence {}, treating it as always in force: {}",
+                       geofence.getName(), e.getMessage());
+            schedule = GeofenceSchedule.compile(null, null, null, geofence.getActiveFrom(), geofence.getActiveUntil());
+        }
+        Entry entry = new Entry(geofence, schedule);
+        entries.put(geofence.getId(), entry);
+        evaluate(entry, now);
+    }
+
+    /**
+     * Update whether a fence is in force and arm its next timer; returns whether that changed
+     */
+    private boolean evaluate(Entry entry, LocalDateTime now) {
+        boolean wasLive = entry.live;
+        entry.live = entry.schedule.isActiveAt(now);
+        entry.expired = entry.schedule.isExpiredAt(now);
+
+        LocalDateTime next = entry.schedule.nextTransitionAfter(now);
+        if (next != null) {
+            entry.generation++;
+            wheel.schedule(new Timer(entry, entry.generation), next.atZone(zone).toInstant().toEpochMilli());
+        }
+        if (wasLive != entry.live) {
+            logger.info("Geofence {} {} at {}", entry.geofence.getName(), entry.live ? "activated" : "deactivated", now);
+        }
+        return wasLive != entry.live || entry.expired;
+    }
+
+    private void publish() {
+        List<Geofence> live = new ArrayList<>();
+        for (Entry entry : entries.values()) {
+            if (entry.live) {
+                live.add(entry.geofence);
+            }
+        }
+        live.sort(BY_PRIORITY);
+        // Fences whose live state merely toggled keep their parsed geometry; only recompiled ones are parsed
+        GeofenceIndex index = liveIndex.size() > 0
+            ? liveIndex.update(live, recompiled)
+            : new GeofenceIndex(live, indexCellDegrees, polygonSimplifyToleranceMeters);
+        recompiled.clear();
+        long started = System.currentTimeMillis();
+        AirspaceRaster raster = liveRaster.getFenceCount() > 0
+            ? liveRaster.update(index)
+            : new AirspaceRaster(index, rasterTileDegrees, rasterMaxDepth);
+        logger.debug("Airspace raster updated: {} tiles, {} boundary cells in {} ms",
+                    raster.getTileCount(), raster.getBoundaryCellCount(), System.currentTimeMillis() - started);
+        liveIndex = index;
+        liveRaster = raster;
+        liveGeofences = List.copyOf(live);
+    }
+
+    /**
+     * Mark fences past their {@code activeUntil} as expired; outside the lock since it writes
+     */
+    private void expireDue() {
+        List<Long> expiredIds = new ArrayList<>();
+        synchronized (this) {
+            entries.values().removeIf(entry -> {
+                if (entry.expired) {
+                    expiredIds.add(entry.geofence.getId());
+                }
+                return entry.expired;
+            });
+        }
+        for (Long id : expiredIds) {
+            try {
+                geofenceRepository.findById(id).ifPresent(geofence -> {
+                    if (geofence.getStatus() == Geofence.FenceStatus.ACTIVE) {
+                        geofence.setStatus(Geofence.FenceStatus.EXPIRED);
+                        geofenceRepository.save(geofence);
+                        logger.info("Geofence {} expired", geofence.getName());
+                    }
+                });
+            } catch (Exception e) {
+                logger.error("Error expiring geofence {}: {}", id, e.getMessage(), e);
+            }
+        }
+    }
+
+    private LocalDateTime toLocalDateTime(long millis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), zone);
+    }
+
+    private static final class Entry {
+        private final Geofence geofence;
+        private final GeofenceSchedule schedule;
+        private boolean live;
+        private boolean expired;
+        private int generation;
+
+        private Entry(Geofence geofence, GeofenceSchedule schedule) {
+            this.geofence = geofence;
+            this.schedule = schedule;
+        }
+    }
+
+    private record Timer(Entry entry, int generation) {
+    }
+}
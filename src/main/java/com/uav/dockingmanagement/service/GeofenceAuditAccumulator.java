@@ -0,0 +1,128 @@
+package com.uav.dockingmanagement.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Groups the samples of a geofence audit into per-flight violation intervals.
+ *
+ * <p>Samples must arrive in time order per flight; flights may interleave. A flight is its flight log,
+ * or the UAV alone for samples without one. An interval runs from the first violating sample to the
+ * last one before either a compliant sample of the same flight or a gap longer than {@code maxGap}
+ * between violating samples, so a scan that skips compliant samples (e.g. outside an exclusion fence's
+ * bounding box) still splits intervals on the gap. Only the first {@code maxIntervals} closed intervals
+ * are kept; counts cover all of them.</p>
+ */
+public class GeofenceAuditAccumulator {
+
+    private final Duration maxGap;
+    private final int maxIntervals;
+
+    private final Map<Flight, Open> open = new HashMap<>();
+    private final List<Interval> intervals = new ArrayList<>();
+    private final Set<Flight> flights = new HashSet<>();
+    private long samples;
+    private long violatingSamples;
+    private int intervalCount;
+
+    public GeofenceAuditAccumulator(Duration maxGap, int maxIntervals) {
+        this.maxGap = maxGap;
+        this.maxIntervals = maxIntervals;
+    }
+
+    /**
+     * @param flightLogId flight log of the sample, or null
+     */
+    public void accept(Integer uavId, Long flightLogId, LocalDateTime timestamp, boolean violating) {
+        samples++;
+        Flight flight = new Flight(uavId, flightLogId);
+        Open current = open.get(flight);
+        if (!violating) {
+            if (current != null) {
+                close(flight, current);
+                open.remove(flight);
+            }
+            return;
+        }
+
+        violatingSamples++;
+        flights.add(flight);
+        if (current != null && Duration.between(current.end, timestamp).compareTo(maxGap) > 0) {
+            close(flight, current);
+            current = null;
+        }
+        if (current == null) {
+            open.put(flight, new Open(timestamp));
+        } else {
+            current.end = timestamp;
+            current.points++;
+        }
+    }
+
+    /**
+     * Close every open interval and return the kept intervals by start time
+     */
+    public List<Interval> finish() {
+        open.forEach(this::close);
+        open.clear();
+        intervals.sort(Comparator.comparing(Interval::startTime));
+        return intervals;
+    }
+
+    public long getSamples() {
+        return samples;
+    }
+
+    public long getViolatingSamples() {
+        return violatingSamples;
+    }
+
+    /**
+     * Flights with at least one violating sample
+     */
+    public int getFlightCount() {
+        return flights.size();
+    }
+
+    /**
+     * Closed intervals, including any beyond {@code maxIntervals}
+     */
+    public int getIntervalCount() {
+        return intervalCount;
+    }
+
+    private void close(Flight flight, Open interval) {
+        intervalCount++;
+        if (intervals.size() < maxIntervals) {
+            intervals.add(new Interval(flight.uavId(), flight.flightLogId(), interval.start, interval.end, interval.points));
+        }
+    }
+
+    /**
+     * Consecutive violating samples of one flight, both ends inclusive
+     */
+    public record Interval(Integer uavId, Long flightLogId, LocalDateTime startTime, LocalDateTime endTime,
+                           int points) {
+    }
+
+    private record Flight(Integer uavId, Long flightLogId) {
+    }
+
+    private static final class Open {
+        private final LocalDateTime start;
+        private LocalDateTime end;
+        private int points = 1;
+
+        private Open(LocalDateTime start) {
+            this.start = start;
+            this.end = start;
+        }
+    }
+}
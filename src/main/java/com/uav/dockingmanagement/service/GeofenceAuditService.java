@@ -0,0 +1,285 @@
+package com.uav.dockingmanagement.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.uav.dockingmanagement.model.Geofence;
+import com.uav.dockingmanagement.model.GeofenceAuditReport;
+import com.uav.dockingmanagement.repository.GeofenceAuditReportRepository;
+import com.uav.dockingmanagement.repository.LocationHistoryScanner;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Retroactive geofence audits: which past flights would have violated a fence over a time range.
+ *
+ * <p>An audit runs in the background. It walks the range in time partitions of
+ * {@code uav.geofence.audit.partition-minutes} and reads each partition from {@code location_history} in
+ * keyset chunks of {@code uav.geofence.audit.chunk-size} rows through {@link LocationHistoryScanner}, so
+ * memory is bounded by one chunk. Exclusion fences only scan their bounding box. Each chunk is checked by
+ * a {@link GeofenceBatchChecker}, which splits large chunks across the common fork-join pool, and the
+ * results are grouped into per-flight violation intervals by {@link GeofenceAuditAccumulator}. The report
+ * is stored when the audit starts and updated when it ends; progress is visible while it runs and it can
+ * be cancelled between chunks.</p>
+ */
+@Service
+public class GeofenceAuditService {
+
+    private static final Logger logger = LoggerFactory.getLogger(GeofenceAuditService.class);
+
+    @Autowired
+    private GeofenceAuditReportRepository reportRepository;
+
+    @Autowired
+    private LocationHistoryScanner locationHistoryScanner;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${uav.geofence.audit.chunk-size:50000}")
+    private int chunkSize = 50_000;
+
+    @Value("${uav.geofence.audit.partition-minutes:360}")
+    private long partitionMinutes = 360;
+
+    @Value("${uav.geofence.audit.max-gap-seconds:30}")
+    private long maxGapSeconds = 30;
+
+    @Value("${uav.geofence.audit.max-intervals:10000}")
+    private int maxIntervals = 10_000;
+
+    @Value("${uav.geofence.audit.max-concurrent:2}")
+    private int maxConcurrentAudits = 2;
+
+    private final Map<Long, AuditJob> jobs = new ConcurrentHashMap<>();
+    private ExecutorService executor;
+
+    @PostConstruct
+    public void start() {
+        executor = Executors.newFixedThreadPool(Math.max(1, maxConcurrentAudits), runnable -> {
+            Thread thread = new Thread(runnable, "geofence-audit");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            // Audits do not survive a restart
+            for (GeofenceAuditReport report : reportRepository.findByStatus(GeofenceAuditReport.AuditStatus.RUNNING)) {
+                report.setStatus(GeofenceAuditReport.AuditStatus.FAILED);
+                report.setMessage("Interrupted by restart");
+                report.setCompletedAt(LocalDateTime.now());
+                reportRepository.save(report);
+            }
+        } catch (Exception e) {
+            logger.error("Error closing interrupted geofence audits: {}", e.getMessage(), e);
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        jobs.values().forEach(job -> job.cancelled = true);
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Start auditing location history in {@code [from, to)} against a geofence
+     *
+     * @return the stored report, still RUNNING
+     * @throws IllegalArgumentException if the range is empty
+     */
+    public GeofenceAuditReport startAudit(Geofence geofence, LocalDateTime from, LocalDateTime to, String requestedBy) {
+        if (from == null || to == null || !from.isBefore(to)) {
+            throw new IllegalArgumentException("Audit range must end after it starts");
+        }
+        // Geometry is captured now, so later edits of the fence do not change a running audit
+        GeofenceBatchChecker checker = new GeofenceBatchChecker(List.of(geofence));
+        GeofenceIndex.IndexedFence fence = GeofenceIndex.IndexedFence.of(geofence);
+        double[] box = geofence.getBoundaryType() == Geofence.BoundaryType.EXCLUSION && fence.isBounded()
+            ? new double[] {fence.getMinLatitude(), fence.getMaxLatitude(), fence.getMinLongitude(), fence.getMaxLongitude()}
+            : null;
+
+        GeofenceAuditReport report = new GeofenceAuditReport(geofence, from, to);
+        report.setRequestedBy(requestedBy);
+        report = reportRepository.save(report);
+
+        AuditJob job = new AuditJob(report, checker, box);
+        jobs.put(report.getId(), job);
+        executor.execute(() -> run(job));
+        logger.info("Started audit {} of geofence {} from {} to {}", report.getId(), geofence.getName(), from, to);
+        return report;
+    }
+
+    /**
+     * Report of an audit with its intervals, and its progress if still running
+     */
+    public Optional<Map<String, Object>> getAudit(Long reportId) {
+        return reportRepository.findById(reportId).map(report -> toMap(report, true));
+    }
+
+    /**
+     * Reports of a geofence, newest first, without their intervals
+     */
+    public List<Map<String, Object>> getAuditsForGeofence(Long geofenceId) {
+        return reportRepository.findByGeofenceIdOrderByCreatedAtDesc(geofenceId).stream()
+            .map(report -> toMap(report, false))
+            .toList();
+    }
+
+    /**
+     * Ask a running audit to stop after its current chunk; the report keeps what was found so far
+     *
+     * @return false if no such audit is running
+     */
+    public boolean cancelAudit(Long reportId) {
+        AuditJob job = jobs.get(reportId);
+        if (job == null) {
+            return false;
+        }
+        job.cancelled = true;
+        return true;
+    }
+
+    private void run(AuditJob job) {
+        GeofenceAuditReport report = job.report;
+        GeofenceAuditAccumulator accumulator = new GeofenceAuditAccumulator(Duration.ofSeconds(maxGapSeconds), maxIntervals);
+        long started = System.currentTimeMillis();
+        try {
+            LocalDateTime from = report.getFromTime();
+            LocalDateTime to = report.getToTime();
+            double range = Duration.between(from, to).toMillis();
+            for (LocalDateTime partitionStart = from; partitionStart.isBefore(to) && !job.cancelled; ) {
+                LocalDateTime partitionEnd = partitionStart.plusMinutes(partitionMinutes);
+                if (partitionEnd.isAfter(to)) {
+                    partitionEnd = to;
+                }
+                LocalDateTime afterTime = null;
+                long afterId = 0;
+                LocationHistoryScanner.LocationChunk chunk;
+                do {
+                    chunk = locationHistoryScanner.scan(partitionStart, partitionEnd, job.box, afterTime, afterId,
+                        chunkSize);
+                    if (chunk.size() == 0) {
+                        break;
+                    }
+                    check(job, chunk, accumulator);
+                    afterTime = chunk.lastTimestamp();
+                    afterId = chunk.lastId();
+                    job.progress = Math.max(job.progress, Duration.between(from, afterTime).toMillis() / range);
+                } while (chunk.size() == chunkSize && !job.cancelled);
+                job.progress = Math.max(job.progress, Duration.between(from, partitionEnd).toMillis() / range);
+                partitionStart = partitionEnd;
+            }
+
+            report.setStatus(job.cancelled ? GeofenceAuditReport.AuditStatus.CANCELLED : GeofenceAuditReport.AuditStatus.COMPLETED);
+        } catch (Exception e) {
+            logger.error("Error running geofence audit {}: {}", report.getId(), e.getMessage(), e);
+            report.setStatus(GeofenceAuditReport.AuditStatus.FAILED);
+            report.setMessage(e.getMessage() != null && e.getMessage().length() > 500
+                ? e.getMessage().substring(0, 500) : e.getMessage());
+        }
+
+        try {
+            List<GeofenceAuditAccumulator.Interval> intervals = accumulator.finish();
+            report.setScannedPoints(accumulator.getSamples());
+            report.setViolatingPoints(accumulator.getViolatingSamples());
+            report.setFlightCount(accumulator.getFlightCount());
+            report.setIntervalCount(accumulator.getIntervalCount());
+            report.setIntervals(objectMapper.writeValueAsString(intervals));
+            report.setCompletedAt(LocalDateTime.now());
+            reportRepository.save(report);
+            logger.info("Audit {} {}: {} points, {} violation intervals in {} flights, {} ms", report.getId(),
+                       report.getStatus(), accumulator.getSamples(), accumulator.getIntervalCount(),
+                       accumulator.getFlightCount(), System.currentTimeMillis() - started);
+        } catch (Exception e) {
+            logger.error("Error saving geofence audit {}: {}", report.getId(), e.getMessage(), e);
+        } finally {
+            jobs.remove(report.getId());
+        }
+    }
+
+    private void check(AuditJob job, LocationHistoryScanner.LocationChunk chunk, GeofenceAuditAccumulator accumulator) {
+        int count = chunk.size();
+        GeofenceBatchChecker.ViolationMatrix matrix = job.checker.check(
+            chunk.getLatitudes(), chunk.getLongitudes(), chunk.getAltitudes());
+        boolean[] violating = new boolean[count];
+        for (int point : matrix.points()) {
+            violating[point] = true;
+        }
+
+        int[] uavIds = chunk.getUavIds();
+        long[] flightLogIds = chunk.getFlightLogIds();
+        LocalDateTime[] timestamps = chunk.getTimestamps();
+        for (int i = 0; i < count; i++) {
+            accumulator.accept(uavIds[i], flightLogIds[i] != 0 ? flightLogIds[i] : null, timestamps[i], violating[i]);
+        }
+        job.scannedPoints += count;
+    }
+
+    private Map<String, Object> toMap(GeofenceAuditReport report, boolean withIntervals) {
+        Map<String, Object> result = new HashMap<>();
+        result.put("reportId", report.getId());
+        result.put("geofenceId", report.getGeofenceId());
+        result.put("geofenceName", report.getGeofenceName());
+        result.put("from", report.getFromTime());
+        result.put("to", report.getToTime());
+        result.put("status", report.getStatus());
+        result.put("requestedBy", report.getRequestedBy());
+        result.put("createdAt", report.getCreatedAt());
+        result.put("completedAt", report.getCompletedAt());
+        result.put("message", report.getMessage());
+
+        AuditJob job = jobs.get(report.getId());
+        if (job != null) {
+            result.put("progressPercent", Math.round(job.progress * 1000) / 10.0);
+            result.put("scannedPoints", job.scannedPoints);
+            result.put("cancelRequested", job.cancelled);
+            return result;
+        }
+
+        result.put("progressPercent", report.getStatus() == GeofenceAuditReport.AuditStatus.COMPLETED ? 100.0 : null);
+        result.put("scannedPoints", report.getScannedPoints());
+        result.put("violatingPoints", report.getViolatingPoints());
+        result.put("flightCount", report.getFlightCount());
+        result.put("intervalCount", report.getIntervalCount());
+        if (withIntervals && report.getIntervals() != null) {
+            try {
+                result.put("intervals", objectMapper.readTree(report.getIntervals()));
+            } catch (Exception e) {
+                logger.warn("Unreadable intervals in geofence audit {}: {}", report.getId(), e.getMessage());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * A running audit: written by its worker thread, read by status requests
+     */
+    private static final class AuditJob {
+        private final GeofenceAuditReport report;
+        private final GeofenceBatchChecker checker;
+        private final double[] box;
+        private volatile boolean cancelled;
+        private volatile double progress;
+        private volatile long scannedPoints;
+
+        private AuditJob(GeofenceAuditReport report, GeofenceBatchChecker checker, double[] box) {
+            this.report = report;
+            this.checker = checker;
+            this.box = box;
+        }
+    }
+}
@@ -0,0 +1,419 @@
+package com.uav.dockingmanagement.service;
+
+import com.uav.dockingmanagement.geo.GeofencePolygon;
+import com.uav.dockingmanagement.geo.PolygonEdgeIndex;
+import com.uav.dockingmanagement.model.Geofence;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Checks many points against a fixed set of geofences at once.
+ *
+ * <p>Fences are compiled into primitive arrays per shape: circles as the unit vector of their center
+ * and the cosine of their angular radius, so that containment is one dot product compared against a
+ * constant and gives the same answer as the haversine distance check; polygons as a
+ * {@link PolygonEdgeIndex} with a bounding box, tested by crossing number over one slab of edges. Points are processed in blocks of
+ * {@value #BLOCK_SIZE}: the block's unit vectors are computed once, fences whose bounding box misses
+ * the block's are settled for the whole block at once, and each remaining fence runs a tight loop over
+ * the block, which keeps the per-fence work branch-free and lets HotSpot unroll and vectorize it.
+ * Consecutive points of a track fall in few fences, so most fences are settled by the box test.
+ * Batches larger than {@value #PARTITION_SIZE} points are split across the common
+ * fork-join pool.</p>
+ *
+ * <p>The result is a sparse row-compressed matrix: only points with at least one violation are listed,
+ * each with the indexes of the fences it violates, in the order the fences were given. Fences are
+ * prisms over their altitude band when altitudes are given: a violation is being outside an INCLUSION
+ * prism or inside an EXCLUSION prism. Fences without usable geometry contain no point.</p>
+ */
+public final class GeofenceBatchChecker {
+
+    private static final double EARTH_RADIUS_METERS = 6_371_000.0;
+    static final int BLOCK_SIZE = 1024;
+    static final int PARTITION_SIZE = 16 * BLOCK_SIZE;
+
+    private final int fenceCount;
+    private final int words;
+    private final boolean[] exclusion;
+
+    private final int[] circleFences;
+    private final double[] circleX;
+    private final double[] circleY;
+    private final double[] circleZ;
+    private final double[] circleCosRadius;
+    private final double[] circleBounds;
+
+    private final int[] polygonFences;
+    private final PolygonEdgeIndex[] polygonEdges;
+    private final double[] polygonBounds;
+
+    /** Fences whose geometry cannot contain any point */
+    private final int[] emptyFences;
+
+    private final int[] altitudeFences;
+    private final double[] minAltitudes;
+    private final double[] maxAltitudes;
+
+    public GeofenceBatchChecker(List<Geofence> geofences) {
+        fenceCount = geofences.size();
+        words = Math.max(1, (fenceCount + 63) >>> 6);
+        exclusion = new boolean[fenceCount];
+
+        List<Integer> circles = new ArrayList<>();
+        List<Integer> polygons = new ArrayList<>();
+        List<double[][]> parsed = new ArrayList<>();
+        List<Integer> empty = new ArrayList<>();
+        List<Integer> altitudes = new ArrayList<>();
+        for (int f = 0; f < fenceCount; f++) {
+            Geofence geofence = geofences.get(f);
+            exclusion[f] = geofence.getBoundaryType() == Geofence.BoundaryType.EXCLUSION;
+            if (geofence.getMinAltitudeMeters() != null || geofence.getMaxAltitudeMeters() != null) {
+                altitudes.add(f);
+            }
+            if (geofence.getFenceType() == Geofence.FenceType.CIRCULAR) {
+                if (geofence.getCenterLatitude() != null && geofence.getCenterLongitude() != null
+                        && geofence.getRadiusMeters() != null) {
+                    circles.add(f);
+                } else {
+                    empty.add(f);
+                }
+            } else {
+                double[][] polygon = geofence.getFenceType() != null && geofence.getFenceType().isPolygon()
+                    ? GeofencePolygon.parse(geofence.getPolygonCoordinates()) : null;
+                if (polygon != null) {
+                    polygons.add(f);
+                    parsed.add(polygon);
+                } else {
+                    empty.add(f);
+                }
+            }
+        }
+
+        circleFences = toArray(circles);
+        circleX = new double[circleFences.length];
+        circleY = new double[circleFences.length];
+        circleZ = new double[circleFences.length];
+        circleCosRadius = new double[circleFences.length];
+        circleBounds = new double[circleFences.length * 4];
+        for (int c = 0; c < circleFences.length; c++) {
+            Geofence geofence = geofences.get(circleFences[c]);
+            double latitude = Math.toRadians(geofence.getCenterLatitude());
+            double longitude = Math.toRadians(geofence.getCenterLongitude());
+            circleX[c] = Math.cos(latitude) * Math.cos(longitude);
+            circleY[c] = Math.cos(latitude) * Math.sin(longitude);
+            circleZ[c] = Math.sin(latitude);
+            double angularRadius = Math.min(Math.PI, geofence.getRadiusMeters() / EARTH_RADIUS_METERS);
+            circleCosRadius[c] = Math.cos(angularRadius);
+
+            // Exact extent of the spherical cap, widened to the whole globe when it wraps
+            double degrees = Math.toDegrees(angularRadius);
+            circleBounds[4 * c] = geofence.getCenterLatitude() - degrees;
+            circleBounds[4 * c + 1] = geofence.getCenterLatitude() + degrees;
+            double sinLongitudeExtent = Math.sin(angularRadius) / Math.cos(latitude);
+            double longitudeExtent = sinLongitudeExtent < 1 ? Math.toDegrees(Math.asin(sinLongitudeExtent)) : 180;
+            if (circleBounds[4 * c] <= -90 || circleBounds[4 * c + 1] >= 90
+                    || Math.abs(geofence.getCenterLongitude()) + longitudeExtent >= 180) {
+                longitudeExtent = 360;
+            }
+            circleBounds[4 * c + 2] = geofence.getCenterLongitude() - longitudeExtent;
+            circleBounds[4 * c + 3] = geofence.getCenterLongitude() + longitudeExtent;
+        }
+
+        polygonFences = toArray(polygons);
+        polygonEdges = new PolygonEdgeIndex[polygonFences.length];
+        polygonBounds = new double[polygonFences.length * 4];
+        for (int p = 0; p < polygonFences.length; p++) {
+            PolygonEdgeIndex edges = new PolygonEdgeIndex(parsed.get(p)[0], parsed.get(p)[1]);
+            polygonEdges[p] = edges;
+            polygonBounds[4 * p] = edges.getMinLatitude();
+            polygonBounds[4 * p + 1] = edges.getMaxLatitude();
+            polygonBounds[4 * p + 2] = edges.getMinLongitude();
+            polygonBounds[4 * p + 3] = edges.getMaxLongitude();
+        }
+
+        emptyFences = toArray(empty);
+
+        altitudeFences = toArray(altitudes);
+        minAltitudes = new double[altitudeFences.length];
+        maxAltitudes = new double[altitudeFences.length];
+        for (int a = 0; a < altitudeFences.length; a++) {
+            Geofence geofence = geofences.get(altitudeFences[a]);
+            minAltitudes[a] = geofence.getMinAltitudeMeters() != null
+                ? geofence.getMinAltitudeMeters() : Double.NEGATIVE_INFINITY;
+            maxAltitudes[a] = geofence.getMaxAltitudeMeters() != null
+                ? geofence.getMaxAltitudeMeters() : Double.POSITIVE_INFINITY;
+        }
+    }
+
+    public int getFenceCount() {
+        return fenceCount;
+    }
+
+    /**
+     * Check every point against every fence
+     *
+     * @param altitudes altitudes in meters, or null to skip altitude limits
+     * @throws IllegalArgumentException if the arrays differ in length or a coordinate is out of range
+     */
+    public ViolationMatrix check(double[] latitudes, double[] longitudes, double[] altitudes) {
+        int count = latitudes.length;
+        if (longitudes.length != count || (altitudes != null && altitudes.length != count)) {
+            throw new IllegalArgumentException("Coordinate arrays must have the same length");
+        }
+        for (int i = 0; i < count; i++) {
+            if (!(Math.abs(latitudes[i]) <= 90) || !(Math.abs(longitudes[i]) <= 180)) {
+                throw new IllegalArgumentException("Point " + i + " has invalid coordinates");
+            }
+        }
+
+        Partition[] partitions = new Partition[(count + PARTITION_SIZE - 1) / PARTITION_SIZE];
+        if (partitions.length == 1) {
+            partitions[0] = checkRange(0, count, latitudes, longitudes, altitudes);
+        } else if (partitions.length > 1) {
+            ForkJoinPool.commonPool().invoke(new CheckTask(0, partitions.length, latitudes, longitudes, altitudes, partitions));
+        }
+        return merge(count, partitions);
+    }
+
+    private Partition checkRange(int from, int to, double[] latitudes, double[] longitudes, double[] altitudes) {
+        Partition partition = new Partition();
+        double[] x = new double[BLOCK_SIZE];
+        double[] y = new double[BLOCK_SIZE];
+        double[] z = new double[BLOCK_SIZE];
+        boolean[] inside = new boolean[BLOCK_SIZE];
+        long[] bits = new long[BLOCK_SIZE * words];
+
+        double[] block = new double[4];
+        for (int start = from; start < to; start += BLOCK_SIZE) {
+            int n = Math.min(BLOCK_SIZE, to - start);
+            Arrays.fill(bits, 0, n * words, 0L);
+            bounds(latitudes, longitudes, start, n, block);
+
+            if (circleFences.length > 0) {
+                for (int i = 0; i < n; i++) {
+                    double latitude = Math.toRadians(latitudes[start + i]);
+                    double longitude = Math.toRadians(longitudes[start + i]);
+                    double cosLatitude = Math.cos(latitude);
+                    x[i] = cosLatitude * Math.cos(longitude);
+                    y[i] = cosLatitude * Math.sin(longitude);
+                    z[i] = Math.sin(latitude);
+                }
+            }
+            for (int c = 0; c < circleFences.length; c++) {
+                if (!overlaps(circleBounds, c, block)) {
+                    markOutside(bits, n, circleFences[c]);
+                    continue;
+                }
+                double cx = circleX[c];
+                double cy = circleY[c];
+                double cz = circleZ[c];
+                double threshold = circleCosRadius[c];
+                for (int i = 0; i < n; i++) {
+                    inside[i] = x[i] * cx + y[i] * cy + z[i] * cz >= threshold;
+                }
+                mark(bits, inside, n, circleFences[c]);
+            }
+
+            for (int p = 0; p < polygonFences.length; p++) {
+                if (!overlaps(polygonBounds, p, block)) {
+                    markOutside(bits, n, polygonFences[p]);
+                    continue;
+                }
+                for (int i = 0; i < n; i++) {
+                    inside[i] = polygonEdges[p].contains(latitudes[start + i], longitudes[start + i]);
+                }
+                mark(bits, inside, n, polygonFences[p]);
+            }
+
+            for (int fence : emptyFences) {
+                markOutside(bits, n, fence);
+            }
+
+            if (altitudes != null) {
+                for (int a = 0; a < altitudeFences.length; a++) {
+                    int word = altitudeFences[a] >>> 6;
+                    long bit = 1L << altitudeFences[a];
+                    for (int i = 0; i < n; i++) {
+                        double altitude = altitudes[start + i];
+                        if (altitude < minAltitudes[a] || altitude > maxAltitudes[a]) {
+                            // Outside the band: outside the prism, so only INCLUSION fences are violated
+                            bits[i * words + word] = exclusion[altitudeFences[a]]
+                                ? bits[i * words + word] & ~bit : bits[i * words + word] | bit;
+                        }
+                    }
+                }
+            }
+
+            for (int i = 0; i < n; i++) {
+                int before = partition.fences.size;
+                for (int w = 0; w < words; w++) {
+                    long word = bits[i * words + w];
+                    while (word != 0) {
+                        partition.fences.add((w << 6) + Long.numberOfTrailingZeros(word));
+                        word &= word - 1;
+                    }
+                }
+                if (partition.fences.size > before) {
+                    partition.points.add(start + i);
+                    partition.counts.add(partition.fences.size - before);
+                }
+            }
+        }
+        return partition;
+    }
+
+    private void mark(long[] bits, boolean[] inside, int n, int fence) {
+        boolean violatedWhenInside = exclusion[fence];
+        int word = fence >>> 6;
+        long bit = 1L << fence;
+        for (int i = 0; i < n; i++) {
+            if (inside[i] == violatedWhenInside) {
+                bits[i * words + word] |= bit;
+            }
+        }
+    }
+
+    /**
+     * Mark a fence whose geometry contains none of the block's points
+     */
+    private void markOutside(long[] bits, int n, int fence) {
+        if (!exclusion[fence]) {
+            int word = fence >>> 6;
+            long bit = 1L << fence;
+            for (int i = 0; i < n; i++) {
+                bits[i * words + word] |= bit;
+            }
+        }
+    }
+
+    private static void bounds(double[] latitudes, double[] longitudes, int start, int n, double[] block) {
+        double minLatitude = Double.POSITIVE_INFINITY;
+        double maxLatitude = Double.NEGATIVE_INFINITY;
+        double minLongitude = Double.POSITIVE_INFINITY;
+        double maxLongitude = Double.NEGATIVE_INFINITY;
+        for (int i = start; i < start + n; i++) {
+            minLatitude = Math.min(minLatitude, latitudes[i]);
+            maxLatitude = Math.max(maxLatitude, latitudes[i]);
+            minLongitude = Math.min(minLongitude, longitudes[i]);
+            maxLongitude = Math.max(maxLongitude, longitudes[i]);
+        }
+        block[0] = minLatitude;
+        block[1] = maxLatitude;
+        block[2] = minLongitude;
+        block[3] = maxLongitude;
+    }
+
+    private static boolean overlaps(double[] fenceBounds, int f, double[] block) {
+        return fenceBounds[4 * f] <= block[1] && fenceBounds[4 * f + 1] >= block[0]
+            && fenceBounds[4 * f + 2] <= block[3] && fenceBounds[4 * f + 3] >= block[2];
+    }
+
+    private static ViolationMatrix merge(int pointCount, Partition[] partitions) {
+        int violatingPoints = 0;
+        int violations = 0;
+        for (Partition partition : partitions) {
+            violatingPoints += partition.points.size;
+            violations += partition.fences.size;
+        }
+        int[] points = new int[violatingPoints];
+        int[] offsets = new int[violatingPoints + 1];
+        int[] fences = new int[violations];
+        int row = 0;
+        int offset = 0;
+        for (Partition partition : partitions) {
+            System.arraycopy(partition.points.values, 0, points, row, partition.points.size);
+            System.arraycopy(partition.fences.values, 0, fences, offset, partition.fences.size);
+            for (int i = 0; i < partition.points.size; i++) {
+                offset += partition.counts.values[i];
+                offsets[++row] = offset;
+            }
+        }
+        return new ViolationMatrix(pointCount, points, offsets, fences);
+    }
+
+    private static int[] toArray(List<Integer> values) {
+        return values.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    /**
+     * Sparse point-by-fence violation matrix in compressed row form: the fences violated by
+     * {@code points[r]} are {@code fences[offsets[r]]} up to, excluding, {@code fences[offsets[r + 1]]}
+     *
+     * @param pointCount number of points checked
+     * @param points indexes of the points with at least one violation, ascending
+     * @param offsets row boundaries into {@code fences}, one more than {@code points}
+     * @param fences violated fence indexes, ascending within each row
+     */
+    public record ViolationMatrix(int pointCount, int[] points, int[] offsets, int[] fences) {
+
+        public int violationCount() {
+            return fences.length;
+        }
+
+        /**
+         * Fence indexes violated by a point, empty if none
+         */
+        public int[] fencesOf(int point) {
+            int row = Arrays.binarySearch(points, point);
+            return row < 0 ? new int[0] : Arrays.copyOfRange(fences, offsets[row], offsets[row + 1]);
+        }
+    }
+
+    /**
+     * Violations found in one range of points
+     */
+    private static final class Partition {
+        private final IntList points = new IntList();
+        private final IntList counts = new IntList();
+        private final IntList fences = new IntList();
+    }
+
+    private static final class IntList {
+        private int[] values = new int[64];
+        private int size;
+
+        private void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+    }
+
+    private final class CheckTask extends RecursiveAction {
+        private final int fromPartition;
+        private final int toPartition;
+        private final double[] latitudes;
+        private final double[] longitudes;
+        private final double[] altitudes;
+        private final Partition[] partitions;
+
+        private CheckTask(int fromPartition, int toPartition, double[] latitudes, double[] longitudes,
+                          double[] altitudes, Partition[] partitions) {
+            this.fromPartition = fromPartition;
+            this.toPartition = toPartition;
+            this.latitudes = latitudes;
+            this.longitudes = longitudes;
+            this.altitudes = altitudes;
+            this.partitions = partitions;
+        }
+
+        @Override
+        protected void compute() {
+            if (toPartition - fromPartition == 1) {
+                int from = fromPartition * PARTITION_SIZE;
+                partitions[fromPartition] = checkRange(from, Math.min(latitudes.length, from + PARTITION_SIZE),
+                    latitudes, longitudes, altitudes);
+                return;
+            }
+            List<CheckTask> tasks = new ArrayList<>();
+            for (int p = fromPartition; p < toPartition; p++) {
+                tasks.add(new CheckTask(p, p + 1, latitudes, longitudes, altitudes, partitions));
+            }
+            invokeAll(tasks);
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.uav.dockingmanagement.service;
+
+import com.uav.dockingmanagement.model.Geofence;
+import com.uav.dockingmanagement.model.LocationHistory;
+import com.uav.dockingmanagement.model.UAV;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Predictive geofence warnings for airborne UAVs.
+ *
+ * <p>On every fix the UAV's velocity is taken from the fix's speed and heading, or derived from its
+ * previous fix, and the fences whose bounding box lies within {@code warning-seconds} of travel are
+ * fetched from the live {@link GeofenceIndex}, skipping fences whose altitude band does not contain the
+ * UAV. {@link GeofenceBreachPredictor} computes the time to
+ * breach each of them, and {@code GEOFENCE_IMMINENT} is published to {@code /topic/geofence-violations}
+ * when it is within {@code uav.geofence.prediction.warning-seconds}, once per (UAV, fence) until the
+ * breach is no longer predicted.</p>
+ */
+@Service
+public class GeofenceBreachPredictionService implements LocationFixListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(GeofenceBreachPredictionService.class);
+
+    @Autowired
+    private GeofenceActivationService geofenceActivationService;
+
+    @Autowired
+    private SimpMessagingTemplate messagingTemplate;
+
+    @Value("${uav.geofence.prediction.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${uav.geofence.prediction.warning-seconds:30}")
+    private double warningSeconds = 30;
+
+    @Value("${uav.geofence.prediction.min-speed-kmh:2}")
+    private double minSpeedKmh = 2;
+
+    @Value("${uav.geofence.prediction.max-fix-gap-seconds:30}")
+    private double maxFixGapSeconds = 30;
+
+    @Value("${uav.deconfliction.min-altitude-meters:5}")
+    private double minAirborneAltitudeMeters = 5;
+
+    private final Map<Integer, PreviousFix> previousFixes = new ConcurrentHashMap<>();
+    private final Map<Integer, Set<Long>> imminentByUav = new ConcurrentHashMap<>();
+
+    @Override
+    public void onLocationFix(UAV uav, LocationHistory fix) {
+        if (!enabled || fix.getLatitude() == null || fix.getLongitude() == null) {
+            return;
+        }
+        double latitude = fix.getLatitude();
+        double longitude = fix.getLongitude();
+        long fixMillis = fix.getTimestamp() != null
+            ? fix.getTimestamp().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli()
+            : System.currentTimeMillis();
+        PreviousFix previous = previousFixes.put(uav.getId(), new PreviousFix(latitude, longitude, fixMillis));
+
+        boolean airborne = uav.getOperationalStatus() == UAV.OperationalStatus.IN_FLIGHT
+            || (fix.getAltitudeMeters() != null && fix.getAltitudeMeters() >= minAirborneAltitudeMeters);
+        double[] velocity = airborne ? velocityOf(fix, previous, fixMillis) : null;
+        double speed = velocity != null ? Math.hypot(velocity[0], velocity[1]) : 0;
+        if (speed * 3.6 < minSpeedKmh) {
+            imminentByUav.remove(uav.getId());
+            return;
+        }
+
+        Set<Long> imminent = new HashSet<>();
+        for (GeofenceIndex.IndexedFence fence : geofenceActivationService.getLiveIndex()
+                .queryAround(latitude, longitude, speed * warningSeconds)) {
+            if (fix.getAltitudeMeters() != null && !fence.containsAltitude(fix.getAltitudeMeters())) {
+                // Horizontal prediction only: a fence whose altitude band the UAV is not in cannot be breached
+                continue;
+            }
+            GeofenceBreachPredictor.Breach breach = GeofenceBreachPredictor.predict(
+                fence, latitude, longitude, velocity[0], velocity[1], warningSeconds);
+            if (breach != null) {
+                Geofence geofence = fence.getGeofence();
+                imminent.add(geofence.getId());
+                Set<Long> warned = imminentByUav.get(uav.getId());
+                if (warned == null || !warned.contains(geofence.getId())) {
+                    publishImminent(uav, geofence, breach, latitude, longitude, speed);
+                }
+            }
+        }
+        if (imminent.isEmpty()) {
+            imminentByUav.remove(uav.getId());
+        } else {
+            imminentByUav.put(uav.getId(), imminent);
+        }
+    }
+
+    /**
+     * Number of UAVs with at least one predicted breach
+     */
+    public int countUavsWithImminentBreach() {
+        return imminentByUav.size();
+    }
+
+    private double[] velocityOf(LocationHistory fix, PreviousFix previous, long fixMillis) {
+        if (fix.getSpeedKmh() != null && fix.getHeadingDegrees() != null) {
+            return GeofenceBreachPredictor.velocity(fix.getSpeedKmh(), fix.getHeadingDegrees());
+        }
+        if (previous == null) {
+            return null;
+        }
+        double seconds = (fixMillis - previous.millis) / 1000.0;
+        if (seconds <= 0 || seconds > maxFixGapSeconds) {
+            return null;
+        }
+        return GeofenceBreachPredictor.velocity(previous.latitude, previous.longitude,
+            fix.getLatitude(), fix.getLongitude(), seconds);
+    }
+
+    private void publishImminent(UAV uav, Geofence geofence, GeofenceBreachPredictor.Breach breach,
+                                 double latitude, double longitude, double speed) {
+        try {
+            Map<String, Object> alert = new HashMap<>();
+            alert.put("type", "GEOFENCE_IMMINENT");
+            alert.put("timestamp", LocalDateTime.now());
+            alert.put("uavId", uav.getId());
+            alert.put("uavRfidTag", uav.getRfidTag());
+            alert.put("geofenceId", geofence.getId());
+            alert.put("geofenceName", geofence.getName());
+            alert.put("boundaryType", geofence.getBoundaryType());
+            alert.put("violationAction", geofence.getViolationAction());
+            alert.put("timeToBreachSeconds", Math.round(breach.timeToBreachSeconds() * 10) / 10.0);
+            alert.put("distanceToBoundaryMeters", Math.round(breach.distanceToBoundaryMeters() * 10) / 10.0);
+            alert.put("latitude", latitude);
+            alert.put("longitude", longitude);
+            alert.put("speedKmh", Math.round(speed * 36) / 10.0);
+            alert.put("severity", geofence.getBoundaryType() == Geofence.BoundaryType.EXCLUSION ? "HIGH" : "MEDIUM");
+            alert.put("message", String.format("UAV %s expected to breach geofence %s in %.0f s",
+                uav.getRfidTag(), geofence.getName(), breach.timeToBreachSeconds()));
+
+            messagingTemplate.convertAndSend("/topic/geofence-violations", alert);
+            logger.info("Imminent geofence breach - UAV: {}, Geofence: {}, in {} s",
+                       uav.getRfidTag(), geofence.getName(), Math.round(breach.timeToBreachSeconds()));
+        } catch (Exception e) {
+            logger.error("Error broadcasting imminent geofence breach for UAV {}: {}",
+                       uav.getRfidTag(), e.getMessage(), e);
+        }
+    }
+
+    private record PreviousFix(double latitude, double longitude, long millis) {
+    }
+}
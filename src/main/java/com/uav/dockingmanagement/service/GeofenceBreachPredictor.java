@@ -0,0 +1,130 @@
+package com.uav.dockingmanagement.service;
+
+import com.uav.dockingmanagement.model.Geofence;
+
+/**
+ * Closed-form time-to-breach of a geofence for a UAV moving in a straight line.
+ *
+ * <p>Positions are projected onto a local equirectangular plane centered on the UAV, in meters.
+ * For a circle the crossing time solves {@code |v t - c| = r}; for a polygon it is the earliest
+ * intersection of the ray {@code v t} with an edge, each a 2x2 linear solve. A breach is entering an
+ * EXCLUSION fence from outside or leaving an INCLUSION fence from inside; a UAV already violating
+ * a fence has no time-to-breach. Altitude limits are not predicted, since fixes carry no vertical
+ * speed.</p>
+ */
+public final class GeofenceBreachPredictor {
+
+    private static final double METERS_PER_DEGREE = 111_320.0;
+
+    private GeofenceBreachPredictor() {
+    }
+
+    /**
+     * Predict when a UAV will breach a fence
+     *
+     * @param velocityEast ground velocity towards east in m/s
+     * @param velocityNorth ground velocity towards north in m/s
+     * @param horizonSeconds latest breach time of interest
+     * @return the breach within the horizon, or null
+     */
+    public static Breach predict(GeofenceIndex.IndexedFence fence, double latitude, double longitude,
+                                 double velocityEast, double velocityNorth, double horizonSeconds) {
+        double speedSquared = velocityEast * velocityEast + velocityNorth * velocityNorth;
+        if (speedSquared == 0) {
+            return null;
+        }
+        boolean exclusion = fence.getGeofence().getBoundaryType() == Geofence.BoundaryType.EXCLUSION;
+        double metersPerDegreeLon = METERS_PER_DEGREE * Math.cos(Math.toRadians(latitude));
+
+        if (fence.isCircle()) {
+            Geofence geofence = fence.getGeofence();
+            double cx = (geofence.getCenterLongitude() - longitude) * metersPerDegreeLon;
+            double cy = (geofence.getCenterLatitude() - latitude) * METERS_PER_DEGREE;
+            double radius = geofence.getRadiusMeters();
+            double distanceSquared = cx * cx + cy * cy;
+            boolean inside = distanceSquared <= radius * radius;
+            if (inside == exclusion) {
+                return null;
+            }
+            double towards = velocityEast * cx + velocityNorth * cy;
+            double discriminant = towards * towards - speedSquared * (distanceSquared - radius * radius);
+            if (discriminant < 0 || (!inside && towards <= 0)) {
+                return null;
+            }
+            double root = Math.sqrt(discriminant);
+            double time = inside ? (towards + root) / speedSquared : (towards - root) / speedSquared;
+            double boundaryDistance = Math.abs(Math.sqrt(distanceSquared) - radius);
+            return time <= horizonSeconds ? new Breach(time, boundaryDistance) : null;
+        }
+
+        double[] latitudes = fence.getPolygonLatitudes();
+        double[] longitudes = fence.getPolygonLongitudes();
+        if (latitudes == null) {
+            return null;
+        }
+        int count = latitudes.length;
+        double earliest = Double.POSITIVE_INFINITY;
+        double boundaryDistance = Double.POSITIVE_INFINITY;
+        boolean inside = false;
+        for (int i = 0, j = count - 1; i < count; j = i++) {
+            double ax = (longitudes[j] - longitude) * metersPerDegreeLon;
+            double ay = (latitudes[j] - latitude) * METERS_PER_DEGREE;
+            double bx = (longitudes[i] - longitude) * metersPerDegreeLon;
+            double by = (latitudes[i] - latitude) * METERS_PER_DEGREE;
+            double ex = bx - ax;
+            double ey = by - ay;
+
+            // Crossing number of a ray from the origin towards +x
+            if ((ay > 0) != (by > 0) && ax - ay * ex / ey > 0) {
+                inside = !inside;
+            }
+
+            // Distance from the origin to the edge
+            double lengthSquared = ex * ex + ey * ey;
+            double s = lengthSquared == 0 ? 0 : Math.max(0, Math.min(1, -(ax * ex + ay * ey) / lengthSquared));
+            boundaryDistance = Math.min(boundaryDistance, Math.hypot(ax + s * ex, ay + s * ey));
+
+            // v t = a + s e  =>  t = (a x e) / (v x e), s = (a x v) / (v x e)
+            double denominator = velocityEast * ey - velocityNorth * ex;
+            if (denominator != 0) {
+                double time = (ax * ey - ay * ex) / denominator;
+                double along = (ax * velocityNorth - ay * velocityEast) / denominator;
+                if (time > 0 && along >= 0 && along <= 1) {
+                    earliest = Math.min(earliest, time);
+                }
+            }
+        }
+        if (inside == exclusion || earliest > horizonSeconds) {
+            return null;
+        }
+        return new Breach(earliest, boundaryDistance);
+    }
+
+    /**
+     * Velocity in m/s east and north from ground speed and heading (degrees clockwise from north)
+     */
+    public static double[] velocity(double speedKmh, double headingDegrees) {
+        double speed = speedKmh / 3.6;
+        double heading = Math.toRadians(headingDegrees);
+        return new double[] {speed * Math.sin(heading), speed * Math.cos(heading)};
+    }
+
+    /**
+     * Velocity in m/s east and north between two positions {@code seconds} apart
+     */
+    public static double[] velocity(double fromLatitude, double fromLongitude, double toLatitude, double toLongitude,
+                                    double seconds) {
+        double metersPerDegreeLon = METERS_PER_DEGREE * Math.cos(Math.toRadians(toLatitude));
+        return new double[] {
+            (toLongitude - fromLongitude) * metersPerDegreeLon / seconds,
+            (toLatitude - fromLatitude) * METERS_PER_DEGREE / seconds
+        };
+    }
+
+    /**
+     * @param timeToBreachSeconds time until the boundary is crossed at the current velocity
+     * @param distanceToBoundaryMeters straight-line distance to the nearest point of the boundary
+     */
+    public record Breach(double timeToBreachSeconds, double distanceToBoundaryMeters) {
+    }
+}
@@ -0,0 +1,421 @@
+package com.uav.dockingmanagement.service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Pull reader of geofence features from a GeoJSON FeatureCollection or a KML document.
+ *
+ * <p>The document is read incrementally, one feature at a time, so memory use is bounded by the
+ * largest feature rather than the file. Each polygon becomes one {@link Feature} holding its outer
+ * ring; holes are ignored and a multi-polygon yields one feature per part. A point with a
+ * {@code radiusMeters} (or {@code radius}) property becomes a circle. Features with other geometry
+ * are returned with an {@code error} so the caller can report them and continue. Coordinates are
+ * read in the files' longitude, latitude order. Malformed documents fail with
+ * {@link IllegalArgumentException}.</p>
+ */
+public abstract class GeofenceImportReader implements Closeable {
+
+    private final Deque<Feature> pending = new ArrayDeque<>();
+    private int ordinal;
+
+    public static GeofenceImportReader geoJson(InputStream input) {
+        return new GeoJson(input);
+    }
+
+    public static GeofenceImportReader kml(InputStream input) {
+        return new Kml(input);
+    }
+
+    /**
+     * Next feature in document order, or null at the end
+     */
+    public Feature next() {
+        while (pending.isEmpty()) {
+            if (!readFeature()) {
+                return null;
+            }
+        }
+        return pending.poll();
+    }
+
+    /**
+     * Read the next feature of the document and add its parts; false at the end
+     */
+    protected abstract boolean readFeature();
+
+    protected void add(String name, String description, Map<String, String> properties, List<double[]> ring) {
+        double[] latitudes = new double[ring.size()];
+        double[] longitudes = new double[ring.size()];
+        for (int i = 0; i < ring.size(); i++) {
+            longitudes[i] = ring.get(i)[0];
+            latitudes[i] = ring.get(i)[1];
+        }
+        pending.add(new Feature(++ordinal, name, description, properties, latitudes, longitudes, null, null));
+    }
+
+    protected void addPoint(String name, String description, Map<String, String> properties, double[] position) {
+        String radius = properties.getOrDefault("radiusMeters", properties.get("radius"));
+        if (radius == null) {
+            addError(name, properties, "Point features need a radiusMeters property");
+            return;
+        }
+        try {
+            pending.add(new Feature(++ordinal, name, description, properties,
+                new double[] {position[1]}, new double[] {position[0]}, Double.valueOf(radius), null));
+        } catch (NumberFormatException e) {
+            addError(name, properties, "Invalid radius: " + radius);
+        }
+    }
+
+    protected void addError(String name, Map<String, String> properties, String error) {
+        pending.add(new Feature(++ordinal, name, null, properties, null, null, null, error));
+    }
+
+    /**
+     * One fence to import
+     *
+     * @param ordinal 1-based position among the features read
+     * @param latitudes ring latitudes, or the center of a circle
+     * @param longitudes ring longitudes, or the center of a circle
+     * @param radiusMeters circle radius, null for polygons
+     * @param error why the feature cannot be imported, null if it has usable geometry
+     */
+    public record Feature(int ordinal, String name, String description, Map<String, String> properties,
+                          double[] latitudes, double[] longitudes, Double radiusMeters, String error) {
+
+        public boolean isCircle() {
+            return radiusMeters != null;
+        }
+    }
+
+    /**
+     * GeoJSON FeatureCollection, read with the streaming parser
+     */
+    private static final class GeoJson extends GeofenceImportReader {
+        private static final JsonFactory FACTORY = new JsonFactory();
+
+        private final JsonParser parser;
+        private boolean inFeatures;
+        private boolean finished;
+
+        private GeoJson(InputStream input) {
+            try {
+                this.parser = FACTORY.createParser(input);
+            } catch (IOException e) {
+                throw new IllegalArgumentException("Cannot read GeoJSON: " + e.getMessage(), e);
+            }
+        }
+
+        @Override
+        protected boolean readFeature() {
+            try {
+                if (finished) {
+                    return false;
+                }
+                if (!inFeatures && !seekFeatures()) {
+                    finished = true;
+                    return false;
+                }
+                JsonToken token = parser.nextToken();
+                if (token == JsonToken.END_ARRAY) {
+                    finished = true;
+                    return false;
+                }
+                if (token != JsonToken.START_OBJECT) {
+                    throw malformed("feature object expected");
+                }
+                readFeatureObject();
+                return true;
+            } catch (IOException e) {
+                throw new IllegalArgumentException("Malformed GeoJSON at line "
+                    + parser.currentLocation().getLineNr() + ": " + e.getMessage(), e);
+            }
+        }
+
+        private boolean seekFeatures() throws IOException {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw malformed("FeatureCollection object expected");
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if ("features".equals(field) && value == JsonToken.START_ARRAY) {
+                    inFeatures = true;
+                    return true;
+                }
+                parser.skipChildren();
+            }
+            return false;
+        }
+
+        private void readFeatureObject() throws IOException {
+            String id = null;
+            String type = null;
+            Object coordinates = null;
+            Map<String, String> properties = new HashMap<>();
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if ("id".equals(field) && value.isScalarValue()) {
+                    id = parser.getText();
+                } else if ("properties".equals(field) && value == JsonToken.START_OBJECT) {
+                    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                        String key = parser.currentName();
+                        if (parser.nextToken().isScalarValue() && parser.currentToken() != JsonToken.VALUE_NULL) {
+                            properties.put(key, parser.getText());
+                        } else {
+                            parser.skipChildren();
+                        }
+                    }
+                } else if ("geometry".equals(field) && value == JsonToken.START_OBJECT) {
+                    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                        String key = parser.currentName();
+                        JsonToken geometryValue = parser.nextToken();
+                        if ("type".equals(key) && geometryValue == JsonToken.VALUE_STRING) {
+                            type = parser.getText();
+                        } else if ("coordinates".equals(key) && geometryValue == JsonToken.START_ARRAY) {
+                            coordinates = readCoordinates();
+                        } else {
+                            parser.skipChildren();
+                        }
+                    }
+                } else {
+                    parser.skipChildren();
+                }
+            }
+
+            String name = properties.getOrDefault("name", properties.getOrDefault("NAME", id));
+            String description = properties.get("description");
+            if (type == null || coordinates == null) {
+                addError(name, properties, "Feature has no geometry");
+                return;
+            }
+            try {
+                switch (type) {
+                    case "Polygon" -> add(name, description, properties, ring(((List<?>) coordinates).get(0)));
+                    case "MultiPolygon" -> {
+                        for (Object polygon : castList(coordinates)) {
+                            add(name, description, properties, ring(((List<?>) polygon).get(0)));
+                        }
+                    }
+                    case "Point" -> addPoint(name, description, properties, (double[]) coordinates);
+                    default -> addError(name, properties, "Unsupported geometry type " + type);
+                }
+            } catch (ClassCastException | IndexOutOfBoundsException e) {
+                addError(name, properties, "Invalid " + type + " coordinates");
+            }
+        }
+
+        /**
+         * Nested coordinate arrays; positions become {@code double[] {lon, lat}}, arrays become lists
+         */
+        private Object readCoordinates() throws IOException {
+            List<Object> items = new ArrayList<>();
+            double[] position = new double[2];
+            int numbers = 0;
+            JsonToken token;
+            while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+                if (token == JsonToken.START_ARRAY) {
+                    items.add(readCoordinates());
+                } else if (token.isNumeric()) {
+                    if (numbers < 2) {
+                        position[numbers] = parser.getDoubleValue();
+                    }
+                    numbers++;
+                } else {
+                    throw malformed("number or array expected in coordinates");
+                }
+            }
+            if (numbers > 0) {
+                if (numbers < 2 || !items.isEmpty()) {
+                    throw malformed("positions need a longitude and a latitude");
+                }
+                return position;
+            }
+            return items;
+        }
+
+        private static List<double[]> ring(Object coordinates) {
+            List<double[]> ring = new ArrayList<>();
+            for (Object position : castList(coordinates)) {
+                ring.add((double[]) position);
+            }
+            return ring;
+        }
+
+        @SuppressWarnings("unchecked")
+        private static List<Object> castList(Object value) {
+            return (List<Object>) value;
+        }
+
+        private IOException malformed(String message) {
+            return new IOException(message);
+        }
+
+        @Override
+        public void close() throws IOException {
+            parser.close();
+        }
+    }
+
+    /**
+     * KML Placemarks, read with StAX
+     */
+    private static final class Kml extends GeofenceImportReader {
+        private final XMLStreamReader reader;
+
+        private Kml(InputStream input) {
+            XMLInputFactory factory = XMLInputFactory.newFactory();
+            factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+            factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+            try {
+                this.reader = factory.createXMLStreamReader(input);
+            } catch (XMLStreamException e) {
+                throw new IllegalArgumentException("Cannot read KML: " + e.getMessage(), e);
+            }
+        }
+
+        @Override
+        protected boolean readFeature() {
+            try {
+                while (reader.hasNext()) {
+                    if (reader.next() == XMLStreamConstants.START_ELEMENT && "Placemark".equals(reader.getLocalName())) {
+                        readPlacemark();
+                        return true;
+                    }
+                }
+                return false;
+            } catch (XMLStreamException e) {
+                throw new IllegalArgumentException("Malformed KML at line "
+                    + reader.getLocation().getLineNumber() + ": " + e.getMessage(), e);
+            }
+        }
+
+        private void readPlacemark() throws XMLStreamException {
+            String name = null;
+            String description = null;
+            String dataName = null;
+            Map<String, String> properties = new HashMap<>();
+            List<List<double[]>> rings = new ArrayList<>();
+            double[] point = null;
+            boolean outer = false;
+            boolean inPoint = false;
+            int polygonDepth = 0;
+
+            while (reader.hasNext()) {
+                int event = reader.next();
+                if (event == XMLStreamConstants.END_ELEMENT) {
+                    switch (reader.getLocalName()) {
+                        case "Placemark" -> {
+                            emit(name, description, properties, rings, point);
+                            return;
+                        }
+                        case "outerBoundaryIs" -> outer = false;
+                        case "Polygon" -> polygonDepth--;
+                        case "Point" -> inPoint = false;
+                        default -> { }
+                    }
+                    continue;
+                }
+                if (event != XMLStreamConstants.START_ELEMENT) {
+                    continue;
+                }
+                switch (reader.getLocalName()) {
+                    case "name" -> {
+                        if (polygonDepth == 0 && name == null) {
+                            name = reader.getElementText().trim();
+                        }
+                    }
+                    case "description" -> description = reader.getElementText().trim();
+                    case "Polygon" -> polygonDepth++;
+                    case "outerBoundaryIs" -> outer = true;
+                    case "Point" -> inPoint = true;
+                    case "Data" -> dataName = reader.getAttributeValue(null, "name");
+                    case "value" -> {
+                        String value = reader.getElementText().trim();
+                        if (dataName != null) {
+                            properties.put(dataName, value);
+                        }
+                    }
+                    case "SimpleData" -> {
+                        String key = reader.getAttributeValue(null, "name");
+                        String value = reader.getElementText().trim();
+                        if (key != null) {
+                            properties.put(key, value);
+                        }
+                    }
+                    case "coordinates" -> {
+                        List<double[]> positions = parseCoordinates(reader.getElementText());
+                        if (outer) {
+                            rings.add(positions);
+                        } else if (inPoint && !positions.isEmpty()) {
+                            point = positions.get(0);
+                        }
+                    }
+                    default -> { }
+                }
+            }
+            throw new XMLStreamException("Unterminated Placemark");
+        }
+
+        private void emit(String name, String description, Map<String, String> properties,
+                          List<List<double[]>> rings, double[] point) {
+            if (!rings.isEmpty()) {
+                for (List<double[]> ring : rings) {
+                    add(name, description, properties, ring);
+                }
+            } else if (point != null) {
+                addPoint(name, description, properties, point);
+            } else {
+                addError(name, properties, "Placemark has no polygon or point");
+            }
+        }
+
+        /**
+         * KML tuples {@code lon,lat[,alt]} separated by whitespace
+         */
+        private static List<double[]> parseCoordinates(String text) throws XMLStreamException {
+            List<double[]> positions = new ArrayList<>();
+            for (String tuple : text.trim().split("\\s+")) {
+                if (tuple.isEmpty()) {
+                    continue;
+                }
+                String[] parts = tuple.split(",");
+                if (parts.length < 2) {
+                    throw new XMLStreamException("Invalid coordinate tuple: " + tuple);
+                }
+                try {
+                    positions.add(new double[] {Double.parseDouble(parts[0]), Double.parseDouble(parts[1])});
+                } catch (NumberFormatException e) {
+                    throw new XMLStreamException("Invalid coordinate tuple: " + tuple);
+                }
+            }
+            return positions;
+        }
+
+        @Override
+        public void close() {
+            try {
+                reader.close();
+            } catch (XMLStreamException e) {
+                // Nothing left to release
+            }
+        }
+    }
+}
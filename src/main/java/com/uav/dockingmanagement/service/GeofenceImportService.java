@@ -0,0 +1,221 @@
+package com.uav.dockingmanagement.service;
+
+import com.uav.dockingmanagement.geo.GeofencePolygon;
+import com.uav.dockingmanagement.model.Geofence;
+import com.uav.dockingmanagement.repository.GeofenceBulkWriter;
+import com.uav.dockingmanagement.repository.GeofenceRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Bulk import of geofences from GeoJSON or KML.
+ *
+ * <p>Features are pulled from a {@link GeofenceImportReader} in chunks of
+ * {@code uav.geofence.import.chunk-size}. Each chunk is validated and normalized in parallel with
+ * {@link GeofencePolygon}, checked for duplicate names, and written by {@link GeofenceBulkWriter} as
+ * one JDBC batch, so memory stays bounded by the chunk. Invalid features are skipped and reported.
+ * The live fence set and its index are rebuilt once at the end rather than once per fence.</p>
+ */
+@Service
+public class GeofenceImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(GeofenceImportService.class);
+
+    /** Column lengths of the geofences table; a longer value would fail its whole insert batch */
+    private static final int MAX_NAME_LENGTH = 100;
+    private static final int MAX_DESCRIPTION_LENGTH = 500;
+    private static final int MAX_VIOLATION_ACTION_LENGTH = 50;
+    private static final int MAX_CREATED_BY_LENGTH = 100;
+
+    @Autowired
+    private GeofenceRepository geofenceRepository;
+
+    @Autowired
+    private GeofenceBulkWriter geofenceBulkWriter;
+
+    @Autowired
+    private GeofenceActivationService geofenceActivationService;
+
+    @Value("${uav.geofence.import.chunk-size:1000}")
+    private int chunkSize = 1000;
+
+    @Value("${uav.geofence.import.max-reported-errors:100}")
+    private int maxReportedErrors = 100;
+
+    public enum Format {
+        GEOJSON,
+        KML
+    }
+
+    /**
+     * Import every feature of a document
+     *
+     * @param defaultBoundaryType boundary type of features without a {@code boundaryType} property
+     * @return counts of imported, rejected and duplicate features and the first errors; {@code success}
+     *         is false if the document itself could not be read to the end
+     */
+    public Map<String, Object> importGeofences(InputStream input, Format format,
+                                               Geofence.BoundaryType defaultBoundaryType, String createdBy) {
+        long started = System.currentTimeMillis();
+        Set<String> names = new HashSet<>(geofenceRepository.findAllNames());
+        List<Map<String, Object>> errors = new ArrayList<>();
+        int imported = 0;
+        int rejected = 0;
+        int duplicates = 0;
+        String failure = null;
+
+        try (GeofenceImportReader reader = format == Format.KML
+                ? GeofenceImportReader.kml(input) : GeofenceImportReader.geoJson(input)) {
+            List<GeofenceImportReader.Feature> chunk = new ArrayList<>(chunkSize);
+            boolean more = true;
+            while (more) {
+                GeofenceImportReader.Feature feature = reader.next();
+                if (feature != null) {
+                    chunk.add(feature);
+                }
+                more = feature != null;
+                if (chunk.size() < chunkSize && more) {
+                    continue;
+                }
+
+                List<Object> converted = chunk.parallelStream()
+                    .map(item -> convert(item, defaultBoundaryType, createdBy))
+                    .toList();
+                List<Geofence> batch = new ArrayList<>(converted.size());
+                for (int i = 0; i < converted.size(); i++) {
+                    Object result = converted.get(i);
+                    if (result instanceof Geofence geofence) {
+                        if (names.add(geofence.getName())) {
+                            batch.add(geofence);
+                        } else {
+                            duplicates++;
+                            addError(errors, chunk.get(i), "Geofence with this name already exists");
+                        }
+                    } else {
+                        rejected++;
+                        addError(errors, chunk.get(i), (String) result);
+                    }
+                }
+                imported += geofenceBulkWriter.insertAll(batch);
+                chunk.clear();
+            }
+        } catch (IllegalArgumentException e) {
+            failure = e.getMessage();
+        } catch (Exception e) {
+            logger.error("Error importing geofences: {}", e.getMessage(), e);
+            failure = "Error importing geofences: " + e.getMessage();
+        } finally {
+            if (imported > 0) {
+                geofenceActivationService.reload();
+            }
+        }
+
+        logger.info("Imported {} geofences from {} ({} rejected, {} duplicates) in {} ms",
+                   imported, format, rejected, duplicates, System.currentTimeMillis() - started);
+
+        Map<String, Object> result = new HashMap<>();
+        result.put("success", failure == null);
+        if (failure != null) {
+            result.put("message", failure);
+        }
+        result.put("format", format);
+        result.put("imported", imported);
+        result.put("rejected", rejected);
+        result.put("duplicates", duplicates);
+        result.put("errors", errors);
+        result.put("processingTimeMs", System.currentTimeMillis() - started);
+        result.put("timestamp", LocalDateTime.now());
+        return result;
+    }
+
+    /**
+     * Build the geofence for a feature, or return why it is invalid
+     */
+    static Object convert(GeofenceImportReader.Feature feature, Geofence.BoundaryType defaultBoundaryType,
+                          String createdBy) {
+        if (feature.error() != null) {
+            return feature.error();
+        }
+        try {
+            Map<String, String> properties = feature.properties();
+            String name = feature.name() != null && !feature.name().isBlank()
+                ? feature.name().trim() : "Imported geofence " + feature.ordinal();
+            checkLength("Name", name, MAX_NAME_LENGTH);
+            Geofence.BoundaryType boundaryType = properties.containsKey("boundaryType")
+                ? Geofence.BoundaryType.valueOf(properties.get("boundaryType").trim().toUpperCase())
+                : defaultBoundaryType;
+
+            Geofence geofence;
+            if (feature.isCircle()) {
+                double latitude = feature.latitudes()[0];
+                double longitude = feature.longitudes()[0];
+                if (!(Math.abs(latitude) <= 90) || !(Math.abs(longitude) <= 180)) {
+                    return "Center is out of range";
+                }
+                if (!(feature.radiusMeters() > 0)) {
+                    return "Radius must be greater than 0";
+                }
+                geofence = Geofence.createCircularFence(name, latitude, longitude, feature.radiusMeters(), boundaryType);
+            } else {
+                double[][] ring = GeofencePolygon.normalize(feature.latitudes(), feature.longitudes());
+                geofence = Geofence.createPolygonalFence(name, GeofencePolygon.toCoordinates(ring), boundaryType);
+            }
+
+            String description = feature.description() != null ? feature.description() : properties.get("description");
+            geofence.setDescription(checkLength("Description", description, MAX_DESCRIPTION_LENGTH));
+            if (properties.containsKey("minAltitudeMeters")) {
+                geofence.setMinAltitudeMeters(Double.valueOf(properties.get("minAltitudeMeters")));
+            }
+            if (properties.containsKey("maxAltitudeMeters")) {
+                geofence.setMaxAltitudeMeters(Double.valueOf(properties.get("maxAltitudeMeters")));
+            }
+            if (geofence.getMinAltitudeMeters() != null && geofence.getMaxAltitudeMeters() != null
+                    && geofence.getMinAltitudeMeters() > geofence.getMaxAltitudeMeters()) {
+                return "Minimum altitude is above maximum altitude";
+            }
+            if (properties.containsKey("priorityLevel")) {
+                geofence.setPriorityLevel(Integer.valueOf(properties.get("priorityLevel")));
+            }
+            if (properties.containsKey("violationAction")) {
+                geofence.setViolationAction(checkLength("Violation action", properties.get("violationAction"),
+                    MAX_VIOLATION_ACTION_LENGTH));
+            }
+            geofence.setStatus(Geofence.FenceStatus.ACTIVE);
+            geofence.setTotalViolations(0);
+            geofence.setCreatedBy(checkLength("Created by", createdBy, MAX_CREATED_BY_LENGTH));
+            return geofence;
+        } catch (IllegalArgumentException e) {
+            return e.getMessage();
+        }
+    }
+
+    private static String checkLength(String field, String value, int maxLength) {
+        if (value != null && value.length() > maxLength) {
+            throw new IllegalArgumentException(field + " is longer than " + maxLength + " characters");
+        }
+        return value;
+    }
+
+    private void addError(List<Map<String, Object>> errors, GeofenceImportReader.Feature feature, String message) {
+        if (errors.size() >= maxReportedErrors) {
+            return;
+        }
+        Map<String, Object> error = new HashMap<>();
+        error.put("feature", feature.ordinal());
+        error.put("name", feature.name());
+        error.put("message", message);
+        errors.add(error);
+    }
+}
@@ -0,0 +1,460 @@
+package com.uav.dockingmanagement.service;
+
+import com.uav.dockingmanagement.geo.GeofencePolygon;
+import com.uav.dockingmanagement.geo.PolygonEdgeIndex;
+import com.uav.dockingmanagement.model.Geofence;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable index over geofence volumes, for finding the fences near a point or box.
+ *
+ * <p>Each fence is a prism: its horizontal bounding box extruded over its altitude band
+ * ({@code minAltitudeMeters} to {@code maxAltitudeMeters}, unbounded where unset). The plane is divided
+ * into square cells of {@code cellDegrees}; each fence is listed in every cell its bounding box overlaps,
+ * and a cell's fences are kept sorted by the bottom of their band. A box query visits the cells
+ * overlapping the box and returns each fence whose box intersects it once. A point query visits one
+ * cell and, by binary search on the band bottoms, only the fences starting at or below the point's
+ * altitude, so stacked fences at other heights are never tested. Fences spanning more than
+ * {@value #MAX_CELLS_PER_FENCE} cells are kept in a short list checked by every query instead, and
+ * fences whose extent cannot be determined, e.g. a malformed polygon, are returned by every query.
+ * Polygon vertices are parsed once here, optionally simplified, and indexed by a
+ * {@link PolygonEdgeIndex}, so callers neither parse JSON per fix nor scan every edge. Bounding boxes
+ * are taken from the original ring, and a simplified fence reports how far its edges may be from the
+ * original ones ({@link IndexedFence#getEdgeMarginLatitude()}), so callers can tell where the simplified
+ * ring is exact. Boxes do not wrap across the antimeridian. {@link #update} builds the index of a changed
+ * fence list, reusing the parsed fences of this one, so only added or replaced fences are parsed again.</p>
+ */
+public final class GeofenceIndex {
+
+    private static final double METERS_PER_DEGREE = 111_320.0;
+    static final int MAX_CELLS_PER_FENCE = 4096;
+
+    private final double cellDegrees;
+    private final double simplifyToleranceMeters;
+    private final IndexedFence[] fences;
+    private final Map<Long, Cell> cells;
+    /** Fences checked by every query: unbounded or spanning too many cells */
+    private final int[] wide;
+    private final int[] inclusion;
+    private final Map<Long, Integer> positions;
+
+    public GeofenceIndex(List<Geofence> geofences, double cellDegrees) {
+        this(geofences, cellDegrees, 0);
+    }
+
+    /**
+     * @param simplifyToleranceMeters polygons are simplified within this distance before indexing, see
+     *                                {@link GeofencePolygon#simplify}; 0 keeps them exact
+     */
+    public GeofenceIndex(List<Geofence> geofences, double cellDegrees, double simplifyToleranceMeters) {
+        this(geofences, cellDegrees, simplifyToleranceMeters, Map.of());
+    }
+
+    private GeofenceIndex(List<Geofence> geofences, double cellDegrees, double simplifyToleranceMeters,
+                          Map<Geofence, IndexedFence> parsed) {
+        if (cellDegrees <= 0) {
+            throw new IllegalArgumentException("Cell size must be positive");
+        }
+        this.cellDegrees = cellDegrees;
+        this.simplifyToleranceMeters = simplifyToleranceMeters;
+        this.fences = new IndexedFence[geofences.size()];
+
+        Map<Long, List<Integer>> building = new HashMap<>();
+        List<Integer> wideFences = new ArrayList<>();
+        List<Integer> inclusionFences = new ArrayList<>();
+        this.positions = new HashMap<>(geofences.size() * 2);
+        for (int i = 0; i < fences.length; i++) {
+            IndexedFence fence = parsed.get(geofences.get(i));
+            if (fence == null) {
+                fence = new IndexedFence(geofences.get(i), simplifyToleranceMeters);
+            }
+            fences[i] = fence;
+            if (fence.geofence.getId() != null) {
+                positions.putIfAbsent(fence.geofence.getId(), i);
+            }
+            if (fence.geofence.getBoundaryType() != Geofence.BoundaryType.EXCLUSION) {
+                inclusionFences.add(i);
+            }
+            if (!fence.bounded || (cell(fence.maxLatitude) - cell(fence.minLatitude) + 1)
+                    * (cell(fence.maxLongitude) - cell(fence.minLongitude) + 1) > MAX_CELLS_PER_FENCE) {
+                wideFences.add(i);
+                continue;
+            }
+            for (long row = cell(fence.minLatitude); row <= cell(fence.maxLatitude); row++) {
+                for (long col = cell(fence.minLongitude); col <= cell(fence.maxLongitude); col++) {
+                    building.computeIfAbsent(key(row, col), k -> new ArrayList<>()).add(i);
+                }
+            }
+        }
+
+        this.cells = new HashMap<>(building.size() * 2);
+        building.forEach((key, members) -> cells.put(key, new Cell(members.stream()
+            .sorted(Comparator.comparingDouble((Integer i) -> fences[i].minAltitude))
+            .mapToInt(Integer::intValue).toArray(), fences)));
+        this.wide = wideFences.stream().mapToInt(Integer::intValue).toArray();
+        this.inclusion = inclusionFences.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    public static GeofenceIndex empty() {
+        return new GeofenceIndex(List.of(), 1.0);
+    }
+
+    /**
+     * Index of {@code geofences} with this index's cell size and tolerance. A fence indexed here as the
+     * same instance keeps its parsed vertices and edge index unless its id is in {@code changedIds}.
+     */
+    public GeofenceIndex update(List<Geofence> geofences, Set<Long> changedIds) {
+        Map<Geofence, IndexedFence> parsed = new IdentityHashMap<>(fences.length * 2);
+        for (IndexedFence fence : fences) {
+            if (!changedIds.contains(fence.geofence.getId())) {
+                parsed.put(fence.geofence, fence);
+            }
+        }
+        return new GeofenceIndex(geofences, cellDegrees, simplifyToleranceMeters, parsed);
+    }
+
+    /**
+     * Fences whose bounding box intersects the given box
+     */
+    public List<IndexedFence> query(double minLatitude, double minLongitude, double maxLatitude, double maxLongitude) {
+        List<IndexedFence> result = new ArrayList<>();
+        for (int i : wide) {
+            if (!fences[i].bounded || fences[i].intersects(minLatitude, minLongitude, maxLatitude, maxLongitude)) {
+                result.add(fences[i]);
+            }
+        }
+        long minRow = cell(minLatitude);
+        long maxRow = cell(maxLatitude);
+        long minCol = cell(minLongitude);
+        long maxCol = cell(maxLongitude);
+        boolean single = minRow == maxRow && minCol == maxCol;
+        boolean[] seen = single ? null : new boolean[fences.length];
+        for (long row = minRow; row <= maxRow; row++) {
+            for (long col = minCol; col <= maxCol; col++) {
+                Cell cell = cells.get(key(row, col));
+                if (cell == null) {
+                    continue;
+                }
+                for (int i : cell.members) {
+                    IndexedFence fence = fences[i];
+                    if ((seen == null || !seen[i]) && fence.intersects(minLatitude, minLongitude, maxLatitude, maxLongitude)) {
+                        if (seen != null) {
+                            seen[i] = true;
+                        }
+                        result.add(fence);
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Fences whose bounding box comes within {@code radiusMeters} of a point
+     */
+    public List<IndexedFence> queryAround(double latitude, double longitude, double radiusMeters) {
+        double dLat = radiusMeters / METERS_PER_DEGREE;
+        double dLon = radiusMeters / (METERS_PER_DEGREE * Math.max(0.01, Math.cos(Math.toRadians(latitude))));
+        return query(latitude - dLat, longitude - dLon, latitude + dLat, longitude + dLon);
+    }
+
+    /**
+     * Fences whose prism may contain a point: its bounding box contains the point and, when the altitude
+     * is known, its band contains the altitude. In the order the fences were given.
+     *
+     * @param altitude altitude in meters, or null to ignore altitude bands
+     */
+    public List<IndexedFence> queryPoint(double latitude, double longitude, Double altitude) {
+        int[] hits = pointHits(latitude, longitude, altitude);
+        List<IndexedFence> result = new ArrayList<>(hits.length);
+        for (int i : hits) {
+            result.add(fences[i]);
+        }
+        return result;
+    }
+
+    /**
+     * Fences that may be violated at a point, in the order the fences were given: EXCLUSION fences
+     * from {@link #queryPoint} and every INCLUSION fence, since being outside one is a violation.
+     * Every other fence is certainly not violated there.
+     */
+    public List<Geofence> violationCandidates(double latitude, double longitude, Double altitude) {
+        int[] hits = pointHits(latitude, longitude, altitude);
+        List<Geofence> result = new ArrayList<>(hits.length + inclusion.length);
+        int h = 0;
+        int c = 0;
+        // Both lists are sorted by position; merge them, taking a fence found in both once
+        while (h < hits.length || c < inclusion.length) {
+            if (c == inclusion.length || (h < hits.length && hits[h] < inclusion[c])) {
+                result.add(fences[hits[h++]].geofence);
+            } else {
+                if (h < hits.length && hits[h] == inclusion[c]) {
+                    h++;
+                }
+                result.add(fences[inclusion[c++]].geofence);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Indexed fence of a geofence id, or null if it is not indexed
+     */
+    public IndexedFence get(Long geofenceId) {
+        Integer position = positions.get(geofenceId);
+        return position != null ? fences[position] : null;
+    }
+
+    private int[] pointHits(double latitude, double longitude, Double altitude) {
+        double level = altitude != null ? altitude : Double.NaN;
+        int[] hits = new int[8];
+        int count = 0;
+        for (int i : wide) {
+            if (fences[i].containsPoint(latitude, longitude, level)) {
+                hits = grow(hits, count);
+                hits[count++] = i;
+            }
+        }
+        Cell cell = cells.get(key(cell(latitude), cell(longitude)));
+        if (cell != null) {
+            int end = altitude != null ? cell.upperBound(level) : cell.members.length;
+            for (int k = 0; k < end; k++) {
+                int i = cell.members[k];
+                if (fences[i].containsPoint(latitude, longitude, level)) {
+                    hits = grow(hits, count);
+                    hits[count++] = i;
+                }
+            }
+        }
+        int[] result = Arrays.copyOf(hits, count);
+        Arrays.sort(result);
+        return result;
+    }
+
+    private static int[] grow(int[] values, int count) {
+        return count < values.length ? values : Arrays.copyOf(values, values.length * 2);
+    }
+
+    /**
+     * Every indexed fence, in the order the fences were given
+     */
+    public List<IndexedFence> getFences() {
+        return Arrays.asList(fences);
+    }
+
+    /**
+     * Every indexed INCLUSION fence, in the order the fences were given
+     */
+    public List<IndexedFence> getInclusionFences() {
+        List<IndexedFence> result = new ArrayList<>(inclusion.length);
+        for (int i : inclusion) {
+            result.add(fences[i]);
+        }
+        return result;
+    }
+
+    public int size() {
+        return fences.length;
+    }
+
+    public int cellCount() {
+        return cells.size();
+    }
+
+    private long cell(double degrees) {
+        return (long) Math.floor(degrees / cellDegrees);
+    }
+
+    private static long key(long row, long col) {
+        return (row << 32) ^ (col & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Fences of one cell sorted by the bottom of their altitude band
+     */
+    private static final class Cell {
+        private final int[] members;
+        private final double[] minAltitudes;
+
+        private Cell(int[] members, IndexedFence[] fences) {
+            this.members = members;
+            this.minAltitudes = new double[members.length];
+            for (int k = 0; k < members.length; k++) {
+                minAltitudes[k] = fences[members[k]].minAltitude;
+            }
+        }
+
+        /**
+         * Number of leading members whose band starts at or below {@code altitude}
+         */
+        private int upperBound(double altitude) {
+            int low = 0;
+            int high = minAltitudes.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (minAltitudes[mid] <= altitude) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+    }
+
+    /**
+     * A geofence with its bounding box, altitude band and, for polygons, its parsed vertices
+     */
+    public static final class IndexedFence {
+        private final Geofence geofence;
+        private final PolygonEdgeIndex polygonEdges;
+        private final double[] polygonLatitudes;
+        private final double[] polygonLongitudes;
+        private final boolean bounded;
+        private final double minAltitude;
+        private final double maxAltitude;
+        private final double edgeMarginLatitude;
+        private final double edgeMarginLongitude;
+        private double minLatitude;
+        private double maxLatitude;
+        private double minLongitude;
+        private double maxLongitude;
+
+        private IndexedFence(Geofence geofence, double simplifyToleranceMeters) {
+            this.geofence = geofence;
+            double[][] original = geofence.getFenceType() != null && geofence.getFenceType().isPolygon()
+                ? GeofencePolygon.parse(geofence.getPolygonCoordinates()) : null;
+            double[][] polygon = original;
+            if (polygon != null && simplifyToleranceMeters > 0) {
+                polygon = GeofencePolygon.simplify(polygon[0], polygon[1], simplifyToleranceMeters);
+            }
+            this.polygonEdges = polygon != null ? new PolygonEdgeIndex(polygon[0], polygon[1]) : null;
+            this.polygonLatitudes = polygon != null ? polygon[0] : null;
+            this.polygonLongitudes = polygon != null ? polygon[1] : null;
+            this.minAltitude = geofence.getMinAltitudeMeters() != null
+                ? geofence.getMinAltitudeMeters() : Double.NEGATIVE_INFINITY;
+            this.maxAltitude = geofence.getMaxAltitudeMeters() != null
+                ? geofence.getMaxAltitudeMeters() : Double.POSITIVE_INFINITY;
+
+            if (isCircle()) {
+                double latitude = geofence.getCenterLatitude();
+                double dLat = geofence.getRadiusMeters() / METERS_PER_DEGREE;
+                double dLon = geofence.getRadiusMeters()
+                    / (METERS_PER_DEGREE * Math.max(0.01, Math.cos(Math.toRadians(latitude))));
+                minLatitude = latitude - dLat;
+                maxLatitude = latitude + dLat;
+                minLongitude = geofence.getCenterLongitude() - dLon;
+                maxLongitude = geofence.getCenterLongitude() + dLon;
+                bounded = true;
+            } else if (polygon != null) {
+                // The original ring's box, which holds every point inside either ring
+                minLatitude = maxLatitude = original[0][0];
+                minLongitude = maxLongitude = original[1][0];
+                for (int i = 1; i < original[0].length; i++) {
+                    minLatitude = Math.min(minLatitude, original[0][i]);
+                    maxLatitude = Math.max(maxLatitude, original[0][i]);
+                    minLongitude = Math.min(minLongitude, original[1][i]);
+                    maxLongitude = Math.max(maxLongitude, original[1][i]);
+                }
+                bounded = true;
+            } else {
+                bounded = false;
+            }
+
+            if (polygon != original) {
+                // Simplification error bound, plus the 1% its projection may be off by
+                double margin = simplifyToleranceMeters * 1.01 / METERS_PER_DEGREE;
+                edgeMarginLatitude = margin;
+                edgeMarginLongitude = margin / Math.max(0.01,
+                    Math.cos(Math.toRadians(Math.max(Math.abs(minLatitude), Math.abs(maxLatitude)))));
+            } else {
+                edgeMarginLatitude = 0;
+                edgeMarginLongitude = 0;
+            }
+        }
+
+        /**
+         * A fence measured on its own, outside any index
+         */
+        public static IndexedFence of(Geofence geofence) {
+            return new IndexedFence(geofence, 0);
+        }
+
+        public Geofence getGeofence() { return geofence; }
+
+        public boolean isCircle() {
+            return geofence.getFenceType() == Geofence.FenceType.CIRCULAR && geofence.getCenterLatitude() != null
+                && geofence.getCenterLongitude() != null && geofence.getRadiusMeters() != null;
+        }
+
+        /** Vertex latitudes of a polygon fence, null for circles and unparsable polygons */
+        public double[] getPolygonLatitudes() { return polygonLatitudes; }
+        public double[] getPolygonLongitudes() { return polygonLongitudes; }
+        public boolean isBounded() { return bounded; }
+        public double getMinLatitude() { return minLatitude; }
+        public double getMaxLatitude() { return maxLatitude; }
+        public double getMinLongitude() { return minLongitude; }
+        public double getMaxLongitude() { return maxLongitude; }
+        /** Bottom of the altitude band, negative infinity if unbounded */
+        public double getMinAltitude() { return minAltitude; }
+        /** Top of the altitude band, positive infinity if unbounded */
+        public double getMaxAltitude() { return maxAltitude; }
+        /**
+         * How far, in degrees of latitude, the simplified polygon's boundary may be from the original
+         * one; 0 when the polygon is exact. Away from its edges by more than this, {@link #contains}
+         * agrees with {@link Geofence#isPointInside}.
+         */
+        public double getEdgeMarginLatitude() { return edgeMarginLatitude; }
+        /** As {@link #getEdgeMarginLatitude()}, in degrees of longitude */
+        public double getEdgeMarginLongitude() { return edgeMarginLongitude; }
+
+        public boolean containsAltitude(double altitude) {
+            return altitude >= minAltitude && altitude <= maxAltitude;
+        }
+
+        /**
+         * Exact horizontal containment: great-circle distance for circles, even-odd rule over the
+         * polygon's {@link PolygonEdgeIndex}. A fence without usable geometry contains no point.
+         */
+        public boolean contains(double latitude, double longitude) {
+            if (isCircle()) {
+                double dLat = Math.toRadians(latitude - geofence.getCenterLatitude());
+                double dLon = Math.toRadians(longitude - geofence.getCenterLongitude());
+                double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                    + Math.cos(Math.toRadians(geofence.getCenterLatitude())) * Math.cos(Math.toRadians(latitude))
+                    * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+                return 6_371_000.0 * 2 * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a)) <= geofence.getRadiusMeters();
+            }
+            return polygonEdges != null && polygonEdges.contains(latitude, longitude);
+        }
+
+        /**
+         * Containment against the original geometry: {@link #contains}, or {@link Geofence#isPointInside}
+         * when the polygon was simplified
+         */
+        public boolean containsExactly(double latitude, double longitude) {
+            return edgeMarginLatitude > 0 ? geofence.isPointInside(latitude, longitude) : contains(latitude, longitude);
+        }
+
+        /**
+         * Whether the bounding prism contains a point; a NaN altitude matches any band
+         */
+        private boolean containsPoint(double latitude, double longitude, double altitude) {
+            return (!bounded || (latitude >= minLatitude && latitude <= maxLatitude
+                    && longitude >= minLongitude && longitude <= maxLongitude))
+                && (Double.isNaN(altitude) || containsAltitude(altitude));
+        }
+
+        private boolean intersects(double minLat, double minLon, double maxLat, double maxLon) {
+            return minLatitude <= maxLat && maxLatitude >= minLat && minLongitude <= maxLon && maxLongitude >= minLon;
+        }
+    }
+}
@@ -0,0 +1,291 @@
+package com.uav.dockingmanagement.service;
+
+import com.uav.dockingmanagement.model.Geofence;
+
+import java.awt.geom.Area;
+import java.awt.geom.Ellipse2D;
+import java.awt.geom.Path2D;
+import java.awt.geom.PathIterator;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Spatial conflicts between a geofence and the fences of a {@link GeofenceIndex}.
+ *
+ * <p>Only fences whose bounding box meets the analyzed fence's are compared, found through the index,
+ * plus every INCLUSION fence for the disjointness check (bounding boxes settle most of those). Shapes
+ * are intersected exactly as planar regions with {@link Area}, in an equirectangular projection in
+ * meters centered on the analyzed fence; circles are their projected circle. Fences are prisms over
+ * their altitude band, matching how violations are checked:</p>
+ * <ul>
+ *   <li>CONTRADICTION: an INCLUSION fence whose prism is covered by EXCLUSION prisms can never be
+ *   complied with, and two INCLUSION prisms that do not meet cannot both be complied with.</li>
+ *   <li>REDUNDANT: an EXCLUSION prism covered by other EXCLUSION prisms, or an INCLUSION prism that
+ *   contains another INCLUSION prism, changes no violation.</li>
+ * </ul>
+ * <p>A region counts as covered when less than {@value #AREA_TOLERANCE_SQUARE_METERS} square meters plus a
+ * {@value #RELATIVE_AREA_TOLERANCE} share of it is left uncovered.</p>
+ */
+public final class GeofenceOverlapAnalyzer {
+
+    static final double AREA_TOLERANCE_SQUARE_METERS = 1.0;
+    static final double RELATIVE_AREA_TOLERANCE = 1e-6;
+
+    private static final double METERS_PER_DEGREE = 111_320.0;
+    /** Largest distance between a flattened curve and the curve, in meters */
+    private static final double FLATNESS_METERS = 0.01;
+
+    public enum ConflictType {
+        CONTRADICTION,
+        REDUNDANT
+    }
+
+    /**
+     * Horizontal overlap with another fence whose altitude band meets the analyzed fence's
+     *
+     * @param fraction share of the analyzed fence's area inside the other fence
+     */
+    public record Overlap(Geofence geofence, double areaSquareMeters, double fraction) {
+    }
+
+    /**
+     * @param subject the fence that is unsatisfiable or redundant
+     * @param others  the fences that make it so
+     */
+    public record Conflict(ConflictType type, Geofence subject, List<Geofence> others, String message) {
+    }
+
+    public record Result(double areaSquareMeters, List<Overlap> overlaps, List<Conflict> conflicts) {
+    }
+
+    private final GeofenceIndex index;
+    private final GeofenceIndex.IndexedFence fence;
+    private final double originLatitude;
+    private final double originLongitude;
+    private final double xScale;
+    private final Map<GeofenceIndex.IndexedFence, Area> shapes = new IdentityHashMap<>();
+
+    private GeofenceOverlapAnalyzer(Geofence geofence, GeofenceIndex index) {
+        this.index = index;
+        this.fence = GeofenceIndex.IndexedFence.of(geofence);
+        this.originLatitude = (fence.getMinLatitude() + fence.getMaxLatitude()) / 2;
+        this.originLongitude = (fence.getMinLongitude() + fence.getMaxLongitude()) / 2;
+        this.xScale = METERS_PER_DEGREE * Math.cos(Math.toRadians(originLatitude));
+    }
+
+    /**
+     * Overlaps and conflicts of a fence with the indexed fences. An indexed fence with the same id is
+     * taken to be an older version of it and skipped. A fence without usable geometry has none.
+     */
+    public static Result analyze(Geofence geofence, GeofenceIndex index) {
+        GeofenceOverlapAnalyzer analyzer = new GeofenceOverlapAnalyzer(geofence, index);
+        if (!analyzer.fence.isBounded()) {
+            return new Result(0, List.of(), List.of());
+        }
+        return analyzer.run();
+    }
+
+    private Result run() {
+        Area shape = shape(fence);
+        double area = area(shape);
+        boolean inclusion = isInclusion(fence);
+        List<Overlap> overlaps = new ArrayList<>();
+        List<Conflict> conflicts = new ArrayList<>();
+        List<GeofenceIndex.IndexedFence> coveringExclusions = new ArrayList<>();
+
+        for (GeofenceIndex.IndexedFence other : index.query(fence.getMinLatitude(), fence.getMinLongitude(),
+                fence.getMaxLatitude(), fence.getMaxLongitude())) {
+            if (isSelf(other) || !other.isBounded() || !bandsMeet(fence, other)) {
+                continue;
+            }
+            Area intersection = new Area(shape);
+            intersection.intersect(shape(other));
+            double overlap = area(intersection);
+            if (negligible(overlap, area)) {
+                continue;
+            }
+            overlaps.add(new Overlap(other.getGeofence(), overlap, area > 0 ? overlap / area : 0));
+            double otherArea = area(shape(other));
+            boolean otherWithin = negligible(otherArea - overlap, otherArea);
+            boolean within = negligible(area - overlap, area);
+
+            if (!isInclusion(other)) {
+                if (bandWithin(fence, other)) {
+                    coveringExclusions.add(other);
+                }
+                // Identical fences are reported once, as the analyzed fence being covered
+                if (!inclusion && otherWithin && !within && bandWithin(other, fence)) {
+                    conflicts.add(new Conflict(ConflictType.REDUNDANT, other.getGeofence(), List.of(fence.getGeofence()),
+                        "Exclusion fence lies entirely inside this exclusion fence"));
+                }
+            } else if (inclusion) {
+                if (otherWithin && bandWithin(other, fence)) {
+                    conflicts.add(new Conflict(ConflictType.REDUNDANT, fence.getGeofence(), List.of(other.getGeofence()),
+                        "Inclusion fence contains a stricter inclusion fence"));
+                } else if (within && bandWithin(fence, other)) {
+                    conflicts.add(new Conflict(ConflictType.REDUNDANT, other.getGeofence(), List.of(fence.getGeofence()),
+                        "Inclusion fence contains this stricter inclusion fence"));
+                }
+            } else {
+                checkInclusionCovered(other, conflicts);
+            }
+        }
+
+        if (!coveringExclusions.isEmpty() && covered(shape, area, coveringExclusions)) {
+            List<Geofence> others = coveringExclusions.stream().map(GeofenceIndex.IndexedFence::getGeofence).toList();
+            conflicts.add(inclusion
+                ? new Conflict(ConflictType.CONTRADICTION, fence.getGeofence(), others,
+                    "Inclusion fence is entirely covered by exclusion fences and can never be complied with")
+                : new Conflict(ConflictType.REDUNDANT, fence.getGeofence(), others,
+                    "Exclusion fence is entirely covered by other exclusion fences"));
+        }
+
+        if (inclusion) {
+            for (GeofenceIndex.IndexedFence other : index.getInclusionFences()) {
+                if (isSelf(other) || !other.isBounded()) {
+                    continue;
+                }
+                boolean disjoint = !bandsMeet(fence, other) || !boxesMeet(fence, other);
+                if (!disjoint) {
+                    Area intersection = new Area(shape);
+                    intersection.intersect(shape(other));
+                    disjoint = negligible(area(intersection), area);
+                }
+                if (disjoint) {
+                    conflicts.add(new Conflict(ConflictType.CONTRADICTION, fence.getGeofence(), List.of(other.getGeofence()),
+                        "Inclusion fences do not meet, so no position complies with both"));
+                }
+            }
+        }
+        return new Result(area, overlaps, conflicts);
+    }
+
+    /**
+     * Record a contradiction if an inclusion fence overlapping the analyzed exclusion fence is covered by
+     * it together with the other exclusion fences around it
+     */
+    private void checkInclusionCovered(GeofenceIndex.IndexedFence inclusionFence, List<Conflict> conflicts) {
+        if (!isInclusion(inclusionFence) || isInclusion(fence) || !bandWithin(inclusionFence, fence)) {
+            return;
+        }
+        List<GeofenceIndex.IndexedFence> exclusions = new ArrayList<>();
+        exclusions.add(fence);
+        for (GeofenceIndex.IndexedFence other : index.query(inclusionFence.getMinLatitude(), inclusionFence.getMinLongitude(),
+                inclusionFence.getMaxLatitude(), inclusionFence.getMaxLongitude())) {
+            if (!isSelf(other) && other.isBounded() && !isInclusion(other) && bandWithin(inclusionFence, other)) {
+                exclusions.add(other);
+            }
+        }
+        Area shape = shape(inclusionFence);
+        if (covered(shape, area(shape), exclusions)) {
+            List<Geofence> others = exclusions.stream().map(GeofenceIndex.IndexedFence::getGeofence).toList();
+            conflicts.add(new Conflict(ConflictType.CONTRADICTION, inclusionFence.getGeofence(), others,
+                "Inclusion fence would be entirely covered by exclusion fences and could never be complied with"));
+        }
+    }
+
+    private boolean covered(Area shape, double area, List<GeofenceIndex.IndexedFence> covers) {
+        Area remainder = new Area(shape);
+        for (GeofenceIndex.IndexedFence cover : covers) {
+            remainder.subtract(shape(cover));
+            if (remainder.isEmpty()) {
+                return true;
+            }
+        }
+        return negligible(area(remainder), area);
+    }
+
+    private boolean isSelf(GeofenceIndex.IndexedFence other) {
+        Long id = fence.getGeofence().getId();
+        return other.getGeofence() == fence.getGeofence() || (id != null && Objects.equals(id, other.getGeofence().getId()));
+    }
+
+    private Area shape(GeofenceIndex.IndexedFence indexed) {
+        return shapes.computeIfAbsent(indexed, key -> {
+            Geofence geofence = key.getGeofence();
+            if (key.isCircle()) {
+                double radius = geofence.getRadiusMeters();
+                return new Area(new Ellipse2D.Double(x(geofence.getCenterLongitude()) - radius,
+                    y(geofence.getCenterLatitude()) - radius, 2 * radius, 2 * radius));
+            }
+            double[] latitudes = key.getPolygonLatitudes();
+            double[] longitudes = key.getPolygonLongitudes();
+            Path2D.Double path = new Path2D.Double(Path2D.WIND_EVEN_ODD, latitudes.length);
+            path.moveTo(x(longitudes[0]), y(latitudes[0]));
+            for (int i = 1; i < latitudes.length; i++) {
+                path.lineTo(x(longitudes[i]), y(latitudes[i]));
+            }
+            path.closePath();
+            return new Area(path);
+        });
+    }
+
+    private double x(double longitude) {
+        return (longitude - originLongitude) * xScale;
+    }
+
+    private double y(double latitude) {
+        return (latitude - originLatitude) * METERS_PER_DEGREE;
+    }
+
+    /**
+     * Area enclosed by a region, holes excluded
+     */
+    static double area(Area region) {
+        double total = 0;
+        double startX = 0;
+        double startY = 0;
+        double lastX = 0;
+        double lastY = 0;
+        double[] coordinates = new double[6];
+        for (PathIterator iterator = region.getPathIterator(null, FLATNESS_METERS); !iterator.isDone(); iterator.next()) {
+            switch (iterator.currentSegment(coordinates)) {
+                case PathIterator.SEG_MOVETO -> {
+                    startX = lastX = coordinates[0];
+                    startY = lastY = coordinates[1];
+                }
+                case PathIterator.SEG_LINETO -> {
+                    total += lastX * coordinates[1] - coordinates[0] * lastY;
+                    lastX = coordinates[0];
+                    lastY = coordinates[1];
+                }
+                case PathIterator.SEG_CLOSE -> {
+                    total += lastX * startY - startX * lastY;
+                    lastX = startX;
+                    lastY = startY;
+                }
+                default -> {
+                }
+            }
+        }
+        // Area keeps holes wound against their outer boundary, so the signed sum is the net area
+        return Math.abs(total) / 2;
+    }
+
+    private static boolean negligible(double part, double whole) {
+        return part <= AREA_TOLERANCE_SQUARE_METERS + RELATIVE_AREA_TOLERANCE * whole;
+    }
+
+    private static boolean isInclusion(GeofenceIndex.IndexedFence indexed) {
+        return indexed.getGeofence().getBoundaryType() != Geofence.BoundaryType.EXCLUSION;
+    }
+
+    private static boolean bandsMeet(GeofenceIndex.IndexedFence a, GeofenceIndex.IndexedFence b) {
+        return a.getMinAltitude() <= b.getMaxAltitude() && b.getMinAltitude() <= a.getMaxAltitude();
+    }
+
+    /**
+     * Whether {@code inner}'s altitude band lies within {@code outer}'s
+     */
+    private static boolean bandWithin(GeofenceIndex.IndexedFence inner, GeofenceIndex.IndexedFence outer) {
+        return inner.getMinAltitude() >= outer.getMinAltitude() && inner.getMaxAltitude() <= outer.getMaxAltitude();
+    }
+
+    private static boolean boxesMeet(GeofenceIndex.IndexedFence a, GeofenceIndex.IndexedFence b) {
+        return a.getMinLatitude() <= b.getMaxLatitude() && b.getMinLatitude() <= a.getMaxLatitude()
+            && a.getMinLongitude() <= b.getMaxLongitude() && b.getMinLongitude() <= a.getMaxLongitude();
+    }
+}
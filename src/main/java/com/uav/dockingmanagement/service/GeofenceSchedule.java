@@ -0,0 +1,196 @@
+package com.uav.dockingmanagement.service;
+
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * A geofence's activity schedule compiled into a bitmap over the minutes of a week.
+ *
+ * <p>Bit {@code (dayOfWeek - 1) * 1440 + minuteOfDay} is set when the fence is active during that
+ * minute. {@code daysOfWeek} is a comma-separated list of day names or three-letter abbreviations;
+ * {@code timeFrom}/{@code timeUntil} are {@code HH:mm}, with {@code timeUntil} exclusive. A window whose
+ * end is not after its start runs past midnight into the next day, which belongs to the listed day it
+ * started on. Missing days mean every day, missing times mean the whole day. {@code activeFrom} and
+ * {@code activeUntil} bound the recurring schedule.</p>
+ *
+ * <p>Whether the fence is active and when that next changes are answered from the bitmap without
+ * parsing; the next change is found a 64-minute word at a time.</p>
+ */
+public final class GeofenceSchedule {
+
+    static final int MINUTES_PER_DAY = 24 * 60;
+    static final int MINUTES_PER_WEEK = 7 * MINUTES_PER_DAY;
+
+    private static final GeofenceSchedule ALWAYS = new GeofenceSchedule(null, null, null);
+
+    /** Null when active at every minute of the week */
+    private final long[] weekMinutes;
+    private final LocalDateTime activeFrom;
+    private final LocalDateTime activeUntil;
+
+    private GeofenceSchedule(long[] weekMinutes, LocalDateTime activeFrom, LocalDateTime activeUntil) {
+        this.weekMinutes = weekMinutes;
+        this.activeFrom = activeFrom;
+        this.activeUntil = activeUntil;
+    }
+
+    /**
+     * Compile a schedule
+     *
+     * @throws IllegalArgumentException if a day name or time cannot be parsed
+     */
+    public static GeofenceSchedule compile(String daysOfWeek, String timeFrom, String timeUntil,
+                                           LocalDateTime activeFrom, LocalDateTime activeUntil) {
+        boolean everyDay = isBlank(daysOfWeek);
+        boolean allDay = isBlank(timeFrom) && isBlank(timeUntil);
+        if (everyDay && allDay) {
+            return activeFrom == null && activeUntil == null ? ALWAYS : new GeofenceSchedule(null, activeFrom, activeUntil);
+        }
+
+        boolean[] days = new boolean[7];
+        if (everyDay) {
+            Arrays.fill(days, true);
+        } else {
+            for (String day : daysOfWeek.split(",")) {
+                if (!day.isBlank()) {
+                    days[parseDay(day.trim()).getValue() - 1] = true;
+                }
+            }
+        }
+
+        int from = allDay || isBlank(timeFrom) ? 0 : parseMinuteOfDay(timeFrom);
+        int until = allDay || isBlank(timeUntil) ? MINUTES_PER_DAY : parseMinuteOfDay(timeUntil);
+        int length = until > from ? until - from : until + MINUTES_PER_DAY - from;
+
+        long[] bits = new long[(MINUTES_PER_WEEK + 63) / 64];
+        for (int day = 0; day < 7; day++) {
+            if (days[day]) {
+                int start = day * MINUTES_PER_DAY + from;
+                for (int i = 0; i < length; i++) {
+                    int minute = (start + i) % MINUTES_PER_WEEK;
+                    bits[minute >>> 6] |= 1L << minute;
+                }
+            }
+        }
+        return new GeofenceSchedule(bits, activeFrom, activeUntil);
+    }
+
+    /**
+     * Whether the fence is scheduled to be active at {@code time}
+     */
+    public boolean isActiveAt(LocalDateTime time) {
+        if (activeFrom != null && time.isBefore(activeFrom)) {
+            return false;
+        }
+        if (activeUntil != null && !time.isBefore(activeUntil)) {
+            return false;
+        }
+        return weekMinutes == null || isSet(weekMinute(time));
+    }
+
+    /**
+     * Whether the fence will never be active again after {@code time}
+     */
+    public boolean isExpiredAt(LocalDateTime time) {
+        return activeUntil != null && !time.isBefore(activeUntil);
+    }
+
+    /**
+     * First instant after {@code time} at which {@link #isActiveAt} may change, or null if it never does
+     */
+    public LocalDateTime nextTransitionAfter(LocalDateTime time) {
+        if (isExpiredAt(time)) {
+            return null;
+        }
+        if (activeFrom != null && time.isBefore(activeFrom)) {
+            return activeFrom;
+        }
+        LocalDateTime next = null;
+        if (weekMinutes != null) {
+            int minute = weekMinute(time);
+            int distance = distanceToChange(minute);
+            if (distance > 0) {
+                next = time.truncatedTo(ChronoUnit.MINUTES).plusMinutes(distance);
+            }
+        }
+        if (activeUntil != null && (next == null || activeUntil.isBefore(next))) {
+            next = activeUntil;
+        }
+        return next;
+    }
+
+    /**
+     * Whether the schedule has a recurring weekly part
+     */
+    public boolean isRecurring() {
+        return weekMinutes != null;
+    }
+
+    /**
+     * Minutes from {@code minute} to the next minute whose bit differs, or 0 if all bits are equal
+     */
+    private int distanceToChange(int minute) {
+        boolean current = isSet(minute);
+        int scanned = 0;
+        int position = minute + 1;
+        while (scanned < MINUTES_PER_WEEK) {
+            int wrapped = position % MINUTES_PER_WEEK;
+            int word = wrapped >>> 6;
+            int bit = wrapped & 63;
+            long value = current ? ~weekMinutes[word] : weekMinutes[word];
+            // Ignore bits beyond the end of the week in the last word
+            int bitsInWord = Math.min(64, MINUTES_PER_WEEK - (word << 6));
+            if (bitsInWord < 64) {
+                value &= (1L << bitsInWord) - 1;
+            }
+            value &= -1L << bit;
+            if (value != 0) {
+                int found = Long.numberOfTrailingZeros(value) - bit;
+                return scanned + found + 1;
+            }
+            int skipped = bitsInWord - bit;
+            scanned += skipped;
+            position = wrapped + skipped;
+        }
+        return 0;
+    }
+
+    private boolean isSet(int minute) {
+        return (weekMinutes[minute >>> 6] & (1L << minute)) != 0;
+    }
+
+    static int weekMinute(LocalDateTime time) {
+        return (time.getDayOfWeek().getValue() - 1) * MINUTES_PER_DAY + time.getHour() * 60 + time.getMinute();
+    }
+
+    private static DayOfWeek parseDay(String day) {
+        String upper = day.toUpperCase(Locale.ROOT);
+        for (DayOfWeek candidate : DayOfWeek.values()) {
+            if (candidate.name().equals(upper) || candidate.name().substring(0, 3).equals(upper)) {
+                return candidate;
+            }
+        }
+        throw new IllegalArgumentException("Unknown day of week: " + day);
+    }
+
+    private static int parseMinuteOfDay(String time) {
+        String trimmed = time.trim();
+        if ("24:00".equals(trimmed)) {
+            return MINUTES_PER_DAY;
+        }
+        try {
+            LocalTime parsed = LocalTime.parse(trimmed);
+            return parsed.getHour() * 60 + parsed.getMinute();
+        } catch (Exception e) {
+            throw new IllegalArgumentException("Invalid time of day: " + time);
+        }
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+}
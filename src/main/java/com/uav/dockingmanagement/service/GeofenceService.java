@@ -5,6 +5,7 @@ import com.uav.dockingmanagement.repository.GeofenceRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -31,6 +32,12 @@ public class GeofenceService {
     @Autowired
     private SimpMessagingTemplate messagingTemplate;
 
+    @Autowired
+    private GeofenceActivationService geofenceActivationService;
+
+    @Value("${uav.geofence.batch.max-points:2000000}")
+    private int maxBatchPoints = 2_000_000;
+
     /**
      * Get all geofences
      */
@@ -175,20 +182,27 @@ public class GeofenceService {
         }
     }
 
+    /**
+     * Get geofences in force now, considering their schedules, highest priority first
+     */
+    public List<Geofence> getCurrentlyActiveGeofences() {
+        return geofenceActivationService.getLiveGeofences();
+    }
+
     /**
      * Check geofence violations for a point
      */
     public List<Geofence> checkGeofenceViolations(Double latitude, Double longitude, Double altitude) {
         List<Geofence> violations = new ArrayList<>();
         try {
-            List<Geofence> activeGeofences = geofenceRepository.findCurrentlyActiveGeofences(LocalDateTime.now());
-
-            for (Geofence geofence : activeGeofences) {
-                boolean isInside = isPointInsideGeofence(geofence, latitude, longitude, altitude);
-
-                // Check for violations based on boundary type
-                if ((geofence.getBoundaryType() == Geofence.BoundaryType.EXCLUSION && isInside) ||
-                    (geofence.getBoundaryType() == Geofence.BoundaryType.INCLUSION && !isInside)) {
+            if (geofenceActivationService.getLiveRaster().stateAt(latitude, longitude) == AirspaceRaster.State.ALLOWED) {
+                // No fence can be violated anywhere in this raster cell
+                return violations;
+            }
+            // Only fences whose prism may contain the point, plus every INCLUSION fence
+            for (Geofence geofence : geofenceActivationService.getLiveIndex().violationCandidates(latitude, longitude, altitude)) {
+                // Check for violations based on boundary type, over the fence's altitude band
+                if (geofence.isViolatedBy(latitude, longitude, altitude)) {
                     violations.add(geofence);
 
                     // Update violation count
@@ -206,10 +220,7 @@ public class GeofenceService {
      */
     public boolean isPointInsideGeofence(Geofence geofence, Double latitude, Double longitude, Double altitude) {
         // Check altitude constraints first
-        if (geofence.getMinAltitudeMeters() != null && altitude < geofence.getMinAltitudeMeters()) {
-            return false;
-        }
-        if (geofence.getMaxAltitudeMeters() != null && altitude > geofence.getMaxAltitudeMeters()) {
+        if (!geofence.containsAltitude(altitude)) {
             return false;
         }
 
@@ -307,21 +318,12 @@ public class GeofenceService {
         List<Map<String, Object>> containments = new ArrayList<>();
         
         try {
-            List<Geofence> activeGeofences = geofenceRepository.findCurrentlyActiveGeofences(LocalDateTime.now());
+            List<Geofence> activeGeofences = getCurrentlyActiveGeofences();
             
-            for (Geofence geofence : activeGeofences) {
+            // Fences horizontally containing the point at any altitude, and every INCLUSION fence
+            for (Geofence geofence : violationCandidates(latitude, longitude, null)) {
                 boolean isInside = isPointInsideGeofence(geofence, latitude, longitude);
-                boolean altitudeViolation = false;
-                
-                // Check altitude constraints
-                if (altitude != null) {
-                    if (geofence.getMinAltitudeMeters() != null && altitude < geofence.getMinAltitudeMeters()) {
-                        altitudeViolation = true;
-                    }
-                    if (geofence.getMaxAltitudeMeters() != null && altitude > geofence.getMaxAltitudeMeters()) {
-                        altitudeViolation = true;
-                    }
-                }
+                boolean altitudeViolation = !geofence.containsAltitude(altitude);
                 
                 Map<String, Object> geofenceInfo = new HashMap<>();
                 geofenceInfo.put("geofenceId", geofence.getId());
@@ -332,17 +334,10 @@ public class GeofenceService {
                 geofenceInfo.put("isInside", isInside);
                 geofenceInfo.put("altitudeViolation", altitudeViolation);
                 
-                // Determine if this is a violation
-                boolean isViolation = false;
-                if (geofence.getBoundaryType() == Geofence.BoundaryType.INCLUSION && !isInside) {
-                    isViolation = true; // Should be inside but is outside
-                } else if (geofence.getBoundaryType() == Geofence.BoundaryType.EXCLUSION && isInside) {
-                    isViolation = true; // Should be outside but is inside
-                }
-                
-                if (altitudeViolation) {
-                    isViolation = true;
-                }
+                // Outside an INCLUSION prism or inside an EXCLUSION prism
+                boolean isViolation = geofence.getBoundaryType() == Geofence.BoundaryType.EXCLUSION
+                    ? isInside && !altitudeViolation
+                    : !isInside || altitudeViolation;
                 
                 if (isViolation) {
                     violations.add(geofenceInfo);
@@ -370,6 +365,102 @@ public class GeofenceService {
         return result;
     }
 
+    /**
+     * PNG map tile of the airspace raster, see {@link AirspaceTileRenderer}
+     *
+     * @throws IllegalArgumentException if the tile does not exist
+     */
+    public byte[] renderAirspaceTile(int zoom, int x, int y) {
+        return AirspaceTileRenderer.renderPng(geofenceActivationService.getLiveRaster(), zoom, x, y);
+    }
+
+    /**
+     * Overlaps of a fence with the geofences in force, and the contradictions and redundant fences they
+     * make, see {@link GeofenceOverlapAnalyzer}
+     */
+    public Map<String, Object> analyzeGeofenceConflicts(Geofence geofence) {
+        GeofenceOverlapAnalyzer.Result analysis = GeofenceOverlapAnalyzer.analyze(geofence,
+            geofenceActivationService.getLiveIndex());
+
+        List<Map<String, Object>> overlaps = new ArrayList<>();
+        for (GeofenceOverlapAnalyzer.Overlap overlap : analysis.overlaps()) {
+            Map<String, Object> item = new HashMap<>();
+            item.put("geofenceId", overlap.geofence().getId());
+            item.put("name", overlap.geofence().getName());
+            item.put("boundaryType", overlap.geofence().getBoundaryType());
+            item.put("overlapSquareMeters", Math.round(overlap.areaSquareMeters()));
+            item.put("overlapPercent", Math.round(overlap.fraction() * 1000) / 10.0);
+            overlaps.add(item);
+        }
+
+        List<Map<String, Object>> conflicts = new ArrayList<>();
+        int contradictions = 0;
+        for (GeofenceOverlapAnalyzer.Conflict conflict : analysis.conflicts()) {
+            Map<String, Object> item = new HashMap<>();
+            item.put("type", conflict.type());
+            item.put("geofenceId", conflict.subject().getId());
+            item.put("geofenceName", conflict.subject().getName());
+            item.put("conflictingGeofenceIds", conflict.others().stream().map(Geofence::getId).toList());
+            item.put("message", conflict.message());
+            conflicts.add(item);
+            if (conflict.type() == GeofenceOverlapAnalyzer.ConflictType.CONTRADICTION) {
+                contradictions++;
+            }
+        }
+        if (contradictions > 0) {
+            logger.warn("Geofence {} takes part in {} contradictions", geofence.getName(), contradictions);
+        }
+
+        Map<String, Object> result = new HashMap<>();
+        result.put("areaSquareMeters", Math.round(analysis.areaSquareMeters()));
+        result.put("overlaps", overlaps);
+        result.put("conflicts", conflicts);
+        result.put("contradictionCount", contradictions);
+        result.put("redundantCount", conflicts.size() - contradictions);
+        return result;
+    }
+
+    /**
+     * Check many points against the geofences in force in one pass, see {@link GeofenceBatchChecker}.
+     * Violations are returned as a sparse matrix of point indexes to indexes into {@code geofenceIds}.
+     *
+     * @param altitudes altitudes in meters, or null to skip altitude limits
+     * @throws IllegalArgumentException if the batch is too large, the arrays differ in length or a
+     *         coordinate is out of range
+     */
+    public Map<String, Object> checkPointsAgainstGeofences(double[] latitudes, double[] longitudes, double[] altitudes) {
+        if (latitudes == null || longitudes == null) {
+            throw new IllegalArgumentException("Latitudes and longitudes are required");
+        }
+        if (latitudes.length > maxBatchPoints) {
+            throw new IllegalArgumentException("Batch exceeds " + maxBatchPoints + " points");
+        }
+        long started = System.nanoTime();
+        List<Geofence> activeGeofences = getCurrentlyActiveGeofences();
+        GeofenceBatchChecker.ViolationMatrix matrix =
+            new GeofenceBatchChecker(activeGeofences).check(latitudes, longitudes, altitudes);
+
+        List<Long> geofenceIds = new ArrayList<>(activeGeofences.size());
+        for (Geofence geofence : activeGeofences) {
+            geofenceIds.add(geofence.getId());
+        }
+
+        Map<String, Object> result = new HashMap<>();
+        result.put("success", true);
+        result.put("pointCount", matrix.pointCount());
+        result.put("geofenceIds", geofenceIds);
+        result.put("violatingPoints", matrix.points());
+        result.put("violationOffsets", matrix.offsets());
+        result.put("violatedGeofences", matrix.fences());
+        result.put("violatingPointCount", matrix.points().length);
+        result.put("violationCount", matrix.violationCount());
+        result.put("processingTimeMs", (System.nanoTime() - started) / 1_000_000);
+        result.put("timestamp", LocalDateTime.now());
+        logger.debug("Checked {} points against {} geofences: {} violations",
+                   matrix.pointCount(), geofenceIds.size(), matrix.violationCount());
+        return result;
+    }
+
     /**
      * Check if point is inside geofence
      */
@@ -377,7 +468,7 @@ public class GeofenceService {
         try {
             if (geofence.getFenceType() == Geofence.FenceType.CIRCULAR) {
                 return isPointInCircle(geofence, latitude, longitude);
-            } else if (geofence.getFenceType() == Geofence.FenceType.POLYGONAL) {
+            } else if (geofence.getFenceType() != null && geofence.getFenceType().isPolygon()) {
                 return isPointInPolygon(geofence, latitude, longitude);
             }
         } catch (Exception e) {
@@ -403,20 +494,14 @@ public class GeofenceService {
     }
 
     /**
-     * Check if point is inside polygonal geofence (simplified implementation)
+     * Check if point is inside polygonal geofence, by ray cast over the fence's edge index
      */
     private boolean isPointInPolygon(Geofence geofence, Double latitude, Double longitude) {
-        // This is a simplified implementation
-        // In production, you would use a proper geometry library like JTS
         String polygonCoords = geofence.getPolygonCoordinates();
         if (polygonCoords == null || polygonCoords.trim().isEmpty()) {
             return false;
         }
-        
-        // TODO: Implement proper polygon containment check
-        // For now, return false as placeholder
-        logger.warn("Polygon geofence checking not fully implemented for geofence: {}", geofence.getName());
-        return false;
+        return geofence.isPointInside(latitude, longitude);
     }
 
     /**
@@ -570,6 +655,7 @@ public class GeofenceService {
 
     /**
      * Clean up expired geofences
+     * Fences are normally expired at their activeUntil by GeofenceActivationService; this is a full sweep
      */
     @Transactional
     public void cleanupExpiredGeofences() {
@@ -0,0 +1,201 @@
+package com.uav.dockingmanagement.service;
+
+import com.uav.dockingmanagement.model.Geofence;
+import com.uav.dockingmanagement.model.UAV;
+import com.uav.dockingmanagement.repository.GeofenceRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Geofence violation incidents per (UAV, geofence) pair.
+ *
+ * <p>Checks from the location fix path go through a {@link GeofenceViolationTracker}, and alerts are
+ * published to {@code /topic/geofence-violations} only on its transitions: {@code GEOFENCE_VIOLATION}
+ * on entering violation, {@code GEOFENCE_DWELL} once the violation has lasted
+ * {@code uav.geofence.violation.dwell-seconds}, and {@code GEOFENCE_EXIT} when it ends. Each incident
+ * counts as one violation of the fence; {@code totalViolations} and {@code lastViolationTime} are
+ * accumulated in memory and written every {@code uav.geofence.violation.flush-interval-ms}.</p>
+ */
+@Service
+public class GeofenceViolationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(GeofenceViolationService.class);
+
+    @Autowired
+    private GeofenceRepository geofenceRepository;
+
+    @Autowired
+    private SimpMessagingTemplate messagingTemplate;
+
+    @Value("${uav.geofence.violation.enter-debounce-fixes:2}")
+    private int enterDebounceFixes = 2;
+
+    @Value("${uav.geofence.violation.exit-debounce-fixes:3}")
+    private int exitDebounceFixes = 3;
+
+    @Value("${uav.geofence.violation.hysteresis-meters:10}")
+    private double hysteresisMeters = 10;
+
+    @Value("${uav.geofence.violation.dwell-seconds:60}")
+    private long dwellSeconds = 60;
+
+    @Value("${uav.geofence.violation.flush-interval-ms:5000}")
+    private long flushIntervalMs = 5000;
+
+    @Value("${uav.geofence.violation.state-timeout-seconds:300}")
+    private long stateTimeoutSeconds = 300;
+
+    private final Map<Long, PendingViolations> pending = new ConcurrentHashMap<>();
+
+    private GeofenceViolationTracker tracker;
+    private ScheduledExecutorService scheduler;
+
+    @PostConstruct
+    public void start() {
+        tracker = new GeofenceViolationTracker(enterDebounceFixes, exitDebounceFixes, hysteresisMeters,
+            TimeUnit.SECONDS.toMillis(dwellSeconds));
+
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "geofence-violations");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleAtFixedRate(this::safeFlush, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+        logger.info("Geofence violation tracking started: enter after {} fixes, exit after {} fixes beyond {} m",
+                   enterDebounceFixes, exitDebounceFixes, hysteresisMeters);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+        flush();
+    }
+
+    /**
+     * Feed one check of a UAV position against a fence in force
+     *
+     * @param complianceMarginMeters see {@link GeofenceViolationTracker#complianceMargin}
+     */
+    public void onCheck(UAV uav, Geofence geofence, double complianceMarginMeters,
+                        Double latitude, Double longitude, Double altitude) {
+        long now = System.currentTimeMillis();
+        long violationStart = tracker.getViolationStart(uav.getId(), geofence.getId());
+        GeofenceViolationTracker.Transition transition =
+            tracker.update(uav.getId(), geofence.getId(), complianceMarginMeters, now);
+        if (transition == null) {
+            return;
+        }
+
+        LocalDateTime timestamp = LocalDateTime.now();
+        if (transition == GeofenceViolationTracker.Transition.ENTER) {
+            pending.merge(geofence.getId(), new PendingViolations(1, timestamp), PendingViolations::plus);
+            logger.warn("Geofence violation detected - UAV: {}, Geofence: {}, Location: {}, {}",
+                       uav.getRfidTag(), geofence.getName(), latitude, longitude);
+        } else {
+            logger.info("Geofence {} for UAV {} - Geofence: {}", transition, uav.getRfidTag(), geofence.getName());
+        }
+
+        try {
+            Map<String, Object> alert = new HashMap<>();
+            alert.put("type", alertType(transition));
+            alert.put("transition", transition);
+            alert.put("timestamp", timestamp);
+            alert.put("uavId", uav.getId());
+            alert.put("uavRfidTag", uav.getRfidTag());
+            alert.put("geofenceId", geofence.getId());
+            alert.put("geofenceName", geofence.getName());
+            alert.put("boundaryType", geofence.getBoundaryType());
+            alert.put("violationAction", geofence.getViolationAction());
+            alert.put("latitude", latitude);
+            alert.put("longitude", longitude);
+            alert.put("altitude", altitude);
+            alert.put("priorityLevel", geofence.getPriorityLevel());
+            if (transition != GeofenceViolationTracker.Transition.ENTER && violationStart != Long.MIN_VALUE) {
+                alert.put("durationSeconds", (now - violationStart) / 1000);
+            }
+
+            messagingTemplate.convertAndSend("/topic/geofence-violations", alert);
+        } catch (Exception e) {
+            logger.error("Error broadcasting geofence {} for UAV {}: {}", transition, uav.getRfidTag(), e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Number of (UAV, geofence) pairs currently in violation
+     */
+    public long countActiveViolations() {
+        return tracker.countInViolation();
+    }
+
+    /**
+     * Fences a UAV has a current or pending violation of, see {@link GeofenceViolationTracker#getTrackedGeofenceIds}
+     */
+    public Set<Long> getTrackedGeofenceIds(Integer uavId) {
+        return tracker.getTrackedGeofenceIds(uavId);
+    }
+
+    /**
+     * Write accumulated violation counters, one statement per fence
+     */
+    public void flush() {
+        for (Long geofenceId : pending.keySet()) {
+            PendingViolations violations = pending.remove(geofenceId);
+            if (violations == null) {
+                continue;
+            }
+            try {
+                geofenceRepository.addViolations(geofenceId, violations.count(), violations.last());
+            } catch (Exception e) {
+                logger.error("Error saving {} violations of geofence {}: {}",
+                           violations.count(), geofenceId, e.getMessage(), e);
+            }
+        }
+    }
+
+    private void safeFlush() {
+        try {
+            flush();
+            int evicted = tracker.evictStale(System.currentTimeMillis() - TimeUnit.SECONDS.toMillis(stateTimeoutSeconds));
+            if (evicted > 0) {
+                logger.debug("Dropped {} stale geofence violation states", evicted);
+            }
+        } catch (Exception e) {
+            logger.error("Error flushing geofence violations: {}", e.getMessage(), e);
+        }
+    }
+
+    private static String alertType(GeofenceViolationTracker.Transition transition) {
+        return switch (transition) {
+            case ENTER -> "GEOFENCE_VIOLATION";
+            case DWELL -> "GEOFENCE_DWELL";
+            case EXIT -> "GEOFENCE_EXIT";
+        };
+    }
+
+    /**
+     * Violations of one fence not yet written
+     */
+    private record PendingViolations(int count, LocalDateTime last) {
+
+        private PendingViolations plus(PendingViolations other) {
+            return new PendingViolations(count + other.count, last.isAfter(other.last) ? last : other.last);
+        }
+    }
+}
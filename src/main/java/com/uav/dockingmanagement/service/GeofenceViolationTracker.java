@@ -0,0 +1,236 @@
+package com.uav.dockingmanagement.service;
+
+import com.uav.dockingmanagement.model.Geofence;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Violation state of every (UAV, geofence) pair, turning per-fix checks into ENTER, DWELL and EXIT
+ * transitions.
+ *
+ * <p>A pair enters violation after {@code enterFixes} consecutive violating fixes (debounce). It leaves
+ * after {@code exitFixes} consecutive fixes that are compliant by at least {@code hysteresisMeters}
+ * (hysteresis), so a UAV hovering on the boundary produces one incident rather than one per crossing.
+ * DWELL is reported once when a violation has lasted {@code dwellMillis}. All other fixes produce no
+ * transition.</p>
+ */
+public class GeofenceViolationTracker {
+
+    public enum Transition {
+        ENTER,
+        DWELL,
+        EXIT
+    }
+
+    private final int enterFixes;
+    private final int exitFixes;
+    private final double hysteresisMeters;
+    private final long dwellMillis;
+
+    private final Map<Key, PairState> states = new ConcurrentHashMap<>();
+    /** Fences with a pair state, per UAV, so their EXIT can be seen once the UAV leaves their index cell */
+    private final Map<Integer, Set<Long>> fencesByUav = new ConcurrentHashMap<>();
+
+    public GeofenceViolationTracker(int enterFixes, int exitFixes, double hysteresisMeters, long dwellMillis) {
+        if (enterFixes < 1 || exitFixes < 1 || hysteresisMeters < 0 || dwellMillis <= 0) {
+            throw new IllegalArgumentException("Debounce counts and dwell time must be positive, hysteresis non-negative");
+        }
+        this.enterFixes = enterFixes;
+        this.exitFixes = exitFixes;
+        this.hysteresisMeters = hysteresisMeters;
+        this.dwellMillis = dwellMillis;
+    }
+
+    /**
+     * Feed one check of a UAV against a fence
+     *
+     * @param complianceMarginMeters how far the UAV is on the permitted side of the fence; negative when
+     *                               violating, infinite when the distance is not known
+     * @return the transition caused by this fix, or null
+     */
+    public Transition update(int uavId, long geofenceId, double complianceMarginMeters, long nowMillis) {
+        boolean violating = complianceMarginMeters < 0;
+        Key key = new Key(uavId, geofenceId);
+        while (true) {
+            PairState state = violating ? states.computeIfAbsent(key, this::newState) : states.get(key);
+            if (state == null) {
+                return null;
+            }
+            synchronized (state) {
+                if (state.removed) {
+                    // Removed by a concurrent fix after the lookup; retry with the current entry
+                    continue;
+                }
+                return advance(key, state, violating, complianceMarginMeters, nowMillis);
+            }
+        }
+    }
+
+    private Transition advance(Key key, PairState state, boolean violating, double complianceMarginMeters, long nowMillis) {
+        state.lastUpdate = nowMillis;
+        if (!state.inViolation) {
+            if (!violating) {
+                remove(key, state);
+                return null;
+            }
+            if (state.streak++ == 0) {
+                state.since = nowMillis;
+            }
+            if (state.streak >= enterFixes) {
+                state.inViolation = true;
+                state.streak = 0;
+                return Transition.ENTER;
+            }
+            return null;
+        }
+
+        if (!violating && complianceMarginMeters >= hysteresisMeters) {
+            if (++state.streak >= exitFixes) {
+                remove(key, state);
+                return Transition.EXIT;
+            }
+            return null;
+        }
+        // Still violating, or back inside the hysteresis band
+        state.streak = 0;
+        if (!state.dwellReported && nowMillis - state.since >= dwellMillis) {
+            state.dwellReported = true;
+            return Transition.DWELL;
+        }
+        return null;
+    }
+
+    private PairState newState(Key key) {
+        fencesByUav.computeIfAbsent(key.uavId, id -> ConcurrentHashMap.newKeySet()).add(key.geofenceId);
+        return new PairState();
+    }
+
+    private void remove(Key key, PairState state) {
+        state.removed = true;
+        untrack(key);
+        states.remove(key, state);
+    }
+
+    private void untrack(Key key) {
+        fencesByUav.computeIfPresent(key.uavId, (id, fences) -> {
+            fences.remove(key.geofenceId);
+            return fences.isEmpty() ? null : fences;
+        });
+    }
+
+    /**
+     * Fences with a current or pending violation for a UAV; they must be fed on every fix even when the
+     * spatial index no longer returns them, or their EXIT is never seen
+     */
+    public Set<Long> getTrackedGeofenceIds(int uavId) {
+        Set<Long> fences = fencesByUav.get(uavId);
+        return fences != null ? Set.copyOf(fences) : Set.of();
+    }
+
+    /**
+     * Time the current or pending violation of a pair started, or {@code Long.MIN_VALUE} if none
+     */
+    public long getViolationStart(int uavId, long geofenceId) {
+        PairState state = states.get(new Key(uavId, geofenceId));
+        return state == null ? Long.MIN_VALUE : state.since;
+    }
+
+    public boolean isInViolation(int uavId, long geofenceId) {
+        PairState state = states.get(new Key(uavId, geofenceId));
+        return state != null && state.inViolation;
+    }
+
+    /**
+     * Number of pairs currently in violation
+     */
+    public long countInViolation() {
+        return states.values().stream().filter(state -> state.inViolation).count();
+    }
+
+    /**
+     * Forget pairs not checked since {@code cutoffMillis}, e.g. the UAV stopped reporting or the fence
+     * was switched off; returns how many were dropped
+     */
+    public int evictStale(long cutoffMillis) {
+        int evicted = 0;
+        for (Iterator<Map.Entry<Key, PairState>> it = states.entrySet().iterator(); it.hasNext(); ) {
+            Map.Entry<Key, PairState> entry = it.next();
+            PairState state = entry.getValue();
+            if (state.lastUpdate < cutoffMillis) {
+                synchronized (state) {
+                    state.removed = true;
+                }
+                untrack(entry.getKey());
+                it.remove();
+                evicted++;
+            }
+        }
+        return evicted;
+    }
+
+    public int size() {
+        return states.size();
+    }
+
+    /**
+     * Distance on the permitted side of the fence, negative when violating. The fence is a prism, its
+     * shape extruded over its altitude band: being outside an INCLUSION prism or inside an EXCLUSION
+     * prism is a violation, so an EXCLUSION fence only applies within its band. An unknown altitude
+     * ignores the band. Horizontal distance is exact for circles and unknown (infinite) for other shapes.
+     */
+    public static double complianceMargin(Geofence geofence, double latitude, double longitude, Double altitude) {
+        double inside;
+        if (geofence.getFenceType() == Geofence.FenceType.CIRCULAR && geofence.getCenterLatitude() != null
+                && geofence.getCenterLongitude() != null && geofence.getRadiusMeters() != null) {
+            inside = geofence.getRadiusMeters()
+                - distanceMeters(geofence.getCenterLatitude(), geofence.getCenterLongitude(), latitude, longitude);
+        } else {
+            inside = geofence.isPointInside(latitude, longitude) ? Double.POSITIVE_INFINITY : Double.NEGATIVE_INFINITY;
+        }
+        double vertical = Double.POSITIVE_INFINITY;
+        if (altitude != null) {
+            if (geofence.getMinAltitudeMeters() != null) {
+                vertical = Math.min(vertical, altitude - geofence.getMinAltitudeMeters());
+            }
+            if (geofence.getMaxAltitudeMeters() != null) {
+                vertical = Math.min(vertical, geofence.getMaxAltitudeMeters() - altitude);
+            }
+        }
+        // Signed distance to the prism: depth inside it, or distance to its nearest face or edge outside
+        double depth = inside >= 0 && vertical >= 0
+            ? Math.min(inside, vertical)
+            : -Math.hypot(Math.max(-inside, 0), Math.max(-vertical, 0));
+
+        double margin = geofence.getBoundaryType() == Geofence.BoundaryType.EXCLUSION ? -depth : depth;
+        // A point exactly on the boundary counts as inside
+        if (margin == 0 && geofence.getBoundaryType() == Geofence.BoundaryType.EXCLUSION) {
+            margin = -Double.MIN_VALUE;
+        }
+        return margin;
+    }
+
+    private static double distanceMeters(double lat1, double lon1, double lat2, double lon2) {
+        double latDistance = Math.toRadians(lat2 - lat1);
+        double lonDistance = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(latDistance / 2) * Math.sin(latDistance / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                * Math.sin(lonDistance / 2) * Math.sin(lonDistance / 2);
+        return 6371000.0 * 2 * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
+    }
+
+    private record Key(int uavId, long geofenceId) {
+    }
+
+    private static final class PairState {
+        private boolean inViolation;
+        private boolean dwellReported;
+        private boolean removed;
+        /** Consecutive violating fixes before ENTER, or compliant fixes before EXIT */
+        private int streak;
+        private long since;
+        private volatile long lastUpdate;
+    }
+}
@@ -0,0 +1,107 @@
+package com.uav.dockingmanagement.service;
+
+import java.util.function.Consumer;
+
+/**
+ * Hashed timer wheel: timers are hashed by their deadline tick into a fixed ring of slots, so
+ * scheduling is O(1) and advancing one tick only touches the timers in one slot. Timers further
+ * away than one revolution stay in their slot until their own tick comes round.
+ *
+ * <p>Timers cannot be cancelled; callers drop stale timers when they fire, which keeps scheduling
+ * allocation-light and avoids unlinking. Not thread-safe; callers serialize access.</p>
+ *
+ * @param <T> timer payload
+ */
+public class HashedTimerWheel<T> {
+
+    private final long tickMillis;
+    private final int mask;
+    private final Timer<T>[] slots;
+    private long currentTick;
+    private int size;
+
+    /**
+     * @param tickMillis resolution of the wheel; timers fire up to one tick late
+     * @param slotCount number of slots, rounded up to a power of two
+     * @param startMillis time of the wheel's first tick
+     */
+    @SuppressWarnings("unchecked")
+    public HashedTimerWheel(long tickMillis, int slotCount, long startMillis) {
+        if (tickMillis <= 0 || slotCount <= 0) {
+            throw new IllegalArgumentException("Tick and slot count must be positive");
+        }
+        int slotsPowerOfTwo = Integer.highestOneBit(Math.max(1, slotCount - 1)) << 1;
+        this.tickMillis = tickMillis;
+        this.mask = slotsPowerOfTwo - 1;
+        this.slots = new Timer[slotsPowerOfTwo];
+        this.currentTick = Math.floorDiv(startMillis, tickMillis);
+    }
+
+    /**
+     * Schedule {@code payload} to fire at the first tick at or after {@code deadlineMillis};
+     * deadlines in the past fire on the next tick
+     */
+    public void schedule(T payload, long deadlineMillis) {
+        long tick = Math.max(Math.floorDiv(deadlineMillis + tickMillis - 1, tickMillis), currentTick + 1);
+        int slot = (int) (tick & mask);
+        slots[slot] = new Timer<>(payload, tick, slots[slot]);
+        size++;
+    }
+
+    /**
+     * Fire every timer whose tick is at or before {@code nowMillis}, in tick order unless the wheel
+     * fell more than a revolution behind. Timers scheduled by {@code expired} while advancing fire
+     * no earlier than the next tick.
+     */
+    public void advance(long nowMillis, Consumer<T> expired) {
+        long targetTick = Math.floorDiv(nowMillis, tickMillis);
+        if (targetTick - currentTick > slots.length) {
+            // Fell behind by more than a revolution: sweep each slot once
+            long sweptTick = currentTick;
+            currentTick = targetTick;
+            for (int i = 0; i < slots.length; i++) {
+                expireSlot((int) ((sweptTick + 1 + i) & mask), targetTick, expired);
+            }
+            return;
+        }
+        while (currentTick < targetTick) {
+            currentTick++;
+            expireSlot((int) (currentTick & mask), currentTick, expired);
+        }
+    }
+
+    /**
+     * Number of pending timers, including stale ones not yet fired
+     */
+    public int size() {
+        return size;
+    }
+
+    private void expireSlot(int slot, long upToTick, Consumer<T> expired) {
+        Timer<T> timer = slots[slot];
+        slots[slot] = null;
+        while (timer != null) {
+            Timer<T> next = timer.next;
+            if (timer.tick <= upToTick) {
+                size--;
+                expired.accept(timer.payload);
+            } else {
+                timer.next = slots[slot];
+                slots[slot] = timer;
+            }
+            timer = next;
+        }
+    }
+
+    private static final class Timer<T> {
+        private final T payload;
+        private final long tick;
+        private Timer<T> next;
+
+        private Timer(T payload, long tick, Timer<T> next) {
+            this.payload = payload;
+            this.tick = tick;
+            this.next = next;
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package com.uav.dockingmanagement.service;
+
+import com.uav.dockingmanagement.model.HibernatePod;
+import com.uav.dockingmanagement.model.UAV;
+import com.uav.dockingmanagement.repository.UAVRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Service for hibernate pod admission and release
+ * Reserves capacity atomically in {@link HibernatePod}, persists the assignment on the UAV
+ * and publishes a change event on /topic/hibernate-pod once the transaction commits.
+ * The in-memory reservation is undone if the transaction rolls back.
+ */
+@Service
+public class HibernatePodService {
+
+    private static final Logger logger = LoggerFactory.getLogger(HibernatePodService.class);
+
+    public enum PodOperationResult {
+        ADMITTED,
+        RELEASED,
+        UAV_NOT_FOUND,
+        ALREADY_HIBERNATING,
+        NOT_HIBERNATING,
+        UNKNOWN_POD,
+        POD_FULL
+    }
+
+    @Autowired
+    private HibernatePod hibernatePod;
+
+    @Autowired
+    private UAVRepository uavRepository;
+
+    @Autowired
+    private SimpMessagingTemplate messagingTemplate;
+
+    /**
+     * Admit a UAV into a hibernate pod
+     *
+     * @param uavId UAV identifier
+     * @param podId target pod, or null for the first pod with free capacity
+     */
+    @Transactional
+    public PodOperationResult admit(int uavId, String podId) {
+        Optional<UAV> uavOpt = uavRepository.findById(uavId);
+        if (uavOpt.isEmpty()) {
+            return PodOperationResult.UAV_NOT_FOUND;
+        }
+        UAV uav = uavOpt.get();
+        if (uav.isInHibernatePod() || hibernatePod.containsUAV(uavId)) {
+            return PodOperationResult.ALREADY_HIBERNATING;
+        }
+        if (podId != null && !hibernatePod.hasPod(podId)) {
+            return PodOperationResult.UNKNOWN_POD;
+        }
+
+        String assignedPodId = hibernatePod.admit(uavId, podId);
+        if (assignedPodId == null) {
+            return PodOperationResult.POD_FULL;
+        }
+        afterCompletion("ADMITTED", uavId, assignedPodId, () -> hibernatePod.release(uavId));
+
+        uav.setInHibernatePod(true);
+        uav.setHibernatePodId(assignedPodId);
+        uavRepository.save(uav);
+        logger.info("UAV {} admitted to hibernate pod {}", uavId, assignedPodId);
+        return PodOperationResult.ADMITTED;
+    }
+
+    /**
+     * Release a UAV from its hibernate pod
+     */
+    @Transactional
+    public PodOperationResult release(int uavId) {
+        Optional<UAV> uavOpt = uavRepository.findById(uavId);
+        if (uavOpt.isEmpty()) {
+            return PodOperationResult.UAV_NOT_FOUND;
+        }
+        UAV uav = uavOpt.get();
+        if (!uav.isInHibernatePod() && !hibernatePod.containsUAV(uavId)) {
+            return PodOperationResult.NOT_HIBERNATING;
+        }
+
+        String releasedPodId = hibernatePod.release(uavId);
+        if (releasedPodId != null) {
+            afterCompletion("RELEASED", uavId, releasedPodId, () -> {
+                if (hibernatePod.admit(uavId, releasedPodId) == null) {
+                    logger.warn("Could not restore UAV {} to hibernate pod {} after rollback", uavId, releasedPodId);
+                }
+            });
+        }
+
+        uav.setInHibernatePod(false);
+        uav.setHibernatePodId(null);
+        uavRepository.save(uav);
+        logger.info("UAV {} released from hibernate pod {}", uavId, releasedPodId);
+        return PodOperationResult.RELEASED;
+    }
+
+    /**
+     * Current status of all hibernate pods
+     */
+    public Map<String, Object> getPodStatus() {
+        Map<String, Object> status = new HashMap<>();
+        int current = hibernatePod.getCurrentCapacity();
+        int max = hibernatePod.getMaxCapacity();
+        status.put("currentCapacity", current);
+        status.put("maxCapacity", max);
+        status.put("availableCapacity", hibernatePod.getAvailableCapacity());
+        status.put("isFull", hibernatePod.isFull());
+        status.put("utilizationPercentage", max > 0 ? (current * 100.0) / max : 0.0);
+        status.put("uavIds", hibernatePod.getUAVIds());
+
+        List<Map<String, Object>> pods = new ArrayList<>();
+        for (String podId : hibernatePod.getPodIds()) {
+            Map<String, Object> pod = new HashMap<>();
+            pod.put("podId", podId);
+            pod.put("currentCapacity", hibernatePod.getPodOccupancy(podId));
+            pod.put("maxCapacity", hibernatePod.getPodCapacity(podId));
+            pod.put("uavIds", hibernatePod.getUAVIds(podId));
+            pods.add(pod);
+        }
+        status.put("pods", pods);
+        status.put("timestamp", LocalDateTime.now());
+        return status;
+    }
+
+    /**
+     * Publish on commit, or undo the in-memory change on rollback.
+     * Outside a transaction the event is published immediately.
+     */
+    private void afterCompletion(String eventType, int uavId, String podId, Runnable undo) {
+        TransactionHooks.afterCommit(() -> broadcastPodEvent(eventType, uavId, podId));
+        TransactionHooks.afterCompletion(status -> {
+            if (status != TransactionSynchronization.STATUS_COMMITTED) {
+                undo.run();
+            }
+        });
+    }
+
+    private void broadcastPodEvent(String eventType, int uavId, String podId) {
+        try {
+            Map<String, Object> event = getPodStatus();
+            event.put("type", "HIBERNATE_POD_EVENT");
+            event.put("eventType", eventType);
+            event.put("uavId", uavId);
+            event.put("podId", podId);
+            messagingTemplate.convertAndSend("/topic/hibernate-pod", event);
+        } catch (Exception e) {
+            logger.error("Error broadcasting hibernate pod event: {}", e.getMessage(), e);
+        }
+    }
+}
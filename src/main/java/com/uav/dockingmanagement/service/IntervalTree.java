@@ -0,0 +1,185 @@
+package com.uav.dockingmanagement.service;
+
+import java.util.List;
+
+/**
+ * Augmented interval tree over half-open intervals {@code [start, end)} of longs.
+ *
+ * <p>A treap ordered by (start, id), with priorities hashed from the id so the shape does not depend on
+ * insertion order; expected depth is O(log n). Every node carries the largest end in its subtree. An
+ * overlap query only descends into subtrees whose largest end reaches past the query start, and only
+ * right of nodes starting before the query end, so every subtree it enters to the left of the end holds
+ * at least one match: a query costs O(log n) plus at most one root path per match, and results come out
+ * ordered by start. Not thread-safe; callers serialize access.</p>
+ *
+ * @param <T> interval payload
+ */
+public class IntervalTree<T> {
+
+    private Node<T> root;
+    private int size;
+
+    /**
+     * Add an interval; {@code (start, id)} must not already be in the tree
+     */
+    public void insert(long id, long start, long end, T value) {
+        root = insert(root, new Node<>(id, start, end, value));
+        size++;
+    }
+
+    /**
+     * Remove the interval added with {@code (start, id)}
+     *
+     * @return false if there was none
+     */
+    public boolean remove(long id, long start) {
+        int before = size;
+        root = remove(root, id, start);
+        return size < before;
+    }
+
+    /**
+     * Add to {@code out} every interval containing {@code at}, ordered by start
+     */
+    public void stab(long at, List<T> out) {
+        overlap(at, at == Long.MAX_VALUE ? at : at + 1, out);
+    }
+
+    /**
+     * Add to {@code out} every interval overlapping {@code [from, to)}, ordered by start
+     */
+    public void overlap(long from, long to, List<T> out) {
+        if (from < to) {
+            collect(root, from, to, out);
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private void collect(Node<T> node, long from, long to, List<T> out) {
+        if (node == null || node.maxEnd <= from) {
+            return;
+        }
+        collect(node.left, from, to, out);
+        if (node.start < to) {
+            if (node.end > from) {
+                out.add(node.value);
+            }
+            collect(node.right, from, to, out);
+        }
+    }
+
+    private Node<T> insert(Node<T> node, Node<T> added) {
+        if (node == null) {
+            return added;
+        }
+        if (compare(added.start, added.id, node) < 0) {
+            node.left = insert(node.left, added);
+            if (node.left.priority > node.priority) {
+                node = rotateRight(node);
+            }
+        } else {
+            node.right = insert(node.right, added);
+            if (node.right.priority > node.priority) {
+                node = rotateLeft(node);
+            }
+        }
+        update(node);
+        return node;
+    }
+
+    private Node<T> remove(Node<T> node, long id, long start) {
+        if (node == null) {
+            return null;
+        }
+        int order = compare(start, id, node);
+        if (order == 0) {
+            size--;
+            return merge(node.left, node.right);
+        }
+        if (order < 0) {
+            node.left = remove(node.left, id, start);
+        } else {
+            node.right = remove(node.right, id, start);
+        }
+        update(node);
+        return node;
+    }
+
+    private Node<T> merge(Node<T> left, Node<T> right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            update(left);
+            return left;
+        }
+        right.left = merge(left, right.left);
+        update(right);
+        return right;
+    }
+
+    private Node<T> rotateRight(Node<T> node) {
+        Node<T> left = node.left;
+        node.left = left.right;
+        left.right = node;
+        update(node);
+        update(left);
+        return left;
+    }
+
+    private Node<T> rotateLeft(Node<T> node) {
+        Node<T> right = node.right;
+        node.right = right.left;
+        right.left = node;
+        update(node);
+        update(right);
+        return right;
+    }
+
+    private static void update(Node<?> node) {
+        long maxEnd = node.end;
+        if (node.left != null && node.left.maxEnd > maxEnd) {
+            maxEnd = node.left.maxEnd;
+        }
+        if (node.right != null && node.right.maxEnd > maxEnd) {
+            maxEnd = node.right.maxEnd;
+        }
+        node.maxEnd = maxEnd;
+    }
+
+    private static int compare(long start, long id, Node<?> node) {
+        int order = Long.compare(start, node.start);
+        return order != 0 ? order : Long.compare(id, node.id);
+    }
+
+    private static final class Node<T> {
+        private final long id;
+        private final long start;
+        private final long end;
+        private final T value;
+        private final int priority;
+        private long maxEnd;
+        private Node<T> left;
+        private Node<T> right;
+
+        private Node(long id, long start, long end, T value) {
+            this.id = id;
+            this.start = start;
+            this.end = end;
+            this.value = value;
+            this.maxEnd = end;
+            // SplitMix64 finalizer
+            long hash = id * 0x9E3779B97F4A7C15L;
+            hash = (hash ^ (hash >>> 30)) * 0xBF58476D1CE4E5B9L;
+            hash = (hash ^ (hash >>> 27)) * 0x94D049BB133111EBL;
+            this.priority = (int) (hash ^ (hash >>> 31));
+        }
+    }
+}
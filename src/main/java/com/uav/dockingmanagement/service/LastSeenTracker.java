@@ -0,0 +1,236 @@
+package com.uav.dockingmanagement.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Tracks when each UAV was last heard from and how many UAVs were heard from within each of a
+ * fixed set of windows, without scanning.
+ *
+ * <p>The configured windows and the lost-link timeout are merged into ascending thresholds
+ * {@code t[0] < t[1] < ... < t[n-1]}. A UAV silent for {@code s} is in tier {@code k} when
+ * {@code t[k-1] <= s < t[k]}, or tier {@code n} when it has been silent longer than every threshold.
+ * Tier counts are kept up to date, so the number of UAVs heard from within {@code t[k]} is the sum
+ * of tiers {@code 0..k}.</p>
+ *
+ * <p>Each UAV in a tier below {@code n} has one timer in a {@link HashedTimerWheel} at the time it
+ * would leave its tier. Recording a fix only stores the time, unless the UAV had already dropped out
+ * of tier 0; timers of UAVs that reported in the meantime are simply re-armed when they fire. Each UAV
+ * therefore costs one timer per {@code t[0]}, however often it reports.</p>
+ *
+ * <p>A UAV that is expected to report and stays silent past the lost-link timeout is reported once
+ * to the {@link Listener}, and again when it is heard from after that.</p>
+ */
+public class LastSeenTracker {
+
+    /**
+     * Receives link transitions; called while the tracker is locked, so keep it short
+     */
+    public interface Listener {
+        void onLinkLost(int uavId, long lastSeenMillis);
+
+        /**
+         * @param silentMillis length of the gap in reports
+         */
+        void onLinkRestored(int uavId, long silentMillis);
+    }
+
+    private final long[] thresholds;
+    private final int lostLinkTier;
+    private final long[] tierCounts;
+    private final int inactiveTier;
+    private final Listener listener;
+
+    private final Map<Integer, UavState> states = new ConcurrentHashMap<>();
+    private final HashedTimerWheel<Timer> wheel;
+
+    /**
+     * @param windowsMillis activity windows to count, in any order
+     * @param lostLinkMillis silence after which a reporting UAV is considered lost
+     * @param tickMillis timer resolution
+     */
+    public LastSeenTracker(long[] windowsMillis, long lostLinkMillis, long tickMillis, long startMillis,
+                           Listener listener) {
+        if (lostLinkMillis <= 0 || Arrays.stream(windowsMillis).anyMatch(window -> window <= 0)) {
+            throw new IllegalArgumentException("Windows and lost-link timeout must be positive");
+        }
+        long[] merged = Arrays.copyOf(windowsMillis, windowsMillis.length + 1);
+        merged[windowsMillis.length] = lostLinkMillis;
+        this.thresholds = Arrays.stream(merged).sorted().distinct().toArray();
+        this.lostLinkTier = Arrays.binarySearch(thresholds, lostLinkMillis);
+        this.inactiveTier = thresholds.length;
+        this.tierCounts = new long[thresholds.length];
+        this.listener = listener;
+
+        long longest = thresholds[thresholds.length - 1];
+        this.wheel = new HashedTimerWheel<>(tickMillis, (int) Math.min(1 << 16, longest / tickMillis + 1), startMillis);
+    }
+
+    /**
+     * Record that a UAV was heard from
+     *
+     * @param expectReports whether silence from this UAV should count as a lost link, e.g. it is airborne
+     */
+    public void record(int uavId, long seenMillis, long nowMillis, boolean expectReports) {
+        UavState state = states.computeIfAbsent(uavId, UavState::new);
+        state.expectReports = expectReports;
+        state.lastSeen.accumulateAndGet(seenMillis, Math::max);
+        // lastSeen is written before tier is read and the wheel reads lastSeen before writing tier,
+        // so either this thread sees the demotion or the wheel sees the new time
+        if (state.tier != 0) {
+            synchronized (this) {
+                retier(state, nowMillis, true);
+            }
+        }
+    }
+
+    /**
+     * Load a last-seen time from storage, without link events
+     */
+    public void seed(int uavId, long seenMillis, long nowMillis) {
+        UavState state = states.computeIfAbsent(uavId, UavState::new);
+        state.lastSeen.accumulateAndGet(seenMillis, Math::max);
+        synchronized (this) {
+            retier(state, nowMillis, false);
+        }
+    }
+
+    /**
+     * Fire due timers; call at least once per tick
+     */
+    public synchronized void advance(long nowMillis) {
+        wheel.advance(nowMillis, timer -> {
+            if (timer.generation == timer.state.generation) {
+                retier(timer.state, nowMillis, true);
+            }
+        });
+    }
+
+    /**
+     * Number of UAVs heard from within {@code windowMillis}. O(number of thresholds) for a
+     * configured window, a scan of all tracked UAVs otherwise.
+     */
+    public long countActive(long windowMillis, long nowMillis) {
+        int index = Arrays.binarySearch(thresholds, windowMillis);
+        if (index < 0) {
+            return states.values().stream().filter(state -> nowMillis - state.lastSeen.get() < windowMillis).count();
+        }
+        synchronized (this) {
+            long count = 0;
+            for (int tier = 0; tier <= index; tier++) {
+                count += tierCounts[tier];
+            }
+            return count;
+        }
+    }
+
+    /**
+     * Ids of the UAVs heard from within {@code windowMillis}
+     */
+    public List<Integer> findActive(long windowMillis, long nowMillis) {
+        List<Integer> ids = new ArrayList<>();
+        states.values().forEach(state -> {
+            if (nowMillis - state.lastSeen.get() < windowMillis) {
+                ids.add(state.uavId);
+            }
+        });
+        return ids;
+    }
+
+    /**
+     * Ids of the UAVs whose lost link has been reported and not restored
+     */
+    public synchronized List<Integer> findLostLinks() {
+        List<Integer> ids = new ArrayList<>();
+        states.values().forEach(state -> {
+            if (state.linkLost) {
+                ids.add(state.uavId);
+            }
+        });
+        return ids;
+    }
+
+    public synchronized long countLostLinks() {
+        return states.values().stream().filter(state -> state.linkLost).count();
+    }
+
+    public long getLastSeen(int uavId) {
+        UavState state = states.get(uavId);
+        return state == null ? Long.MIN_VALUE : state.lastSeen.get();
+    }
+
+    public int size() {
+        return states.size();
+    }
+
+    public synchronized int pendingTimers() {
+        return wheel.size();
+    }
+
+    public long[] getWindows() {
+        return thresholds.clone();
+    }
+
+    /**
+     * Move a UAV to the tier matching its silence and arm the timer for leaving it
+     */
+    private void retier(UavState state, long nowMillis, boolean notify) {
+        long lastSeen = state.lastSeen.get();
+        int tier = tierOf(nowMillis - lastSeen);
+
+        if (tier != state.tier) {
+            if (state.tier < inactiveTier) {
+                tierCounts[state.tier]--;
+            }
+            if (tier < inactiveTier) {
+                tierCounts[tier]++;
+            }
+            state.tier = tier;
+        }
+        state.generation++;
+        if (tier < inactiveTier) {
+            wheel.schedule(new Timer(state, state.generation), lastSeen + thresholds[tier]);
+        }
+
+        boolean lost = tier > lostLinkTier;
+        if (lost && !state.linkLost && notify && state.expectReports) {
+            state.linkLost = true;
+            state.lostAfter = lastSeen;
+            listener.onLinkLost(state.uavId, lastSeen);
+        } else if (!lost && state.linkLost) {
+            state.linkLost = false;
+            listener.onLinkRestored(state.uavId, lastSeen - state.lostAfter);
+        }
+    }
+
+    private int tierOf(long silentMillis) {
+        for (int tier = 0; tier < thresholds.length; tier++) {
+            if (silentMillis < thresholds[tier]) {
+                return tier;
+            }
+        }
+        return inactiveTier;
+    }
+
+    private final class UavState {
+        private final int uavId;
+        private final AtomicLong lastSeen = new AtomicLong(Long.MIN_VALUE / 2);
+        private volatile int tier = inactiveTier;
+        private volatile boolean expectReports;
+        private int generation;
+        private boolean linkLost;
+        /** Last-seen time when the lost link was reported */
+        private long lostAfter;
+
+        private UavState(int uavId) {
+            this.uavId = uavId;
+        }
+    }
+
+    private record Timer(UavState state, int generation) {
+    }
+}
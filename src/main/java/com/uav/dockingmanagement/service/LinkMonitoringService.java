@@ -0,0 +1,210 @@
+package com.uav.dockingmanagement.service;
+
+import com.uav.dockingmanagement.model.LocationHistory;
+import com.uav.dockingmanagement.model.UAV;
+import com.uav.dockingmanagement.repository.UAVRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Last-seen tracking of every UAV, fed from the location fix path.
+ *
+ * <p>Answers "how many UAVs reported within the last N minutes" for the configured windows from
+ * counters kept by a {@link LastSeenTracker}, and publishes {@code LOST_LINK} when an airborne UAV
+ * misses {@code uav.tracking.missed-reports-before-lost} expected reports, and {@code LINK_RESTORED}
+ * when it is heard from again. Last-seen times are seeded from the UAVs' last location update at startup.</p>
+ */
+@Service
+public class LinkMonitoringService implements LocationFixListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(LinkMonitoringService.class);
+
+    @Autowired
+    private UAVRepository uavRepository;
+
+    @Autowired
+    private SimpMessagingTemplate messagingTemplate;
+
+    @Value("${uav.tracking.expected-report-interval-seconds:10}")
+    private long expectedReportIntervalSeconds = 10;
+
+    @Value("${uav.tracking.missed-reports-before-lost:3}")
+    private int missedReportsBeforeLost = 3;
+
+    @Value("${uav.tracking.active-windows-minutes:1,5,15,30,60}")
+    private long[] activeWindowsMinutes = {1, 5, 15, 30, 60};
+
+    @Value("${uav.tracking.tick-ms:1000}")
+    private long tickMillis = 1000;
+
+    @Value("${uav.deconfliction.min-altitude-meters:5}")
+    private double minAirborneAltitudeMeters = 5;
+
+    private LastSeenTracker tracker;
+    private ScheduledExecutorService scheduler;
+
+    @PostConstruct
+    public void start() {
+        long[] windowsMillis = Arrays.stream(activeWindowsMinutes).map(TimeUnit.MINUTES::toMillis).toArray();
+        tracker = new LastSeenTracker(windowsMillis, getLostLinkTimeout().toMillis(), tickMillis,
+            System.currentTimeMillis(), new LinkListener());
+
+        try {
+            long now = System.currentTimeMillis();
+            for (UAV uav : uavRepository.findAllWithCurrentLocation()) {
+                if (uav.getLastLocationUpdate() != null) {
+                    tracker.seed(uav.getId(), toMillis(uav.getLastLocationUpdate()), now);
+                }
+            }
+            logger.info("Seeded last-seen times for {} UAVs", tracker.size());
+        } catch (Exception e) {
+            logger.error("Error seeding last-seen times: {}", e.getMessage(), e);
+        }
+
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "link-monitor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleAtFixedRate(this::safeAdvance, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+        logger.info("Link monitoring started: lost link after {} s, windows {} min",
+                   getLostLinkTimeout().toSeconds(), Arrays.toString(activeWindowsMinutes));
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    @Override
+    public void onLocationFix(UAV uav, LocationHistory fix) {
+        boolean airborne = uav.getOperationalStatus() == UAV.OperationalStatus.IN_FLIGHT
+            || (fix.getAltitudeMeters() != null && fix.getAltitudeMeters() >= minAirborneAltitudeMeters);
+        long now = System.currentTimeMillis();
+        tracker.record(uav.getId(), now, now, airborne);
+    }
+
+    /**
+     * Number of UAVs heard from within the window; constant time for the configured windows
+     */
+    public long countActive(Duration window) {
+        return tracker.countActive(window.toMillis(), System.currentTimeMillis());
+    }
+
+    /**
+     * Ids of the UAVs heard from within the window
+     */
+    public List<Integer> findActiveUavIds(Duration window) {
+        return tracker.findActive(window.toMillis(), System.currentTimeMillis());
+    }
+
+    /**
+     * Ids of the UAVs currently considered lost
+     */
+    public List<Integer> findLostLinkUavIds() {
+        return tracker.findLostLinks();
+    }
+
+    public long countLostLinks() {
+        return tracker.countLostLinks();
+    }
+
+    public Duration getLostLinkTimeout() {
+        return Duration.ofSeconds(expectedReportIntervalSeconds * missedReportsBeforeLost);
+    }
+
+    public Map<String, Object> getStatistics() {
+        long now = System.currentTimeMillis();
+        Map<String, Object> activeCounts = new HashMap<>();
+        for (long minutes : activeWindowsMinutes) {
+            activeCounts.put(minutes + "m", tracker.countActive(TimeUnit.MINUTES.toMillis(minutes), now));
+        }
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("trackedUAVs", tracker.size());
+        stats.put("activeCounts", activeCounts);
+        stats.put("lostLinkCount", tracker.countLostLinks());
+        stats.put("lostLinkTimeoutSeconds", getLostLinkTimeout().toSeconds());
+        stats.put("pendingTimers", tracker.pendingTimers());
+        stats.put("timestamp", LocalDateTime.now());
+        return stats;
+    }
+
+    private void safeAdvance() {
+        try {
+            tracker.advance(System.currentTimeMillis());
+        } catch (Exception e) {
+            logger.error("Error advancing link monitor: {}", e.getMessage(), e);
+        }
+    }
+
+    private static long toMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static LocalDateTime toLocalDateTime(long millis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), ZoneId.systemDefault());
+    }
+
+    /**
+     * Broadcasts link transitions; runs under the tracker lock, so only hands off to the broker
+     */
+    private class LinkListener implements LastSeenTracker.Listener {
+
+        @Override
+        public void onLinkLost(int uavId, long lastSeenMillis) {
+            try {
+                Map<String, Object> alert = new HashMap<>();
+                alert.put("type", "LOST_LINK");
+                alert.put("timestamp", LocalDateTime.now());
+                alert.put("uavId", uavId);
+                alert.put("lastSeen", toLocalDateTime(lastSeenMillis));
+                alert.put("severity", "HIGH");
+                alert.put("message", String.format("UAV %d has not reported for %d s",
+                    uavId, getLostLinkTimeout().toSeconds()));
+
+                messagingTemplate.convertAndSend("/topic/alerts", alert);
+                logger.warn("Lost link to UAV {}: last report at {}", uavId, toLocalDateTime(lastSeenMillis));
+            } catch (Exception e) {
+                logger.error("Error broadcasting lost link for UAV {}: {}", uavId, e.getMessage(), e);
+            }
+        }
+
+        @Override
+        public void onLinkRestored(int uavId, long silentMillis) {
+            try {
+                Map<String, Object> alert = new HashMap<>();
+                alert.put("type", "LINK_RESTORED");
+                alert.put("timestamp", LocalDateTime.now());
+                alert.put("uavId", uavId);
+                alert.put("silentSeconds", silentMillis / 1000);
+                alert.put("severity", "LOW");
+                alert.put("message", String.format("UAV %d is reporting again", uavId));
+
+                messagingTemplate.convertAndSend("/topic/alerts", alert);
+                logger.info("Link to UAV {} restored after {} s", uavId, silentMillis / 1000);
+            } catch (Exception e) {
+                logger.error("Error broadcasting link restoration for UAV {}: {}", uavId, e.getMessage(), e);
+            }
+        }
+    }
+}
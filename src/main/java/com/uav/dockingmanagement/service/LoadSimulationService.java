@@ -0,0 +1,311 @@
+package com.uav.dockingmanagement.service;
+
+import com.uav.dockingmanagement.model.LocationHistory;
+import com.uav.dockingmanagement.model.UAV;
+import com.uav.dockingmanagement.repository.UAVRepository;
+import jakarta.annotation.PreDestroy;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Load generator for capacity planning
+ * Drives a {@link FleetSimulator} fleet of virtual UAVs through the real ingestion path
+ * ({@link LocationService#recordLocation(UAV, LocationHistory)}) at a configurable per-UAV
+ * update rate and reports throughput and latency distributions.
+ *
+ * <p>Virtual UAVs are persisted once with RFID tags {@code SIM-<seed>-<index>} and reused by
+ * later runs with the same seed. A fix is dropped, not queued, when the UAV's previous fix is
+ * still being ingested or the worker queue is full, so the report shows the sustainable rate.</p>
+ */
+@Service
+public class LoadSimulationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoadSimulationService.class);
+
+    private static final int PROVISION_BATCH_SIZE = 1000;
+    private static final long MAX_TRACKED_LATENCY_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    @Autowired
+    private UAVRepository uavRepository;
+
+    @Autowired
+    private LocationService locationService;
+
+    @Value("${uav.simulation.load.worker-threads:8}")
+    private int workerThreads = 8;
+
+    @Value("${uav.simulation.load.queue-capacity:10000}")
+    private int queueCapacity = 10000;
+
+    private ScheduledExecutorService ticker;
+    private ThreadPoolExecutor workers;
+    private volatile Run currentRun;
+
+    /**
+     * Start a load run
+     *
+     * @param uavCount number of virtual UAVs
+     * @param updateRateHz fixes per second sent by each UAV
+     * @param seed simulation seed
+     * @param durationSeconds run length, 0 to run until stopped
+     * @param centerLatitude center of the operating area
+     * @param centerLongitude center of the operating area
+     * @param radiusMeters radius of the operating area
+     */
+    public synchronized Map<String, Object> start(int uavCount, double updateRateHz, long seed, int durationSeconds,
+                                                  double centerLatitude, double centerLongitude, double radiusMeters) {
+        if (currentRun != null && currentRun.running) {
+            throw new IllegalStateException("A load simulation is already running");
+        }
+        if (uavCount <= 0 || updateRateHz <= 0) {
+            throw new IllegalArgumentException("UAV count and update rate must be positive");
+        }
+
+        UAV[] uavs = provisionVirtualUAVs(uavCount, seed);
+        FleetSimulator simulator = new FleetSimulator(uavCount, seed, centerLatitude, centerLongitude, radiusMeters);
+        Run run = new Run(uavs, simulator, updateRateHz, seed, durationSeconds);
+        currentRun = run;
+
+        workers = new ThreadPoolExecutor(workerThreads, workerThreads, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity), daemonThreads("load-sim-worker"));
+        ticker = Executors.newSingleThreadScheduledExecutor(daemonThreads("load-sim-ticker"));
+        long periodMicros = Math.max(1L, Math.round(1_000_000.0 / updateRateHz));
+        ticker.scheduleAtFixedRate(() -> tick(run), 0L, periodMicros, TimeUnit.MICROSECONDS);
+
+        logger.info("Started load simulation: {} UAVs at {} Hz, seed {}", uavCount, updateRateHz, seed);
+        return getReport();
+    }
+
+    /**
+     * Stop the current run and return its final report
+     */
+    public synchronized Map<String, Object> stop() {
+        Run run = currentRun;
+        if (run != null && run.running) {
+            run.running = false;
+            run.stoppedAtNanos = System.nanoTime();
+            ticker.shutdownNow();
+            workers.shutdownNow();
+            logger.info("Stopped load simulation after {} fixes", run.completed.sum());
+        }
+        return getReport();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        stop();
+    }
+
+    public boolean isRunning() {
+        Run run = currentRun;
+        return run != null && run.running;
+    }
+
+    /**
+     * Throughput and latency report for the current or last run
+     */
+    public Map<String, Object> getReport() {
+        Map<String, Object> report = new HashMap<>();
+        Run run = currentRun;
+        if (run == null) {
+            report.put("running", false);
+            return report;
+        }
+        long endNanos = run.running ? System.nanoTime() : run.stoppedAtNanos;
+        double elapsedSeconds = Math.max(1e-9, (endNanos - run.startedAtNanos) / 1e9);
+        long completed = run.completed.sum();
+
+        report.put("running", run.running);
+        report.put("uavCount", run.uavs.length);
+        report.put("updateRateHz", run.updateRateHz);
+        report.put("seed", run.seed);
+        report.put("elapsedSeconds", elapsedSeconds);
+        report.put("ticks", run.ticks.get());
+        report.put("targetFixesPerSecond", run.uavs.length * run.updateRateHz);
+        report.put("fixesSubmitted", run.submitted.sum());
+        report.put("fixesCompleted", completed);
+        report.put("fixesFailed", run.failed.sum());
+        report.put("fixesDropped", run.dropped.sum());
+        report.put("throughputFixesPerSecond", completed / elapsedSeconds);
+        report.put("averageStepMillis", run.ticks.get() > 0 ? run.stepNanos.sum() / 1e6 / run.ticks.get() : 0.0);
+        report.put("serviceLatencyMillis", percentiles(run.serviceLatency));
+        report.put("endToEndLatencyMillis", percentiles(run.endToEndLatency));
+        report.put("timestamp", LocalDateTime.now());
+        return report;
+    }
+
+    private void tick(Run run) {
+        try {
+            if (!run.running) {
+                return;
+            }
+            if (run.durationSeconds > 0
+                && System.nanoTime() - run.startedAtNanos >= TimeUnit.SECONDS.toNanos(run.durationSeconds)) {
+                stop();
+                return;
+            }
+
+            long stepStart = System.nanoTime();
+            FleetSimulator simulator = run.simulator;
+            simulator.step(1.0 / run.updateRateHz);
+            run.stepNanos.add(System.nanoTime() - stepStart);
+            run.ticks.incrementAndGet();
+
+            for (int i = 0; i < simulator.size(); i++) {
+                if (!run.inFlight.compareAndSet(i, 0, 1)) {
+                    run.dropped.increment();
+                    continue;
+                }
+                UAV uav = run.uavs[i];
+                LocationHistory fix = new LocationHistory(uav, simulator.latitude(i), simulator.longitude(i), simulator.altitude(i));
+                fix.setSpeedKmh(simulator.speedKmh(i));
+                fix.setHeadingDegrees(simulator.headingDegrees(i));
+                fix.setBatteryLevel(simulator.batteryLevel(i));
+                fix.setLocationSource(LocationHistory.LocationSource.GPS);
+                int index = i;
+                long enqueuedAt = System.nanoTime();
+                try {
+                    workers.execute(() -> ingest(run, index, uav, fix, enqueuedAt));
+                    run.submitted.increment();
+                } catch (RejectedExecutionException e) {
+                    run.inFlight.set(i, 0);
+                    run.dropped.increment();
+                }
+            }
+        } catch (Exception e) {
+            logger.error("Error in load simulation tick: {}", e.getMessage(), e);
+        }
+    }
+
+    private void ingest(Run run, int index, UAV uav, LocationHistory fix, long enqueuedAt) {
+        long start = System.nanoTime();
+        try {
+            locationService.recordLocation(uav, fix);
+            run.completed.increment();
+        } catch (Exception e) {
+            run.failed.increment();
+            logger.debug("Load simulation fix for UAV {} failed: {}", uav.getId(), e.getMessage());
+        } finally {
+            long end = System.nanoTime();
+            run.serviceLatency.recordValue(Math.min(MAX_TRACKED_LATENCY_MICROS, (end - start) / 1000));
+            run.endToEndLatency.recordValue(Math.min(MAX_TRACKED_LATENCY_MICROS, (end - enqueuedAt) / 1000));
+            run.inFlight.set(index, 0);
+        }
+    }
+
+    /**
+     * Load or create the virtual UAV rows for a seed, indexed by their position in the fleet
+     */
+    private UAV[] provisionVirtualUAVs(int uavCount, long seed) {
+        String prefix = "SIM-" + seed + "-";
+        UAV[] uavs = new UAV[uavCount];
+        for (UAV existing : uavRepository.findByRfidTagStartingWith(prefix)) {
+            try {
+                int index = Integer.parseInt(existing.getRfidTag().substring(prefix.length()));
+                if (index >= 0 && index < uavCount) {
+                    uavs[index] = existing;
+                }
+            } catch (NumberFormatException ignored) {
+                // Not one of ours
+            }
+        }
+
+        List<UAV> batch = new ArrayList<>();
+        List<Integer> batchIndexes = new ArrayList<>();
+        for (int i = 0; i < uavCount; i++) {
+            if (uavs[i] != null) {
+                continue;
+            }
+            UAV uav = new UAV();
+            uav.setRfidTag(prefix + i);
+            uav.setOwnerName("Load Simulation");
+            uav.setModel("Virtual");
+            uav.setStatus(UAV.Status.AUTHORIZED);
+            uav.setOperationalStatus(UAV.OperationalStatus.IN_FLIGHT);
+            uav.setInHibernatePod(false);
+            batch.add(uav);
+            batchIndexes.add(i);
+            if (batch.size() == PROVISION_BATCH_SIZE || i == uavCount - 1) {
+                List<UAV> saved = uavRepository.saveAll(batch);
+                for (int k = 0; k < saved.size(); k++) {
+                    uavs[batchIndexes.get(k)] = saved.get(k);
+                }
+                batch.clear();
+                batchIndexes.clear();
+            }
+        }
+        return uavs;
+    }
+
+    private static Map<String, Object> percentiles(Histogram histogram) {
+        Map<String, Object> result = new HashMap<>();
+        result.put("count", histogram.getTotalCount());
+        result.put("p50", histogram.getValueAtPercentile(50.0) / 1000.0);
+        result.put("p90", histogram.getValueAtPercentile(90.0) / 1000.0);
+        result.put("p99", histogram.getValueAtPercentile(99.0) / 1000.0);
+        result.put("p999", histogram.getValueAtPercentile(99.9) / 1000.0);
+        result.put("max", histogram.getMaxValue() / 1000.0);
+        result.put("mean", histogram.getMean() / 1000.0);
+        return result;
+    }
+
+    private static ThreadFactory daemonThreads(String name) {
+        AtomicLong counter = new AtomicLong();
+        return runnable -> {
+            Thread thread = new Thread(runnable, name + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private static final class Run {
+        private final UAV[] uavs;
+        private final FleetSimulator simulator;
+        private final double updateRateHz;
+        private final long seed;
+        private final int durationSeconds;
+        private final long startedAtNanos = System.nanoTime();
+        private volatile long stoppedAtNanos;
+        private volatile boolean running = true;
+
+        private final AtomicIntegerArray inFlight;
+        private final AtomicLong ticks = new AtomicLong();
+        private final LongAdder stepNanos = new LongAdder();
+        private final LongAdder submitted = new LongAdder();
+        private final LongAdder completed = new LongAdder();
+        private final LongAdder failed = new LongAdder();
+        private final LongAdder dropped = new LongAdder();
+        private final ConcurrentHistogram serviceLatency = new ConcurrentHistogram(MAX_TRACKED_LATENCY_MICROS, 3);
+        private final ConcurrentHistogram endToEndLatency = new ConcurrentHistogram(MAX_TRACKED_LATENCY_MICROS, 3);
+
+        private Run(UAV[] uavs, FleetSimulator simulator, double updateRateHz, long seed, int durationSeconds) {
+            this.uavs = uavs;
+            this.simulator = simulator;
+            this.updateRateHz = updateRateHz;
+            this.seed = seed;
+            this.durationSeconds = durationSeconds;
+            this.inFlight = new AtomicIntegerArray(uavs.length);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.uav.dockingmanagement.service;
+
+import com.uav.dockingmanagement.model.LocationHistory;
+import com.uav.dockingmanagement.model.UAV;
+
+/**
+ * Callback for components that track live UAV state from accepted position fixes.
+ *
+ * <p>Listeners are invoked by {@link LocationService#recordLocation(UAV, LocationHistory)}
+ * on the ingesting thread after the fix has been stored, so implementations must be
+ * thread-safe and must not block.</p>
+ */
+public interface LocationFixListener {
+
+    /**
+     * Called once for every accepted fix.
+     *
+     * @param uav the UAV the fix belongs to, with its current location already updated
+     * @param fix the stored location record
+     */
+    void onLocationFix(UAV uav, LocationHistory fix);
+}
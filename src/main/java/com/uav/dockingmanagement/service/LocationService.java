@@ -12,11 +12,14 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 
 /**
  * Service class for location-related operations
@@ -39,6 +42,24 @@ public class LocationService {
     @Autowired
     private SimpMessagingTemplate messagingTemplate;
 
+    @Autowired
+    private List<LocationFixListener> fixListeners = new ArrayList<>();
+
+    @Autowired
+    private RecentFixCache recentFixCache;
+
+    @Autowired
+    private LinkMonitoringService linkMonitoringService;
+
+    @Autowired
+    private BatteryStateService batteryStateService;
+
+    @Autowired
+    private GeofenceActivationService geofenceActivationService;
+
+    @Autowired
+    private GeofenceViolationService geofenceViolationService;
+
     /**
      * Get location history for UAV (simple version for tests)
      */
@@ -200,7 +221,7 @@ public class LocationService {
                 locationData.put("inHibernatePod", uav.isInHibernatePod());
                 
                 // Get latest location history for additional data
-                locationHistoryRepository.findLatestLocationByUavId(uav.getId())
+                findLatestFix(uav.getId())
                     .ifPresent(history -> {
                         locationData.put("speed", history.getSpeedKmh());
                         locationData.put("heading", history.getHeadingDegrees());
@@ -225,107 +246,108 @@ public class LocationService {
      */
     public void updateUAVLocation(UAV uav, Double latitude, Double longitude, Double altitude) {
         try {
-            // Update UAV current location
-            uav.setCurrentLatitude(latitude);
-            uav.setCurrentLongitude(longitude);
-            uav.setCurrentAltitudeMeters(altitude);
-            uav.setLastLocationUpdate(LocalDateTime.now());
-            uavRepository.save(uav);
+            recordLocation(uav, new LocationHistory(uav, latitude, longitude, altitude));
+        } catch (Exception e) {
+            logger.error("Error updating UAV location: {}", e.getMessage(), e);
+        }
+    }
 
-            // Create location history record
-            LocationHistory locationHistory = new LocationHistory(uav, latitude, longitude, altitude);
-            locationHistoryRepository.save(locationHistory);
+    /**
+     * Single ingestion path for a position fix.
+     * Updates the UAV's current location, stores the fix, checks geofences,
+     * broadcasts the update and notifies the registered {@link LocationFixListener}s.
+     */
+    public LocationHistory recordLocation(UAV uav, LocationHistory fix) {
+        LocalDateTime now = LocalDateTime.now();
+        if (fix.getTimestamp() == null) {
+            fix.setTimestamp(now);
+        }
+        fix.setUav(uav);
+
+        // Update UAV current location
+        uav.setCurrentLatitude(fix.getLatitude());
+        uav.setCurrentLongitude(fix.getLongitude());
+        uav.setCurrentAltitudeMeters(fix.getAltitudeMeters());
+        uav.setLastLocationUpdate(now);
+        uavRepository.save(uav);
+
+        // Create location history record
+        LocationHistory saved = locationHistoryRepository.save(fix);
+        if (saved == null) {
+            saved = fix;
+        }
 
-            // Check geofences
-            checkGeofenceViolations(uav, latitude, longitude, altitude);
+        // Check geofences
+        checkGeofenceViolations(uav, fix.getLatitude(), fix.getLongitude(), fix.getAltitudeMeters());
 
-            // Broadcast location update via WebSocket
-            broadcastLocationUpdate(uav);
+        // Broadcast location update via WebSocket
+        broadcastLocationUpdate(uav, saved);
 
-            logger.debug("Updated location for UAV {}: {}, {}", uav.getRfidTag(), latitude, longitude);
-            
-        } catch (Exception e) {
-            logger.error("Error updating UAV location: {}", e.getMessage(), e);
+        for (LocationFixListener listener : fixListeners) {
+            try {
+                listener.onLocationFix(uav, saved);
+            } catch (Exception e) {
+                logger.error("Location fix listener {} failed for UAV {}: {}",
+                           listener.getClass().getSimpleName(), uav.getId(), e.getMessage(), e);
+            }
         }
+
+        logger.debug("Updated location for UAV {}: {}, {}", uav.getRfidTag(), fix.getLatitude(), fix.getLongitude());
+        return saved;
     }
 
     /**
-     * Check geofence violations for UAV location
+     * Latest fix for a UAV, from the recent fix buffers
+     */
+    private Optional<LocationHistory> findLatestFix(Integer uavId) {
+        return recentFixCache.findLatest(uavId);
+    }
+
+    /**
+     * Check geofence violations for UAV location. Fences are prisms over their altitude band; with the
+     * live index only the fences whose prism may contain the UAV, the INCLUSION fences and the fences
+     * the UAV is being tracked against are evaluated.
      */
     public void checkGeofenceViolations(UAV uav, Double latitude, Double longitude, Double altitude) {
         try {
-            List<Geofence> activeGeofences = geofenceRepository.findCurrentlyActiveGeofences(LocalDateTime.now());
-            
-            for (Geofence geofence : activeGeofences) {
-                boolean isInside = geofence.isPointInside(latitude, longitude);
-                boolean isViolation = false;
-                
-                // Check for violations based on boundary type
-                if (geofence.getBoundaryType() == Geofence.BoundaryType.INCLUSION && !isInside) {
-                    isViolation = true; // UAV should be inside but is outside
-                } else if (geofence.getBoundaryType() == Geofence.BoundaryType.EXCLUSION && isInside) {
-                    isViolation = true; // UAV should be outside but is inside
-                }
-                
-                // Check altitude constraints if specified
-                if (!isViolation && altitude != null) {
-                    if (geofence.getMinAltitudeMeters() != null && altitude < geofence.getMinAltitudeMeters()) {
-                        isViolation = true;
-                    }
-                    if (geofence.getMaxAltitudeMeters() != null && altitude > geofence.getMaxAltitudeMeters()) {
-                        isViolation = true;
-                    }
-                }
-                
-                if (isViolation) {
-                    handleGeofenceViolation(uav, geofence, latitude, longitude, altitude);
-                }
+            // Alerts and counters only on ENTER/DWELL/EXIT transitions of each (UAV, fence) pair
+            for (Geofence geofence : candidateGeofences(uav, latitude, longitude, altitude)) {
+                double margin = GeofenceViolationTracker.complianceMargin(geofence, latitude, longitude, altitude);
+                geofenceViolationService.onCheck(uav, geofence, margin, latitude, longitude, altitude);
             }
-            
         } catch (Exception e) {
             logger.error("Error checking geofence violations for UAV {}: {}", uav.getRfidTag(), e.getMessage(), e);
         }
     }
 
     /**
-     * Handle geofence violation
+     * Live fences that may be violated at a position, plus those with a current or pending violation
+     * for the UAV so that leaving them is seen
      */
-    private void handleGeofenceViolation(UAV uav, Geofence geofence, Double latitude, Double longitude, Double altitude) {
-        try {
-            // Record violation
-            geofence.recordViolation();
-            geofenceRepository.save(geofence);
-
-            // Create violation alert
-            Map<String, Object> violationAlert = new HashMap<>();
-            violationAlert.put("type", "GEOFENCE_VIOLATION");
-            violationAlert.put("timestamp", LocalDateTime.now());
-            violationAlert.put("uavId", uav.getId());
-            violationAlert.put("uavRfidTag", uav.getRfidTag());
-            violationAlert.put("geofenceId", geofence.getId());
-            violationAlert.put("geofenceName", geofence.getName());
-            violationAlert.put("boundaryType", geofence.getBoundaryType());
-            violationAlert.put("violationAction", geofence.getViolationAction());
-            violationAlert.put("latitude", latitude);
-            violationAlert.put("longitude", longitude);
-            violationAlert.put("altitude", altitude);
-            violationAlert.put("priorityLevel", geofence.getPriorityLevel());
-
-            // Broadcast violation alert
-            messagingTemplate.convertAndSend("/topic/geofence-violations", violationAlert);
-
-            logger.warn("Geofence violation detected - UAV: {}, Geofence: {}, Location: {}, {}",
-                       uav.getRfidTag(), geofence.getName(), latitude, longitude);
-            
-        } catch (Exception e) {
-            logger.error("Error handling geofence violation: {}", e.getMessage(), e);
+    private List<Geofence> candidateGeofences(UAV uav, Double latitude, Double longitude, Double altitude) {
+        GeofenceIndex index = geofenceActivationService.getLiveIndex();
+        // A raster cell where no fence can be violated needs no fence at all, usually a single array read
+        List<Geofence> candidates = geofenceActivationService.getLiveRaster().stateAt(latitude, longitude)
+                == AirspaceRaster.State.ALLOWED
+            ? List.of() : index.violationCandidates(latitude, longitude, altitude);
+        Set<Long> tracked = geofenceViolationService.getTrackedGeofenceIds(uav.getId());
+        if (tracked.isEmpty()) {
+            return candidates;
+        }
+        List<Geofence> result = new ArrayList<>(candidates);
+        for (Long geofenceId : tracked) {
+            GeofenceIndex.IndexedFence fence = index.get(geofenceId);
+            if (fence != null && !candidates.contains(fence.getGeofence())) {
+                result.add(fence.getGeofence());
+            }
         }
+        return result;
     }
 
     /**
      * Broadcast location update via WebSocket
      */
-    private void broadcastLocationUpdate(UAV uav) {
+    private void broadcastLocationUpdate(UAV uav, LocationHistory fix) {
         try {
             Map<String, Object> locationUpdate = new HashMap<>();
             locationUpdate.put("type", "LOCATION_UPDATE");
@@ -335,6 +357,9 @@ public class LocationService {
             locationUpdate.put("latitude", uav.getCurrentLatitude());
             locationUpdate.put("longitude", uav.getCurrentLongitude());
             locationUpdate.put("altitude", uav.getCurrentAltitudeMeters());
+            locationUpdate.put("speed", fix.getSpeedKmh());
+            locationUpdate.put("heading", fix.getHeadingDegrees());
+            locationUpdate.put("batteryLevel", fix.getBatteryLevel());
             locationUpdate.put("status", uav.getStatus());
             locationUpdate.put("operationalStatus", uav.getOperationalStatus());
 
@@ -468,9 +493,9 @@ public class LocationService {
             LocalDateTime now = LocalDateTime.now();
             LocalDateTime oneHourAgo = now.minusHours(1);
             
-            // Get active UAVs count
-            List<UAV> activeUAVs = locationHistoryRepository.findActiveUAVsSince(oneHourAgo);
-            dashboardData.put("activeUAVsCount", activeUAVs.size());
+            // Get active UAVs count, from the last-seen tracker
+            dashboardData.put("activeUAVsCount", linkMonitoringService.countActive(Duration.ofHours(1)));
+            dashboardData.put("lostLinkUAVsCount", linkMonitoringService.countLostLinks());
             
             // Get current locations
             List<Map<String, Object>> currentLocations = getCurrentUAVLocations();
@@ -480,9 +505,8 @@ public class LocationService {
             List<Geofence> recentViolations = geofenceRepository.findGeofencesWithRecentViolations(oneHourAgo);
             dashboardData.put("recentViolationsCount", recentViolations.size());
             
-            // Get low battery UAVs
-            List<LocationHistory> lowBatteryLocations = locationHistoryRepository.findLowBatteryLocations(20);
-            dashboardData.put("lowBatteryUAVsCount", lowBatteryLocations.size());
+            // Get low battery UAVs, by their latest charge
+            dashboardData.put("lowBatteryUAVsCount", batteryStateService.countChargeBelow(20));
             
             dashboardData.put("timestamp", now);
             
@@ -4,7 +4,6 @@ import com.uav.dockingmanagement.model.BatteryStatus;
 import com.uav.dockingmanagement.model.FlightLog;
 import com.uav.dockingmanagement.model.HibernatePod;
 import com.uav.dockingmanagement.model.UAV;
-import com.uav.dockingmanagement.repository.BatteryStatusRepository;
 import com.uav.dockingmanagement.repository.FlightLogRepository;
 import com.uav.dockingmanagement.repository.UAVRepository;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -39,7 +38,7 @@ public class RealTimeMonitoringService {
     private FlightLogRepository flightLogRepository;
 
     @Autowired
-    private BatteryStatusRepository batteryStatusRepository;
+    private BatteryStateService batteryStateService;
 
     @Autowired
     private HibernatePod hibernatePod;
@@ -113,9 +112,9 @@ public class RealTimeMonitoringService {
     @Scheduled(fixedRate = 60000) // 60 seconds
     public void broadcastBatteryAlerts() {
         try {
-            List<BatteryStatus> lowBatteryUAVs = batteryStatusRepository.findLowBatteryUAVs(20);
-            List<BatteryStatus> criticalBatteryUAVs = batteryStatusRepository.findCriticalBatteryUAVs();
-            List<BatteryStatus> overheatingBatteries = batteryStatusRepository.findOverheatingBatteries(60.0);
+            List<BatteryStateIndex.BatteryState> lowBatteryUAVs = batteryStateService.findChargeBelow(20);
+            List<BatteryStateIndex.BatteryState> criticalBatteryUAVs = batteryStateService.findChargeBelow(10);
+            List<BatteryStateIndex.BatteryState> overheatingBatteries = batteryStateService.findTemperatureAbove(60.0);
             
             Map<String, Object> batteryAlerts = new HashMap<>();
             batteryAlerts.put("lowBattery", lowBatteryUAVs.size());
@@ -125,9 +124,9 @@ public class RealTimeMonitoringService {
             
             if (!lowBatteryUAVs.isEmpty() || !criticalBatteryUAVs.isEmpty() || !overheatingBatteries.isEmpty()) {
                 batteryAlerts.put("details", Map.of(
-                    "lowBatteryUAVs", lowBatteryUAVs.stream().map(b -> b.getUav().getRfidTag()).toList(),
-                    "criticalBatteryUAVs", criticalBatteryUAVs.stream().map(b -> b.getUav().getRfidTag()).toList(),
-                    "overheatingUAVs", overheatingBatteries.stream().map(b -> b.getUav().getRfidTag()).toList()
+                    "lowBatteryUAVs", lowBatteryUAVs.stream().map(this::describe).toList(),
+                    "criticalBatteryUAVs", criticalBatteryUAVs.stream().map(this::describe).toList(),
+                    "overheatingUAVs", overheatingBatteries.stream().map(this::describe).toList()
                 ));
                 
                 messagingTemplate.convertAndSend("/topic/battery-alerts", batteryAlerts);
@@ -170,38 +169,6 @@ public class RealTimeMonitoringService {
         }
     }
 
-    /**
-     * Send hibernate pod status updates every 20 seconds
-     */
-    @Scheduled(fixedRate = 20000) // 20 seconds
-    public void broadcastHibernatePodStatus() {
-        try {
-            Map<String, Object> podStatus = new HashMap<>();
-            podStatus.put("currentCapacity", hibernatePod.getCurrentCapacity());
-            podStatus.put("maxCapacity", hibernatePod.getMaxCapacity());
-            podStatus.put("availableCapacity", hibernatePod.getAvailableCapacity());
-            podStatus.put("isFull", hibernatePod.isFull());
-            podStatus.put("utilizationPercentage", (hibernatePod.getCurrentCapacity() * 100.0) / hibernatePod.getMaxCapacity());
-            podStatus.put("timestamp", LocalDateTime.now());
-            
-            // Add UAV details in hibernate pod
-            podStatus.put("uavs", hibernatePod.getUAVs().stream().map(uav -> {
-                Map<String, Object> uavInfo = new HashMap<>();
-                uavInfo.put("id", uav.getId());
-                uavInfo.put("rfidTag", uav.getRfidTag());
-                uavInfo.put("model", uav.getModel());
-                uavInfo.put("ownerName", uav.getOwnerName());
-                return uavInfo;
-            }).toList());
-            
-            messagingTemplate.convertAndSend("/topic/hibernate-pod", podStatus);
-            logger.debug("Broadcasted hibernate pod status: {}/{} capacity", 
-                        hibernatePod.getCurrentCapacity(), hibernatePod.getMaxCapacity());
-        } catch (Exception e) {
-            logger.error("Error broadcasting hibernate pod status: {}", e.getMessage());
-        }
-    }
-
     /**
      * Send custom notification to specific user
      */
@@ -296,17 +263,12 @@ public class RealTimeMonitoringService {
         flightStats.put("todayCompleted", completedToday);
         flightStats.put("active", activeFlights);
         
-        // Battery statistics
-        List<BatteryStatus> allBatteries = batteryStatusRepository.findAll();
-        long lowBatteryCount = batteryStatusRepository.findLowBatteryUAVs(20).size();
-        long criticalBatteryCount = batteryStatusRepository.findCriticalBatteryUAVs().size();
-        long chargingCount = batteryStatusRepository.findByIsChargingTrueOrderByLastUpdatedDesc().size();
-        
+        // Battery statistics from the live battery index
         Map<String, Object> batteryStats = new HashMap<>();
-        batteryStats.put("total", allBatteries.size());
-        batteryStats.put("lowBattery", lowBatteryCount);
-        batteryStats.put("critical", criticalBatteryCount);
-        batteryStats.put("charging", chargingCount);
+        batteryStats.put("total", batteryStateService.countTracked());
+        batteryStats.put("lowBattery", batteryStateService.countChargeBelow(20));
+        batteryStats.put("critical", batteryStateService.countChargeBelow(10));
+        batteryStats.put("charging", batteryStateService.countCharging());
         
         // System health
         Map<String, Object> systemHealth = new HashMap<>();
@@ -322,4 +284,11 @@ public class RealTimeMonitoringService {
         
         return stats;
     }
+
+    /**
+     * RFID tag of a UAV in battery alerts, or its id when the tag is not known yet
+     */
+    private String describe(BatteryStateIndex.BatteryState state) {
+        return state.getRfidTag() != null ? state.getRfidTag() : "UAV " + state.getUavId();
+    }
 }
@@ -16,6 +16,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * Service for simulating real-time UAV movements and updates
@@ -41,8 +42,10 @@ public class RealTimeSimulationService {
     @Autowired
     private SimpMessagingTemplate messagingTemplate;
 
-    private final Random random = new Random();
-    private boolean simulationEnabled = true;
+    @Autowired
+    private RecentFixCache recentFixCache;
+
+    private volatile boolean simulationEnabled = true;
 
     /**
      * Simulate UAV movements every 10 seconds
@@ -54,8 +57,8 @@ public class RealTimeSimulationService {
         }
 
         try {
-            List<UAV> activeUAVs = uavRepository.findAll().stream()
-                .filter(uav -> uav.hasLocationData() && 
+            List<UAV> activeUAVs = uavRepository.findAllWithCurrentLocation().stream()
+                .filter(uav -> uav.getCurrentAltitudeMeters() != null &&
                               uav.getOperationalStatus() != UAV.OperationalStatus.HIBERNATING &&
                               uav.getOperationalStatus() != UAV.OperationalStatus.OUT_OF_SERVICE)
                 .toList();
@@ -95,29 +98,19 @@ public class RealTimeSimulationService {
             // Ensure altitude stays within reasonable bounds
             newAlt = Math.max(5.0, Math.min(120.0, newAlt));
 
-            // Update UAV location
-            uav.setCurrentLatitude(newLat);
-            uav.setCurrentLongitude(newLon);
-            uav.setCurrentAltitudeMeters(newAlt);
-            uav.setLastLocationUpdate(LocalDateTime.now());
-            uavRepository.save(uav);
+            Random random = random();
 
             // Create location history entry
             LocationHistory locationHistory = new LocationHistory(uav, newLat, newLon, newAlt);
-            locationHistory.setSpeedKmh(pattern.speed + (random.nextGaussian() * 5));
+            locationHistory.setSpeedKmh(Math.max(0.0, pattern.speed + (random.nextGaussian() * 5)));
             locationHistory.setHeadingDegrees(pattern.heading);
             locationHistory.setBatteryLevel(simulateBatteryLevel(uav));
             locationHistory.setLocationSource(LocationHistory.LocationSource.GPS);
             locationHistory.setAccuracyMeters(random.nextDouble() * 3 + 1);
             locationHistory.setSignalStrength(random.nextInt(20) + 80);
 
-            locationHistoryRepository.save(locationHistory);
-
-            // Check geofences
-            locationService.checkGeofenceViolations(uav, newLat, newLon, newAlt);
-
-            // Broadcast location update
-            broadcastLocationUpdate(uav, locationHistory);
+            // Store, check geofences and broadcast through the shared ingestion path
+            locationService.recordLocation(uav, locationHistory);
 
         } catch (Exception e) {
             logger.error("Error simulating movement for UAV {}: {}", uav.getRfidTag(), e.getMessage(), e);
@@ -128,6 +121,7 @@ public class RealTimeSimulationService {
      * Get movement pattern based on operational status
      */
     private MovementPattern getMovementPattern(UAV.OperationalStatus status) {
+        Random random = random();
         switch (status) {
             case IN_FLIGHT:
                 return new MovementPattern(
@@ -166,6 +160,7 @@ public class RealTimeSimulationService {
         double newLat = lat + pattern.latChange;
         double newLon = lon + pattern.lonChange;
         double newAlt = alt + pattern.altChange;
+        Random random = random();
 
         // Add some randomness to make movement more realistic
         newLat += (random.nextGaussian() * 0.0001); // ~10m standard deviation
@@ -179,11 +174,11 @@ public class RealTimeSimulationService {
      * Simulate battery level changes
      */
     private Integer simulateBatteryLevel(UAV uav) {
-        // Get last known battery level from location history
-        LocationHistory lastLocation = locationHistoryRepository.findLatestLocationByUavId(uav.getId()).orElse(null);
-        
-        int currentBattery = lastLocation != null && lastLocation.getBatteryLevel() != null ? 
-            lastLocation.getBatteryLevel() : 80;
+        // Get last known battery level from the recent fix buffers
+        int currentBattery = recentFixCache.findLatest(uav.getId())
+            .map(LocationHistory::getBatteryLevel)
+            .orElse(80);
+        Random random = random();
 
         // Simulate battery drain based on operational status
         int batteryChange = 0;
@@ -212,32 +207,6 @@ public class RealTimeSimulationService {
         return newBattery;
     }
 
-    /**
-     * Broadcast location update via WebSocket
-     */
-    private void broadcastLocationUpdate(UAV uav, LocationHistory location) {
-        try {
-            Map<String, Object> update = new HashMap<>();
-            update.put("type", "LOCATION_UPDATE");
-            update.put("timestamp", LocalDateTime.now());
-            update.put("uavId", uav.getId());
-            update.put("rfidTag", uav.getRfidTag());
-            update.put("latitude", location.getLatitude());
-            update.put("longitude", location.getLongitude());
-            update.put("altitude", location.getAltitudeMeters());
-            update.put("speed", location.getSpeedKmh());
-            update.put("heading", location.getHeadingDegrees());
-            update.put("batteryLevel", location.getBatteryLevel());
-            update.put("status", uav.getStatus());
-            update.put("operationalStatus", uav.getOperationalStatus());
-
-            messagingTemplate.convertAndSend("/topic/location-updates", update);
-
-        } catch (Exception e) {
-            logger.error("Error broadcasting location update: {}", e.getMessage(), e);
-        }
-    }
-
     /**
      * Trigger low battery alert
      */
@@ -271,6 +240,8 @@ public class RealTimeSimulationService {
         }
 
         try {
+            Random random = random();
+
             // Randomly change UAV operational status
             if (random.nextDouble() < 0.3) { // 30% chance
                 simulateStatusChange();
@@ -294,7 +265,7 @@ public class RealTimeSimulationService {
             List<UAV> uavs = uavRepository.findAll();
             if (uavs.isEmpty()) return;
 
-            UAV uav = uavs.get(random.nextInt(uavs.size()));
+            UAV uav = uavs.get(random().nextInt(uavs.size()));
             UAV.OperationalStatus oldStatus = uav.getOperationalStatus();
             UAV.OperationalStatus newStatus = getRandomStatusChange(oldStatus);
 
@@ -327,9 +298,9 @@ public class RealTimeSimulationService {
     private UAV.OperationalStatus getRandomStatusChange(UAV.OperationalStatus currentStatus) {
         switch (currentStatus) {
             case READY:
-                return random.nextBoolean() ? UAV.OperationalStatus.IN_FLIGHT : UAV.OperationalStatus.CHARGING;
+                return random().nextBoolean() ? UAV.OperationalStatus.IN_FLIGHT : UAV.OperationalStatus.CHARGING;
             case IN_FLIGHT:
-                return random.nextBoolean() ? UAV.OperationalStatus.READY : UAV.OperationalStatus.CHARGING;
+                return random().nextBoolean() ? UAV.OperationalStatus.READY : UAV.OperationalStatus.CHARGING;
             case CHARGING:
                 return UAV.OperationalStatus.READY;
             case MAINTENANCE:
@@ -347,7 +318,7 @@ public class RealTimeSimulationService {
             List<UAV> uavs = uavRepository.findAll();
             if (uavs.isEmpty()) return;
 
-            UAV uav = uavs.get(random.nextInt(uavs.size()));
+            UAV uav = uavs.get(random().nextInt(uavs.size()));
 
             Map<String, Object> alert = new HashMap<>();
             alert.put("type", "MAINTENANCE_ALERT");
@@ -381,6 +352,13 @@ public class RealTimeSimulationService {
         return simulationEnabled;
     }
 
+    /**
+     * Per-thread random source; the scheduled jobs and callers may run on different threads
+     */
+    private static Random random() {
+        return ThreadLocalRandom.current();
+    }
+
     /**
      * Movement pattern data class
      */
@@ -0,0 +1,269 @@
+package com.uav.dockingmanagement.service;
+
+import com.uav.dockingmanagement.model.LocationHistory;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Fixed-capacity ring of one UAV's most recent position fixes.
+ *
+ * <p>Fields are kept in parallel primitive arrays ordered by timestamp; missing values are stored
+ * as NaN or -1. The arrays start small and double up to the capacity, so UAVs that report rarely
+ * cost little memory. Once full, the oldest fix is overwritten. Fixes are rebuilt as detached
+ * {@link LocationHistory} instances on read, without the UAV and flight log references.</p>
+ *
+ * <p>All methods are synchronized; a ring is written at the UAV's fix rate and read rarely.</p>
+ */
+public class RecentFixBuffer {
+
+    private static final int INITIAL_SIZE = 16;
+    private static final LocationHistory.LocationSource[] SOURCES = LocationHistory.LocationSource.values();
+
+    private final int capacity;
+
+    private long[] ids;
+    private long[] timestamps;
+    private double[] latitudes;
+    private double[] longitudes;
+    private double[] altitudes;
+    private double[] speeds;
+    private double[] headings;
+    private double[] accuracies;
+    private int[] batteryLevels;
+    private int[] signalStrengths;
+    private byte[] sources;
+
+    /** Physical index of the oldest fix */
+    private int head;
+    private int size;
+    /** True while the ring is known to hold every stored fix of the UAV */
+    private boolean complete;
+
+    public RecentFixBuffer(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        this.capacity = capacity;
+        allocate(Math.min(INITIAL_SIZE, capacity));
+    }
+
+    /**
+     * Add a fix, keeping timestamp order if it arrives late
+     */
+    public synchronized void add(LocationHistory fix) {
+        long timestamp = toMicros(fix.getTimestamp() != null ? fix.getTimestamp() : LocalDateTime.now());
+        if (size == ids.length && size < capacity) {
+            allocate(Math.min(capacity, ids.length * 2));
+        }
+
+        int slot;
+        if (size < ids.length) {
+            slot = physical(size);
+            size++;
+        } else {
+            // Full: overwrite the oldest
+            slot = head;
+            head = (head + 1) % ids.length;
+            complete = false;
+        }
+        write(slot, fix, timestamp);
+
+        // Move a late fix back to its place; rare and bounded by the ring size
+        for (int i = size - 1; i > 0 && timestamps[physical(i - 1)] > timestamps[physical(i)]; i--) {
+            swap(physical(i - 1), physical(i));
+        }
+    }
+
+    /**
+     * Replace the contents with fixes loaded from the database, keeping any newer fixes already added
+     *
+     * @param newestFirst stored fixes, newest first, as returned by the repository
+     * @param allStoredFixes true when {@code newestFirst} is the UAV's entire stored history
+     */
+    public synchronized void warm(List<LocationHistory> newestFirst, boolean allStoredFixes) {
+        List<LocationHistory> live = recent(size);
+        allocate(Math.min(capacity, Math.max(INITIAL_SIZE, newestFirst.size() + live.size())));
+        head = 0;
+        size = 0;
+
+        long newest = Long.MIN_VALUE;
+        for (int i = newestFirst.size() - 1; i >= 0; i--) {
+            add(newestFirst.get(i));
+            newest = Math.max(newest, timestamps[physical(size - 1)]);
+        }
+        for (int i = live.size() - 1; i >= 0; i--) {
+            LocationHistory fix = live.get(i);
+            if (toMicros(fix.getTimestamp()) > newest) {
+                add(fix);
+            }
+        }
+        complete = allStoredFixes && newestFirst.size() < capacity;
+    }
+
+    public synchronized LocationHistory latest() {
+        return size == 0 ? null : read(physical(size - 1));
+    }
+
+    /**
+     * Up to {@code limit} most recent fixes, newest first
+     */
+    public synchronized List<LocationHistory> recent(int limit) {
+        int count = Math.min(limit, size);
+        List<LocationHistory> fixes = new ArrayList<>(count);
+        for (int i = size - 1; i >= size - count; i--) {
+            fixes.add(read(physical(i)));
+        }
+        return fixes;
+    }
+
+    /**
+     * Fixes with {@code start <= timestamp <= end}, oldest first
+     */
+    public synchronized List<LocationHistory> between(LocalDateTime start, LocalDateTime end) {
+        long from = toMicros(start);
+        long to = toMicros(end);
+        List<LocationHistory> fixes = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            long timestamp = timestamps[physical(i)];
+            if (timestamp > to) {
+                break;
+            }
+            if (timestamp >= from) {
+                fixes.add(read(physical(i)));
+            }
+        }
+        return fixes;
+    }
+
+    /**
+     * Whether the ring can answer a query over {@code [start, ...]} without missing stored fixes
+     */
+    public synchronized boolean covers(LocalDateTime start) {
+        return complete || (size > 0 && timestamps[head] <= toMicros(start));
+    }
+
+    /**
+     * Whether the ring can return the {@code limit} most recent fixes without missing stored fixes
+     */
+    public synchronized boolean holds(int limit) {
+        return complete || size >= limit;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    private int physical(int logical) {
+        return (head + logical) % ids.length;
+    }
+
+    private void write(int slot, LocationHistory fix, long timestamp) {
+        ids[slot] = fix.getId() != null ? fix.getId() : -1L;
+        timestamps[slot] = timestamp;
+        latitudes[slot] = fix.getLatitude() != null ? fix.getLatitude() : Double.NaN;
+        longitudes[slot] = fix.getLongitude() != null ? fix.getLongitude() : Double.NaN;
+        altitudes[slot] = fix.getAltitudeMeters() != null ? fix.getAltitudeMeters() : Double.NaN;
+        speeds[slot] = fix.getSpeedKmh() != null ? fix.getSpeedKmh() : Double.NaN;
+        headings[slot] = fix.getHeadingDegrees() != null ? fix.getHeadingDegrees() : Double.NaN;
+        accuracies[slot] = fix.getAccuracyMeters() != null ? fix.getAccuracyMeters() : Double.NaN;
+        batteryLevels[slot] = fix.getBatteryLevel() != null ? fix.getBatteryLevel() : -1;
+        signalStrengths[slot] = fix.getSignalStrength() != null ? fix.getSignalStrength() : -1;
+        sources[slot] = (byte) (fix.getLocationSource() != null ? fix.getLocationSource().ordinal() : -1);
+    }
+
+    private LocationHistory read(int slot) {
+        LocationHistory fix = new LocationHistory();
+        fix.setId(ids[slot] >= 0 ? ids[slot] : null);
+        fix.setTimestamp(fromMicros(timestamps[slot]));
+        fix.setLatitude(Double.isNaN(latitudes[slot]) ? null : latitudes[slot]);
+        fix.setLongitude(Double.isNaN(longitudes[slot]) ? null : longitudes[slot]);
+        fix.setAltitudeMeters(Double.isNaN(altitudes[slot]) ? null : altitudes[slot]);
+        fix.setSpeedKmh(Double.isNaN(speeds[slot]) ? null : speeds[slot]);
+        fix.setHeadingDegrees(Double.isNaN(headings[slot]) ? null : headings[slot]);
+        fix.setAccuracyMeters(Double.isNaN(accuracies[slot]) ? null : accuracies[slot]);
+        fix.setBatteryLevel(batteryLevels[slot] >= 0 ? batteryLevels[slot] : null);
+        fix.setSignalStrength(signalStrengths[slot] >= 0 ? signalStrengths[slot] : null);
+        fix.setLocationSource(sources[slot] >= 0 ? SOURCES[sources[slot]] : null);
+        return fix;
+    }
+
+    private void swap(int a, int b) {
+        long id = ids[a]; ids[a] = ids[b]; ids[b] = id;
+        long timestamp = timestamps[a]; timestamps[a] = timestamps[b]; timestamps[b] = timestamp;
+        double latitude = latitudes[a]; latitudes[a] = latitudes[b]; latitudes[b] = latitude;
+        double longitude = longitudes[a]; longitudes[a] = longitudes[b]; longitudes[b] = longitude;
+        double altitude = altitudes[a]; altitudes[a] = altitudes[b]; altitudes[b] = altitude;
+        double speed = speeds[a]; speeds[a] = speeds[b]; speeds[b] = speed;
+        double heading = headings[a]; headings[a] = headings[b]; headings[b] = heading;
+        double accuracy = accuracies[a]; accuracies[a] = accuracies[b]; accuracies[b] = accuracy;
+        int battery = batteryLevels[a]; batteryLevels[a] = batteryLevels[b]; batteryLevels[b] = battery;
+        int signal = signalStrengths[a]; signalStrengths[a] = signalStrengths[b]; signalStrengths[b] = signal;
+        byte source = sources[a]; sources[a] = sources[b]; sources[b] = source;
+    }
+
+    /**
+     * Resize the arrays, moving the fixes to the front in order
+     */
+    private void allocate(int length) {
+        long[] oldIds = ids;
+        long[] oldTimestamps = timestamps;
+        double[] oldLatitudes = latitudes;
+        double[] oldLongitudes = longitudes;
+        double[] oldAltitudes = altitudes;
+        double[] oldSpeeds = speeds;
+        double[] oldHeadings = headings;
+        double[] oldAccuracies = accuracies;
+        int[] oldBatteryLevels = batteryLevels;
+        int[] oldSignalStrengths = signalStrengths;
+        byte[] oldSources = sources;
+
+        ids = new long[length];
+        timestamps = new long[length];
+        latitudes = new double[length];
+        longitudes = new double[length];
+        altitudes = new double[length];
+        speeds = new double[length];
+        headings = new double[length];
+        accuracies = new double[length];
+        batteryLevels = new int[length];
+        signalStrengths = new int[length];
+        sources = new byte[length];
+
+        if (oldIds == null) {
+            return;
+        }
+        int kept = Math.min(size, length);
+        for (int i = 0; i < kept; i++) {
+            int from = (head + size - kept + i) % oldIds.length;
+            ids[i] = oldIds[from];
+            timestamps[i] = oldTimestamps[from];
+            latitudes[i] = oldLatitudes[from];
+            longitudes[i] = oldLongitudes[from];
+            altitudes[i] = oldAltitudes[from];
+            speeds[i] = oldSpeeds[from];
+            headings[i] = oldHeadings[from];
+            accuracies[i] = oldAccuracies[from];
+            batteryLevels[i] = oldBatteryLevels[from];
+            signalStrengths[i] = oldSignalStrengths[from];
+            sources[i] = oldSources[from];
+        }
+        head = 0;
+        size = kept;
+    }
+
+    private static long toMicros(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + time.getNano() / 1_000;
+    }
+
+    private static LocalDateTime fromMicros(long micros) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000L),
+                                           (int) Math.floorMod(micros, 1_000_000L) * 1_000, ZoneOffset.UTC);
+    }
+}
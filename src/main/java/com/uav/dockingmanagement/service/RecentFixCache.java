@@ -0,0 +1,126 @@
+package com.uav.dockingmanagement.service;
+
+import com.uav.dockingmanagement.model.LocationHistory;
+import com.uav.dockingmanagement.model.UAV;
+import com.uav.dockingmanagement.repository.LocationHistoryRepository;
+import com.uav.dockingmanagement.repository.UAVRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory store of each UAV's most recent fixes, one {@link RecentFixBuffer} per UAV.
+ *
+ * <p>Buffers are filled on ingest and warmed from the database at startup for UAVs that reported
+ * within {@code uav.location.recent-fixes.warmup-hours}. Queries are answered from memory when the
+ * buffer is known to contain every stored fix they ask for, and otherwise fall back to the database:</p>
+ * <ul>
+ *   <li>latest fix: from memory once the UAV has any buffered fix</li>
+ *   <li>last N fixes: from memory when the buffer holds at least N fixes, or the UAV's whole history</li>
+ *   <li>time window: from memory when the buffer's oldest fix is not newer than the window start</li>
+ * </ul>
+ * <p>Fixes returned from memory are detached copies without the UAV and flight log references.</p>
+ */
+@Service
+public class RecentFixCache implements LocationFixListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(RecentFixCache.class);
+
+    @Autowired
+    private LocationHistoryRepository locationHistoryRepository;
+
+    @Autowired
+    private UAVRepository uavRepository;
+
+    @Value("${uav.location.recent-fixes.capacity:128}")
+    private int capacity = 128;
+
+    @Value("${uav.location.recent-fixes.warmup-hours:24}")
+    private long warmupHours = 24;
+
+    private final Map<Integer, RecentFixBuffer> buffers = new ConcurrentHashMap<>();
+
+    /**
+     * Warm the buffers in the background so startup is not blocked; queries fall back to the
+     * database until a UAV's buffer is warm
+     */
+    @PostConstruct
+    public void initialize() {
+        Thread warmup = new Thread(this::warmUp, "recent-fix-warmup");
+        warmup.setDaemon(true);
+        warmup.start();
+    }
+
+    /**
+     * Load the most recent fixes of every UAV that reported within the warm-up window
+     */
+    public void warmUp() {
+        try {
+            LocalDateTime since = LocalDateTime.now().minusHours(warmupHours);
+            int warmed = 0;
+            for (UAV uav : uavRepository.findAllWithCurrentLocation()) {
+                if (uav.getLastLocationUpdate() == null || uav.getLastLocationUpdate().isBefore(since)) {
+                    continue;
+                }
+                List<LocationHistory> fixes = locationHistoryRepository.findRecentLocationsByUavId(uav.getId(), capacity);
+                buffer(uav.getId()).warm(fixes, fixes.size() < capacity);
+                warmed++;
+            }
+            logger.info("Warmed recent fix buffers for {} UAVs", warmed);
+        } catch (Exception e) {
+            logger.error("Error warming recent fix buffers: {}", e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void onLocationFix(UAV uav, LocationHistory fix) {
+        buffer(uav.getId()).add(fix);
+    }
+
+    /**
+     * Latest fix for a UAV
+     */
+    public Optional<LocationHistory> findLatest(Integer uavId) {
+        RecentFixBuffer buffer = buffers.get(uavId);
+        LocationHistory latest = buffer != null ? buffer.latest() : null;
+        if (latest != null) {
+            return Optional.of(latest);
+        }
+        return locationHistoryRepository.findLatestLocationByUavId(uavId);
+    }
+
+    /**
+     * Up to {@code limit} most recent fixes for a UAV, newest first
+     */
+    public List<LocationHistory> findRecent(Integer uavId, int limit) {
+        RecentFixBuffer buffer = buffers.get(uavId);
+        if (buffer != null && buffer.holds(limit)) {
+            return buffer.recent(limit);
+        }
+        return locationHistoryRepository.findRecentLocationsByUavId(uavId, limit);
+    }
+
+    /**
+     * Fixes for a UAV within a time range, oldest first
+     */
+    public List<LocationHistory> findBetween(Integer uavId, LocalDateTime startTime, LocalDateTime endTime) {
+        RecentFixBuffer buffer = buffers.get(uavId);
+        if (buffer != null && buffer.covers(startTime)) {
+            return buffer.between(startTime, endTime);
+        }
+        return locationHistoryRepository.findByUavIdAndTimestampBetween(uavId, startTime, endTime);
+    }
+
+    private RecentFixBuffer buffer(Integer uavId) {
+        return buffers.computeIfAbsent(uavId, id -> new RecentFixBuffer(capacity));
+    }
+}
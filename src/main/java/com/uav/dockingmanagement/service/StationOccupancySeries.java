@@ -0,0 +1,197 @@
+package com.uav.dockingmanagement.service;
+
+import com.uav.dockingmanagement.model.StationOccupancyBucket;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Occupancy of every docking station as a step function, cut into one-minute buckets.
+ *
+ * <p>Each dock or undock moves a station to its new occupancy; between events the occupancy is constant.
+ * A bucket holds the slot-milliseconds occupied and available, the milliseconds with nothing docked, the
+ * peak occupancy and the events of its minute, so buckets add up exactly into hours and days. Minutes are
+ * closed when an event or {@link #drain} passes their end, including minutes without events.</p>
+ *
+ * <p>{@link #segments} splits a range into the fewest minute, hour and day buckets that cover it, so a
+ * range query reads at most 118 minute and 46 hour buckets per station plus its days.</p>
+ */
+public class StationOccupancySeries {
+
+    public static final long MINUTE_MILLIS = 60_000L;
+
+    private final Map<Long, Track> tracks = new HashMap<>();
+    private final List<Bucket> closed = new ArrayList<>();
+
+    /**
+     * Start following a station from its present occupancy; a station already followed keeps its minute
+     * but takes the given occupancy and capacity from now on
+     */
+    public synchronized void track(long stationId, int occupancy, int capacity, long nowMillis) {
+        Track track = tracks.get(stationId);
+        if (track == null) {
+            track = new Track(stationId, nowMillis);
+            tracks.put(stationId, track);
+        } else {
+            track.advanceTo(nowMillis);
+        }
+        track.set(occupancy, capacity);
+    }
+
+    /**
+     * Record a dock or undock that left the station at {@code occupancy}. Events older than the last one
+     * seen for the station count at the time of that one.
+     */
+    public synchronized void record(long stationId, int occupancy, int capacity, boolean docked, long nowMillis) {
+        track(stationId, occupancy, capacity, nowMillis);
+        Track track = tracks.get(stationId);
+        if (docked) {
+            track.docks++;
+        } else {
+            track.undocks++;
+        }
+    }
+
+    /**
+     * Close every minute that ended by {@code nowMillis} and return the closed buckets not yet drained,
+     * oldest first per station
+     */
+    public synchronized List<Bucket> drain(long nowMillis) {
+        for (Track track : tracks.values()) {
+            track.advanceTo(nowMillis);
+        }
+        List<Bucket> result = new ArrayList<>(closed);
+        closed.clear();
+        return result;
+    }
+
+    /**
+     * Put back drained buckets that could not be stored, ahead of those closed since
+     */
+    public synchronized void requeue(List<Bucket> buckets) {
+        closed.addAll(0, buckets);
+    }
+
+    public synchronized int size() {
+        return tracks.size();
+    }
+
+    /**
+     * Split {@code [from, to)}, both cut down to whole minutes, into minute buckets up to the first hour
+     * boundary, hour buckets up to the first day boundary, whole days, then hours and minutes to the end
+     */
+    public static List<Segment> segments(LocalDateTime from, LocalDateTime to) {
+        List<Segment> segments = new ArrayList<>();
+        LocalDateTime start = from.truncatedTo(ChronoUnit.MINUTES);
+        LocalDateTime end = to.truncatedTo(ChronoUnit.MINUTES);
+        if (!start.isBefore(end)) {
+            return segments;
+        }
+        LocalDateTime firstHour = ceil(start, ChronoUnit.HOURS);
+        LocalDateTime lastHour = end.truncatedTo(ChronoUnit.HOURS);
+        if (!firstHour.isBefore(lastHour)) {
+            add(segments, StationOccupancyBucket.Resolution.MINUTE, start, end);
+            return segments;
+        }
+        add(segments, StationOccupancyBucket.Resolution.MINUTE, start, firstHour);
+        LocalDateTime firstDay = ceil(firstHour, ChronoUnit.DAYS);
+        LocalDateTime lastDay = lastHour.truncatedTo(ChronoUnit.DAYS);
+        if (!firstDay.isBefore(lastDay)) {
+            add(segments, StationOccupancyBucket.Resolution.HOUR, firstHour, lastHour);
+        } else {
+            add(segments, StationOccupancyBucket.Resolution.HOUR, firstHour, firstDay);
+            add(segments, StationOccupancyBucket.Resolution.DAY, firstDay, lastDay);
+            add(segments, StationOccupancyBucket.Resolution.HOUR, lastDay, lastHour);
+        }
+        add(segments, StationOccupancyBucket.Resolution.MINUTE, lastHour, end);
+        return segments;
+    }
+
+    private static void add(List<Segment> segments, StationOccupancyBucket.Resolution resolution,
+                            LocalDateTime from, LocalDateTime to) {
+        if (from.isBefore(to)) {
+            segments.add(new Segment(resolution, from, to));
+        }
+    }
+
+    private static LocalDateTime ceil(LocalDateTime time, ChronoUnit unit) {
+        LocalDateTime floor = time.truncatedTo(unit);
+        return floor.equals(time) ? floor : floor.plus(1, unit);
+    }
+
+    private final class Track {
+        private final long stationId;
+        private int occupancy;
+        private int capacity;
+        private long clock;
+        private long minuteStart;
+        private long occupiedSlotMillis;
+        private long capacitySlotMillis;
+        private long idleMillis;
+        private long coveredMillis;
+        private int peak;
+        private int docks;
+        private int undocks;
+
+        private Track(long stationId, long nowMillis) {
+            this.stationId = stationId;
+            this.clock = nowMillis;
+            this.minuteStart = Math.floorDiv(nowMillis, MINUTE_MILLIS) * MINUTE_MILLIS;
+        }
+
+        private void set(int occupancy, int capacity) {
+            this.occupancy = Math.max(0, occupancy);
+            this.capacity = Math.max(0, capacity);
+            peak = Math.max(peak, this.occupancy);
+        }
+
+        private void advanceTo(long nowMillis) {
+            while (nowMillis >= minuteStart + MINUTE_MILLIS) {
+                integrate(minuteStart + MINUTE_MILLIS);
+                closed.add(new Bucket(stationId, minuteStart, coveredMillis, occupiedSlotMillis, capacitySlotMillis,
+                    idleMillis, peak, docks, undocks));
+                minuteStart += MINUTE_MILLIS;
+                occupiedSlotMillis = 0;
+                capacitySlotMillis = 0;
+                idleMillis = 0;
+                coveredMillis = 0;
+                peak = occupancy;
+                docks = 0;
+                undocks = 0;
+            }
+            integrate(nowMillis);
+        }
+
+        private void integrate(long untilMillis) {
+            long elapsed = untilMillis - clock;
+            if (elapsed <= 0) {
+                return;
+            }
+            occupiedSlotMillis += occupancy * elapsed;
+            capacitySlotMillis += capacity * elapsed;
+            if (occupancy == 0) {
+                idleMillis += elapsed;
+            }
+            coveredMillis += elapsed;
+            clock = untilMillis;
+        }
+    }
+
+    /**
+     * One closed minute of a station
+     *
+     * @param coveredMillis part of the minute the station was followed; less than a minute only in the
+     *                      minute following started
+     */
+    public record Bucket(long stationId, long startMillis, long coveredMillis, long occupiedSlotMillis,
+                         long capacitySlotMillis, long idleMillis, int peakOccupancy, int dockCount,
+                         int undockCount) {
+    }
+
+    public record Segment(StationOccupancyBucket.Resolution resolution, LocalDateTime from, LocalDateTime to) {
+    }
+}
@@ -0,0 +1,279 @@
+package com.uav.dockingmanagement.service;
+
+import com.uav.dockingmanagement.model.DockingStation;
+import com.uav.dockingmanagement.model.StationOccupancyBucket;
+import com.uav.dockingmanagement.repository.DockingStationRepository;
+import com.uav.dockingmanagement.repository.StationOccupancyBucketRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-station occupancy time series, kept as minute buckets rolled up into hours and days.
+ *
+ * <p>Committed docks and undocks feed a {@link StationOccupancySeries}. Every
+ * {@code uav.occupancy.flush-seconds} the closed minutes are stored and added to their hour and day
+ * buckets in station_occupancy_buckets; minutes that fail to store are retried on the next flush. Utilization, peak occupancy and idle time over a range are summed
+ * from the fewest buckets covering it, without reading docking_records. Minutes are kept
+ * {@code uav.occupancy.minute-retention-days} and hours {@code uav.occupancy.hour-retention-days}; days are
+ * kept. Ranges reaching past a retention limit report less {@code coveredMinutes} than they span.</p>
+ */
+@Service
+public class StationOccupancyService {
+
+    private static final Logger logger = LoggerFactory.getLogger(StationOccupancyService.class);
+
+    @Autowired
+    private StationOccupancyBucketRepository bucketRepository;
+
+    @Autowired
+    private DockingStationRepository dockingStationRepository;
+
+    @Value("${uav.occupancy.flush-seconds:60}")
+    private long flushSeconds = 60;
+
+    @Value("${uav.occupancy.minute-retention-days:7}")
+    private long minuteRetentionDays = 7;
+
+    @Value("${uav.occupancy.hour-retention-days:90}")
+    private long hourRetentionDays = 90;
+
+    private final StationOccupancySeries series = new StationOccupancySeries();
+    private final ZoneId zone = ZoneId.systemDefault();
+    private LocalDateTime lastPurgeHour;
+    private ScheduledExecutorService scheduler;
+
+    @PostConstruct
+    public void start() {
+        try {
+            long now = System.currentTimeMillis();
+            for (DockingStation station : dockingStationRepository.findAll()) {
+                track(station, now);
+            }
+            logger.info("Following occupancy of {} docking stations", series.size());
+        } catch (Exception e) {
+            logger.error("Error loading station occupancy: {}", e.getMessage(), e);
+        }
+
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "station-occupancy");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleAtFixedRate(this::safeFlush, flushSeconds, flushSeconds, TimeUnit.SECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+        safeFlush();
+    }
+
+    /**
+     * Record a dock that left the station at its current occupancy, once the transaction commits
+     */
+    public void onDocked(DockingStation station) {
+        record(station, true);
+    }
+
+    /**
+     * Record an undock that left the station at its current occupancy, once the transaction commits
+     */
+    public void onUndocked(DockingStation station) {
+        record(station, false);
+    }
+
+    /**
+     * Follow a station's new capacity or occupancy from now on
+     */
+    public void onStationUpdated(DockingStation station) {
+        TransactionHooks.afterCommit(() -> track(station, System.currentTimeMillis()));
+    }
+
+    /**
+     * Occupancy over {@code [from, to)} per station, or of one station if {@code stationId} is given
+     */
+    public Map<Long, Map<String, Object>> getUtilization(Long stationId, LocalDateTime from, LocalDateTime to) {
+        Map<Long, StationOccupancyBucket> totals = new HashMap<>();
+        for (StationOccupancySeries.Segment segment : StationOccupancySeries.segments(from, to)) {
+            List<StationOccupancyBucket> buckets = stationId != null
+                ? bucketRepository.findStationInRange(stationId, segment.resolution(), segment.from(), segment.to())
+                : bucketRepository.findInRange(segment.resolution(), segment.from(), segment.to());
+            for (StationOccupancyBucket bucket : buckets) {
+                totals.computeIfAbsent(bucket.getStationId(),
+                        id -> new StationOccupancyBucket(id, null, from))
+                    .add(bucket.getCoveredMillis(), bucket.getOccupiedSlotMillis(), bucket.getCapacitySlotMillis(),
+                         bucket.getIdleMillis(), bucket.getPeakOccupancy(), bucket.getDockCount(),
+                         bucket.getUndockCount());
+            }
+        }
+
+        Map<Long, Map<String, Object>> result = new HashMap<>();
+        totals.forEach((id, total) -> result.put(id, toMap(total)));
+        return result;
+    }
+
+    /**
+     * Buckets of one station and resolution starting in {@code [from, to)}, oldest first
+     */
+    public List<Map<String, Object>> getSeries(Long stationId, StationOccupancyBucket.Resolution resolution,
+                                               LocalDateTime from, LocalDateTime to) {
+        List<Map<String, Object>> result = new ArrayList<>();
+        for (StationOccupancyBucket bucket : bucketRepository.findStationInRange(stationId, resolution, from, to)) {
+            Map<String, Object> point = toMap(bucket);
+            point.put("bucketStart", bucket.getBucketStart());
+            result.add(point);
+        }
+        return result;
+    }
+
+    private void record(DockingStation station, boolean docked) {
+        long stationId = station.getId();
+        int occupancy = station.getCurrentOccupancy() != null ? station.getCurrentOccupancy() : 0;
+        int capacity = station.getMaxCapacity() != null ? station.getMaxCapacity() : 0;
+        TransactionHooks.afterCommit(() -> series.record(stationId, occupancy, capacity, docked, System.currentTimeMillis()));
+    }
+
+    private void track(DockingStation station, long now) {
+        series.track(station.getId(),
+            station.getCurrentOccupancy() != null ? station.getCurrentOccupancy() : 0,
+            station.getMaxCapacity() != null ? station.getMaxCapacity() : 0, now);
+    }
+
+    private void safeFlush() {
+        try {
+            flush(System.currentTimeMillis());
+        } catch (Exception e) {
+            logger.error("Error storing station occupancy: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Store the closed minutes and add them to their hour and day buckets
+     */
+    private synchronized void flush(long now) {
+        List<StationOccupancySeries.Bucket> minutes = series.drain(now);
+        if (!minutes.isEmpty()) {
+            try {
+                store(minutes);
+            } catch (RuntimeException e) {
+                // Keep the minutes for the next flush, which reloads their hours and days
+                series.requeue(minutes);
+                throw e;
+            }
+        }
+
+        LocalDateTime hour = toTime(now).truncatedTo(ChronoUnit.HOURS);
+        if (!hour.equals(lastPurgeHour)) {
+            lastPurgeHour = hour;
+            int purged = bucketRepository.deleteOlderThan(StationOccupancyBucket.Resolution.MINUTE,
+                hour.minusDays(minuteRetentionDays));
+            purged += bucketRepository.deleteOlderThan(StationOccupancyBucket.Resolution.HOUR,
+                hour.minusDays(hourRetentionDays));
+            if (purged > 0) {
+                logger.info("Purged {} expired station occupancy buckets", purged);
+            }
+        }
+    }
+
+    /**
+     * Store minutes and add them to their hour and day buckets in one save
+     */
+    private void store(List<StationOccupancySeries.Bucket> minutes) {
+        List<StationOccupancyBucket> rows = new ArrayList<>();
+        Map<String, StationOccupancyBucket> hours = load(StationOccupancyBucket.Resolution.HOUR, minutes, ChronoUnit.HOURS);
+        Map<String, StationOccupancyBucket> days = load(StationOccupancyBucket.Resolution.DAY, minutes, ChronoUnit.DAYS);
+        for (StationOccupancySeries.Bucket minute : minutes) {
+            LocalDateTime start = toTime(minute.startMillis());
+            StationOccupancyBucket row = new StationOccupancyBucket(minute.stationId(),
+                StationOccupancyBucket.Resolution.MINUTE, start);
+            add(row, minute);
+            rows.add(row);
+            add(hours.computeIfAbsent(key(minute.stationId(), start.truncatedTo(ChronoUnit.HOURS)),
+                k -> new StationOccupancyBucket(minute.stationId(), StationOccupancyBucket.Resolution.HOUR,
+                    start.truncatedTo(ChronoUnit.HOURS))), minute);
+            add(days.computeIfAbsent(key(minute.stationId(), start.truncatedTo(ChronoUnit.DAYS)),
+                k -> new StationOccupancyBucket(minute.stationId(), StationOccupancyBucket.Resolution.DAY,
+                    start.truncatedTo(ChronoUnit.DAYS))), minute);
+        }
+        rows.addAll(hours.values());
+        rows.addAll(days.values());
+        bucketRepository.saveAll(rows);
+    }
+
+    /**
+     * Stored buckets of the hours or days the minutes fall in, by station and start
+     */
+    private Map<String, StationOccupancyBucket> load(StationOccupancyBucket.Resolution resolution,
+                                                     List<StationOccupancySeries.Bucket> minutes, ChronoUnit unit) {
+        Set<LocalDateTime> starts = new HashSet<>();
+        Set<String> keys = new HashSet<>();
+        for (StationOccupancySeries.Bucket minute : minutes) {
+            LocalDateTime start = toTime(minute.startMillis()).truncatedTo(unit);
+            starts.add(start);
+            keys.add(key(minute.stationId(), start));
+        }
+        Map<String, StationOccupancyBucket> result = new HashMap<>();
+        for (StationOccupancyBucket bucket : bucketRepository.findByResolutionAndBucketStartIn(resolution, starts)) {
+            String key = key(bucket.getStationId(), bucket.getBucketStart());
+            if (keys.contains(key)) {
+                result.put(key, bucket);
+            }
+        }
+        return result;
+    }
+
+    private static void add(StationOccupancyBucket row, StationOccupancySeries.Bucket minute) {
+        row.add(minute.coveredMillis(), minute.occupiedSlotMillis(), minute.capacitySlotMillis(), minute.idleMillis(),
+                minute.peakOccupancy(), minute.dockCount(), minute.undockCount());
+    }
+
+    private static String key(long stationId, LocalDateTime start) {
+        return stationId + "@" + start;
+    }
+
+    private LocalDateTime toTime(long millis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), zone);
+    }
+
+    private static Map<String, Object> toMap(StationOccupancyBucket total) {
+        Map<String, Object> result = new HashMap<>();
+        long covered = total.getCoveredMillis();
+        result.put("coveredMinutes", round(covered / 60_000.0));
+        result.put("utilizationPercent", total.getCapacitySlotMillis() > 0
+            ? round(100.0 * total.getOccupiedSlotMillis() / total.getCapacitySlotMillis()) : null);
+        result.put("averageOccupancy", covered > 0 ? round((double) total.getOccupiedSlotMillis() / covered) : null);
+        result.put("peakOccupancy", total.getPeakOccupancy());
+        result.put("idleMinutes", round(total.getIdleMillis() / 60_000.0));
+        result.put("dockingCount", total.getDockCount());
+        result.put("undockCount", total.getUndockCount());
+        // Occupied slot time per arrival; stays crossing the range ends make it approximate
+        result.put("averageDurationMinutes", total.getDockCount() > 0
+            ? round(total.getOccupiedSlotMillis() / 60_000.0 / total.getDockCount()) : 0.0);
+        return result;
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+}
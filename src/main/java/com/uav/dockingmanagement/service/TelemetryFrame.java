@@ -0,0 +1,112 @@
+package com.uav.dockingmanagement.service;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Fixed-layout binary position fix, 32 bytes, big-endian.
+ *
+ * <pre>
+ * offset size field
+ *  0     2    magic 0x5546 ("UF")
+ *  2     1    version (1)
+ *  3     1    battery percent, 0xFF when unknown
+ *  4     4    UAV id
+ *  8     8    timestamp, epoch milliseconds
+ * 16     4    latitude, 1e-7 degrees
+ * 20     4    longitude, 1e-7 degrees
+ * 24     4    altitude, centimeters, Integer.MIN_VALUE when unknown
+ * 28     2    ground speed, 0.1 km/h unsigned, 0xFFFF when unknown
+ * 30     2    heading, 0.01 degrees unsigned, 0xFFFF when unknown
+ * </pre>
+ *
+ * <p>A datagram carries one or more frames back to back. Instances are mutable and meant to be
+ * reused: {@link #decode(ByteBuffer)} overwrites the fields in place without allocating.</p>
+ */
+public final class TelemetryFrame {
+
+    public static final int SIZE = 32;
+    public static final short MAGIC = 0x5546;
+    public static final byte VERSION = 1;
+
+    private static final int UNKNOWN_BATTERY = 0xFF;
+    private static final int UNKNOWN_ALTITUDE = Integer.MIN_VALUE;
+    private static final int UNKNOWN_UNSIGNED_SHORT = 0xFFFF;
+
+    private int uavId;
+    private long timestampMillis;
+    private int latitudeE7;
+    private int longitudeE7;
+    private int altitudeCentimeters;
+    private int speedDeciKmh;
+    private int headingCentiDegrees;
+    private int batteryPercent;
+
+    /**
+     * Read one frame at the buffer's position and advance it by {@link #SIZE} bytes
+     *
+     * @return false when the frame has a wrong magic or version or out-of-range values;
+     *         the fields are then unspecified
+     */
+    public boolean decode(ByteBuffer buffer) {
+        int start = buffer.position();
+        buffer.position(start + SIZE);
+        if (buffer.getShort(start) != MAGIC || buffer.get(start + 2) != VERSION) {
+            return false;
+        }
+        batteryPercent = buffer.get(start + 3) & 0xFF;
+        uavId = buffer.getInt(start + 4);
+        timestampMillis = buffer.getLong(start + 8);
+        latitudeE7 = buffer.getInt(start + 16);
+        longitudeE7 = buffer.getInt(start + 20);
+        altitudeCentimeters = buffer.getInt(start + 24);
+        speedDeciKmh = buffer.getShort(start + 28) & 0xFFFF;
+        headingCentiDegrees = buffer.getShort(start + 30) & 0xFFFF;
+
+        return uavId > 0
+            && latitudeE7 >= -900_000_000 && latitudeE7 <= 900_000_000
+            && longitudeE7 >= -1_800_000_000 && longitudeE7 <= 1_800_000_000
+            && (batteryPercent <= 100 || batteryPercent == UNKNOWN_BATTERY)
+            && (headingCentiDegrees < 36_000 || headingCentiDegrees == UNKNOWN_UNSIGNED_SHORT);
+    }
+
+    /**
+     * Append one frame at the buffer's position
+     *
+     * @param altitudeMeters null when unknown
+     * @param speedKmh null when unknown
+     * @param headingDegrees null when unknown
+     * @param batteryPercent null when unknown
+     */
+    public static void encode(ByteBuffer buffer, int uavId, long timestampMillis, double latitude, double longitude,
+                              Double altitudeMeters, Double speedKmh, Double headingDegrees, Integer batteryPercent) {
+        buffer.putShort(MAGIC);
+        buffer.put(VERSION);
+        buffer.put((byte) (batteryPercent == null ? UNKNOWN_BATTERY : Math.max(0, Math.min(100, batteryPercent))));
+        buffer.putInt(uavId);
+        buffer.putLong(timestampMillis);
+        buffer.putInt((int) Math.round(latitude * 1e7));
+        buffer.putInt((int) Math.round(longitude * 1e7));
+        buffer.putInt(altitudeMeters == null ? UNKNOWN_ALTITUDE : (int) Math.round(altitudeMeters * 100.0));
+        buffer.putShort((short) (speedKmh == null ? UNKNOWN_UNSIGNED_SHORT
+            : Math.max(0, Math.min(UNKNOWN_UNSIGNED_SHORT - 1, (int) Math.round(speedKmh * 10.0)))));
+        buffer.putShort((short) (headingDegrees == null ? UNKNOWN_UNSIGNED_SHORT
+            : (int) Math.round(((headingDegrees % 360.0 + 360.0) % 360.0) * 100.0) % 36_000));
+    }
+
+    public int getUavId() { return uavId; }
+    public long getTimestampMillis() { return timestampMillis; }
+    public double getLatitude() { return latitudeE7 / 1e7; }
+    public double getLongitude() { return longitudeE7 / 1e7; }
+
+    public boolean hasAltitude() { return altitudeCentimeters != UNKNOWN_ALTITUDE; }
+    public double getAltitudeMeters() { return altitudeCentimeters / 100.0; }
+
+    public boolean hasSpeed() { return speedDeciKmh != UNKNOWN_UNSIGNED_SHORT; }
+    public double getSpeedKmh() { return speedDeciKmh / 10.0; }
+
+    public boolean hasHeading() { return headingCentiDegrees != UNKNOWN_UNSIGNED_SHORT; }
+    public double getHeadingDegrees() { return headingCentiDegrees / 100.0; }
+
+    public boolean hasBattery() { return batteryPercent != UNKNOWN_BATTERY; }
+    public int getBatteryPercent() { return batteryPercent; }
+}
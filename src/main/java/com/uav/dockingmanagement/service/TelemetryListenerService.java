@@ -0,0 +1,287 @@
+package com.uav.dockingmanagement.service;
+
+import com.uav.dockingmanagement.model.LocationHistory;
+import com.uav.dockingmanagement.model.UAV;
+import com.uav.dockingmanagement.repository.UAVRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.DatagramChannel;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * UDP listener for binary telemetry from on-board modems.
+ *
+ * <p>Each datagram holds one or more {@link TelemetryFrame}s. Receiver threads share one
+ * {@link DatagramChannel} and each owns a direct receive buffer and a frame instance, so decoding
+ * does not allocate. Decoded fixes are fed to {@link LocationService#recordLocation(UAV, LocationHistory)},
+ * the same path used by the REST endpoint, on the receiving thread.</p>
+ *
+ * <p>Frames older than {@code uav.telemetry.max-fix-age-seconds}, or older than the last fix accepted
+ * for the same UAV (UDP may reorder), are dropped. So are frames more than
+ * {@code uav.telemetry.max-clock-skew-seconds} ahead of the server clock, which would otherwise hold
+ * back every later fix of that UAV. The device timestamp orders the frames and becomes the fix
+ * timestamp. Frames of ids missing from a cached set of registered UAVs are dropped before any
+ * per-UAV state is kept; a miss reloads the set at most every {@code uav.telemetry.known-uav-refresh-ms}. The listener performs no authentication and should only be bound to the private modem
+ * network.</p>
+ */
+@Service
+public class TelemetryListenerService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TelemetryListenerService.class);
+
+    /** Largest UDP payload over IPv4 */
+    private static final int MAX_DATAGRAM_SIZE = 65_507;
+
+    @Autowired
+    private UAVRepository uavRepository;
+
+    @Autowired
+    private LocationService locationService;
+
+    @Value("${uav.telemetry.udp.enabled:false}")
+    private boolean enabled = false;
+
+    @Value("${uav.telemetry.udp.bind-address:0.0.0.0}")
+    private String bindAddress = "0.0.0.0";
+
+    @Value("${uav.telemetry.udp.port:5600}")
+    private int port = 5600;
+
+    @Value("${uav.telemetry.udp.receiver-threads:4}")
+    private int receiverThreads = 4;
+
+    @Value("${uav.telemetry.udp.receive-buffer-bytes:4194304}")
+    private int receiveBufferBytes = 4 * 1024 * 1024;
+
+    @Value("${uav.telemetry.max-fix-age-seconds:30}")
+    private long maxFixAgeSeconds = 30;
+
+    @Value("${uav.telemetry.max-clock-skew-seconds:5}")
+    private long maxClockSkewSeconds = 5;
+
+    @Value("${uav.telemetry.known-uav-refresh-ms:5000}")
+    private long knownUavRefreshMillis = 5000;
+
+    private final Map<Integer, Long> lastTimestamps = new ConcurrentHashMap<>();
+    private final Object knownUavLock = new Object();
+    private volatile Set<Integer> knownUavIds = ConcurrentHashMap.newKeySet();
+    private volatile long knownUavIdsLoadedAt;
+    private final List<Thread> receivers = new ArrayList<>();
+    private volatile DatagramChannel channel;
+
+    private final LongAdder datagramsReceived = new LongAdder();
+    private final LongAdder framesReceived = new LongAdder();
+    private final LongAdder framesMalformed = new LongAdder();
+    private final LongAdder framesStale = new LongAdder();
+    private final LongAdder framesFutureDated = new LongAdder();
+    private final LongAdder framesUnknownUav = new LongAdder();
+    private final LongAdder framesIngested = new LongAdder();
+    private final LongAdder framesFailed = new LongAdder();
+
+    @PostConstruct
+    public void initialize() throws IOException {
+        if (enabled) {
+            start();
+        }
+    }
+
+    /**
+     * Bind the channel and start the receiver threads
+     */
+    public synchronized void start() throws IOException {
+        if (channel != null) {
+            return;
+        }
+        DatagramChannel datagramChannel = DatagramChannel.open();
+        datagramChannel.setOption(StandardSocketOptions.SO_RCVBUF, receiveBufferBytes);
+        datagramChannel.bind(new InetSocketAddress(bindAddress, port));
+        channel = datagramChannel;
+
+        for (int i = 0; i < Math.max(1, receiverThreads); i++) {
+            Thread receiver = new Thread(() -> receiveLoop(datagramChannel), "telemetry-udp-" + i);
+            receiver.setDaemon(true);
+            receiver.start();
+            receivers.add(receiver);
+        }
+        logger.info("Telemetry listener bound to UDP {} with {} receiver threads",
+                   datagramChannel.getLocalAddress(), receivers.size());
+    }
+
+    @PreDestroy
+    public synchronized void stop() {
+        DatagramChannel datagramChannel = channel;
+        if (datagramChannel == null) {
+            return;
+        }
+        channel = null;
+        try {
+            datagramChannel.close();
+        } catch (IOException e) {
+            logger.warn("Error closing telemetry channel: {}", e.getMessage());
+        }
+        for (Thread receiver : receivers) {
+            try {
+                receiver.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        receivers.clear();
+        logger.info("Telemetry listener stopped");
+    }
+
+    public boolean isRunning() {
+        return channel != null;
+    }
+
+    /**
+     * Port the listener is bound to, or -1 when stopped
+     */
+    public int getLocalPort() {
+        DatagramChannel datagramChannel = channel;
+        try {
+            return datagramChannel == null ? -1 : ((InetSocketAddress) datagramChannel.getLocalAddress()).getPort();
+        } catch (IOException e) {
+            return -1;
+        }
+    }
+
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("running", isRunning());
+        stats.put("port", getLocalPort());
+        stats.put("datagramsReceived", datagramsReceived.sum());
+        stats.put("framesReceived", framesReceived.sum());
+        stats.put("framesMalformed", framesMalformed.sum());
+        stats.put("framesStale", framesStale.sum());
+        stats.put("framesFutureDated", framesFutureDated.sum());
+        stats.put("framesUnknownUav", framesUnknownUav.sum());
+        stats.put("framesIngested", framesIngested.sum());
+        stats.put("framesFailed", framesFailed.sum());
+        return stats;
+    }
+
+    private void receiveLoop(DatagramChannel datagramChannel) {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(MAX_DATAGRAM_SIZE);
+        TelemetryFrame frame = new TelemetryFrame();
+
+        while (datagramChannel.isOpen()) {
+            buffer.clear();
+            try {
+                datagramChannel.receive(buffer);
+            } catch (ClosedChannelException e) {
+                break;
+            } catch (IOException e) {
+                logger.warn("Error receiving telemetry datagram: {}", e.getMessage());
+                continue;
+            }
+            buffer.flip();
+            datagramsReceived.increment();
+
+            if (buffer.remaining() == 0 || buffer.remaining() % TelemetryFrame.SIZE != 0) {
+                framesMalformed.increment();
+                continue;
+            }
+            while (buffer.remaining() >= TelemetryFrame.SIZE) {
+                framesReceived.increment();
+                if (frame.decode(buffer)) {
+                    ingest(frame);
+                } else {
+                    framesMalformed.increment();
+                }
+            }
+        }
+    }
+
+    private void ingest(TelemetryFrame frame) {
+        long timestamp = frame.getTimestampMillis();
+        long now = System.currentTimeMillis();
+        if (timestamp - now > TimeUnit.SECONDS.toMillis(maxClockSkewSeconds)) {
+            framesFutureDated.increment();
+            return;
+        }
+        if (now - timestamp > TimeUnit.SECONDS.toMillis(maxFixAgeSeconds)) {
+            framesStale.increment();
+            return;
+        }
+
+        int uavId = frame.getUavId();
+        try {
+            if (!isKnownUav(uavId)) {
+                framesUnknownUav.increment();
+                return;
+            }
+            if (lastTimestamps.merge(uavId, timestamp, Math::max) > timestamp) {
+                framesStale.increment();
+                return;
+            }
+
+            Optional<UAV> uavOpt = uavRepository.findById(uavId);
+            if (uavOpt.isEmpty()) {
+                // Deleted since the set was loaded
+                knownUavIds.remove(uavId);
+                lastTimestamps.remove(uavId);
+                framesUnknownUav.increment();
+                return;
+            }
+
+            UAV uav = uavOpt.get();
+            LocationHistory fix = new LocationHistory(uav, frame.getLatitude(), frame.getLongitude(),
+                frame.hasAltitude() ? frame.getAltitudeMeters() : null);
+            fix.setTimestamp(LocalDateTime.ofInstant(Instant.ofEpochMilli(timestamp), ZoneId.systemDefault()));
+            fix.setSpeedKmh(frame.hasSpeed() ? frame.getSpeedKmh() : null);
+            fix.setHeadingDegrees(frame.hasHeading() ? frame.getHeadingDegrees() : null);
+            fix.setBatteryLevel(frame.hasBattery() ? frame.getBatteryPercent() : null);
+            fix.setLocationSource(LocationHistory.LocationSource.GPS);
+
+            locationService.recordLocation(uav, fix);
+            framesIngested.increment();
+
+        } catch (Exception e) {
+            framesFailed.increment();
+            logger.error("Error ingesting telemetry for UAV {}: {}", uavId, e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Whether a UAV id is registered, reloading the cached ids on a miss unless they were loaded recently
+     */
+    private boolean isKnownUav(int uavId) {
+        if (knownUavIds.contains(uavId)) {
+            return true;
+        }
+        synchronized (knownUavLock) {
+            long now = System.currentTimeMillis();
+            if (now - knownUavIdsLoadedAt >= knownUavRefreshMillis) {
+                Set<Integer> ids = ConcurrentHashMap.newKeySet();
+                ids.addAll(uavRepository.findAllIds());
+                knownUavIds = ids;
+                knownUavIdsLoadedAt = now;
+            }
+        }
+        return knownUavIds.contains(uavId);
+    }
+}
@@ -0,0 +1,52 @@
+package com.uav.dockingmanagement.service;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.function.IntConsumer;
+
+/**
+ * Keeps in-memory state in step with the transaction of the current thread.
+ *
+ * <p>Callbacks run once the transaction has finished, while its resources are still bound to the
+ * thread: a repository write from a callback joins the finished transaction and is never flushed.
+ * Hand such writes to an executor, or run them in a {@code REQUIRES_NEW} transaction.</p>
+ */
+public final class TransactionHooks {
+
+    private TransactionHooks() {
+    }
+
+    /**
+     * Run an action once the current transaction commits, or now if there is none; it is dropped on rollback
+     */
+    public static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    /**
+     * Run an action with the outcome ({@link TransactionSynchronization#STATUS_COMMITTED},
+     * {@link TransactionSynchronization#STATUS_ROLLED_BACK} or {@link TransactionSynchronization#STATUS_UNKNOWN})
+     * once the current transaction completes. Without a transaction it is not run: whatever the caller
+     * changed already stands.
+     */
+    public static void afterCompletion(IntConsumer action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    action.accept(status);
+                }
+            });
+        }
+    }
+}
@@ -18,6 +18,10 @@ class UAVTrackingMap {
         this.stationLayer = L.layerGroup();
         this.geofenceLayer = L.layerGroup();
         this.flightPathLayer = L.layerGroup();
+        this.airspaceLayer = L.tileLayer('/api/geofences/airspace/tiles/{z}/{x}/{y}.png', {
+            maxZoom: 19,
+            zIndex: 10
+        });
         
         // State
         this.showUAVs = true;
@@ -52,6 +56,7 @@ class UAVTrackingMap {
         this.uavLayer.addTo(this.map);
         this.stationLayer.addTo(this.map);
         this.geofenceLayer.addTo(this.map);
+        this.airspaceLayer.addTo(this.map);
         this.flightPathLayer.addTo(this.map);
 
         // Add drawing controls for geofences
@@ -198,6 +203,7 @@ class UAVTrackingMap {
             });
             
             this.updateGeofenceList(geofences);
+            this.airspaceLayer.redraw();
             document.getElementById('geofenceCount').textContent = geofences.length;
             document.getElementById('activeGeofenceCount').textContent = geofences.length;
             
@@ -446,8 +452,10 @@ class UAVTrackingMap {
                 this.showGeofences = !this.showGeofences;
                 if (this.showGeofences) {
                     this.map.addLayer(this.geofenceLayer);
+                    this.map.addLayer(this.airspaceLayer);
                 } else {
                     this.map.removeLayer(this.geofenceLayer);
+                    this.map.removeLayer(this.airspaceLayer);
                 }
                 break;
             case 'flightPaths':
@@ -6,6 +6,7 @@ import com.uav.dockingmanagement.model.Region;
 import com.uav.dockingmanagement.model.UAV;
 import com.uav.dockingmanagement.repository.RegionRepository;
 import com.uav.dockingmanagement.repository.UAVRepository;
+import com.uav.dockingmanagement.service.HibernatePodService;
 import com.uav.dockingmanagement.service.UAVService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
@@ -48,6 +49,9 @@ class UAVRestControllerTest {
     @MockBean
     private HibernatePod hibernatePod;
 
+    @MockBean
+    private HibernatePodService hibernatePodService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -0,0 +1,124 @@
+package com.uav.dockingmanagement.geo;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for GeofencePolygon
+ */
+class GeofencePolygonTest {
+
+    @Test
+    void testOpenClockwiseRingIsClosedAndReversed() {
+        // Clockwise square seen with longitude as x and latitude as y
+        double[][] ring = GeofencePolygon.normalize(
+            new double[] {40.0, 40.1, 40.1, 40.0}, new double[] {-74.0, -74.0, -73.9, -73.9});
+
+        assertEquals(5, ring[0].length);
+        assertEquals(ring[0][0], ring[0][4]);
+        assertEquals(ring[1][0], ring[1][4]);
+        double area = 0;
+        for (int i = 0; i < 4; i++) {
+            area += ring[1][i] * ring[0][i + 1] - ring[1][i + 1] * ring[0][i];
+        }
+        assertTrue(area > 0);
+    }
+
+    @Test
+    void testDuplicateVerticesAreDropped() {
+        double[][] ring = GeofencePolygon.normalize(
+            new double[] {40.0, 40.0, 40.0, 40.1, 40.0}, new double[] {-74.0, -74.0, -73.9, -73.9, -74.0});
+        assertEquals(4, ring[0].length);
+    }
+
+    @Test
+    void testInvalidRingsAreRejected() {
+        // Bow tie
+        assertThrows(IllegalArgumentException.class, () -> GeofencePolygon.normalize(
+            new double[] {40.0, 40.1, 40.0, 40.1}, new double[] {-74.0, -73.9, -73.9, -74.0}));
+        // Collinear
+        assertThrows(IllegalArgumentException.class, () -> GeofencePolygon.normalize(
+            new double[] {40.0, 40.1, 40.2}, new double[] {-74.0, -74.0, -74.0}));
+        // Spike folding back along the previous edge
+        assertThrows(IllegalArgumentException.class, () -> GeofencePolygon.normalize(
+            new double[] {40.0, 40.0, 40.0, 40.1}, new double[] {-74.0, -73.8, -73.9, -73.9}));
+        // Too few vertices and out of range
+        assertThrows(IllegalArgumentException.class, () -> GeofencePolygon.normalize(
+            new double[] {40.0, 40.1, 40.0}, new double[] {-74.0, -74.0, -74.0}));
+        assertThrows(IllegalArgumentException.class, () -> GeofencePolygon.normalize(
+            new double[] {40.0, 95.0, 40.1}, new double[] {-74.0, -74.0, -73.9}));
+        assertThrows(IllegalArgumentException.class, () -> GeofencePolygon.validate("not a polygon"));
+    }
+
+    @Test
+    void testLargeSimplePolygonAndRoundTrip() {
+        int count = 20_000;
+        double[] latitudes = new double[count];
+        double[] longitudes = new double[count];
+        for (int i = 0; i < count; i++) {
+            double angle = 2 * Math.PI * i / count;
+            double radius = 0.1 + 0.02 * Math.sin(7 * angle);
+            latitudes[i] = 40.0 + radius * Math.sin(angle);
+            longitudes[i] = -74.0 + radius * Math.cos(angle);
+        }
+        double[][] ring = GeofencePolygon.normalize(latitudes, longitudes);
+        assertEquals(count + 1, ring[0].length);
+
+        String coordinates = GeofencePolygon.toCoordinates(ring);
+        GeofencePolygon.validate(coordinates);
+        double[][] parsed = GeofencePolygon.parse(coordinates);
+        assertEquals(ring[0][123], parsed[0][123]);
+        assertEquals(ring[1][123], parsed[1][123]);
+    }
+
+    @Test
+    void testSimplifyStaysWithinTolerance() {
+        int count = 5_000;
+        Random random = new Random(5);
+        double[] latitudes = new double[count + 1];
+        double[] longitudes = new double[count + 1];
+        for (int i = 0; i < count; i++) {
+            double angle = 2 * Math.PI * i / count;
+            double radius = 0.05 + 0.01 * Math.sin(5 * angle) + (random.nextDouble() - 0.5) * 0.00002;
+            latitudes[i] = 40.0 + radius * Math.sin(angle);
+            longitudes[i] = -74.0 + radius * Math.cos(angle);
+        }
+        latitudes[count] = latitudes[0];
+        longitudes[count] = longitudes[0];
+
+        double[][] simplified = GeofencePolygon.simplify(latitudes, longitudes, 5.0);
+        int kept = simplified[0].length;
+        assertTrue(kept > 4 && kept < count / 5, "kept " + kept);
+        assertEquals(simplified[0][0], simplified[0][kept - 1]);
+        assertEquals(simplified[1][0], simplified[1][kept - 1]);
+        GeofencePolygon.normalize(simplified[0], simplified[1]);
+
+        // Every original vertex is within the tolerance of the simplified boundary
+        double scale = Math.cos(Math.toRadians(40.0));
+        for (int i = 0; i < count; i++) {
+            double nearest = Double.POSITIVE_INFINITY;
+            for (int k = 0; k + 1 < kept; k++) {
+                nearest = Math.min(nearest, segmentDistanceMeters(latitudes[i], longitudes[i],
+                    simplified[0][k], simplified[1][k], simplified[0][k + 1], simplified[1][k + 1], scale));
+            }
+            assertTrue(nearest <= 5.0 * 1.01, "vertex " + i + " is " + nearest + " m away");
+        }
+
+        // Nothing to drop at a zero tolerance
+        assertSame(latitudes, GeofencePolygon.simplify(latitudes, longitudes, 0.0)[0]);
+    }
+
+    private static double segmentDistanceMeters(double lat, double lon, double lat1, double lon1,
+                                                double lat2, double lon2, double scale) {
+        double x = (lon - lon1) * scale;
+        double y = lat - lat1;
+        double dx = (lon2 - lon1) * scale;
+        double dy = lat2 - lat1;
+        double length = dx * dx + dy * dy;
+        double t = length > 0 ? Math.max(0, Math.min(1, (x * dx + y * dy) / length)) : 0;
+        return Math.hypot(x - t * dx, y - t * dy) * GeofencePolygon.METERS_PER_DEGREE;
+    }
+}
@@ -0,0 +1,112 @@
+package com.uav.dockingmanagement.geo;
+
+import com.uav.dockingmanagement.model.Geofence;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for PolygonEdgeIndex
+ */
+class PolygonEdgeIndexTest {
+
+    @Test
+    void testMatchesRayCastOverAllEdges() {
+        Random random = new Random(7);
+        for (int vertices : new int[] {3, 10, 1000, 20_000}) {
+            double[][] ring = jaggedRing(random, vertices, 0.001);
+            PolygonEdgeIndex index = new PolygonEdgeIndex(ring[0], ring[1]);
+            assertEquals(vertices, index.getVertexCount());
+            for (int i = 0; i < 5_000; i++) {
+                double latitude = 39.9 + random.nextDouble() * 0.2;
+                double longitude = -74.1 + random.nextDouble() * 0.2;
+                assertEquals(rayCast(ring, latitude, longitude), index.contains(latitude, longitude),
+                    vertices + " vertices at " + latitude + ", " + longitude);
+            }
+            // Vertices and edge midpoints exercise slab boundaries
+            for (int i = 0; i < vertices; i++) {
+                int j = (i + 1) % vertices;
+                double latitude = (ring[0][i] + ring[0][j]) / 2;
+                double longitude = (ring[1][i] + ring[1][j]) / 2;
+                assertEquals(rayCast(ring, ring[0][i], ring[1][i]), index.contains(ring[0][i], ring[1][i]));
+                assertEquals(rayCast(ring, latitude, longitude), index.contains(latitude, longitude));
+            }
+        }
+    }
+
+    @Test
+    void testLargeRingTouchesFewEdgesPerTest() {
+        double[][] ring = jaggedRing(new Random(3), 100_000, 0.00001);
+        PolygonEdgeIndex index = new PolygonEdgeIndex(ring[0], ring[1]);
+        assertTrue(index.getSlabCount() > 1000, "slabs " + index.getSlabCount());
+        // The fullest slabs are at the ring's horizontal tangents; still a small fraction of the edges
+        assertTrue(index.getLargestSlab() < 500, "largest slab " + index.getLargestSlab());
+    }
+
+    @Test
+    void testLongEdgesReduceSlabCount() {
+        // A comb: every other vertex on the far side, so every edge spans the full height
+        int vertices = 4000;
+        double[] latitudes = new double[vertices];
+        double[] longitudes = new double[vertices];
+        for (int i = 0; i < vertices; i++) {
+            latitudes[i] = i % 2 == 0 ? 40.0 : 40.1;
+            longitudes[i] = -74.0 + 0.1 * i / vertices;
+        }
+        PolygonEdgeIndex index = new PolygonEdgeIndex(latitudes, longitudes);
+        assertTrue(index.getSlabCount() <= PolygonEdgeIndex.MAX_SLABS);
+        assertTrue((long) index.getSlabCount() * index.getLargestSlab() <= 16L * vertices);
+        double[][] ring = {latitudes, longitudes};
+        Random random = new Random(9);
+        for (int i = 0; i < 2_000; i++) {
+            double latitude = 39.99 + random.nextDouble() * 0.12;
+            double longitude = -74.01 + random.nextDouble() * 0.12;
+            assertEquals(rayCast(ring, latitude, longitude), index.contains(latitude, longitude));
+        }
+    }
+
+    @Test
+    void testPolygonalFenceUsesEdgeIndex() {
+        Geofence fence = Geofence.createPolygonalFence("Square",
+            "[[40.0,-74.0],[40.1,-74.0],[40.1,-73.9],[40.0,-73.9],[40.0,-74.0]]", Geofence.BoundaryType.EXCLUSION);
+        assertTrue(fence.isPointInside(40.05, -73.95));
+        assertFalse(fence.isPointInside(40.15, -73.95));
+
+        fence.setPolygonCoordinates("[[41.0,-74.0],[41.1,-74.0],[41.1,-73.9],[41.0,-73.9]]");
+        assertFalse(fence.isPointInside(40.05, -73.95));
+        assertTrue(fence.isPointInside(41.05, -73.95));
+
+        fence.setPolygonCoordinates("not a polygon");
+        assertFalse(fence.isPointInside(41.05, -73.95));
+        assertNull(PolygonEdgeIndex.parse("not a polygon"));
+        assertFalse(PolygonEdgeIndex.EMPTY.contains(0, 0));
+    }
+
+    private static double[][] jaggedRing(Random random, int vertices, double noise) {
+        double[] latitudes = new double[vertices];
+        double[] longitudes = new double[vertices];
+        for (int i = 0; i < vertices; i++) {
+            double angle = 2 * Math.PI * i / vertices;
+            double radius = 0.05 + 0.02 * Math.sin(9 * angle) + (random.nextDouble() - 0.5) * noise;
+            latitudes[i] = 40.0 + radius * Math.sin(angle);
+            longitudes[i] = -74.0 + radius * Math.cos(angle);
+        }
+        return new double[][] {latitudes, longitudes};
+    }
+
+    private static boolean rayCast(double[][] ring, double latitude, double longitude) {
+        double[] latitudes = ring[0];
+        double[] longitudes = ring[1];
+        boolean inside = false;
+        for (int i = 0, j = latitudes.length - 1; i < latitudes.length; j = i++) {
+            if ((latitudes[i] > latitude) != (latitudes[j] > latitude)
+                    && longitude < longitudes[i] + (longitudes[j] - longitudes[i])
+                        * (latitude - latitudes[i]) / (latitudes[j] - latitudes[i])) {
+                inside = !inside;
+            }
+        }
+        return inside;
+    }
+}
@@ -0,0 +1,142 @@
+package com.uav.dockingmanagement.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.Histogram;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency report of one load test run.
+ * Each run is written as {@code <commit>.json} into the report directory, and a Markdown
+ * comparison against the most recent report of a different commit is written next to it,
+ * so reports accumulated across commits show how latency moved.
+ */
+class LoadTestReport {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+    private static final double[] PERCENTILES = {50.0, 90.0, 99.0, 99.9};
+
+    private final String commit;
+    private final Map<String, Object> configuration;
+    private final Map<String, Map<String, Object>> scenarios = new LinkedHashMap<>();
+    private final List<String> breaches = new ArrayList<>();
+
+    LoadTestReport(String commit, Map<String, Object> configuration) {
+        this.commit = commit;
+        this.configuration = configuration;
+    }
+
+    /**
+     * Add a scenario recorded in microseconds and check its p99 against the SLO
+     */
+    void addScenario(String name, Histogram latencyMicros, long errors, double p99SloMillis, double maxErrorRatePercent) {
+        Map<String, Object> scenario = new LinkedHashMap<>();
+        long count = latencyMicros.getTotalCount();
+        scenario.put("count", count);
+        scenario.put("errors", errors);
+        for (double percentile : PERCENTILES) {
+            scenario.put("p" + formatPercentile(percentile) + "Millis", toMillis(latencyMicros.getValueAtPercentile(percentile)));
+        }
+        scenario.put("maxMillis", toMillis(latencyMicros.getMaxValue()));
+        scenario.put("meanMillis", count == 0 ? 0.0 : latencyMicros.getMean() / 1000.0);
+        scenario.put("p99SloMillis", p99SloMillis);
+        scenarios.put(name, scenario);
+
+        double p99 = toMillis(latencyMicros.getValueAtPercentile(99.0));
+        if (count == 0) {
+            breaches.add(name + ": no successful samples");
+        } else if (p99 > p99SloMillis) {
+            breaches.add(String.format("%s: p99 %.1f ms exceeds SLO %.1f ms", name, p99, p99SloMillis));
+        }
+        double errorRate = count + errors == 0 ? 0.0 : errors * 100.0 / (count + errors);
+        if (errorRate > maxErrorRatePercent) {
+            breaches.add(String.format("%s: error rate %.2f%% exceeds %.2f%%", name, errorRate, maxErrorRatePercent));
+        }
+    }
+
+    List<String> getBreaches() {
+        return breaches;
+    }
+
+    /**
+     * Write this report and its comparison against the previous commit's report
+     *
+     * @return the comparison as Markdown
+     */
+    String write(File directory) throws IOException {
+        directory.mkdirs();
+        File previous = findPrevious(directory);
+
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("commit", commit);
+        json.put("timestamp", Instant.now().toString());
+        json.put("configuration", configuration);
+        json.put("scenarios", scenarios);
+        json.put("sloBreaches", breaches);
+        MAPPER.writeValue(new File(directory, commit + ".json"), json);
+
+        String comparison = compare(previous == null ? null : MAPPER.readTree(previous));
+        Files.writeString(new File(directory, "comparison-" + commit + ".md").toPath(), comparison, StandardCharsets.UTF_8);
+        return comparison;
+    }
+
+    private String compare(JsonNode previous) {
+        StringBuilder markdown = new StringBuilder();
+        String previousCommit = previous == null ? null : previous.path("commit").asText();
+        markdown.append("# Load test ").append(commit);
+        if (previousCommit != null) {
+            markdown.append(" vs ").append(previousCommit);
+        }
+        markdown.append("\n\n| Scenario | Count | p50 ms | p99 ms | p99 before | Change | SLO ms |\n");
+        markdown.append("|---|---:|---:|---:|---:|---:|---:|\n");
+        for (Map.Entry<String, Map<String, Object>> entry : scenarios.entrySet()) {
+            Map<String, Object> scenario = entry.getValue();
+            double p99 = (Double) scenario.get("p99Millis");
+            JsonNode before = previous == null ? null : previous.path("scenarios").get(entry.getKey());
+            String p99Before = "-";
+            String change = "-";
+            if (before != null) {
+                double previousP99 = before.path("p99Millis").asDouble();
+                p99Before = String.format("%.1f", previousP99);
+                change = previousP99 == 0.0 ? "-" : String.format("%+.1f%%", (p99 - previousP99) / previousP99 * 100.0);
+            }
+            markdown.append(String.format("| %s | %d | %.1f | %.1f | %s | %s | %.0f |%n", entry.getKey(),
+                (Long) scenario.get("count"), (Double) scenario.get("p50Millis"), p99, p99Before, change,
+                (Double) scenario.get("p99SloMillis")));
+        }
+        if (!breaches.isEmpty()) {
+            markdown.append("\nSLO breaches:\n");
+            breaches.forEach(breach -> markdown.append("- ").append(breach).append('\n'));
+        }
+        return markdown.toString();
+    }
+
+    private File findPrevious(File directory) {
+        File[] reports = directory.listFiles((dir, name) -> name.endsWith(".json") && !name.equals(commit + ".json"));
+        if (reports == null) {
+            return null;
+        }
+        return Arrays.stream(reports).max(Comparator.comparingLong(File::lastModified)).orElse(null);
+    }
+
+    private static double toMillis(long micros) {
+        return micros / (double) TimeUnit.MILLISECONDS.toMicros(1);
+    }
+
+    private static String formatPercentile(double percentile) {
+        return percentile == Math.rint(percentile) ? String.valueOf((int) percentile) : String.valueOf(percentile).replace(".", "");
+    }
+}
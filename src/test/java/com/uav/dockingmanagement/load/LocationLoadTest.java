@@ -0,0 +1,352 @@
+package com.uav.dockingmanagement.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.uav.dockingmanagement.config.TestRateLimitingConfig;
+import com.uav.dockingmanagement.model.Region;
+import com.uav.dockingmanagement.model.UAV;
+import com.uav.dockingmanagement.repository.RegionRepository;
+import com.uav.dockingmanagement.repository.UAVRepository;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Import;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.simp.stomp.StompFrameHandler;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.messaging.simp.stomp.StompSession;
+import org.springframework.messaging.simp.stomp.StompSessionHandlerAdapter;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.socket.WebSocketHttpHeaders;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+import org.springframework.web.socket.sockjs.client.SockJsClient;
+import org.springframework.web.socket.sockjs.client.WebSocketTransport;
+
+import java.io.File;
+import java.lang.reflect.Type;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongConsumer;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * End-to-end load test for the location ingestion and read paths.
+ *
+ * <p>Runs the application on a random port in H2 mode and drives it open-loop: every request
+ * has an intended start time on a fixed schedule, and latency is measured from that time, so
+ * queueing behind slow requests is counted instead of hidden. STOMP subscribers on
+ * {@code /topic/location-updates} measure fan-out latency from the moment the update was sent.
+ * Point the run at a local database container by passing {@code spring.datasource.*} and
+ * {@code spring.jpa.database-platform} as system properties.</p>
+ *
+ * <p>Excluded from the default build; run with
+ * {@code mvn -Pload-test,skip-frontend test -Dload.uavs=100 -Dload.update-rate-hz=2}.
+ * Note that every HTTP Basic request pays a BCrypt check, which bounds the authenticated rate.</p>
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+                properties = "logging.level.com.uav.dockingmanagement=WARN")
+@ActiveProfiles("test")
+@Import(TestRateLimitingConfig.class)
+class LocationLoadTest {
+
+    private static final String REGION_NAME = "LOAD-TEST-REGION";
+
+    private final int uavCount = Integer.getInteger("load.uavs", 20);
+    private final double updateRateHz = doubleProperty("load.update-rate-hz", 1.0);
+    private final double accessRateHz = doubleProperty("load.access-rate-hz", 0.5);
+    private final int readers = Integer.getInteger("load.readers", 2);
+    private final double readRateHz = doubleProperty("load.read-rate-hz", 1.0);
+    private final int subscribers = Integer.getInteger("load.subscribers", 4);
+    private final int warmupSeconds = Integer.getInteger("load.warmup-seconds", 5);
+    private final int durationSeconds = Integer.getInteger("load.duration-seconds", 30);
+    private final int workerThreads = Integer.getInteger("load.worker-threads", 64);
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private UAVRepository uavRepository;
+
+    @Autowired
+    private RegionRepository regionRepository;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<Integer, Long> updateSentNanos = new ConcurrentHashMap<>();
+    private final List<StompSession> stompSessions = new ArrayList<>();
+
+    private HttpClient httpClient;
+    private ScheduledExecutorService ticker;
+    private ExecutorService workers;
+    private List<UAV> uavs;
+    private long startNanos;
+    private long measureFromNanos;
+
+    @BeforeEach
+    void setUp() {
+        Region region = regionRepository.findByRegionNameIgnoreCase(REGION_NAME)
+            .orElseGet(() -> regionRepository.save(new Region(REGION_NAME)));
+
+        uavs = new ArrayList<>();
+        for (int i = 0; i < uavCount; i++) {
+            UAV uav = new UAV();
+            uav.setRfidTag(String.format("LOAD-%06d", i));
+            uav.setOwnerName("Load Test");
+            uav.setModel("Load Test Model");
+            uav.setStatus(UAV.Status.AUTHORIZED);
+            uav.setOperationalStatus(UAV.OperationalStatus.IN_FLIGHT);
+            uav.setCurrentLatitude(40.7128);
+            uav.setCurrentLongitude(-74.0060);
+            uav.setCurrentAltitudeMeters(50.0);
+            uav.setLastLocationUpdate(LocalDateTime.now());
+            uav.getRegions().add(region);
+            uavs.add(uav);
+        }
+        uavs = uavRepository.saveAll(uavs);
+
+        httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+        ticker = Executors.newScheduledThreadPool(2);
+        workers = Executors.newFixedThreadPool(workerThreads);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ticker.shutdownNow();
+        workers.shutdownNow();
+        stompSessions.forEach(StompSession::disconnect);
+    }
+
+    @Test
+    void locationPathsMeetLatencySlos() throws Exception {
+        Histogram updateLatency = new ConcurrentHistogram(3);
+        Histogram accessLatency = new ConcurrentHistogram(3);
+        Histogram currentLatency = new ConcurrentHistogram(3);
+        Histogram fanOutLatency = new ConcurrentHistogram(3);
+        LongAdder updateErrors = new LongAdder();
+        LongAdder accessErrors = new LongAdder();
+        LongAdder currentErrors = new LongAdder();
+
+        startNanos = System.nanoTime() + TimeUnit.SECONDS.toNanos(1);
+        measureFromNanos = startNanos + TimeUnit.SECONDS.toNanos(warmupSeconds);
+        connectSubscribers(fanOutLatency);
+
+        // Spread each stream's start across its period so requests do not arrive in bursts
+        for (int i = 0; i < uavs.size(); i++) {
+            UAV uav = uavs.get(i);
+            double phase = (double) i / uavs.size();
+            scheduleOpenLoop(updateRateHz, phase, intended ->
+                sendLocationUpdate(uav, intended, updateLatency, updateErrors));
+            scheduleOpenLoop(accessRateHz, phase, intended ->
+                sendAccessValidation(uav, intended, accessLatency, accessErrors));
+        }
+        for (int i = 0; i < readers; i++) {
+            scheduleOpenLoop(readRateHz, (double) i / readers, intended ->
+                readCurrentLocations(intended, currentLatency, currentErrors));
+        }
+
+        TimeUnit.NANOSECONDS.sleep(measureFromNanos - System.nanoTime() + TimeUnit.SECONDS.toNanos(durationSeconds));
+        ticker.shutdownNow();
+        workers.shutdown();
+        workers.awaitTermination(30, TimeUnit.SECONDS);
+        // Let in-flight broadcasts reach the subscribers
+        TimeUnit.SECONDS.sleep(1);
+
+        LoadTestReport report = new LoadTestReport(commitId(), configuration());
+        double maxErrorRate = doubleProperty("load.slo.max-error-rate-percent", 1.0);
+        report.addScenario("POST /api/location/update", updateLatency, updateErrors.sum(),
+                           doubleProperty("load.slo.location-update.p99-ms", 500.0), maxErrorRate);
+        report.addScenario("POST /api/access/validate", accessLatency, accessErrors.sum(),
+                           doubleProperty("load.slo.access-validate.p99-ms", 100.0), maxErrorRate);
+        report.addScenario("GET /api/location/current", currentLatency, currentErrors.sum(),
+                           doubleProperty("load.slo.location-current.p99-ms", 1000.0), maxErrorRate);
+        if (subscribers > 0) {
+            report.addScenario("STOMP /topic/location-updates", fanOutLatency, 0,
+                               doubleProperty("load.slo.websocket-fanout.p99-ms", 500.0), maxErrorRate);
+        }
+
+        System.out.println(report.write(new File(System.getProperty("load.report-dir", "load-reports"))));
+        assertTrue(report.getBreaches().isEmpty(), "SLO breached: " + String.join("; ", report.getBreaches()));
+    }
+
+    private void scheduleOpenLoop(double rateHz, double phase, LongConsumer request) {
+        if (rateHz <= 0) {
+            return;
+        }
+        long periodNanos = Math.max(1L, (long) (TimeUnit.SECONDS.toNanos(1) / rateHz));
+        long firstNanos = startNanos + (long) (phase * periodNanos);
+        AtomicLong sequence = new AtomicLong();
+        ticker.scheduleAtFixedRate(() -> {
+            long intended = firstNanos + sequence.getAndIncrement() * periodNanos;
+            try {
+                workers.execute(() -> request.accept(intended));
+            } catch (RejectedExecutionException e) {
+                // Shutting down
+            }
+        }, Math.max(0L, firstNanos - System.nanoTime()), periodNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private void sendLocationUpdate(UAV uav, long intendedNanos, Histogram latency, LongAdder errors) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("latitude", 40.7128 + (random.nextDouble() - 0.5) * 0.05);
+        body.put("longitude", -74.0060 + (random.nextDouble() - 0.5) * 0.05);
+        body.put("altitude", 20.0 + random.nextDouble() * 100.0);
+        body.put("speed", random.nextDouble() * 60.0);
+        body.put("heading", random.nextDouble() * 360.0);
+        body.put("batteryLevel", 20 + random.nextInt(80));
+
+        try {
+            HttpRequest request = HttpRequest.newBuilder(uri("/api/location/update/" + uav.getId()))
+                .header("Content-Type", "application/json")
+                .header("Authorization", basicAuth("operator", "operator123"))
+                .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(body)))
+                .build();
+            updateSentNanos.put(uav.getId(), System.nanoTime());
+            HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+            record(intendedNanos, latency, errors, response.statusCode() == 200);
+        } catch (Exception e) {
+            record(intendedNanos, latency, errors, false);
+        }
+    }
+
+    private void sendAccessValidation(UAV uav, long intendedNanos, Histogram latency, LongAdder errors) {
+        try {
+            HttpRequest request = HttpRequest.newBuilder(
+                    uri("/api/access/validate?rfidId=" + uav.getRfidTag() + "&regionName=" + REGION_NAME))
+                .POST(HttpRequest.BodyPublishers.noBody())
+                .build();
+            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            record(intendedNanos, latency, errors, "OPEN THE DOOR".equals(response.body()));
+        } catch (Exception e) {
+            record(intendedNanos, latency, errors, false);
+        }
+    }
+
+    private void readCurrentLocations(long intendedNanos, Histogram latency, LongAdder errors) {
+        try {
+            HttpRequest request = HttpRequest.newBuilder(uri("/api/location/current"))
+                .header("Authorization", basicAuth("user", "user123"))
+                .GET()
+                .build();
+            HttpResponse<byte[]> response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            record(intendedNanos, latency, errors, response.statusCode() == 200);
+        } catch (Exception e) {
+            record(intendedNanos, latency, errors, false);
+        }
+    }
+
+    private void record(long intendedNanos, Histogram latency, LongAdder errors, boolean success) {
+        if (intendedNanos < measureFromNanos) {
+            return;
+        }
+        if (success) {
+            latency.recordValue(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - intendedNanos));
+        } else {
+            errors.increment();
+        }
+    }
+
+    private void connectSubscribers(Histogram fanOutLatency) throws Exception {
+        WebSocketStompClient stompClient = new WebSocketStompClient(
+            new SockJsClient(List.of(new WebSocketTransport(new StandardWebSocketClient()))));
+        stompClient.setMessageConverter(new MappingJackson2MessageConverter());
+        WebSocketHttpHeaders headers = new WebSocketHttpHeaders();
+        headers.set("Authorization", basicAuth("user", "user123"));
+
+        for (int i = 0; i < subscribers; i++) {
+            StompSession session = stompClient.connectAsync("http://localhost:" + port + "/ws", headers,
+                                                            new StompSessionHandlerAdapter() { })
+                .get(10, TimeUnit.SECONDS);
+            session.subscribe("/topic/location-updates", new StompFrameHandler() {
+                @Override
+                public Type getPayloadType(StompHeaders stompHeaders) {
+                    return Map.class;
+                }
+
+                @Override
+                public void handleFrame(StompHeaders stompHeaders, Object payload) {
+                    long now = System.nanoTime();
+                    Object uavId = ((Map<?, ?>) payload).get("uavId");
+                    Long sent = uavId instanceof Number ? updateSentNanos.get(((Number) uavId).intValue()) : null;
+                    if (sent != null && sent >= measureFromNanos) {
+                        fanOutLatency.recordValue(TimeUnit.NANOSECONDS.toMicros(now - sent));
+                    }
+                }
+            });
+            stompSessions.add(session);
+        }
+    }
+
+    private Map<String, Object> configuration() {
+        Map<String, Object> configuration = new LinkedHashMap<>();
+        configuration.put("uavs", uavCount);
+        configuration.put("updateRateHz", updateRateHz);
+        configuration.put("accessRateHz", accessRateHz);
+        configuration.put("readers", readers);
+        configuration.put("readRateHz", readRateHz);
+        configuration.put("subscribers", subscribers);
+        configuration.put("warmupSeconds", warmupSeconds);
+        configuration.put("durationSeconds", durationSeconds);
+        configuration.put("datasource", System.getProperty("spring.datasource.url", "h2"));
+        return configuration;
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    private static String basicAuth(String username, String password) {
+        return "Basic " + Base64.getEncoder().encodeToString((username + ":" + password).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static double doubleProperty(String name, double defaultValue) {
+        String value = System.getProperty(name);
+        return value == null ? defaultValue : Double.parseDouble(value);
+    }
+
+    /**
+     * Commit under test, from {@code -Dload.commit} or the working tree
+     */
+    private static String commitId() {
+        String commit = System.getProperty("load.commit");
+        if (commit != null && !commit.isBlank()) {
+            return commit;
+        }
+        try {
+            Process process = new ProcessBuilder("git", "rev-parse", "--short", "HEAD").redirectErrorStream(true).start();
+            String output = new String(process.getInputStream().readAllBytes(), StandardCharsets.UTF_8).trim();
+            if (process.waitFor(5, TimeUnit.SECONDS) && process.exitValue() == 0 && !output.isEmpty()) {
+                return output;
+            }
+        } catch (Exception e) {
+            // Not a git checkout
+        }
+        return "local-" + System.currentTimeMillis();
+    }
+}
@@ -7,6 +7,16 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
 
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -88,16 +98,16 @@ class HibernatePodTest {
     }
 
     @Test
-    void testGetUAVs() {
+    void testGetUAVIds() {
         hibernatePod.addUAV(testUAV1);
         hibernatePod.addUAV(testUAV2);
 
-        assertEquals(2, hibernatePod.getUAVs().size());
-        assertTrue(hibernatePod.getUAVs().contains(testUAV1));
-        assertTrue(hibernatePod.getUAVs().contains(testUAV2));
+        assertEquals(2, hibernatePod.getUAVIds().size());
+        assertTrue(hibernatePod.getUAVIds().contains(testUAV1.getId()));
+        assertTrue(hibernatePod.getUAVIds().contains(testUAV2.getId()));
 
         // Ensure returned set is a copy (cannot be modified externally)
-        hibernatePod.getUAVs().clear();
+        hibernatePod.getUAVIds().clear();
         assertEquals(2, hibernatePod.getCurrentCapacity());
     }
 
@@ -173,4 +183,67 @@ class HibernatePodTest {
         assertFalse(hibernatePod.isFull());
         assertEquals(5, hibernatePod.getAvailableCapacity());
     }
+
+    @Test
+    void testMultiplePodsWithConfiguredCapacities() {
+        hibernatePod.configurePods("north=1, south=2");
+
+        assertEquals(3, hibernatePod.getMaxCapacity());
+        assertEquals("north", hibernatePod.admit(1, null));
+        assertEquals("south", hibernatePod.admit(2, null));
+        assertNull(hibernatePod.admit(3, "north"));
+        assertEquals("south", hibernatePod.admit(3, "south"));
+        assertTrue(hibernatePod.isFull());
+
+        assertEquals("north", hibernatePod.release(1));
+        assertEquals(0, hibernatePod.getPodOccupancy("north"));
+        assertEquals(2, hibernatePod.getPodOccupancy("south"));
+        assertEquals(Set.of(2, 3), hibernatePod.getUAVIds("south"));
+    }
+
+    @Test
+    void testInvalidPodConfigurationFallsBackToDefault() {
+        hibernatePod.configurePods("bogus");
+
+        assertEquals(List.of(HibernatePod.DEFAULT_POD_ID), hibernatePod.getPodIds());
+        assertEquals(5, hibernatePod.getMaxCapacity());
+    }
+
+    @Test
+    void testAdmitSameUAVTwice() {
+        assertNotNull(hibernatePod.admit(1, null));
+        assertNull(hibernatePod.admit(1, null));
+        assertEquals(1, hibernatePod.getCurrentCapacity());
+    }
+
+    @Test
+    void testConcurrentAdmissionNeverExceedsCapacity() throws Exception {
+        int threads = 16;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger admitted = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            for (int i = 0; i < 200; i++) {
+                int uavId = i % 50;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    if (hibernatePod.admit(uavId, null) != null) {
+                        admitted.incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(5, admitted.get());
+        assertEquals(5, hibernatePod.getCurrentCapacity());
+        assertEquals(5, hibernatePod.getUAVIds().size());
+    }
 }
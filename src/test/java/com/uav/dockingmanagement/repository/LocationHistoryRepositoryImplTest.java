@@ -0,0 +1,78 @@
+package com.uav.dockingmanagement.repository;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the bounding box of LocationHistoryRepositoryImpl
+ */
+class LocationHistoryRepositoryImplTest {
+
+    private static final double EARTH_RADIUS_KM = 6371.0;
+
+    @Test
+    void testBoxContainsCircle() {
+        double[] box = LocationHistoryRepositoryImpl.boundingBox(60.0, 10.0, 100.0);
+        assertTrue(box[0] < 60.0 && box[1] > 60.0 && box[2] < 10.0 && box[3] > 10.0);
+
+        // Points 100 km away in every direction, including the widest point of the circle, are inside
+        for (int bearing = 0; bearing < 360; bearing += 5) {
+            double[] point = destination(60.0, 10.0, 100.0, bearing);
+            assertTrue(contains(box, point[0], point[1]), "bearing " + bearing);
+        }
+        // A point just beyond the box's east edge is not
+        assertFalse(contains(box, 60.0, box[3] + 0.01));
+    }
+
+    @Test
+    void testBoxNearPolesSpansAllLongitudes() {
+        double[] north = LocationHistoryRepositoryImpl.boundingBox(89.99, 45.0, 5.0);
+        assertEquals(90.0, north[1]);
+        assertEquals(-180.0, north[2]);
+        assertEquals(180.0, north[3]);
+        // The circle reaches across the pole to the opposite meridian
+        assertTrue(contains(north, 89.99, -135.0));
+
+        double[] south = LocationHistoryRepositoryImpl.boundingBox(-89.99, 0.0, 5.0);
+        assertEquals(-90.0, south[0]);
+        assertEquals(-180.0, south[2]);
+        assertEquals(180.0, south[3]);
+    }
+
+    @Test
+    void testBoxAcrossAntimeridianSpansAllLongitudes() {
+        double[] east = LocationHistoryRepositoryImpl.boundingBox(0.0, 179.99, 5.0);
+        assertEquals(-180.0, east[2]);
+        assertEquals(180.0, east[3]);
+        double[] point = destination(0.0, 179.99, 4.0, 90);
+        assertTrue(point[1] < -179.0);
+        assertTrue(contains(east, point[0], point[1]));
+
+        double[] west = LocationHistoryRepositoryImpl.boundingBox(10.0, -179.99, 5.0);
+        assertEquals(-180.0, west[2]);
+        assertEquals(180.0, west[3]);
+
+        // Far enough from the antimeridian the box stays narrow
+        double[] near = LocationHistoryRepositoryImpl.boundingBox(0.0, 179.0, 5.0);
+        assertTrue(near[2] > 178.9 && near[3] < 180.0);
+    }
+
+    private static boolean contains(double[] box, double latitude, double longitude) {
+        return latitude >= box[0] && latitude <= box[1] && longitude >= box[2] && longitude <= box[3];
+    }
+
+    /**
+     * Point {@code distanceKm} from a start point along an initial bearing, longitude in [-180, 180)
+     */
+    private static double[] destination(double latitude, double longitude, double distanceKm, double bearingDegrees) {
+        double angle = distanceKm / EARTH_RADIUS_KM;
+        double lat1 = Math.toRadians(latitude);
+        double bearing = Math.toRadians(bearingDegrees);
+        double lat2 = Math.asin(Math.sin(lat1) * Math.cos(angle) + Math.cos(lat1) * Math.sin(angle) * Math.cos(bearing));
+        double lon2 = Math.toRadians(longitude) + Math.atan2(Math.sin(bearing) * Math.sin(angle) * Math.cos(lat1),
+            Math.cos(angle) - Math.sin(lat1) * Math.sin(lat2));
+        double lonDegrees = (Math.toDegrees(lon2) + 540.0) % 360.0 - 180.0;
+        return new double[] { Math.toDegrees(lat2), lonDegrees };
+    }
+}
@@ -0,0 +1,97 @@
+package com.uav.dockingmanagement.repository;
+
+import com.uav.dockingmanagement.config.TestRateLimitingConfig;
+import com.uav.dockingmanagement.model.LocationHistory;
+import com.uav.dockingmanagement.model.UAV;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Chunked location history scans on H2
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(TestRateLimitingConfig.class)
+@Transactional
+class LocationHistoryScannerTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2001, 3, 1, 10, 0);
+
+    @Autowired
+    private UAVRepository uavRepository;
+
+    @Autowired
+    private LocationHistoryRepository locationHistoryRepository;
+
+    @Autowired
+    private LocationHistoryScanner locationHistoryScanner;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void testChunksFollowTimeOrderWhenIdOrderDiffers() {
+        UAV uav = new UAV();
+        uav.setRfidTag("SCANNER_TEST_001");
+        uav.setOwnerName("Scanner Test Owner");
+        uav.setModel("Test Model");
+        uav.setStatus(UAV.Status.AUTHORIZED);
+        uav.setOperationalStatus(UAV.OperationalStatus.READY);
+        uav = uavRepository.save(uav);
+
+        // Inserted in this order, so ids follow it; late and backfilled fixes make time order differ
+        long late = save(uav, 40);
+        long first10 = save(uav, 10);
+        long first20 = save(uav, 20);
+        long earliest = save(uav, 0);
+        long second20 = save(uav, 20);
+        long second10 = save(uav, 10);
+        save(uav, 3600);
+
+        List<Long> ids = new ArrayList<>();
+        List<LocalDateTime> timestamps = new ArrayList<>();
+        LocalDateTime afterTime = null;
+        long afterId = 0;
+        LocationHistoryScanner.LocationChunk chunk;
+        int chunks = 0;
+        do {
+            chunk = locationHistoryScanner.scan(START, START.plusHours(1), null, afterTime, afterId, 2);
+            for (int i = 0; i < chunk.size(); i++) {
+                ids.add(chunk.getIds()[i]);
+                timestamps.add(chunk.getTimestamps()[i]);
+            }
+            if (chunk.size() > 0) {
+                afterTime = chunk.lastTimestamp();
+                afterId = chunk.lastId();
+            }
+            chunks++;
+        } while (chunk.size() == 2);
+
+        // Ties at 10 s and 20 s fall across chunk boundaries and are neither skipped nor repeated
+        assertEquals(List.of(earliest, first10, second10, first20, second20, late), ids);
+        for (int i = 1; i < timestamps.size(); i++) {
+            assertFalse(timestamps.get(i).isBefore(timestamps.get(i - 1)));
+        }
+        assertEquals(4, chunks);
+    }
+
+    private long save(UAV uav, int secondsAfterStart) {
+        LocationHistory location = locationHistoryRepository.save(new LocationHistory(uav, 40.0, -74.0, 50.0));
+        // The timestamp is set on insert, so move it afterwards
+        jdbcTemplate.update("UPDATE location_history SET timestamp = ? WHERE id = ?",
+            Timestamp.valueOf(START.plusSeconds(secondsAfterStart)), location.getId());
+        return location.getId();
+    }
+}
@@ -0,0 +1,89 @@
+package com.uav.dockingmanagement.repository;
+
+import com.uav.dockingmanagement.config.TestRateLimitingConfig;
+import com.uav.dockingmanagement.model.LocationHistory;
+import com.uav.dockingmanagement.model.UAV;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Proximity queries on H2, which use the bounding-box prefilter and the haversine refinement
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(TestRateLimitingConfig.class)
+@Transactional
+class LocationProximityQueryTest {
+
+    private static final double LATITUDE = 40.0;
+    private static final double LONGITUDE = -74.0;
+
+    @Autowired
+    private UAVRepository uavRepository;
+
+    @Autowired
+    private LocationHistoryRepository locationHistoryRepository;
+
+    @Autowired
+    private LocationSpatialSchema spatialSchema;
+
+    private UAV testUAV;
+
+    @BeforeEach
+    void setUp() {
+        testUAV = new UAV();
+        testUAV.setRfidTag("PROXIMITY_TEST_001");
+        testUAV.setOwnerName("Proximity Test Owner");
+        testUAV.setModel("Test Model");
+        testUAV.setStatus(UAV.Status.AUTHORIZED);
+        testUAV.setOperationalStatus(UAV.OperationalStatus.READY);
+        testUAV = uavRepository.save(testUAV);
+    }
+
+    @Test
+    void testPointsAroundRadiusBoundary() {
+        assertFalse(spatialSchema.isAvailable());
+
+        // About 990 m north, 1012 m north, and 1232 m north-east: inside the box, outside the circle
+        LocationHistory inside = save(LATITUDE + 0.0089, LONGITUDE);
+        LocationHistory outside = save(LATITUDE + 0.0091, LONGITUDE);
+        LocationHistory corner = save(LATITUDE + 0.0080, LONGITUDE + 0.0100);
+        // About 992 m and 1009 m east
+        LocationHistory insideEast = save(LATITUDE, LONGITUDE + 0.01165);
+        LocationHistory outsideEast = save(LATITUDE, LONGITUDE + 0.01185);
+
+        List<LocationHistory> found = locationHistoryRepository.findLocationsNearPoint(
+            LATITUDE, LONGITUDE, 1.0, LocalDateTime.now().minusHours(1));
+
+        List<Long> ids = found.stream().map(LocationHistory::getId).toList();
+        assertTrue(ids.contains(inside.getId()));
+        assertTrue(ids.contains(insideEast.getId()));
+        assertFalse(ids.contains(outside.getId()));
+        assertFalse(ids.contains(corner.getId()));
+        assertFalse(ids.contains(outsideEast.getId()));
+    }
+
+    @Test
+    void testOlderFixesAreExcluded() {
+        LocationHistory fix = save(LATITUDE, LONGITUDE);
+
+        assertTrue(locationHistoryRepository.findLocationsNearPoint(LATITUDE, LONGITUDE, 1.0,
+            LocalDateTime.now().minusHours(1)).stream().anyMatch(location -> location.getId().equals(fix.getId())));
+        assertTrue(locationHistoryRepository.findLocationsNearPoint(LATITUDE, LONGITUDE, 1.0,
+            LocalDateTime.now().plusHours(1)).isEmpty());
+    }
+
+    private LocationHistory save(double latitude, double longitude) {
+        return locationHistoryRepository.save(new LocationHistory(testUAV, latitude, longitude, 50.0));
+    }
+}
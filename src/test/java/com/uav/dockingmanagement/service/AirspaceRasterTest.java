@@ -0,0 +1,151 @@
+package com.uav.dockingmanagement.service;
+
+import com.uav.dockingmanagement.model.Geofence;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for AirspaceRaster and AirspaceTileRenderer
+ */
+class AirspaceRasterTest {
+
+    @Test
+    void testCellsAwayFromBoundariesNeedNoExactTest() {
+        Geofence noFly = Geofence.createCircularFence("No fly", 40.5, -74.5, 2000.0, Geofence.BoundaryType.EXCLUSION);
+        AirspaceRaster raster = raster(List.of(noFly));
+
+        assertEquals(AirspaceRaster.State.FORBIDDEN, raster.stateAt(40.5, -74.5));
+        assertEquals(AirspaceRaster.State.ALLOWED, raster.stateAt(40.6, -74.5));
+        assertEquals(AirspaceRaster.State.ALLOWED, raster.stateAt(10.0, 10.0));
+        assertEquals(AirspaceRaster.State.BOUNDARY, raster.stateAt(40.5 + 2000 / 111_195.0, -74.5));
+        assertTrue(raster.isForbidden(40.5, -74.5, null));
+        assertFalse(raster.isForbidden(40.6, -74.5, null));
+        // One tile; everything else is the background
+        assertEquals(1, raster.getTileCount());
+    }
+
+    @Test
+    void testMatchesExactChecks() {
+        List<Geofence> fences = randomFences(new Random(11));
+        AirspaceRaster raster = raster(fences);
+        assertMatchesExactChecks(raster, fences, new Random(12));
+    }
+
+    @Test
+    void testIncrementalUpdateMatchesFullBuild() {
+        List<Geofence> fences = randomFences(new Random(21));
+        AirspaceRaster raster = raster(fences);
+
+        List<Geofence> changed = new ArrayList<>(fences);
+        changed.remove(3);
+        changed.add(Geofence.createCircularFence("Added", 40.02, -74.03, 1500.0, Geofence.BoundaryType.EXCLUSION));
+        AirspaceRaster updated = raster.update(new GeofenceIndex(changed, 0.05));
+
+        assertMatchesExactChecks(updated, changed, new Random(22));
+        assertEquals(raster(changed).getNodeCount(), updated.getNodeCount());
+    }
+
+    @Test
+    void testInclusionFencesForbidEverythingOutside() {
+        Geofence zone = Geofence.createCircularFence("Zone", 40.0, -74.0, 5000.0, Geofence.BoundaryType.INCLUSION);
+        Geofence stack = Geofence.createCircularFence("Stack", 40.0, -74.0, 500.0, Geofence.BoundaryType.EXCLUSION);
+        stack.setMaxAltitudeMeters(60.0);
+        AirspaceRaster raster = raster(List.of(zone, stack));
+
+        assertEquals(AirspaceRaster.State.FORBIDDEN, raster.getBackground());
+        assertTrue(raster.isForbidden(45.0, 10.0, 100.0));
+        assertFalse(raster.isForbidden(40.02, -74.0, 100.0));
+        // Inside the banded exclusion: depends on altitude
+        assertEquals(AirspaceRaster.State.BOUNDARY, raster.stateAt(40.0, -74.0));
+        assertTrue(raster.isForbidden(40.0, -74.0, 30.0));
+        assertFalse(raster.isForbidden(40.0, -74.0, 100.0));
+    }
+
+    @Test
+    void testSimplifiedPolygonsAgreeWithOriginalRing() {
+        // A square whose south edge wobbles by about 30 m, within the 50 m simplification tolerance
+        StringBuilder ring = new StringBuilder("[");
+        for (int i = 0; i <= 40; i++) {
+            ring.append(String.format(Locale.ROOT, "[%f,%f],", 40.0 + (i % 2 == 0 ? 0.0 : 0.0003), -74.0 + i * 0.0005));
+        }
+        ring.append("[40.02,-73.98],[40.02,-74.0]]");
+        Geofence noFly = Geofence.createPolygonalFence("Wobbly", ring.toString(), Geofence.BoundaryType.EXCLUSION);
+        GeofenceIndex index = new GeofenceIndex(List.of(noFly), 0.05, 50.0);
+        assertTrue(index.getFences().get(0).getPolygonLatitudes().length < 40);
+        AirspaceRaster raster = new AirspaceRaster(index, 1.0, 12);
+
+        Random random = new Random(31);
+        for (int i = 0; i < 20_000; i++) {
+            double latitude = 39.999 + random.nextDouble() * 0.0015;
+            double longitude = -74.0 + random.nextDouble() * 0.02;
+            boolean violated = noFly.isViolatedBy(latitude, longitude, null);
+            AirspaceRaster.State state = raster.stateAt(latitude, longitude);
+            if (state != AirspaceRaster.State.BOUNDARY) {
+                assertEquals(violated, state == AirspaceRaster.State.FORBIDDEN, "at " + latitude + ", " + longitude);
+            }
+            assertEquals(violated, raster.isForbidden(latitude, longitude, null), "at " + latitude + ", " + longitude);
+        }
+    }
+
+    @Test
+    void testRendersMapTiles() {
+        AirspaceRaster raster = raster(List.of(
+            Geofence.createCircularFence("No fly", 40.0, -74.0, 2000.0, Geofence.BoundaryType.EXCLUSION)));
+        byte[] png = AirspaceTileRenderer.renderPng(raster, 12, 1206, 1550);
+        assertEquals((byte) 0x89, png[0]);
+        assertEquals('P', png[1]);
+        assertThrows(IllegalArgumentException.class, () -> AirspaceTileRenderer.renderPng(raster, 2, 4, 0));
+    }
+
+    private static void assertMatchesExactChecks(AirspaceRaster raster, List<Geofence> fences, Random random) {
+        GeofenceIndex index = new GeofenceIndex(fences, 0.05);
+        for (int i = 0; i < 20_000; i++) {
+            double latitude = 39.9 + random.nextDouble() * 0.2;
+            double longitude = -74.1 + random.nextDouble() * 0.2;
+            Double altitude = i % 3 == 0 ? null : random.nextDouble() * 200;
+            boolean expected = false;
+            for (GeofenceIndex.IndexedFence fence : index.getFences()) {
+                boolean inside = fence.contains(latitude, longitude)
+                    && (altitude == null || fence.containsAltitude(altitude));
+                expected |= inside == (fence.getGeofence().getBoundaryType() == Geofence.BoundaryType.EXCLUSION);
+            }
+            assertEquals(expected, raster.isForbidden(latitude, longitude, altitude),
+                "at " + latitude + ", " + longitude + ", " + altitude);
+        }
+    }
+
+    private static List<Geofence> randomFences(Random random) {
+        List<Geofence> fences = new ArrayList<>();
+        for (int f = 0; f < 12; f++) {
+            double latitude = 39.95 + random.nextDouble() * 0.1;
+            double longitude = -74.05 + random.nextDouble() * 0.1;
+            Geofence fence;
+            if (f % 2 == 0) {
+                fence = Geofence.createCircularFence("Circle " + f, latitude, longitude,
+                    300.0 + random.nextDouble() * 3000.0, Geofence.BoundaryType.EXCLUSION);
+            } else {
+                double size = 0.005 + random.nextDouble() * 0.03;
+                fence = Geofence.createPolygonalFence("Polygon " + f, String.format(Locale.ROOT,
+                    "[[%f,%f],[%f,%f],[%f,%f],[%f,%f]]", latitude, longitude, latitude + size, longitude + size / 3,
+                    latitude + size / 2, longitude + size, latitude - size / 4, longitude + size / 2),
+                    Geofence.BoundaryType.EXCLUSION);
+            }
+            if (f % 4 == 1) {
+                fence.setMinAltitudeMeters(50.0);
+                fence.setMaxAltitudeMeters(120.0);
+            }
+            fences.add(fence);
+        }
+        return fences;
+    }
+
+    private static AirspaceRaster raster(List<Geofence> fences) {
+        return new AirspaceRaster(new GeofenceIndex(fences, 0.05), 1.0, 10);
+    }
+}
@@ -0,0 +1,96 @@
+package com.uav.dockingmanagement.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for BatteryStateIndex
+ */
+class BatteryStateIndexTest {
+
+    @Test
+    void testCountsUseLatestChargeOnly() {
+        BatteryStateIndex index = new BatteryStateIndex();
+        index.update(1, "UAV-1", 15, null, null, null, 0);
+        index.update(2, "UAV-2", 50, null, null, null, 0);
+        assertEquals(1, index.countChargeBelow(20));
+
+        // UAV 1 recharged, UAV 2 drained
+        index.update(1, null, 90, null, null, null, 1);
+        index.update(2, null, 5, null, null, null, 1);
+        assertEquals(1, index.countChargeBelow(20));
+        assertEquals(1, index.countChargeBelow(10));
+        assertEquals(2, index.size());
+        assertEquals("UAV-1", index.get(1).orElseThrow().getRfidTag());
+    }
+
+    @Test
+    void testThresholdIsExclusive() {
+        BatteryStateIndex index = new BatteryStateIndex();
+        index.update(1, null, 19, null, null, null, 0);
+        index.update(2, null, 20, null, null, null, 0);
+        index.update(3, null, 21, null, null, null, 0);
+
+        assertEquals(1, index.countChargeBelow(20));
+        assertEquals(2, index.countChargeBelow(20.5));
+        assertEquals(0, index.countChargeBelow(0));
+        assertEquals(3, index.countChargeBelow(101));
+    }
+
+    @Test
+    void testFindChargeBelowIsLowestFirst() {
+        BatteryStateIndex index = new BatteryStateIndex();
+        index.update(1, null, 18, null, null, null, 0);
+        index.update(2, null, 3, null, null, null, 0);
+        index.update(3, null, 60, null, null, null, 0);
+        index.update(4, null, 11, null, null, null, 0);
+
+        List<Integer> ids = index.findChargeBelow(20).stream().map(BatteryStateIndex.BatteryState::getUavId).toList();
+        assertEquals(List.of(2, 4, 1), ids);
+    }
+
+    @Test
+    void testTemperatureAboveIncludesOutOfRangeValues() {
+        BatteryStateIndex index = new BatteryStateIndex();
+        index.update(1, null, 50, 100, 60.0, null, 0);
+        index.update(2, null, 50, 100, 60.5, null, 0);
+        index.update(3, null, 50, 100, 200.0, null, 0);
+        index.update(4, null, 50, 100, 25.0, null, 0);
+
+        assertEquals(2, index.countTemperatureAbove(60.0));
+        List<Integer> ids = index.findTemperatureAbove(60.0).stream().map(BatteryStateIndex.BatteryState::getUavId).toList();
+        assertEquals(List.of(3, 2), ids);
+        assertEquals(4, index.countTemperatureAbove(-100.0));
+    }
+
+    @Test
+    void testPartialUpdatesKeepOtherValues() {
+        BatteryStateIndex index = new BatteryStateIndex();
+        index.update(1, "UAV-1", 80, 70, 30.0, true, 0);
+        index.update(1, null, 75, null, null, null, 1);
+
+        BatteryStateIndex.BatteryState state = index.get(1).orElseThrow();
+        assertEquals(75, state.getChargePercentage());
+        assertEquals(70, state.getHealthPercentage());
+        assertEquals(30.0, state.getTemperatureCelsius());
+        assertTrue(state.isCharging());
+        assertEquals(1, index.countCharging());
+        assertEquals(1, index.countHealthBelow(80));
+    }
+
+    @Test
+    void testRemove() {
+        BatteryStateIndex index = new BatteryStateIndex();
+        index.update(1, null, 5, 40, 70.0, true, 0);
+        index.remove(1);
+
+        assertEquals(0, index.size());
+        assertEquals(0, index.countChargeBelow(20));
+        assertEquals(0, index.countHealthBelow(50));
+        assertEquals(0, index.countTemperatureAbove(60.0));
+        assertEquals(0, index.countCharging());
+    }
+}
@@ -0,0 +1,137 @@
+package com.uav.dockingmanagement.service;
+
+import com.uav.dockingmanagement.model.DockingStation;
+import com.uav.dockingmanagement.model.UAV;
+import com.uav.dockingmanagement.repository.DockingRecordRepository;
+import com.uav.dockingmanagement.repository.UAVRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ChargingSchedulerService
+ */
+@ExtendWith(MockitoExtension.class)
+class ChargingSchedulerServiceTest {
+
+    @Mock
+    private DockingRecordRepository dockingRecordRepository;
+
+    @Mock
+    private UAVRepository uavRepository;
+
+    @Mock
+    private SimpMessagingTemplate messagingTemplate;
+
+    @Mock
+    private BatteryStateService batteryStateService;
+
+    @InjectMocks
+    private ChargingSchedulerService chargingSchedulerService;
+
+    private DockingStation station;
+
+    @BeforeEach
+    void setUp() {
+        station = new DockingStation();
+        station.setId(1L);
+        station.setMaxCapacity(4);
+        station.setChargerCount(1);
+        station.setChargingPowerBudgetWatts(2000.0);
+        chargingSchedulerService.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        chargingSchedulerService.stop();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void testRolledBackDockLeavesOtherSessionsAlone() {
+        chargingSchedulerService.onDocked(uav(1), station, 5);
+
+        TransactionSynchronizationManager.initSynchronization();
+        assertEquals(ChargingScheduler.State.QUEUED, chargingSchedulerService.onDocked(uav(2), station, 1).get("state"));
+        completeTransaction(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        List<Map<String, Object>> sessions = sessions();
+        assertEquals(1, sessions.size());
+        assertEquals(1, sessions.get(0).get("uavId"));
+        assertEquals(ChargingScheduler.State.CHARGING, sessions.get(0).get("state"));
+        // The committed session keeps its mission priority
+        assertEquals(5, sessions.get(0).get("missionPriority"));
+    }
+
+    @Test
+    void testRolledBackUndockRestoresSession() {
+        chargingSchedulerService.onDocked(uav(1), station, 5);
+        chargingSchedulerService.onDocked(uav(2), station, 3);
+
+        TransactionSynchronizationManager.initSynchronization();
+        chargingSchedulerService.onUndocked(1, station);
+        assertEquals(1, sessions().size());
+        completeTransaction(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        List<Map<String, Object>> sessions = sessions();
+        assertEquals(2, sessions.size());
+        // The charger handed out by the undock is kept; the restored UAV waits with its own priority
+        assertEquals(2, sessions.get(0).get("uavId"));
+        assertEquals(ChargingScheduler.State.CHARGING, sessions.get(0).get("state"));
+        assertEquals(1, sessions.get(1).get("uavId"));
+        assertEquals(ChargingScheduler.State.QUEUED, sessions.get(1).get("state"));
+        assertEquals(5, sessions.get(1).get("missionPriority"));
+    }
+
+    @Test
+    void testRolledBackStationUpdateRestoresChargers() {
+        chargingSchedulerService.onDocked(uav(1), station, 0);
+
+        DockingStation updated = new DockingStation();
+        updated.setId(1L);
+        updated.setChargerCount(3);
+        updated.setChargingPowerBudgetWatts(6000.0);
+        TransactionSynchronizationManager.initSynchronization();
+        chargingSchedulerService.onStationUpdated(updated);
+        assertEquals(3, chargingSchedulerService.getStationCharging(1L).orElseThrow().get("chargers"));
+        completeTransaction(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        Map<String, Object> charging = chargingSchedulerService.getStationCharging(1L).orElseThrow();
+        assertEquals(1, charging.get("chargers"));
+        assertEquals(2000.0, charging.get("powerBudgetWatts"));
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Map<String, Object>> sessions() {
+        return (List<Map<String, Object>>) chargingSchedulerService.getStationCharging(1L).orElseThrow().get("sessions");
+    }
+
+    private static UAV uav(int id) {
+        UAV uav = new UAV();
+        uav.setId(id);
+        uav.setRfidTag("CHARGE_" + id);
+        uav.setOperationalStatus(UAV.OperationalStatus.READY);
+        return uav;
+    }
+
+    private static void completeTransaction(int status) {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        TransactionSynchronizationUtils.invokeAfterCompletion(synchronizations, status);
+    }
+}
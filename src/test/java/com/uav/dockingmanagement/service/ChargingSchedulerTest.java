@@ -0,0 +1,147 @@
+package com.uav.dockingmanagement.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ChargingScheduler
+ */
+class ChargingSchedulerTest {
+
+    private static final long T0 = 1_750_000_000_000L;
+    private static final long MINUTE = 60_000L;
+
+    @Test
+    void testQueueOrderedByUrgencyThenPriority() {
+        ChargingScheduler scheduler = new ChargingScheduler(95, 20, 100);
+        scheduler.configure(1L, 2, 1000, T0);
+        scheduler.request(1L, 1, 0, 50, 100, 500, T0);
+        scheduler.request(1L, 2, 0, 60, 100, 500, T0);
+        assertEquals(List.of(new ChargingScheduler.Change(1L, 3, ChargingScheduler.State.QUEUED)),
+            scheduler.request(1L, 3, 0, 40, 100, 500, T0));
+        scheduler.request(1L, 4, 5, 70, 100, 500, T0);
+        scheduler.request(1L, 5, 0, 10, 100, 500, T0);
+        scheduler.request(1L, 6, 0, 30, 100, 500, T0);
+
+        List<ChargingScheduler.SessionView> sessions = scheduler.getStation(1L, T0).orElseThrow().sessions();
+        assertEquals(List.of(1, 2, 5, 4, 6, 3), sessions.stream().map(ChargingScheduler.SessionView::uavId).toList());
+        assertEquals(1, sessions.get(2).queuePosition());
+        assertEquals(4, sessions.get(5).queuePosition());
+
+        List<ChargingScheduler.Change> changes = scheduler.release(1, T0 + MINUTE);
+        assertEquals(List.of(new ChargingScheduler.Change(1L, 5, ChargingScheduler.State.CHARGING)), changes);
+        // Leaving the queue hands nothing out
+        assertTrue(scheduler.release(3, T0 + MINUTE).isEmpty());
+        assertEquals(4, scheduler.size());
+    }
+
+    @Test
+    void testBudgetSplitMaxMinFair() {
+        ChargingScheduler scheduler = new ChargingScheduler(95, 20, 100);
+        scheduler.configure(1L, 3, 1000, T0);
+        scheduler.request(1L, 1, 0, 50, 100, 200, T0);
+        scheduler.request(1L, 2, 0, 50, 100, 600, T0);
+        scheduler.request(1L, 3, 0, 50, 100, 600, T0);
+
+        ChargingScheduler.StationView station = scheduler.getStation(1L, T0).orElseThrow();
+        assertEquals(1000, station.allocatedWatts(), 1e-9);
+        assertEquals(200, scheduler.getSession(1, T0).orElseThrow().powerWatts(), 1e-9);
+        assertEquals(400, scheduler.getSession(2, T0).orElseThrow().powerWatts(), 1e-9);
+
+        // A smaller budget admits fewer sessions than there are chargers
+        scheduler.configure(2L, 4, 250, T0);
+        scheduler.request(2L, 4, 0, 50, 100, 600, T0);
+        scheduler.request(2L, 5, 0, 50, 100, 600, T0);
+        scheduler.request(2L, 6, 0, 50, 100, 600, T0);
+        assertEquals(ChargingScheduler.State.QUEUED, scheduler.getSession(6, T0).orElseThrow().state());
+        assertEquals(125, scheduler.getSession(5, T0).orElseThrow().powerWatts(), 1e-9);
+    }
+
+    @Test
+    void testCompletionAdmitsNextAndEstimatesTimes() {
+        ChargingScheduler scheduler = new ChargingScheduler(95, 20, 100);
+        scheduler.configure(1L, 1, 100, T0);
+        // 50 Wh to go at 100 W: 30 minutes
+        scheduler.request(1L, 1, 0, 45, 100, 500, T0);
+        scheduler.request(1L, 2, 0, 75, 100, 500, T0);
+        assertEquals(ChargingScheduler.State.COMPLETED,
+            scheduler.request(1L, 3, 0, 99, 100, 500, T0).get(0).state());
+
+        ChargingScheduler.SessionView waiting = scheduler.getSession(2, T0 + 10 * MINUTE).orElseThrow();
+        // Completion times are rounded up to the millisecond
+        assertEquals(T0 + 30 * MINUTE, waiting.estimatedStartMillis(), 1);
+        assertEquals(T0 + 42 * MINUTE, waiting.estimatedCompletionMillis(), 2);
+        assertEquals(100.0 * 45 / 100 + 100.0 / 6, scheduler.getSession(1, T0 + 10 * MINUTE).orElseThrow().chargePercent(), 1e-6);
+
+        assertTrue(scheduler.advance(T0 + 29 * MINUTE).isEmpty());
+        List<ChargingScheduler.Change> changes = scheduler.advance(T0 + 35 * MINUTE);
+        assertEquals(List.of(new ChargingScheduler.Change(1L, 1, ChargingScheduler.State.COMPLETED),
+            new ChargingScheduler.Change(1L, 2, ChargingScheduler.State.CHARGING)), changes);
+        assertEquals(75 + 100.0 * 5 / 60, scheduler.getSession(2, T0 + 35 * MINUTE).orElseThrow().chargePercent(), 1e-3);
+    }
+
+    @Test
+    void testMovingToAnotherStationReleasesFirst() {
+        ChargingScheduler scheduler = new ChargingScheduler(95, 20, 100);
+        scheduler.configure(1L, 1, 500, T0);
+        scheduler.configure(2L, 1, 500, T0);
+        scheduler.request(1L, 1, 0, 50, 100, 500, T0);
+        scheduler.request(1L, 2, 0, 50, 100, 500, T0);
+
+        List<ChargingScheduler.Change> changes = scheduler.request(2L, 1, 0, 50, 100, 500, T0);
+        assertEquals(List.of(new ChargingScheduler.Change(1L, 2, ChargingScheduler.State.CHARGING),
+            new ChargingScheduler.Change(2L, 1, ChargingScheduler.State.CHARGING)), changes);
+        assertThrows(IllegalStateException.class, () -> scheduler.request(3L, 3, 0, 50, 100, 500, T0));
+    }
+
+    @Test
+    void testRequestOfAsksAgainWithSamePriority() {
+        ChargingScheduler scheduler = new ChargingScheduler(95, 20, 100);
+        scheduler.configure(1L, 1, 1000, T0);
+        scheduler.request(1L, 1, 0, 50, 100, 500, T0);
+        scheduler.request(1L, 2, 7, 30, 200, 400, T0);
+
+        ChargingScheduler.Request request = scheduler.requestOf(2).orElseThrow();
+        assertEquals(new ChargingScheduler.Request(1L, 2, 7, 30, 200, 400), request);
+        assertTrue(scheduler.requestOf(3).isEmpty());
+
+        // Only a session at the given station is released
+        assertTrue(scheduler.releaseAt(2L, 1, T0 + MINUTE).isEmpty());
+        assertEquals(List.of(new ChargingScheduler.Change(1L, 2, ChargingScheduler.State.CHARGING)),
+            scheduler.releaseAt(1L, 1, T0 + MINUTE));
+        scheduler.release(2, T0 + MINUTE);
+        assertEquals(0, scheduler.size());
+
+        scheduler.request(request.stationId(), request.uavId(), request.missionPriority(), request.chargePercent(),
+            request.capacityWh(), request.maxPowerWatts(), T0 + 2 * MINUTE);
+        assertEquals(7, scheduler.getSession(2, T0 + 2 * MINUTE).orElseThrow().missionPriority());
+    }
+
+    @Test
+    void testDecisionsStayCheapWithLongQueues() {
+        ChargingScheduler scheduler = new ChargingScheduler(95, 20, 50);
+        Random random = new Random(7);
+        for (long station = 0; station < 100; station++) {
+            scheduler.configure(station, 8, 2000, T0);
+        }
+        for (int uav = 0; uav < 20_000; uav++) {
+            scheduler.request(uav % 100, uav, random.nextInt(3), random.nextDouble() * 90, 100, 300, T0);
+        }
+
+        int events = 100_000;
+        long started = System.nanoTime();
+        for (int i = 0; i < events; i++) {
+            int uav = random.nextInt(20_000);
+            long now = T0 + i * 10L;
+            scheduler.release(uav, now);
+            scheduler.request(uav % 100, uav, random.nextInt(3), random.nextDouble() * 90, 100, 300, now);
+        }
+        long elapsedMillis = (System.nanoTime() - started) / 1_000_000;
+        assertEquals(20_000, scheduler.size());
+        assertTrue(elapsedMillis < 5_000, "took " + elapsedMillis + " ms");
+    }
+}
@@ -0,0 +1,106 @@
+package com.uav.dockingmanagement.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ConflictDetector
+ */
+class ConflictDetectorTest {
+
+    private final ConflictDetector detector = new ConflictDetector(50.0, 15.0, 10.0);
+
+    @Test
+    void testHeadOnPairIsDetectedBeforeSeparationIsLost() {
+        // Two UAVs 500 m apart on the same meridian flying towards each other at 108 km/h (30 m/s)
+        double offset = 250.0 / 111_320.0;
+        List<ConflictDetector.Conflict> conflicts = detector.detect(2,
+            new int[]{1, 2},
+            new double[]{40.0 - offset, 40.0 + offset},
+            new double[]{-74.0, -74.0},
+            new double[]{100.0, 100.0},
+            new double[]{108.0, 108.0},
+            new double[]{0.0, 180.0});
+
+        assertEquals(1, conflicts.size());
+        ConflictDetector.Conflict conflict = conflicts.get(0);
+        assertEquals(1, conflict.getUavIdA());
+        assertEquals(2, conflict.getUavIdB());
+        assertEquals(500.0, conflict.getCurrentDistanceMeters(), 1.0);
+        assertEquals(0.0, conflict.getClosestApproachMeters(), 1.0);
+        assertEquals(500.0 / 60.0, conflict.getTimeToClosestApproachSeconds(), 0.1);
+    }
+
+    @Test
+    void testVerticallySeparatedPairIsIgnored() {
+        List<ConflictDetector.Conflict> conflicts = detector.detect(2,
+            new int[]{1, 2},
+            new double[]{40.0, 40.0},
+            new double[]{-74.0, -74.0},
+            new double[]{100.0, 130.0},
+            new double[]{0.0, 0.0},
+            new double[]{0.0, 0.0});
+
+        assertTrue(conflicts.isEmpty());
+    }
+
+    @Test
+    void testDivergingPairIsIgnored() {
+        // 100 m apart and flying away from each other
+        double offset = 50.0 / 111_320.0;
+        List<ConflictDetector.Conflict> conflicts = detector.detect(2,
+            new int[]{1, 2},
+            new double[]{40.0 - offset, 40.0 + offset},
+            new double[]{-74.0, -74.0},
+            new double[]{100.0, 100.0},
+            new double[]{50.0, 50.0},
+            new double[]{180.0, 0.0});
+
+        assertTrue(conflicts.isEmpty());
+    }
+
+    @Test
+    void testMatchesBruteForceOnRandomFleet() {
+        Random random = new Random(42);
+        int count = 2000;
+        int[] ids = new int[count];
+        double[] lat = new double[count];
+        double[] lon = new double[count];
+        double[] alt = new double[count];
+        double[] speed = new double[count];
+        double[] heading = new double[count];
+        for (int i = 0; i < count; i++) {
+            ids[i] = i + 1;
+            lat[i] = 40.0 + random.nextDouble() * 0.05;
+            lon[i] = -74.0 + random.nextDouble() * 0.05;
+            alt[i] = 20.0 + random.nextDouble() * 100.0;
+            speed[i] = random.nextDouble() * 80.0;
+            heading[i] = random.nextDouble() * 360.0;
+        }
+
+        Set<Long> gridPairs = new HashSet<>();
+        for (ConflictDetector.Conflict conflict : detector.detect(count, ids, lat, lon, alt, speed, heading)) {
+            assertTrue(gridPairs.add(conflict.getPairKey()), "pair reported twice");
+        }
+
+        Set<Long> brutePairs = new HashSet<>();
+        ConflictDetector pairDetector = new ConflictDetector(50.0, 15.0, 10.0);
+        for (int i = 0; i < count; i++) {
+            for (int j = i + 1; j < count; j++) {
+                List<ConflictDetector.Conflict> pair = pairDetector.detect(2,
+                    new int[]{ids[i], ids[j]}, new double[]{lat[i], lat[j]}, new double[]{lon[i], lon[j]},
+                    new double[]{alt[i], alt[j]}, new double[]{speed[i], speed[j]}, new double[]{heading[i], heading[j]});
+                pair.forEach(conflict -> brutePairs.add(conflict.getPairKey()));
+            }
+        }
+
+        assertFalse(brutePairs.isEmpty());
+        assertEquals(brutePairs, gridPairs);
+    }
+}
@@ -0,0 +1,54 @@
+package com.uav.dockingmanagement.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for CurrentDockingRegistry
+ */
+class CurrentDockingRegistryTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 6, 1, 10, 0);
+
+    @Test
+    void testClaimIsExclusiveUntilRemoved() {
+        CurrentDockingRegistry registry = new CurrentDockingRegistry();
+        CurrentDockingRegistry.CurrentDocking claim = registry.claim(1, 10L, "CHARGING", NOW);
+        assertNotNull(claim);
+        assertTrue(claim.isPending());
+        assertNull(registry.claim(1, 11L, "CHARGING", NOW));
+
+        CurrentDockingRegistry.CurrentDocking docking = claim.withRecord(100L, NOW.plusSeconds(1));
+        assertTrue(registry.replace(claim, docking));
+        // A claim cleanup running after its record was saved leaves the docking alone
+        assertFalse(registry.remove(claim));
+        assertEquals(100L, registry.get(1).orElseThrow().dockingRecordId().longValue());
+        assertEquals(10L, registry.get(1).orElseThrow().stationId());
+
+        assertTrue(registry.remove(docking));
+        assertTrue(registry.get(1).isEmpty());
+        assertNotNull(registry.claim(1, 11L, "MAINTENANCE", NOW));
+    }
+
+    @Test
+    void testRestoreDoesNotOverwriteNewerDocking() {
+        CurrentDockingRegistry registry = new CurrentDockingRegistry();
+        CurrentDockingRegistry.CurrentDocking old = new CurrentDockingRegistry.CurrentDocking(1, 100L, 10L, NOW, null);
+        registry.reset(List.of(old, new CurrentDockingRegistry.CurrentDocking(2, 101L, 10L, NOW, null)));
+        assertEquals(2, registry.size());
+
+        assertTrue(registry.remove(old));
+        CurrentDockingRegistry.CurrentDocking claim = registry.claim(1, 12L, null, NOW);
+        assertFalse(registry.restore(old));
+        assertEquals(claim, registry.get(1).orElseThrow());
+
+        registry.reset(List.of());
+        assertEquals(0, registry.size());
+        assertTrue(registry.restore(old));
+        assertEquals(old, registry.get(1).orElseThrow());
+    }
+}
@@ -0,0 +1,135 @@
+package com.uav.dockingmanagement.service;
+
+import com.uav.dockingmanagement.model.DockingRecord;
+import com.uav.dockingmanagement.model.UAV;
+import com.uav.dockingmanagement.repository.DockingRecordRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for CurrentDockingService
+ */
+@ExtendWith(MockitoExtension.class)
+class CurrentDockingServiceTest {
+
+    private static final LocalDateTime DOCKED_AT = LocalDateTime.of(2025, 6, 1, 10, 0);
+
+    @Mock
+    private DockingRecordRepository dockingRecordRepository;
+
+    @InjectMocks
+    private CurrentDockingService currentDockingService;
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void testSecondClaimIsRefusedWhileFirstIsPending() {
+        TransactionSynchronizationManager.initSynchronization();
+        CurrentDockingRegistry.CurrentDocking claim = currentDockingService.claim(1, 10L, "CHARGING");
+        assertNotNull(claim);
+        assertTrue(currentDockingService.find(1).orElseThrow().isPending());
+
+        // A second dock of the same UAV, in its own transaction, finds the claim
+        assertNull(currentDockingService.claim(1, 11L, "CHARGING"));
+
+        currentDockingService.confirm(claim, record(100L));
+        completeTransaction(TransactionSynchronization.STATUS_COMMITTED);
+
+        CurrentDockingRegistry.CurrentDocking docking = currentDockingService.find(1).orElseThrow();
+        assertFalse(docking.isPending());
+        assertEquals(100L, docking.dockingRecordId().longValue());
+        assertEquals(10L, docking.stationId());
+        assertNull(currentDockingService.claim(1, 11L, "CHARGING"));
+    }
+
+    @Test
+    void testPendingClaimIsDroppedWhenRecordIsNotSaved() {
+        TransactionSynchronizationManager.initSynchronization();
+        assertNotNull(currentDockingService.claim(1, 10L, "CHARGING"));
+        // The record save failed and dockUAV returned an error: the transaction commits without a record
+        completeTransaction(TransactionSynchronization.STATUS_COMMITTED);
+
+        assertTrue(currentDockingService.find(1).isEmpty());
+        assertNotNull(currentDockingService.claim(1, 11L, "CHARGING"));
+    }
+
+    @Test
+    void testConfirmedDockingIsDroppedWhenDockRollsBack() {
+        TransactionSynchronizationManager.initSynchronization();
+        CurrentDockingRegistry.CurrentDocking claim = currentDockingService.claim(1, 10L, "CHARGING");
+        currentDockingService.confirm(claim, record(100L));
+        assertFalse(currentDockingService.find(1).orElseThrow().isPending());
+        completeTransaction(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        assertTrue(currentDockingService.find(1).isEmpty());
+        assertTrue(currentDockingService.findAll().isEmpty());
+    }
+
+    @Test
+    void testReleasedDockingIsRestoredWhenUndockRollsBack() {
+        when(dockingRecordRepository.findCurrentDockingSummaries()).thenReturn(Collections.singletonList(
+            new Object[]{100L, 1, 10L, DOCKED_AT, "CHARGING"}));
+        currentDockingService.rebuild();
+        CurrentDockingRegistry.CurrentDocking docked = currentDockingService.find(1).orElseThrow();
+
+        TransactionSynchronizationManager.initSynchronization();
+        currentDockingService.release(record(100L));
+        assertTrue(currentDockingService.find(1).isEmpty());
+        completeTransaction(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        assertEquals(docked, currentDockingService.find(1).orElseThrow());
+        assertNull(currentDockingService.claim(1, 11L, "CHARGING"));
+
+        TransactionSynchronizationManager.initSynchronization();
+        currentDockingService.release(record(100L));
+        completeTransaction(TransactionSynchronization.STATUS_COMMITTED);
+
+        assertTrue(currentDockingService.find(1).isEmpty());
+    }
+
+    @Test
+    void testReleaseOfAnotherRecordLeavesDockingAlone() {
+        when(dockingRecordRepository.findCurrentDockingSummaries()).thenReturn(Collections.singletonList(
+            new Object[]{100L, 1, 10L, DOCKED_AT, null}));
+        currentDockingService.rebuild();
+
+        currentDockingService.release(record(99L));
+
+        assertEquals(100L, currentDockingService.find(1).orElseThrow().dockingRecordId().longValue());
+    }
+
+    private static DockingRecord record(Long id) {
+        UAV uav = new UAV();
+        uav.setId(1);
+        DockingRecord dockingRecord = new DockingRecord();
+        dockingRecord.setId(id);
+        dockingRecord.setUav(uav);
+        dockingRecord.setDockTime(DOCKED_AT);
+        return dockingRecord;
+    }
+
+    private static void completeTransaction(int status) {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        TransactionSynchronizationUtils.invokeAfterCompletion(synchronizations, status);
+    }
+}
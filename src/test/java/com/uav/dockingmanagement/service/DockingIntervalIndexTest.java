@@ -0,0 +1,41 @@
+package com.uav.dockingmanagement.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for DockingIntervalIndex
+ */
+class DockingIntervalIndexTest {
+
+    @Test
+    void testStationOccupantsAndUavVisits() {
+        DockingIntervalIndex index = new DockingIntervalIndex();
+        DockingIntervalIndex.Docking first = new DockingIntervalIndex.Docking(1L, 7, 100L, 1_000, 5_000);
+        DockingIntervalIndex.Docking second = new DockingIntervalIndex.Docking(2L, 8, 100L, 2_000, DockingIntervalIndex.OPEN);
+        DockingIntervalIndex.Docking later = new DockingIntervalIndex.Docking(3L, 7, 200L, 6_000, DockingIntervalIndex.OPEN);
+        index.put(first);
+        index.put(second);
+        index.put(later);
+
+        assertEquals(List.of(first, second), index.atStation(100L, 4_999));
+        assertEquals(List.of(second), index.atStation(100L, 5_000));
+        assertEquals(List.of(first, later), index.ofUav(7, 0, 10_000));
+        assertEquals(List.of(later), index.ofUav(7, 5_000, 10_000));
+        assertTrue(index.atStation(300L, 4_000).isEmpty());
+
+        // The open docking ends
+        DockingIntervalIndex.Docking closed = new DockingIntervalIndex.Docking(3L, 7, 200L, 6_000, 8_000);
+        index.put(closed);
+        assertEquals(3, index.size());
+        assertTrue(index.atStation(200L, 9_000).isEmpty());
+        assertEquals(List.of(closed), index.atStation(200L, 7_000, 7_001));
+
+        assertTrue(index.remove(1L));
+        assertFalse(index.remove(1L));
+        assertEquals(List.of(closed), index.ofUav(7, 0, 10_000));
+    }
+}
@@ -9,6 +9,10 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
 
 import java.time.LocalDateTime;
 import java.util.*;
@@ -16,6 +20,7 @@ import java.util.*;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 /**
@@ -36,6 +41,18 @@ class DockingStationServiceTest {
     @Mock
     private SimpMessagingTemplate messagingTemplate;
 
+    @Mock
+    private ChargingSchedulerService chargingSchedulerService;
+
+    @Mock
+    private StationOccupancyService stationOccupancyService;
+
+    @Mock
+    private DockingIntervalService dockingIntervalService;
+
+    @Mock
+    private CurrentDockingService currentDockingService;
+
     @InjectMocks
     private DockingStationService dockingStationService;
 
@@ -161,6 +178,9 @@ class DockingStationServiceTest {
 
     @Test
     void testDockUAVSuccess() {
+        CurrentDockingRegistry.CurrentDocking claim = new CurrentDockingRegistry.CurrentDocking(1, null, 1L,
+            LocalDateTime.now(), "CHARGING");
+        when(currentDockingService.claim(1, 1L, "CHARGING")).thenReturn(claim);
         when(uavRepository.findById(1)).thenReturn(Optional.of(testUAV));
         when(dockingStationRepository.findById(1L)).thenReturn(Optional.of(testStation));
         when(dockingRecordRepository.save(any(DockingRecord.class))).thenReturn(testDockingRecord);
@@ -178,6 +198,10 @@ class DockingStationServiceTest {
         verify(dockingRecordRepository, times(1)).save(any(DockingRecord.class));
         verify(dockingStationRepository, times(1)).save(testStation);
         verify(uavRepository, times(1)).save(testUAV);
+        verify(currentDockingService, times(1)).confirm(eq(claim), any(DockingRecord.class));
+        verify(dockingIntervalService, times(1)).onDocked(any(DockingRecord.class));
+        verify(stationOccupancyService, times(1)).onDocked(testStation);
+        verify(chargingSchedulerService, times(1)).onDocked(testUAV, testStation, null);
     }
 
     @Test
@@ -288,6 +312,71 @@ class DockingStationServiceTest {
         verify(dockingRecordRepository, times(1)).findActiveByUavId(1);
     }
 
+    @Test
+    void testDockUAVWhoseRecordSaveFailsCanDockAgain() {
+        CurrentDockingService currentDockingService = useCurrentDockingService();
+        when(uavRepository.findById(1)).thenReturn(Optional.of(testUAV));
+        when(dockingStationRepository.findById(1L)).thenReturn(Optional.of(testStation));
+        when(dockingRecordRepository.save(any(DockingRecord.class)))
+            .thenThrow(new RuntimeException("Connection reset"))
+            .thenAnswer(invocation -> saved(invocation.getArgument(0), 100L));
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            assertFalse((Boolean) dockingStationService.dockUAV(1, 1L, "MAINTENANCE").get("success"));
+            // The failed dock still holds its claim, so a concurrent dock of the UAV is refused
+            Map<String, Object> concurrent = dockingStationService.dockUAV(1, 1L, "MAINTENANCE");
+            assertEquals("UAV is already docked at another station", concurrent.get("message"));
+            completeTransaction(TransactionSynchronization.STATUS_ROLLED_BACK);
+        } finally {
+            clearSynchronization();
+        }
+        assertTrue(currentDockingService.find(1).isEmpty());
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            assertTrue((Boolean) dockingStationService.dockUAV(1, 1L, "MAINTENANCE").get("success"));
+            completeTransaction(TransactionSynchronization.STATUS_COMMITTED);
+        } finally {
+            clearSynchronization();
+        }
+        assertEquals(100L, currentDockingService.find(1).orElseThrow().dockingRecordId().longValue());
+        verify(dockingRecordRepository, times(2)).save(any(DockingRecord.class));
+    }
+
+    @Test
+    void testUndockUAVThatRollsBackLeavesUAVDocked() {
+        CurrentDockingService currentDockingService = useCurrentDockingService();
+        testDockingRecord.setId(100L);
+        testDockingRecord.setUndockingTime(null);
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            CurrentDockingRegistry.CurrentDocking claim = currentDockingService.claim(1, 1L, "CHARGING");
+            currentDockingService.confirm(claim, testDockingRecord);
+            completeTransaction(TransactionSynchronization.STATUS_COMMITTED);
+        } finally {
+            clearSynchronization();
+        }
+        when(dockingRecordRepository.findById(100L)).thenReturn(Optional.of(testDockingRecord));
+        when(dockingRecordRepository.save(any(DockingRecord.class))).thenReturn(testDockingRecord);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            assertTrue((Boolean) dockingStationService.undockUAV(1).get("success"));
+            assertTrue(currentDockingService.find(1).isEmpty());
+            completeTransaction(TransactionSynchronization.STATUS_ROLLED_BACK);
+        } finally {
+            clearSynchronization();
+        }
+
+        assertEquals(100L, currentDockingService.find(1).orElseThrow().dockingRecordId().longValue());
+        when(uavRepository.findById(1)).thenReturn(Optional.of(testUAV));
+        when(dockingStationRepository.findById(1L)).thenReturn(Optional.of(testStation));
+        Map<String, Object> result = dockingStationService.dockUAV(1, 1L, "CHARGING");
+        assertEquals("UAV is already docked at another station", result.get("message"));
+        verify(dockingRecordRepository, times(1)).save(any(DockingRecord.class));
+    }
+
     @Test
     void testFindOptimalStationSuccess() {
         List<DockingStation> availableStations = Arrays.asList(testStation);
@@ -369,4 +458,28 @@ class DockingStationServiceTest {
         verify(dockingStationRepository, times(1)).count();
         verify(dockingStationRepository, times(1)).countByStatus(DockingStation.StationStatus.OPERATIONAL);
     }
+
+    private CurrentDockingService useCurrentDockingService() {
+        CurrentDockingService currentDockingService = new CurrentDockingService();
+        ReflectionTestUtils.setField(currentDockingService, "dockingRecordRepository", dockingRecordRepository);
+        ReflectionTestUtils.setField(dockingStationService, "currentDockingService", currentDockingService);
+        return currentDockingService;
+    }
+
+    private static DockingRecord saved(DockingRecord dockingRecord, Long id) {
+        dockingRecord.setId(id);
+        return dockingRecord;
+    }
+
+    private static void completeTransaction(int status) {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        TransactionSynchronizationUtils.invokeAfterCompletion(synchronizations, status);
+    }
+
+    private static void clearSynchronization() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
 }
@@ -0,0 +1,80 @@
+package com.uav.dockingmanagement.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for FleetSimulator
+ */
+class FleetSimulatorTest {
+
+    private static final double CENTER_LAT = 40.7128;
+    private static final double CENTER_LON = -74.0060;
+    private static final double RADIUS_METERS = 2000.0;
+
+    @Test
+    void testSameSeedProducesSameTrajectories() {
+        FleetSimulator first = new FleetSimulator(500, 7L, CENTER_LAT, CENTER_LON, RADIUS_METERS);
+        FleetSimulator second = new FleetSimulator(500, 7L, CENTER_LAT, CENTER_LON, RADIUS_METERS);
+
+        for (int tick = 0; tick < 50; tick++) {
+            first.step(1.0);
+            second.step(1.0);
+        }
+
+        assertSameState(first, second);
+    }
+
+    @Test
+    void testDifferentSeedsDiverge() {
+        FleetSimulator first = new FleetSimulator(10, 1L, CENTER_LAT, CENTER_LON, RADIUS_METERS);
+        FleetSimulator second = new FleetSimulator(10, 2L, CENTER_LAT, CENTER_LON, RADIUS_METERS);
+
+        assertNotEquals(first.latitude(0), second.latitude(0));
+    }
+
+    @Test
+    void testParallelStepMatchesSequentialStep() {
+        // Large enough to be split into several partitions
+        int size = 20_000;
+        FleetSimulator parallel = new FleetSimulator(size, 99L, CENTER_LAT, CENTER_LON, RADIUS_METERS);
+        FleetSimulator sequential = new FleetSimulator(size, 99L, CENTER_LAT, CENTER_LON, RADIUS_METERS);
+
+        for (int tick = 0; tick < 10; tick++) {
+            parallel.step(0.5);
+            sequential.step(0, size, 0.5);
+        }
+
+        assertSameState(parallel, sequential);
+    }
+
+    @Test
+    void testFleetStaysNearOperatingArea() {
+        FleetSimulator simulator = new FleetSimulator(1000, 3L, CENTER_LAT, CENTER_LON, RADIUS_METERS);
+        for (int tick = 0; tick < 600; tick++) {
+            simulator.step(1.0);
+        }
+
+        double cosCenter = Math.cos(Math.toRadians(CENTER_LAT));
+        for (int i = 0; i < simulator.size(); i++) {
+            double north = (simulator.latitude(i) - CENTER_LAT) * 111_320.0;
+            double east = (simulator.longitude(i) - CENTER_LON) * 111_320.0 * cosCenter;
+            // One step past the boundary at most before turning back
+            assertTrue(Math.sqrt(north * north + east * east) < RADIUS_METERS + 100.0, "UAV " + i + " left the area");
+            assertTrue(simulator.altitude(i) >= 20.0 && simulator.altitude(i) <= 120.0);
+            assertTrue(simulator.batteryLevel(i) >= 0 && simulator.batteryLevel(i) <= 100);
+        }
+    }
+
+    private static void assertSameState(FleetSimulator expected, FleetSimulator actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.latitude(i), actual.latitude(i));
+            assertEquals(expected.longitude(i), actual.longitude(i));
+            assertEquals(expected.altitude(i), actual.altitude(i));
+            assertEquals(expected.speedKmh(i), actual.speedKmh(i));
+            assertEquals(expected.headingDegrees(i), actual.headingDegrees(i));
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.uav.dockingmanagement.service;
+
+import com.uav.dockingmanagement.model.FlightLog;
+import com.uav.dockingmanagement.model.LocationHistory;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for FlightAccumulator
+ */
+class FlightAccumulatorTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2025, 1, 1, 12, 0);
+    /** One thousandth of a degree of latitude */
+    private static final double STEP_METERS = 111.19;
+
+    @Test
+    void testAccumulatesPathAndExtremes() {
+        FlightAccumulator accumulator = new FlightAccumulator(1L, 7, START);
+        accumulator.add(fix(0, 40.000, 50.0, 30.0, 90));
+        accumulator.add(fix(10, 40.001, 80.0, 50.0, 88));
+        accumulator.add(fix(20, 40.002, 60.0, 40.0, 85));
+
+        Map<String, Object> stats = accumulator.toMap();
+        assertEquals(3L, stats.get("fixCount"));
+        assertEquals(2 * STEP_METERS / 1000.0, (Double) stats.get("distanceTraveledKm"), 0.001);
+        assertEquals(80.0, stats.get("maxAltitudeMeters"));
+        assertEquals(40.0, (Double) stats.get("averageSpeedKmh"), 1e-9);
+        assertEquals(10.0, (Double) stats.get("speedStdDevKmh"), 1e-9);
+        assertEquals(50.0, stats.get("maxSpeedKmh"));
+        assertEquals(5, stats.get("batteryDrainPercentage"));
+        assertEquals(40.002, stats.get("currentLatitude"));
+    }
+
+    @Test
+    void testLateFixDoesNotMovePath() {
+        FlightAccumulator accumulator = new FlightAccumulator(1L, 7, START);
+        accumulator.add(fix(0, 40.000, 50.0, 30.0, 90));
+        accumulator.add(fix(20, 40.002, 50.0, 30.0, 80));
+        accumulator.add(fix(10, 40.001, 150.0, 30.0, 85));
+
+        assertEquals(3, accumulator.getFixCount());
+        assertEquals(2 * STEP_METERS, accumulator.getDistanceMeters(), 1.0);
+        Map<String, Object> stats = accumulator.toMap();
+        assertEquals(150.0, stats.get("maxAltitudeMeters"));
+        assertEquals(80, stats.get("batteryCurrentPercentage"));
+        assertEquals(80, stats.get("batteryMinPercentage"));
+    }
+
+    @Test
+    void testMissingValuesAreReportedAsNull() {
+        FlightAccumulator accumulator = new FlightAccumulator(1L, 7, START);
+        LocationHistory fix = new LocationHistory();
+        fix.setLatitude(40.0);
+        fix.setLongitude(-74.0);
+        fix.setTimestamp(START);
+        accumulator.add(fix);
+
+        Map<String, Object> stats = accumulator.toMap();
+        assertNull(stats.get("maxAltitudeMeters"));
+        assertNull(stats.get("averageSpeedKmh"));
+        assertNull(stats.get("batteryDrainPercentage"));
+        assertEquals(0.0, stats.get("distanceTraveledKm"));
+    }
+
+    @Test
+    void testApplyToFillsFlightLog() {
+        FlightAccumulator accumulator = new FlightAccumulator(1L, 7, START);
+        accumulator.add(fix(0, 40.000, 50.0, 30.0, 90));
+        accumulator.add(fix(10, 40.001, 70.0, 50.0, 84));
+
+        FlightLog flightLog = new FlightLog();
+        flightLog.setBatteryStartPercentage(95);
+        accumulator.applyTo(flightLog);
+
+        assertEquals(STEP_METERS / 1000.0, flightLog.getDistanceTraveledKm(), 0.001);
+        assertEquals(70.0, flightLog.getMaxAltitudeMeters());
+        assertEquals(40.0, flightLog.getAverageSpeedKmh(), 1e-9);
+        assertEquals(50.0, flightLog.getMaxSpeedKmh());
+        // Explicit start values are kept
+        assertEquals(95, flightLog.getBatteryStartPercentage());
+        assertEquals(84, flightLog.getBatteryEndPercentage());
+        assertEquals(40.000, flightLog.getStartLatitude());
+        assertEquals(40.001, flightLog.getEndLatitude());
+    }
+
+    private static LocationHistory fix(int second, double latitude, double altitude, double speed, int battery) {
+        LocationHistory fix = new LocationHistory();
+        fix.setTimestamp(START.plusSeconds(second));
+        fix.setLatitude(latitude);
+        fix.setLongitude(-74.0);
+        fix.setAltitudeMeters(altitude);
+        fix.setSpeedKmh(speed);
+        fix.setBatteryLevel(battery);
+        return fix;
+    }
+}
@@ -0,0 +1,81 @@
+package com.uav.dockingmanagement.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for GeofenceAuditAccumulator
+ */
+class GeofenceAuditAccumulatorTest {
+
+    private static final LocalDateTime T0 = LocalDateTime.of(2025, 6, 1, 12, 0);
+
+    @Test
+    void testCompliantSampleClosesInterval() {
+        GeofenceAuditAccumulator accumulator = new GeofenceAuditAccumulator(Duration.ofSeconds(30), 100);
+        accumulator.accept(1, 10L, T0, false);
+        accumulator.accept(1, 10L, T0.plusSeconds(5), true);
+        accumulator.accept(1, 10L, T0.plusSeconds(10), true);
+        accumulator.accept(1, 10L, T0.plusSeconds(15), false);
+        accumulator.accept(1, 10L, T0.plusSeconds(20), true);
+
+        List<GeofenceAuditAccumulator.Interval> intervals = accumulator.finish();
+        assertEquals(2, intervals.size());
+        assertEquals(new GeofenceAuditAccumulator.Interval(1, 10L, T0.plusSeconds(5), T0.plusSeconds(10), 2), intervals.get(0));
+        assertEquals(new GeofenceAuditAccumulator.Interval(1, 10L, T0.plusSeconds(20), T0.plusSeconds(20), 1), intervals.get(1));
+        assertEquals(5, accumulator.getSamples());
+        assertEquals(3, accumulator.getViolatingSamples());
+        assertEquals(1, accumulator.getFlightCount());
+    }
+
+    @Test
+    void testGapSplitsInterval() {
+        GeofenceAuditAccumulator accumulator = new GeofenceAuditAccumulator(Duration.ofSeconds(30), 100);
+        accumulator.accept(1, null, T0, true);
+        accumulator.accept(1, null, T0.plusSeconds(30), true);
+        accumulator.accept(1, null, T0.plusSeconds(61), true);
+
+        List<GeofenceAuditAccumulator.Interval> intervals = accumulator.finish();
+        assertEquals(2, intervals.size());
+        assertEquals(T0.plusSeconds(30), intervals.get(0).endTime());
+        assertEquals(2, intervals.get(0).points());
+        assertNull(intervals.get(1).flightLogId());
+    }
+
+    @Test
+    void testInterleavedFlightsAreSeparate() {
+        GeofenceAuditAccumulator accumulator = new GeofenceAuditAccumulator(Duration.ofSeconds(30), 100);
+        for (int i = 0; i < 10; i++) {
+            accumulator.accept(1, 10L, T0.plusSeconds(i), true);
+            accumulator.accept(2, 20L, T0.plusSeconds(i), i % 2 == 0);
+            // Same UAV, later flight
+            accumulator.accept(1, 11L, T0.plusSeconds(i), i >= 5);
+        }
+
+        List<GeofenceAuditAccumulator.Interval> intervals = accumulator.finish();
+        assertEquals(3, accumulator.getFlightCount());
+        assertEquals(1 + 5 + 1, accumulator.getIntervalCount());
+        assertEquals(intervals.size(), accumulator.getIntervalCount());
+        assertEquals(10, intervals.stream().filter(interval -> interval.flightLogId() == 10L)
+            .mapToInt(GeofenceAuditAccumulator.Interval::points).sum());
+        for (int i = 1; i < intervals.size(); i++) {
+            assertFalse(intervals.get(i).startTime().isBefore(intervals.get(i - 1).startTime()));
+        }
+    }
+
+    @Test
+    void testIntervalsBeyondLimitAreCountedNotKept() {
+        GeofenceAuditAccumulator accumulator = new GeofenceAuditAccumulator(Duration.ofSeconds(30), 3);
+        for (int i = 0; i < 10; i++) {
+            accumulator.accept(1, 10L, T0.plusSeconds(2 * i), true);
+            accumulator.accept(1, 10L, T0.plusSeconds(2 * i + 1), false);
+        }
+        assertEquals(3, accumulator.finish().size());
+        assertEquals(10, accumulator.getIntervalCount());
+    }
+}
@@ -0,0 +1,133 @@
+package com.uav.dockingmanagement.service;
+
+import com.uav.dockingmanagement.model.Geofence;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for GeofenceBatchChecker
+ */
+class GeofenceBatchCheckerTest {
+
+    @Test
+    void testCircleAndPolygonViolations() {
+        Geofence noFly = Geofence.createCircularFence("No fly", 40.0, -74.0, 1000.0, Geofence.BoundaryType.EXCLUSION);
+        Geofence zone = Geofence.createPolygonalFence("Zone",
+            "[[39.9,-74.1],[39.9,-73.9],[40.1,-73.9],[40.1,-74.1]]", Geofence.BoundaryType.INCLUSION);
+        GeofenceBatchChecker checker = new GeofenceBatchChecker(List.of(noFly, zone));
+
+        double[] latitudes = {40.0, 40.05, 41.0};
+        double[] longitudes = {-74.0, -74.05, -74.0};
+        GeofenceBatchChecker.ViolationMatrix matrix = checker.check(latitudes, longitudes, null);
+
+        assertEquals(3, matrix.pointCount());
+        assertArrayEquals(new int[] {0}, matrix.fencesOf(0));
+        assertArrayEquals(new int[0], matrix.fencesOf(1));
+        assertArrayEquals(new int[] {1}, matrix.fencesOf(2));
+        assertEquals(2, matrix.violationCount());
+    }
+
+    @Test
+    void testRectangularFenceIsItsCornerPolygonOnEveryPath() {
+        Geofence box = Geofence.createPolygonalFence("Box",
+            "[[39.9,-74.1],[39.9,-73.9],[40.1,-73.9],[40.1,-74.1]]", Geofence.BoundaryType.EXCLUSION);
+        box.setFenceType(Geofence.FenceType.RECTANGULAR);
+        GeofenceBatchChecker checker = new GeofenceBatchChecker(List.of(box));
+        AirspaceRaster raster = new AirspaceRaster(new GeofenceIndex(List.of(box), 0.05), 1.0, 8);
+
+        double[] latitudes = {40.0, 40.2};
+        double[] longitudes = {-74.0, -74.0};
+        assertArrayEquals(new int[] {0}, checker.check(latitudes, longitudes, null).points());
+        for (int i = 0; i < latitudes.length; i++) {
+            boolean violated = box.isViolatedBy(latitudes[i], longitudes[i], null);
+            assertEquals(i == 0, violated);
+            assertEquals(violated, raster.isForbidden(latitudes[i], longitudes[i], null));
+        }
+        assertEquals(AirspaceRaster.State.FORBIDDEN, raster.stateAt(40.0, -74.0));
+    }
+
+    @Test
+    void testBlocksAwayFromFencesAreSettledByBoundingBox() {
+        Geofence noFly = Geofence.createCircularFence("No fly", 40.0, -74.0, 1000.0, Geofence.BoundaryType.EXCLUSION);
+        Geofence zone = Geofence.createCircularFence("Zone", 40.0, -74.0, 1000.0, Geofence.BoundaryType.INCLUSION);
+        GeofenceBatchChecker checker = new GeofenceBatchChecker(List.of(noFly, zone));
+
+        double[] latitudes = new double[3000];
+        double[] longitudes = new double[3000];
+        for (int i = 0; i < latitudes.length; i++) {
+            latitudes[i] = 45.0 + i * 1e-5;
+            longitudes[i] = -80.0;
+        }
+        GeofenceBatchChecker.ViolationMatrix matrix = checker.check(latitudes, longitudes, null);
+        assertEquals(3000, matrix.points().length);
+        assertArrayEquals(new int[] {1}, matrix.fencesOf(2999));
+    }
+
+    @Test
+    void testCircleMatchesHaversineDistance() {
+        Geofence circle = Geofence.createCircularFence("Circle", 40.0, -74.0, 500.0, Geofence.BoundaryType.EXCLUSION);
+        GeofenceBatchChecker checker = new GeofenceBatchChecker(List.of(circle));
+
+        // 499 m and 501 m north of the center
+        double[] latitudes = {40.0 + 499 / 111_195.0, 40.0 + 501 / 111_195.0};
+        GeofenceBatchChecker.ViolationMatrix matrix = checker.check(latitudes, new double[] {-74.0, -74.0}, null);
+        assertArrayEquals(new int[] {0}, matrix.points());
+    }
+
+    @Test
+    void testAltitudeLimits() {
+        Geofence zone = Geofence.createCircularFence("Zone", 40.0, -74.0, 1000.0, Geofence.BoundaryType.INCLUSION);
+        zone.setMaxAltitudeMeters(120.0);
+        GeofenceBatchChecker checker = new GeofenceBatchChecker(List.of(zone));
+
+        double[] latitudes = {40.0, 40.0};
+        double[] longitudes = {-74.0, -74.0};
+        assertArrayEquals(new int[] {1}, checker.check(latitudes, longitudes, new double[] {100.0, 150.0}).points());
+        assertEquals(0, checker.check(latitudes, longitudes, null).violationCount());
+    }
+
+    @Test
+    void testManyFencesAndPartitionsMatchSingleChecks() {
+        Random random = new Random(7);
+        Geofence[] fences = new Geofence[70];
+        for (int f = 0; f < fences.length; f++) {
+            fences[f] = Geofence.createCircularFence("Fence " + f,
+                40.0 + random.nextDouble() * 0.1, -74.0 + random.nextDouble() * 0.1,
+                200.0 + random.nextDouble() * 2000.0,
+                f % 3 == 0 ? Geofence.BoundaryType.INCLUSION : Geofence.BoundaryType.EXCLUSION);
+        }
+        int count = 2 * GeofenceBatchChecker.PARTITION_SIZE + 123;
+        double[] latitudes = new double[count];
+        double[] longitudes = new double[count];
+        for (int i = 0; i < count; i++) {
+            latitudes[i] = 40.0 + random.nextDouble() * 0.1;
+            longitudes[i] = -74.0 + random.nextDouble() * 0.1;
+        }
+
+        GeofenceBatchChecker.ViolationMatrix matrix = new GeofenceBatchChecker(List.of(fences)).check(latitudes, longitudes, null);
+        assertEquals(count, matrix.pointCount());
+        for (int i = 0; i < count; i += 97) {
+            int[] violated = matrix.fencesOf(i);
+            int expected = 0;
+            for (int f = 0; f < fences.length; f++) {
+                boolean inside = fences[f].isPointInside(latitudes[i], longitudes[i]);
+                if (inside == (fences[f].getBoundaryType() == Geofence.BoundaryType.EXCLUSION)) {
+                    assertEquals(f, violated[expected++]);
+                }
+            }
+            assertEquals(expected, violated.length);
+        }
+    }
+
+    @Test
+    void testRejectsMismatchedArrays() {
+        GeofenceBatchChecker checker = new GeofenceBatchChecker(List.of());
+        assertThrows(IllegalArgumentException.class, () -> checker.check(new double[2], new double[1], null));
+        assertThrows(IllegalArgumentException.class, () -> checker.check(new double[] {95.0}, new double[1], null));
+        assertEquals(0, checker.check(new double[0], new double[0], null).pointCount());
+    }
+}
@@ -0,0 +1,83 @@
+package com.uav.dockingmanagement.service;
+
+import com.uav.dockingmanagement.model.Geofence;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for GeofenceBreachPredictor
+ */
+class GeofenceBreachPredictorTest {
+
+    /** Meters per degree of latitude used by the local projection */
+    private static final double METERS_PER_DEGREE = 111_320.0;
+
+    @Test
+    void testApproachingExclusionCircle() {
+        // 1 km no-fly circle centered 2 km north, flying north at 20 m/s
+        GeofenceIndex.IndexedFence fence = index(circle(40.0 + 2000 / METERS_PER_DEGREE, -74.0, 1000.0,
+            Geofence.BoundaryType.EXCLUSION)).get(0);
+
+        GeofenceBreachPredictor.Breach breach = GeofenceBreachPredictor.predict(fence, 40.0, -74.0, 0, 20, 60);
+        assertNotNull(breach);
+        assertEquals(50.0, breach.timeToBreachSeconds(), 0.01);
+        assertEquals(1000.0, breach.distanceToBoundaryMeters(), 0.01);
+
+        // Beyond the horizon, moving away or passing beside
+        assertNull(GeofenceBreachPredictor.predict(fence, 40.0, -74.0, 0, 20, 30));
+        assertNull(GeofenceBreachPredictor.predict(fence, 40.0, -74.0, 0, -20, 60));
+        assertNull(GeofenceBreachPredictor.predict(fence, 40.0, -74.0, 20, 0, 600));
+    }
+
+    @Test
+    void testLeavingInclusionCircle() {
+        GeofenceIndex.IndexedFence fence = index(circle(40.0, -74.0, 500.0, Geofence.BoundaryType.INCLUSION)).get(0);
+
+        double[] east = GeofenceBreachPredictor.velocity(36.0, 90.0);
+        assertEquals(10.0, east[0], 1e-9);
+        assertEquals(0.0, east[1], 1e-9);
+        GeofenceBreachPredictor.Breach breach = GeofenceBreachPredictor.predict(fence, 40.0, -74.0, east[0], east[1], 60);
+        assertNotNull(breach);
+        assertEquals(50.0, breach.timeToBreachSeconds(), 0.01);
+
+        // Already outside: a violation, not a prediction
+        assertNull(GeofenceBreachPredictor.predict(fence, 40.1, -74.0, east[0], east[1], 600));
+    }
+
+    @Test
+    void testApproachingExclusionPolygon() {
+        // 1 km square whose southern edge is 300 m north of the UAV
+        double south = 40.0 + 300 / METERS_PER_DEGREE;
+        double north = 40.0 + 1300 / METERS_PER_DEGREE;
+        Geofence square = Geofence.createPolygonalFence("Square",
+            String.format("[[%f,-74.01],[%f,-73.99],[%f,-73.99],[%f,-74.01]]", south, south, north, north),
+            Geofence.BoundaryType.EXCLUSION);
+        GeofenceIndex.IndexedFence fence = index(square).get(0);
+
+        GeofenceBreachPredictor.Breach breach = GeofenceBreachPredictor.predict(fence, 40.0, -74.0, 0, 10, 60);
+        assertNotNull(breach);
+        assertEquals(30.0, breach.timeToBreachSeconds(), 0.1);
+        assertEquals(300.0, breach.distanceToBoundaryMeters(), 1.0);
+
+        // Inside the no-fly polygon already
+        assertNull(GeofenceBreachPredictor.predict(fence, 40.0 + 800 / METERS_PER_DEGREE, -74.0, 0, 10, 600));
+    }
+
+    @Test
+    void testVelocityFromConsecutiveFixes() {
+        double[] velocity = GeofenceBreachPredictor.velocity(40.0, -74.0, 40.0 + 100 / METERS_PER_DEGREE, -74.0, 10);
+        assertEquals(0.0, velocity[0], 1e-9);
+        assertEquals(10.0, velocity[1], 1e-6);
+    }
+
+    private static Geofence circle(double latitude, double longitude, double radius, Geofence.BoundaryType type) {
+        return Geofence.createCircularFence("Circle", latitude, longitude, radius, type);
+    }
+
+    private static List<GeofenceIndex.IndexedFence> index(Geofence geofence) {
+        return new GeofenceIndex(List.of(geofence), 0.05).query(-90, -180, 90, 180);
+    }
+}
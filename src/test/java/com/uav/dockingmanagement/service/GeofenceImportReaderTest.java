@@ -0,0 +1,142 @@
+package com.uav.dockingmanagement.service;
+
+import com.uav.dockingmanagement.model.Geofence;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for GeofenceImportReader and the conversion of imported features
+ */
+class GeofenceImportReaderTest {
+
+    private static final String GEOJSON = """
+        {"type": "FeatureCollection", "name": "No-fly zones", "features": [
+          {"type": "Feature", "id": "A1",
+           "properties": {"name": "Airport", "maxAltitudeMeters": 0, "tags": ["x"]},
+           "geometry": {"type": "Polygon", "coordinates": [[[-74.0, 40.0], [-73.9, 40.0], [-73.9, 40.1], [-74.0, 40.0]],
+                                                          [[-73.95, 40.02], [-73.94, 40.02], [-73.94, 40.03]]]}},
+          {"type": "Feature", "properties": {"name": "Islands"},
+           "geometry": {"type": "MultiPolygon", "coordinates": [[[[1, 1], [2, 1], [2, 2], [1, 1]]], [[[5, 5], [6, 5], [6, 6], [5, 5]]]]}},
+          {"type": "Feature", "geometry": {"coordinates": [-74.0, 40.0], "type": "Point"}, "properties": {"name": "Stadium", "radiusMeters": 500}},
+          {"type": "Feature", "properties": {"name": "Road"}, "geometry": {"type": "LineString", "coordinates": [[0, 0], [1, 1]]}}
+        ]}
+        """;
+
+    private static final String KML = """
+        <?xml version="1.0" encoding="UTF-8"?>
+        <kml xmlns="http://www.opengis.net/kml/2.2"><Document><name>Zones</name>
+          <Placemark><name>Park</name><description>City park</description>
+            <ExtendedData><Data name="boundaryType"><value>INCLUSION</value></Data></ExtendedData>
+            <Polygon><outerBoundaryIs><LinearRing><coordinates>
+              -74.0,40.0,0 -73.9,40.0,0 -73.9,40.1,0 -74.0,40.0,0
+            </coordinates></LinearRing></outerBoundaryIs>
+            <innerBoundaryIs><LinearRing><coordinates>-73.95,40.02 -73.94,40.02 -73.94,40.03</coordinates></LinearRing></innerBoundaryIs>
+            </Polygon></Placemark>
+          <Placemark><name>Marker</name><Point><coordinates>-74.0,40.0</coordinates></Point></Placemark>
+        </Document></kml>
+        """;
+
+    @Test
+    void testReadsGeoJsonFeatures() throws Exception {
+        try (GeofenceImportReader reader = GeofenceImportReader.geoJson(stream(GEOJSON))) {
+            GeofenceImportReader.Feature airport = reader.next();
+            assertEquals("Airport", airport.name());
+            assertEquals(4, airport.latitudes().length);
+            assertEquals(40.1, airport.latitudes()[2]);
+            assertEquals(-73.9, airport.longitudes()[2]);
+            assertEquals("0", airport.properties().get("maxAltitudeMeters"));
+            assertFalse(airport.properties().containsKey("tags"));
+
+            assertEquals("Islands", reader.next().name());
+            assertEquals(5.0, reader.next().latitudes()[0]);
+
+            GeofenceImportReader.Feature stadium = reader.next();
+            assertTrue(stadium.isCircle());
+            assertEquals(500.0, stadium.radiusMeters());
+            assertEquals(40.0, stadium.latitudes()[0]);
+
+            GeofenceImportReader.Feature road = reader.next();
+            assertNotNull(road.error());
+            assertEquals(5, road.ordinal());
+            assertNull(reader.next());
+        }
+    }
+
+    @Test
+    void testReadsKmlPlacemarks() throws Exception {
+        try (GeofenceImportReader reader = GeofenceImportReader.kml(stream(KML))) {
+            GeofenceImportReader.Feature park = reader.next();
+            assertEquals("Park", park.name());
+            assertEquals("City park", park.description());
+            assertEquals(4, park.latitudes().length);
+            assertEquals("INCLUSION", park.properties().get("boundaryType"));
+
+            GeofenceImportReader.Feature marker = reader.next();
+            assertEquals("Marker", marker.name());
+            assertNotNull(marker.error());
+            assertNull(reader.next());
+        }
+    }
+
+    @Test
+    void testMalformedDocumentFails() {
+        GeofenceImportReader reader = GeofenceImportReader.geoJson(stream("{\"features\": [{\"geometry\": "));
+        assertThrows(IllegalArgumentException.class, reader::next);
+        GeofenceImportReader kml = GeofenceImportReader.kml(stream("<kml><Placemark><name>x</name>"));
+        assertThrows(IllegalArgumentException.class, kml::next);
+    }
+
+    @Test
+    void testConvertBuildsNormalizedGeofences() {
+        try (GeofenceImportReader reader = GeofenceImportReader.kml(stream(KML))) {
+            Object park = GeofenceImportService.convert(reader.next(), Geofence.BoundaryType.EXCLUSION, "import");
+            Geofence geofence = assertInstanceOf(Geofence.class, park);
+            assertEquals(Geofence.FenceType.POLYGONAL, geofence.getFenceType());
+            assertEquals(Geofence.BoundaryType.INCLUSION, geofence.getBoundaryType());
+            assertEquals("[[40.0,-74.0],[40.0,-73.9],[40.1,-73.9],[40.0,-74.0]]", geofence.getPolygonCoordinates());
+
+            assertInstanceOf(String.class, GeofenceImportService.convert(reader.next(), Geofence.BoundaryType.EXCLUSION, "import"));
+        } catch (Exception e) {
+            fail(e);
+        }
+    }
+
+    @Test
+    void testConvertRejectsValuesTooLongForTheirColumns() {
+        String features = """
+            {"features": [
+              {"type": "Feature", "properties": {"name": "Ok", "radiusMeters": 100, "violationAction": "LAND"},
+               "geometry": {"type": "Point", "coordinates": [-74.0, 40.0]}},
+              {"type": "Feature", "properties": {"name": "Action", "radiusMeters": 100, "violationAction": "%s"},
+               "geometry": {"type": "Point", "coordinates": [-74.0, 40.0]}},
+              {"type": "Feature", "properties": {"name": "%s", "radiusMeters": 100},
+               "geometry": {"type": "Point", "coordinates": [-74.0, 40.0]}},
+              {"type": "Feature", "properties": {"name": "Description", "radiusMeters": 100, "description": "%s"},
+               "geometry": {"type": "Point", "coordinates": [-74.0, 40.0]}},
+              {"type": "Feature", "properties": {"name": "Band", "radiusMeters": 100, "minAltitudeMeters": 120, "maxAltitudeMeters": 50},
+               "geometry": {"type": "Point", "coordinates": [-74.0, 40.0]}}
+            ]}
+            """.formatted("A".repeat(51), "N".repeat(101), "D".repeat(501));
+        try (GeofenceImportReader reader = GeofenceImportReader.geoJson(stream(features))) {
+            assertInstanceOf(Geofence.class, GeofenceImportService.convert(reader.next(), Geofence.BoundaryType.EXCLUSION, "import"));
+            assertEquals("Violation action is longer than 50 characters",
+                GeofenceImportService.convert(reader.next(), Geofence.BoundaryType.EXCLUSION, "import"));
+            assertEquals("Name is longer than 100 characters",
+                GeofenceImportService.convert(reader.next(), Geofence.BoundaryType.EXCLUSION, "import"));
+            assertEquals("Description is longer than 500 characters",
+                GeofenceImportService.convert(reader.next(), Geofence.BoundaryType.EXCLUSION, "import"));
+            assertEquals("Minimum altitude is above maximum altitude",
+                GeofenceImportService.convert(reader.next(), Geofence.BoundaryType.EXCLUSION, "import"));
+        } catch (Exception e) {
+            fail(e);
+        }
+    }
+
+    private static ByteArrayInputStream stream(String text) {
+        return new ByteArrayInputStream(text.strip().getBytes(StandardCharsets.UTF_8));
+    }
+}
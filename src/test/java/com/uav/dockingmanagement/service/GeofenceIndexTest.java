@@ -0,0 +1,91 @@
+package com.uav.dockingmanagement.service;
+
+import com.uav.dockingmanagement.model.Geofence;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for GeofenceIndex
+ */
+class GeofenceIndexTest {
+
+    @Test
+    void testQueryReturnsOnlyNearbyFences() {
+        Geofence near = circle(40.0, -74.0, 500.0, Geofence.BoundaryType.EXCLUSION);
+        Geofence far = circle(41.0, -75.0, 500.0, Geofence.BoundaryType.EXCLUSION);
+        Geofence malformed = Geofence.createPolygonalFence("Bad", "not a polygon", Geofence.BoundaryType.EXCLUSION);
+        GeofenceIndex index = new GeofenceIndex(List.of(near, far, malformed), 0.05);
+
+        List<GeofenceIndex.IndexedFence> result = index.queryAround(40.01, -74.0, 1000.0);
+        assertEquals(2, result.size());
+        assertTrue(result.stream().anyMatch(fence -> fence.getGeofence() == near));
+        assertTrue(result.stream().anyMatch(fence -> fence.getGeofence() == malformed));
+
+        // A box spanning several cells returns each fence once
+        Geofence large = circle(40.0, -74.0, 20_000.0, Geofence.BoundaryType.INCLUSION);
+        index = new GeofenceIndex(List.of(large), 0.05);
+        assertEquals(1, index.query(39.9, -74.1, 40.1, -73.9).size());
+    }
+
+    @Test
+    void testPointQueryUsesAltitudeBands() {
+        // Stacked no-fly volumes over the same area, and a zone the UAV must stay in
+        Geofence low = circle(40.0, -74.0, 500.0, Geofence.BoundaryType.EXCLUSION);
+        low.setId(1L);
+        low.setMaxAltitudeMeters(50.0);
+        Geofence high = circle(40.0, -74.0, 500.0, Geofence.BoundaryType.EXCLUSION);
+        high.setId(2L);
+        high.setMinAltitudeMeters(100.0);
+        high.setMaxAltitudeMeters(150.0);
+        Geofence zone = circle(41.0, -75.0, 500.0, Geofence.BoundaryType.INCLUSION);
+        zone.setId(3L);
+        GeofenceIndex index = new GeofenceIndex(List.of(low, high, zone), 0.05);
+
+        assertEquals(List.of(low), index.queryPoint(40.0, -74.0, 20.0).stream().map(GeofenceIndex.IndexedFence::getGeofence).toList());
+        assertEquals(List.of(high), index.queryPoint(40.0, -74.0, 120.0).stream().map(GeofenceIndex.IndexedFence::getGeofence).toList());
+        assertTrue(index.queryPoint(40.0, -74.0, 75.0).isEmpty());
+        assertEquals(2, index.queryPoint(40.0, -74.0, null).size());
+
+        // Violation candidates always include the INCLUSION fences, in the order given
+        assertEquals(List.of(high, zone), index.violationCandidates(40.0, -74.0, 150.0));
+        assertEquals(List.of(zone), index.violationCandidates(40.5, -74.0, 20.0));
+        assertSame(high, index.get(2L).getGeofence());
+        assertNull(index.get(9L));
+
+        // The checks themselves treat each fence as a prism
+        assertTrue(high.isViolatedBy(40.0, -74.0, 120.0));
+        assertFalse(high.isViolatedBy(40.0, -74.0, 20.0));
+        assertTrue(high.isViolatedBy(40.0, -74.0, null));
+    }
+
+    @Test
+    void testUpdateReusesUnchangedFences() {
+        Geofence square = Geofence.createPolygonalFence("Square", "[[40.0,-74.0],[40.0,-73.9],[40.1,-73.9],[40.1,-74.0]]",
+            Geofence.BoundaryType.EXCLUSION);
+        square.setId(1L);
+        Geofence zone = circle(41.0, -75.0, 500.0, Geofence.BoundaryType.INCLUSION);
+        zone.setId(2L);
+        GeofenceIndex index = new GeofenceIndex(List.of(square, zone), 0.05);
+
+        // Dropping a fence keeps the other's parsed geometry
+        GeofenceIndex updated = index.update(List.of(square), Set.of());
+        assertSame(index.get(1L), updated.get(1L));
+        assertNull(updated.get(2L));
+        assertEquals(1, updated.queryPoint(40.05, -73.95, null).size());
+
+        // A fence edited in place is parsed again when its id is reported changed
+        square.setPolygonCoordinates("[[40.2,-74.0],[40.2,-73.9],[40.3,-73.9],[40.3,-74.0]]");
+        updated = updated.update(List.of(square, zone), Set.of(1L));
+        assertNotSame(index.get(1L), updated.get(1L));
+        assertTrue(updated.queryPoint(40.05, -73.95, null).isEmpty());
+        assertEquals(1, updated.queryPoint(40.25, -73.95, null).size());
+    }
+
+    private static Geofence circle(double latitude, double longitude, double radius, Geofence.BoundaryType type) {
+        return Geofence.createCircularFence("Circle", latitude, longitude, radius, type);
+    }
+}
@@ -0,0 +1,160 @@
+package com.uav.dockingmanagement.service;
+
+import com.uav.dockingmanagement.model.Geofence;
+import org.junit.jupiter.api.Test;
+
+import java.awt.geom.Area;
+import java.awt.geom.Rectangle2D;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for GeofenceOverlapAnalyzer
+ */
+class GeofenceOverlapAnalyzerTest {
+
+    @Test
+    void testExclusionCoveringInclusionIsContradiction() {
+        Geofence zone = square("Zone", 1L, 40.0, -74.0, 0.01, Geofence.BoundaryType.INCLUSION);
+        Geofence west = square("West", 2L, 39.995, -74.006, 0.02, Geofence.BoundaryType.EXCLUSION);
+        west.setPolygonCoordinates(box(39.99, -74.01, 40.02, -73.995));
+        Geofence east = square("East", 3L, 39.99, -73.996, 0.03, Geofence.BoundaryType.EXCLUSION);
+        east.setPolygonCoordinates(box(39.99, -73.996, 40.02, -73.98));
+
+        GeofenceOverlapAnalyzer.Result partial = GeofenceOverlapAnalyzer.analyze(zone, index(west));
+        assertEquals(1, partial.overlaps().size());
+        assertEquals(0.5, partial.overlaps().get(0).fraction(), 0.01);
+        assertTrue(partial.conflicts().isEmpty());
+
+        // Together the two exclusions cover the zone
+        GeofenceOverlapAnalyzer.Result covered = GeofenceOverlapAnalyzer.analyze(zone, index(west, east));
+        assertEquals(1, covered.conflicts().size());
+        GeofenceOverlapAnalyzer.Conflict conflict = covered.conflicts().get(0);
+        assertEquals(GeofenceOverlapAnalyzer.ConflictType.CONTRADICTION, conflict.type());
+        assertSame(zone, conflict.subject());
+        assertEquals(List.of(west, east), conflict.others());
+
+        // The same found from the side of the exclusion being added
+        GeofenceOverlapAnalyzer.Result fromExclusion = GeofenceOverlapAnalyzer.analyze(east, index(zone, west));
+        assertEquals(1, fromExclusion.conflicts().size());
+        assertSame(zone, fromExclusion.conflicts().get(0).subject());
+    }
+
+    @Test
+    void testAltitudeBandsLimitConflicts() {
+        Geofence zone = square("Zone", 1L, 40.0, -74.0, 0.01, Geofence.BoundaryType.INCLUSION);
+        zone.setMaxAltitudeMeters(120.0);
+        Geofence ceiling = square("Ceiling", 2L, 39.99, -74.01, 0.03, Geofence.BoundaryType.EXCLUSION);
+        ceiling.setMinAltitudeMeters(150.0);
+
+        GeofenceOverlapAnalyzer.Result above = GeofenceOverlapAnalyzer.analyze(zone, index(ceiling));
+        assertTrue(above.overlaps().isEmpty());
+        assertTrue(above.conflicts().isEmpty());
+
+        ceiling.setMinAltitudeMeters(0.0);
+        ceiling.setMaxAltitudeMeters(60.0);
+        // Only the lower half of the zone's band is forbidden
+        assertTrue(GeofenceOverlapAnalyzer.analyze(zone, index(ceiling)).conflicts().isEmpty());
+    }
+
+    @Test
+    void testDisjointInclusionFencesContradict() {
+        Geofence first = square("First", 1L, 40.0, -74.0, 0.01, Geofence.BoundaryType.INCLUSION);
+        Geofence far = square("Far", 2L, 45.0, 10.0, 0.01, Geofence.BoundaryType.INCLUSION);
+        Geofence overlapping = square("Overlapping", 3L, 40.005, -74.005, 0.01, Geofence.BoundaryType.INCLUSION);
+
+        GeofenceOverlapAnalyzer.Result result = GeofenceOverlapAnalyzer.analyze(first, index(far, overlapping));
+        assertEquals(1, result.conflicts().size());
+        assertEquals(GeofenceOverlapAnalyzer.ConflictType.CONTRADICTION, result.conflicts().get(0).type());
+        assertEquals(List.of(far), result.conflicts().get(0).others());
+        assertEquals(0.25, result.overlaps().get(0).fraction(), 0.01);
+    }
+
+    @Test
+    void testRedundantFences() {
+        Geofence large = Geofence.createCircularFence("Large", 40.0, -74.0, 2000.0, Geofence.BoundaryType.EXCLUSION);
+        large.setId(1L);
+        Geofence small = Geofence.createCircularFence("Small", 40.001, -74.001, 300.0, Geofence.BoundaryType.EXCLUSION);
+        small.setId(2L);
+
+        GeofenceOverlapAnalyzer.Result smallResult = GeofenceOverlapAnalyzer.analyze(small, index(large));
+        assertEquals(1, smallResult.conflicts().size());
+        assertEquals(GeofenceOverlapAnalyzer.ConflictType.REDUNDANT, smallResult.conflicts().get(0).type());
+        assertSame(small, smallResult.conflicts().get(0).subject());
+        assertEquals(1.0, smallResult.overlaps().get(0).fraction(), 1e-6);
+
+        GeofenceOverlapAnalyzer.Result largeResult = GeofenceOverlapAnalyzer.analyze(large, index(small));
+        assertEquals(1, largeResult.conflicts().size());
+        assertSame(small, largeResult.conflicts().get(0).subject());
+
+        // A band beyond the covering fence's keeps the small fence meaningful
+        large.setMaxAltitudeMeters(100.0);
+        assertTrue(GeofenceOverlapAnalyzer.analyze(small, index(large)).conflicts().isEmpty());
+
+        // An inclusion fence containing a stricter one adds nothing
+        Geofence area = square("Area", 3L, 40.0, -74.0, 0.02, Geofence.BoundaryType.INCLUSION);
+        Geofence strict = square("Strict", 4L, 40.005, -73.995, 0.005, Geofence.BoundaryType.INCLUSION);
+        GeofenceOverlapAnalyzer.Result areaResult = GeofenceOverlapAnalyzer.analyze(area, index(strict));
+        assertEquals(1, areaResult.conflicts().size());
+        assertSame(area, areaResult.conflicts().get(0).subject());
+    }
+
+    @Test
+    void testUpdatedFenceIsNotComparedWithItself() {
+        Geofence stored = Geofence.createCircularFence("Fence", 40.0, -74.0, 500.0, Geofence.BoundaryType.EXCLUSION);
+        stored.setId(7L);
+        Geofence edited = Geofence.createCircularFence("Fence", 40.0, -74.0, 800.0, Geofence.BoundaryType.EXCLUSION);
+        edited.setId(7L);
+        GeofenceOverlapAnalyzer.Result result = GeofenceOverlapAnalyzer.analyze(edited, index(stored));
+        assertTrue(result.overlaps().isEmpty());
+        assertEquals(Math.PI * 800 * 800, result.areaSquareMeters(), Math.PI * 800 * 800 * 1e-3);
+    }
+
+    @Test
+    void testOnlyNearbyFencesAreCompared() {
+        List<Geofence> fences = new ArrayList<>();
+        for (int i = 0; i < 20_000; i++) {
+            Geofence fence = Geofence.createCircularFence("Fence " + i, 30.0 + (i / 200) * 0.1, -100.0 + (i % 200) * 0.1,
+                500.0, Geofence.BoundaryType.EXCLUSION);
+            fence.setId((long) i);
+            fences.add(fence);
+        }
+        GeofenceIndex index = new GeofenceIndex(fences, 0.05);
+        Geofence added = Geofence.createCircularFence("Added", 30.0, -100.0, 800.0, Geofence.BoundaryType.EXCLUSION);
+
+        long started = System.nanoTime();
+        GeofenceOverlapAnalyzer.Result result = GeofenceOverlapAnalyzer.analyze(added, index);
+        long elapsedMillis = (System.nanoTime() - started) / 1_000_000;
+        assertEquals(1, result.overlaps().size());
+        assertEquals(1, result.conflicts().size());
+        assertSame(fences.get(0), result.conflicts().get(0).subject());
+        assertTrue(elapsedMillis < 500, "took " + elapsedMillis + " ms");
+    }
+
+    @Test
+    void testAreaOfRegionWithHole() {
+        Area region = new Area(new Rectangle2D.Double(0, 0, 10, 10));
+        region.subtract(new Area(new Rectangle2D.Double(2, 2, 3, 3)));
+        assertEquals(91.0, GeofenceOverlapAnalyzer.area(region), 1e-9);
+    }
+
+    private static GeofenceIndex index(Geofence... fences) {
+        return new GeofenceIndex(List.of(fences), 0.05);
+    }
+
+    private static Geofence square(String name, Long id, double latitude, double longitude, double size,
+                                   Geofence.BoundaryType boundaryType) {
+        Geofence fence = Geofence.createPolygonalFence(name, box(latitude, longitude, latitude + size, longitude + size),
+            boundaryType);
+        fence.setId(id);
+        return fence;
+    }
+
+    private static String box(double minLatitude, double minLongitude, double maxLatitude, double maxLongitude) {
+        return String.format(Locale.ROOT, "[[%f,%f],[%f,%f],[%f,%f],[%f,%f]]", minLatitude, minLongitude,
+            minLatitude, maxLongitude, maxLatitude, maxLongitude, maxLatitude, minLongitude);
+    }
+}
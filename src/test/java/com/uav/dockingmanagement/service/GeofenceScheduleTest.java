@@ -0,0 +1,94 @@
+package com.uav.dockingmanagement.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for GeofenceSchedule
+ */
+class GeofenceScheduleTest {
+
+    /** A Monday */
+    private static final LocalDateTime MONDAY = LocalDateTime.of(2025, 1, 6, 0, 0);
+
+    @Test
+    void testWeekdayWindow() {
+        GeofenceSchedule schedule = GeofenceSchedule.compile("MON,TUE,WED,THU,FRI", "08:00", "15:30", null, null);
+
+        assertFalse(schedule.isActiveAt(MONDAY.withHour(7).withMinute(59)));
+        assertTrue(schedule.isActiveAt(MONDAY.withHour(8)));
+        assertTrue(schedule.isActiveAt(MONDAY.withHour(15).withMinute(29).withSecond(59)));
+        assertFalse(schedule.isActiveAt(MONDAY.withHour(15).withMinute(30)));
+        assertFalse(schedule.isActiveAt(MONDAY.plusDays(5).withHour(10)));
+    }
+
+    @Test
+    void testNextTransitions() {
+        GeofenceSchedule schedule = GeofenceSchedule.compile("MON,TUE,WED,THU,FRI", "08:00", "15:30", null, null);
+
+        assertEquals(MONDAY.withHour(8), schedule.nextTransitionAfter(MONDAY.withHour(7).withMinute(12).withSecond(5)));
+        assertEquals(MONDAY.withHour(15).withMinute(30), schedule.nextTransitionAfter(MONDAY.withHour(8)));
+        // Friday afternoon to Monday morning, across the end of the week
+        LocalDateTime friday = MONDAY.plusDays(4);
+        assertEquals(MONDAY.plusDays(7).withHour(8), schedule.nextTransitionAfter(friday.withHour(16)));
+    }
+
+    @Test
+    void testOvernightWindowBelongsToStartDay() {
+        GeofenceSchedule schedule = GeofenceSchedule.compile("SUN", "22:00", "02:00", null, null);
+        LocalDateTime sunday = MONDAY.plusDays(6);
+
+        assertTrue(schedule.isActiveAt(sunday.withHour(23)));
+        // Monday 01:00 follows Sunday night, wrapping round the week
+        assertTrue(schedule.isActiveAt(MONDAY.withHour(1)));
+        assertFalse(schedule.isActiveAt(MONDAY.withHour(2)));
+        assertFalse(schedule.isActiveAt(MONDAY.plusDays(1).withHour(1)));
+        assertEquals(MONDAY.withHour(2), schedule.nextTransitionAfter(MONDAY.withMinute(30)));
+    }
+
+    @Test
+    void testDateBounds() {
+        LocalDateTime from = MONDAY.withHour(9);
+        LocalDateTime until = MONDAY.plusDays(2).withHour(12);
+        GeofenceSchedule schedule = GeofenceSchedule.compile(null, null, null, from, until);
+
+        assertFalse(schedule.isActiveAt(MONDAY));
+        assertEquals(from, schedule.nextTransitionAfter(MONDAY));
+        assertTrue(schedule.isActiveAt(from));
+        assertEquals(until, schedule.nextTransitionAfter(from));
+        assertFalse(schedule.isActiveAt(until));
+        assertTrue(schedule.isExpiredAt(until));
+        assertNull(schedule.nextTransitionAfter(until));
+    }
+
+    @Test
+    void testExpiryBeforeNextRecurringChange() {
+        LocalDateTime until = MONDAY.withHour(10);
+        GeofenceSchedule schedule = GeofenceSchedule.compile("MONDAY", null, null, null, until);
+
+        assertTrue(schedule.isActiveAt(MONDAY.withHour(9)));
+        assertEquals(until, schedule.nextTransitionAfter(MONDAY.withHour(9)));
+    }
+
+    @Test
+    void testUnrestrictedScheduleNeverChanges() {
+        GeofenceSchedule schedule = GeofenceSchedule.compile(null, "", null, null, null);
+
+        assertFalse(schedule.isRecurring());
+        assertTrue(schedule.isActiveAt(MONDAY.plusDays(3)));
+        assertNull(schedule.nextTransitionAfter(MONDAY));
+
+        GeofenceSchedule everyDay = GeofenceSchedule.compile("mon,tue,wed,thu,fri,sat,sun", null, null, null, null);
+        assertTrue(everyDay.isActiveAt(MONDAY.plusDays(6).withHour(23).withMinute(59)));
+        assertNull(everyDay.nextTransitionAfter(MONDAY));
+    }
+
+    @Test
+    void testInvalidScheduleIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> GeofenceSchedule.compile("MOONDAY", null, null, null, null));
+        assertThrows(IllegalArgumentException.class, () -> GeofenceSchedule.compile(null, "8am", "17:00", null, null));
+    }
+}
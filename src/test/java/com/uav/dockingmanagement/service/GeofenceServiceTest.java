@@ -26,6 +26,9 @@ class GeofenceServiceTest {
     @Mock
     private GeofenceRepository geofenceRepository;
 
+    @Mock
+    private GeofenceActivationService geofenceActivationService;
+
     @InjectMocks
     private GeofenceService geofenceService;
 
@@ -196,7 +199,7 @@ class GeofenceServiceTest {
     @Test
     void testCheckGeofenceViolation() {
         List<Geofence> activeGeofences = Arrays.asList(testGeofence);
-        when(geofenceRepository.findByStatus(Geofence.FenceStatus.ACTIVE)).thenReturn(activeGeofences);
+        useLiveGeofences(activeGeofences);
 
         // Test point inside inclusion geofence (no violation)
         List<Geofence> violations = geofenceService.checkGeofenceViolations(40.7130, -74.0058, 50.0);
@@ -212,7 +215,7 @@ class GeofenceServiceTest {
     void testCheckGeofenceViolationExclusion() {
         testGeofence.setBoundaryType(Geofence.BoundaryType.EXCLUSION);
         List<Geofence> activeGeofences = Arrays.asList(testGeofence);
-        when(geofenceRepository.findByStatus(Geofence.FenceStatus.ACTIVE)).thenReturn(activeGeofences);
+        useLiveGeofences(activeGeofences);
 
         // Test point inside exclusion geofence (violation)
         List<Geofence> violations = geofenceService.checkGeofenceViolations(40.7130, -74.0058, 50.0);
@@ -344,4 +347,10 @@ class GeofenceServiceTest {
         verify(geofenceRepository, times(1)).countByFenceType(Geofence.FenceType.CIRCULAR);
         verify(geofenceRepository, times(1)).countByBoundaryType(Geofence.BoundaryType.INCLUSION);
     }
+
+    private void useLiveGeofences(List<Geofence> geofences) {
+        GeofenceIndex index = new GeofenceIndex(geofences, 0.05);
+        when(geofenceActivationService.getLiveIndex()).thenReturn(index);
+        when(geofenceActivationService.getLiveRaster()).thenReturn(new AirspaceRaster(index, 0.25, 8));
+    }
 }
@@ -0,0 +1,138 @@
+package com.uav.dockingmanagement.service;
+
+import com.uav.dockingmanagement.model.Geofence;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import static com.uav.dockingmanagement.service.GeofenceViolationTracker.Transition.DWELL;
+import static com.uav.dockingmanagement.service.GeofenceViolationTracker.Transition.ENTER;
+import static com.uav.dockingmanagement.service.GeofenceViolationTracker.Transition.EXIT;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for GeofenceViolationTracker
+ */
+class GeofenceViolationTrackerTest {
+
+    private final GeofenceViolationTracker tracker = new GeofenceViolationTracker(2, 2, 10.0, 60_000);
+
+    @Test
+    void testEnterIsDebounced() {
+        assertNull(tracker.update(1, 7L, -5.0, 0));
+        assertFalse(tracker.isInViolation(1, 7L));
+        assertEquals(ENTER, tracker.update(1, 7L, -5.0, 1000));
+        assertTrue(tracker.isInViolation(1, 7L));
+        assertEquals(0, tracker.getViolationStart(1, 7L));
+    }
+
+    @Test
+    void testSingleGlitchIsIgnored() {
+        assertNull(tracker.update(1, 7L, -5.0, 0));
+        assertNull(tracker.update(1, 7L, 50.0, 1000));
+        assertNull(tracker.update(1, 7L, -5.0, 2000));
+        assertEquals(1, tracker.size());
+        assertFalse(tracker.isInViolation(1, 7L));
+        assertEquals(2000, tracker.getViolationStart(1, 7L));
+    }
+
+    @Test
+    void testParkedViolationProducesOneEnterAndOneDwell() {
+        int enters = 0;
+        int dwells = 0;
+        for (long t = 0; t <= 300_000; t += 1000) {
+            GeofenceViolationTracker.Transition transition = tracker.update(1, 7L, -20.0, t);
+            if (transition == ENTER) {
+                enters++;
+            } else if (transition == DWELL) {
+                dwells++;
+            } else {
+                assertNull(transition);
+            }
+        }
+        assertEquals(1, enters);
+        assertEquals(1, dwells);
+    }
+
+    @Test
+    void testExitRequiresClearingHysteresis() {
+        tracker.update(1, 7L, -5.0, 0);
+        tracker.update(1, 7L, -5.0, 1000);
+
+        // Compliant but within 10 m of the boundary: still the same incident
+        for (long t = 2000; t < 10_000; t += 1000) {
+            assertNull(tracker.update(1, 7L, 3.0, t));
+        }
+        assertTrue(tracker.isInViolation(1, 7L));
+
+        assertNull(tracker.update(1, 7L, 15.0, 10_000));
+        assertEquals(EXIT, tracker.update(1, 7L, 15.0, 11_000));
+        assertFalse(tracker.isInViolation(1, 7L));
+        assertEquals(0, tracker.size());
+    }
+
+    @Test
+    void testPairsAreIndependent() {
+        tracker.update(1, 7L, -5.0, 0);
+        assertEquals(ENTER, tracker.update(1, 7L, -5.0, 1000));
+        assertNull(tracker.update(2, 7L, -5.0, 1000));
+        assertNull(tracker.update(1, 8L, -5.0, 1000));
+        assertEquals(1, tracker.countInViolation());
+    }
+
+    @Test
+    void testEvictStale() {
+        tracker.update(1, 7L, -5.0, 0);
+        tracker.update(1, 7L, -5.0, 1000);
+        tracker.update(2, 7L, -5.0, 50_000);
+
+        assertEquals(1, tracker.evictStale(10_000));
+        assertFalse(tracker.isInViolation(1, 7L));
+        assertEquals(1, tracker.size());
+        assertTrue(tracker.getTrackedGeofenceIds(1).isEmpty());
+        assertEquals(Set.of(7L), tracker.getTrackedGeofenceIds(2));
+    }
+
+    @Test
+    void testTrackedGeofencesFollowPairState() {
+        tracker.update(1, 7L, -5.0, 0);
+        tracker.update(1, 8L, -5.0, 0);
+        assertEquals(Set.of(7L, 8L), tracker.getTrackedGeofenceIds(1));
+
+        // A compliant fix before ENTER drops the pending pair
+        tracker.update(1, 8L, 50.0, 1000);
+        assertEquals(Set.of(7L), tracker.getTrackedGeofenceIds(1));
+    }
+
+    @Test
+    void testComplianceMarginOfAltitudeBand() {
+        Geofence exclusion = Geofence.createCircularFence("No fly", 40.0, -74.0, 1000.0, Geofence.BoundaryType.EXCLUSION);
+        exclusion.setMinAltitudeMeters(100.0);
+        exclusion.setMaxAltitudeMeters(150.0);
+
+        // Inside horizontally: the band decides
+        assertEquals(-20.0, GeofenceViolationTracker.complianceMargin(exclusion, 40.0, -74.0, 120.0), 1e-9);
+        assertEquals(30.0, GeofenceViolationTracker.complianceMargin(exclusion, 40.0, -74.0, 70.0), 1e-9);
+        // Outside both: distance to the prism's edge, about 111 m out and 30 m below
+        assertEquals(Math.hypot(111.2, 30.0),
+            GeofenceViolationTracker.complianceMargin(exclusion, 40.0 + 1111.2 / 111_195.0, -74.0, 70.0), 0.5);
+    }
+
+    @Test
+    void testComplianceMarginOfCircularFences() {
+        Geofence exclusion = Geofence.createCircularFence("No fly", 40.0, -74.0, 1000.0, Geofence.BoundaryType.EXCLUSION);
+        Geofence inclusion = Geofence.createCircularFence("Zone", 40.0, -74.0, 1000.0, Geofence.BoundaryType.INCLUSION);
+        inclusion.setMaxAltitudeMeters(120.0);
+
+        // About 111 m north of the center
+        double exclusionMargin = GeofenceViolationTracker.complianceMargin(exclusion, 40.001, -74.0, 50.0);
+        assertEquals(-889.0, exclusionMargin, 1.0);
+        double inclusionMargin = GeofenceViolationTracker.complianceMargin(inclusion, 40.001, -74.0, 50.0);
+        assertEquals(70.0, inclusionMargin, 1e-9);
+
+        // Above the ceiling
+        assertEquals(-30.0, GeofenceViolationTracker.complianceMargin(inclusion, 40.001, -74.0, 150.0), 1e-9);
+        // Unknown altitude only checks the horizontal boundary
+        assertEquals(889.0, GeofenceViolationTracker.complianceMargin(inclusion, 40.001, -74.0, null), 1.0);
+    }
+}
@@ -0,0 +1,75 @@
+package com.uav.dockingmanagement.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for HashedTimerWheel
+ */
+class HashedTimerWheelTest {
+
+    @Test
+    void testTimersFireInDeadlineOrder() {
+        HashedTimerWheel<String> wheel = new HashedTimerWheel<>(100, 8, 0);
+        wheel.schedule("c", 700);
+        wheel.schedule("a", 150);
+        wheel.schedule("b", 400);
+
+        List<String> fired = new ArrayList<>();
+        wheel.advance(199, fired::add);
+        assertEquals(List.of(), fired);
+        wheel.advance(200, fired::add);
+        assertEquals(List.of("a"), fired);
+        wheel.advance(1000, fired::add);
+        assertEquals(List.of("a", "b", "c"), fired);
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void testTimersBeyondOneRevolutionWaitForTheirRound() {
+        HashedTimerWheel<String> wheel = new HashedTimerWheel<>(100, 4, 0);
+        wheel.schedule("far", 1_000);
+
+        List<String> fired = new ArrayList<>();
+        wheel.advance(900, fired::add);
+        assertTrue(fired.isEmpty());
+        assertEquals(1, wheel.size());
+        wheel.advance(1_000, fired::add);
+        assertEquals(List.of("far"), fired);
+    }
+
+    @Test
+    void testPastDeadlineFiresOnNextTick() {
+        HashedTimerWheel<String> wheel = new HashedTimerWheel<>(100, 8, 1_000);
+        wheel.schedule("late", 0);
+
+        List<String> fired = new ArrayList<>();
+        wheel.advance(1_050, fired::add);
+        assertTrue(fired.isEmpty());
+        wheel.advance(1_100, fired::add);
+        assertEquals(List.of("late"), fired);
+    }
+
+    @Test
+    void testRescheduleFromCallbackAndCatchUp() {
+        HashedTimerWheel<Integer> wheel = new HashedTimerWheel<>(100, 4, 0);
+        wheel.schedule(1, 100);
+
+        List<Integer> fired = new ArrayList<>();
+        wheel.advance(100, count -> {
+            fired.add(count);
+            wheel.schedule(count + 1, 100);
+        });
+        assertEquals(List.of(1), fired);
+
+        // Far behind: everything due is swept in one call, not necessarily in order
+        wheel.schedule(10, 5_000);
+        wheel.advance(10_000, fired::add);
+        assertEquals(List.of(1, 2, 10), fired.stream().sorted().toList());
+        assertEquals(0, wheel.size());
+    }
+}
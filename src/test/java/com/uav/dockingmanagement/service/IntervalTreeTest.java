@@ -0,0 +1,93 @@
+package com.uav.dockingmanagement.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for IntervalTree
+ */
+class IntervalTreeTest {
+
+    @Test
+    void testMatchesBruteForceUnderInsertAndRemove() {
+        Random random = new Random(11);
+        IntervalTree<long[]> tree = new IntervalTree<>();
+        List<long[]> live = new ArrayList<>();
+        for (long id = 0; id < 5_000; id++) {
+            long start = random.nextInt(100_000);
+            long end = random.nextInt(10) == 0 ? Long.MAX_VALUE : start + 1 + random.nextInt(2_000);
+            long[] interval = {id, start, end};
+            tree.insert(id, start, end, interval);
+            live.add(interval);
+            if (random.nextInt(4) == 0) {
+                long[] removed = live.remove(random.nextInt(live.size()));
+                assertTrue(tree.remove(removed[0], removed[1]));
+            }
+        }
+        assertEquals(live.size(), tree.size());
+        assertFalse(tree.remove(-1, 0));
+        live.sort(Comparator.<long[]>comparingLong(interval -> interval[1]).thenComparingLong(interval -> interval[0]));
+
+        for (int query = 0; query < 500; query++) {
+            long from = random.nextInt(110_000);
+            long to = from + random.nextInt(3_000);
+            List<long[]> expected = new ArrayList<>();
+            for (long[] interval : live) {
+                if (interval[1] < to && interval[2] > from) {
+                    expected.add(interval);
+                }
+            }
+            List<long[]> found = new ArrayList<>();
+            tree.overlap(from, to, found);
+            assertEquals(expected, found);
+
+            List<long[]> stabbed = new ArrayList<>();
+            tree.stab(from, stabbed);
+            assertEquals(live.stream().filter(interval -> interval[1] <= from && interval[2] > from).toList(), stabbed);
+        }
+    }
+
+    @Test
+    void testHalfOpenBounds() {
+        IntervalTree<String> tree = new IntervalTree<>();
+        tree.insert(1, 10, 20, "a");
+        tree.insert(2, 20, 30, "b");
+        tree.insert(3, 20, 20, "empty");
+
+        List<String> found = new ArrayList<>();
+        tree.stab(20, found);
+        assertEquals(List.of("b"), found);
+        found.clear();
+        tree.stab(10, found);
+        assertEquals(List.of("a"), found);
+        found.clear();
+        tree.overlap(15, 15, found);
+        assertTrue(found.isEmpty());
+        tree.overlap(0, 10, found);
+        assertTrue(found.isEmpty());
+    }
+
+    @Test
+    void testSortedInsertsStayShallow() {
+        IntervalTree<Integer> tree = new IntervalTree<>();
+        int count = 200_000;
+        for (int i = 0; i < count; i++) {
+            tree.insert(i, i * 10L, i * 10L + 15, i);
+        }
+        long started = System.nanoTime();
+        List<Integer> found = new ArrayList<>();
+        for (int i = 0; i < 100_000; i++) {
+            found.clear();
+            tree.stab(i * 17L, found);
+            assertFalse(found.isEmpty());
+        }
+        long elapsedMillis = (System.nanoTime() - started) / 1_000_000;
+        assertTrue(elapsedMillis < 2_000, "took " + elapsedMillis + " ms");
+    }
+}
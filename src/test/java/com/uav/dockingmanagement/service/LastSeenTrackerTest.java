@@ -0,0 +1,121 @@
+package com.uav.dockingmanagement.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for LastSeenTracker
+ */
+class LastSeenTrackerTest {
+
+    private static final long SECOND = 1_000;
+    private static final long MINUTE = 60 * SECOND;
+
+    private final List<String> events = new ArrayList<>();
+    private LastSeenTracker tracker;
+
+    @BeforeEach
+    void setUp() {
+        tracker = new LastSeenTracker(new long[] {5 * MINUTE, MINUTE}, 30 * SECOND, SECOND, 0,
+            new LastSeenTracker.Listener() {
+                @Override
+                public void onLinkLost(int uavId, long lastSeenMillis) {
+                    events.add("LOST " + uavId);
+                }
+
+                @Override
+                public void onLinkRestored(int uavId, long silentMillis) {
+                    events.add("RESTORED " + uavId + " after " + silentMillis / SECOND);
+                }
+            });
+    }
+
+    @Test
+    void testActiveCountsFollowSilence() {
+        tracker.record(1, 0, 0, true);
+        tracker.record(2, 0, 0, false);
+        advanceTo(40 * SECOND);
+        tracker.record(2, 40 * SECOND, 40 * SECOND, false);
+
+        assertEquals(1, tracker.countActive(30 * SECOND, 40 * SECOND));
+        assertEquals(2, tracker.countActive(MINUTE, 40 * SECOND));
+
+        advanceTo(2 * MINUTE);
+        assertEquals(0, tracker.countActive(MINUTE, 2 * MINUTE));
+        assertEquals(2, tracker.countActive(5 * MINUTE, 2 * MINUTE));
+
+        advanceTo(6 * MINUTE);
+        assertEquals(0, tracker.countActive(5 * MINUTE, 6 * MINUTE));
+        // Inactive UAVs hold no timers
+        assertEquals(0, tracker.pendingTimers());
+    }
+
+    @Test
+    void testUnconfiguredWindowIsCountedByScan() {
+        tracker.record(1, 0, 0, true);
+        tracker.record(2, 10 * SECOND, 10 * SECOND, true);
+
+        assertEquals(1, tracker.countActive(15 * SECOND, 20 * SECOND));
+        assertEquals(List.of(2), tracker.findActive(15 * SECOND, 20 * SECOND));
+    }
+
+    @Test
+    void testFrequentReportsKeepOneTimer() {
+        for (long t = 0; t < 10 * MINUTE; t += SECOND) {
+            tracker.record(1, t, t, true);
+            tracker.advance(t);
+        }
+        assertEquals(1, tracker.pendingTimers());
+        assertEquals(1, tracker.countActive(30 * SECOND, 10 * MINUTE));
+        assertTrue(events.isEmpty());
+    }
+
+    @Test
+    void testLostLinkAndRestore() {
+        tracker.record(7, 0, 0, true);
+        advanceTo(29 * SECOND);
+        assertTrue(events.isEmpty());
+
+        advanceTo(31 * SECOND);
+        assertEquals(List.of("LOST 7"), events);
+        assertEquals(List.of(7), tracker.findLostLinks());
+
+        // Reported once only
+        advanceTo(3 * MINUTE);
+        assertEquals(1, events.size());
+
+        tracker.record(7, 3 * MINUTE, 3 * MINUTE, true);
+        assertEquals(List.of("LOST 7", "RESTORED 7 after 180"), events);
+        assertEquals(0, tracker.countLostLinks());
+        assertEquals(1, tracker.countActive(30 * SECOND, 3 * MINUTE));
+    }
+
+    @Test
+    void testGroundedUavDoesNotRaiseLostLink() {
+        tracker.record(3, 0, 0, false);
+        advanceTo(2 * MINUTE);
+        assertTrue(events.isEmpty());
+    }
+
+    @Test
+    void testSeedPlacesUavWithoutEvents() {
+        tracker.seed(4, -2 * MINUTE, 0);
+        tracker.seed(5, -10 * SECOND, 0);
+
+        assertEquals(1, tracker.countActive(30 * SECOND, 0));
+        assertEquals(2, tracker.countActive(5 * MINUTE, 0));
+        advanceTo(MINUTE);
+        assertTrue(events.isEmpty());
+    }
+
+    private void advanceTo(long millis) {
+        for (long t = 0; t <= millis; t += SECOND) {
+            tracker.advance(t);
+        }
+    }
+}
@@ -10,6 +10,7 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.*;
 
@@ -39,6 +40,21 @@ class LocationServiceTest {
     @Mock
     private SimpMessagingTemplate messagingTemplate;
 
+    @Mock
+    private RecentFixCache recentFixCache;
+
+    @Mock
+    private LinkMonitoringService linkMonitoringService;
+
+    @Mock
+    private BatteryStateService batteryStateService;
+
+    @Mock
+    private GeofenceActivationService geofenceActivationService;
+
+    @Mock
+    private GeofenceViolationService geofenceViolationService;
+
     @InjectMocks
     private LocationService locationService;
 
@@ -90,19 +106,17 @@ class LocationServiceTest {
 
     @Test
     void testUpdateUAVLocationWithGeofenceViolation() {
-        List<Geofence> activeGeofences = Arrays.asList(testGeofence);
         when(uavRepository.save(any(UAV.class))).thenReturn(testUAV);
         when(locationHistoryRepository.save(any(LocationHistory.class))).thenReturn(testLocationHistory);
-        when(geofenceRepository.findCurrentlyActiveGeofences(any(LocalDateTime.class))).thenReturn(activeGeofences);
-        when(testGeofence.isPointInside(40.7130, -74.0058)).thenReturn(false);
-        when(testGeofence.getBoundaryType()).thenReturn(Geofence.BoundaryType.INCLUSION);
+        useLiveGeofences(Arrays.asList(distantInclusionFence()));
 
         locationService.updateUAVLocation(testUAV, 40.7130, -74.0058, 55.0);
 
         verify(uavRepository, times(1)).save(testUAV);
         verify(locationHistoryRepository, times(1)).save(any(LocationHistory.class));
-        verify(geofenceService, times(1)).checkGeofenceViolations(40.7130, -74.0058, 55.0);
-        verify(messagingTemplate, times(1)).convertAndSend(eq("/topic/geofence-violations"), any(Object.class));
+        // Outside the INCLUSION fence: handed to the violation service with a negative margin
+        verify(geofenceViolationService, times(1)).onCheck(eq(testUAV), eq(testGeofence), doubleThat(margin -> margin < 0),
+            eq(40.7130), eq(-74.0058), eq(55.0));
     }
 
     @Test
@@ -229,8 +243,7 @@ class LocationServiceTest {
 
     @Test
     void testGetTrackingDashboardData() {
-        List<UAV> activeUAVs = Arrays.asList(testUAV);
-        when(locationHistoryRepository.findActiveUAVsSince(any(LocalDateTime.class))).thenReturn(activeUAVs);
+        when(linkMonitoringService.countActive(any(Duration.class))).thenReturn(1L);
         when(uavRepository.findAll()).thenReturn(Arrays.asList(testUAV));
         when(testUAV.hasLocationData()).thenReturn(true);
 
@@ -240,20 +253,18 @@ class LocationServiceTest {
         assertTrue(result.containsKey("activeUAVsCount"));
         assertTrue(result.containsKey("currentLocations"));
         assertTrue(result.containsKey("timestamp"));
-        verify(locationHistoryRepository, times(1)).findActiveUAVsSince(any(LocalDateTime.class));
+        assertEquals(1L, result.get("activeUAVsCount"));
+        verify(linkMonitoringService, times(1)).countActive(Duration.ofHours(1));
     }
 
     @Test
     void testCheckGeofenceViolations() {
-        List<Geofence> activeGeofences = Arrays.asList(testGeofence);
-        when(geofenceRepository.findCurrentlyActiveGeofences(any(LocalDateTime.class))).thenReturn(activeGeofences);
-        when(testGeofence.isPointInside(40.7128, -74.0060)).thenReturn(false);
-        when(testGeofence.getBoundaryType()).thenReturn(Geofence.BoundaryType.INCLUSION);
+        useLiveGeofences(Arrays.asList(distantInclusionFence()));
 
         locationService.checkGeofenceViolations(testUAV, 40.7128, -74.0060, 50.0);
 
-        verify(geofenceService, times(1)).checkGeofenceViolations(40.7128, -74.0060, 50.0);
-        verify(messagingTemplate, times(1)).convertAndSend(eq("/topic/geofence-violations"), any(Object.class));
+        verify(geofenceViolationService, times(1)).onCheck(eq(testUAV), eq(testGeofence), doubleThat(margin -> margin < 0),
+            eq(40.7128), eq(-74.0060), eq(50.0));
     }
 
     @Test
@@ -301,7 +312,7 @@ class LocationServiceTest {
     void testUpdateUAVLocationNullValues() {
         when(uavRepository.save(any(UAV.class))).thenReturn(testUAV);
         when(locationHistoryRepository.save(any(LocationHistory.class))).thenReturn(testLocationHistory);
-        when(geofenceRepository.findCurrentlyActiveGeofences(any(LocalDateTime.class))).thenReturn(Collections.emptyList());
+        when(geofenceActivationService.getLiveRaster()).thenReturn(AirspaceRaster.empty());
 
         // Test with null altitude
         locationService.updateUAVLocation(testUAV, 40.7130, -74.0058, null);
@@ -332,4 +343,21 @@ class LocationServiceTest {
 
         verify(locationHistoryRepository, times(1)).save(any(LocationHistory.class));
     }
+
+    /**
+     * testGeofence as an INCLUSION circle about 140 km from every position used here
+     */
+    private Geofence distantInclusionFence() {
+        testGeofence.setFenceType(Geofence.FenceType.CIRCULAR);
+        testGeofence.setCenterLatitude(41.0);
+        testGeofence.setCenterLongitude(-75.0);
+        testGeofence.setRadiusMeters(500.0);
+        return testGeofence;
+    }
+
+    private void useLiveGeofences(List<Geofence> geofences) {
+        GeofenceIndex index = new GeofenceIndex(geofences, 0.05);
+        when(geofenceActivationService.getLiveIndex()).thenReturn(index);
+        when(geofenceActivationService.getLiveRaster()).thenReturn(new AirspaceRaster(index, 0.25, 8));
+    }
 }
@@ -0,0 +1,130 @@
+package com.uav.dockingmanagement.service;
+
+import com.uav.dockingmanagement.model.LocationHistory;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for RecentFixBuffer
+ */
+class RecentFixBufferTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2025, 1, 1, 12, 0);
+
+    @Test
+    void testLatestAndRecentAreNewestFirst() {
+        RecentFixBuffer buffer = new RecentFixBuffer(8);
+        for (int i = 0; i < 5; i++) {
+            buffer.add(fix(i));
+        }
+
+        assertEquals(4L, buffer.latest().getId());
+        List<LocationHistory> recent = buffer.recent(3);
+        assertEquals(List.of(4L, 3L, 2L), ids(recent));
+        assertEquals(5, buffer.recent(10).size());
+    }
+
+    @Test
+    void testFieldsSurviveRoundTrip() {
+        RecentFixBuffer buffer = new RecentFixBuffer(4);
+        LocationHistory fix = fix(1);
+        fix.setAltitudeMeters(null);
+        fix.setBatteryLevel(55);
+        fix.setLocationSource(LocationHistory.LocationSource.GPS);
+        buffer.add(fix);
+
+        LocationHistory read = buffer.latest();
+        assertEquals(fix.getTimestamp(), read.getTimestamp());
+        assertEquals(fix.getLatitude(), read.getLatitude());
+        assertEquals(fix.getLongitude(), read.getLongitude());
+        assertNull(read.getAltitudeMeters());
+        assertEquals(55, read.getBatteryLevel());
+        assertEquals(LocationHistory.LocationSource.GPS, read.getLocationSource());
+        assertNull(read.getSignalStrength());
+    }
+
+    @Test
+    void testOldestFixIsOverwrittenWhenFull() {
+        RecentFixBuffer buffer = new RecentFixBuffer(20);
+        for (int i = 0; i < 50; i++) {
+            buffer.add(fix(i));
+        }
+
+        assertEquals(20, buffer.size());
+        assertEquals(List.of(49L, 48L), ids(buffer.recent(2)));
+        assertEquals(30L, buffer.recent(20).get(19).getId());
+        assertFalse(buffer.holds(21));
+        assertFalse(buffer.covers(BASE.plusSeconds(29)));
+        assertTrue(buffer.covers(BASE.plusSeconds(30)));
+    }
+
+    @Test
+    void testLateFixIsSortedIntoPlace() {
+        RecentFixBuffer buffer = new RecentFixBuffer(8);
+        buffer.add(fix(1));
+        buffer.add(fix(3));
+        buffer.add(fix(2));
+
+        assertEquals(List.of(3L, 2L, 1L), ids(buffer.recent(3)));
+    }
+
+    @Test
+    void testBetweenIsInclusiveAndOldestFirst() {
+        RecentFixBuffer buffer = new RecentFixBuffer(16);
+        for (int i = 0; i < 10; i++) {
+            buffer.add(fix(i));
+        }
+
+        List<LocationHistory> window = buffer.between(BASE.plusSeconds(3), BASE.plusSeconds(6));
+        assertEquals(List.of(3L, 4L, 5L, 6L), ids(window));
+    }
+
+    @Test
+    void testWarmKeepsNewerLiveFixes() {
+        RecentFixBuffer buffer = new RecentFixBuffer(16);
+        buffer.add(fix(9));
+        buffer.add(fix(10));
+
+        List<LocationHistory> stored = new ArrayList<>();
+        for (int i = 9; i >= 0; i--) {
+            stored.add(fix(i));
+        }
+        buffer.warm(stored, true);
+
+        assertEquals(11, buffer.size());
+        assertEquals(List.of(10L, 9L, 8L), ids(buffer.recent(3)));
+        // Whole history is buffered, so any query can be served from memory
+        assertTrue(buffer.holds(100));
+        assertTrue(buffer.covers(BASE.minusDays(1)));
+    }
+
+    @Test
+    void testPartialWarmIsNotComplete() {
+        RecentFixBuffer buffer = new RecentFixBuffer(16);
+        buffer.warm(List.of(fix(5), fix(4)), false);
+
+        assertFalse(buffer.holds(3));
+        assertTrue(buffer.holds(2));
+        assertFalse(buffer.covers(BASE));
+        assertTrue(buffer.covers(BASE.plusSeconds(4)));
+    }
+
+    private static LocationHistory fix(int second) {
+        LocationHistory fix = new LocationHistory();
+        fix.setId((long) second);
+        fix.setTimestamp(BASE.plusSeconds(second));
+        fix.setLatitude(40.0 + second * 1e-4);
+        fix.setLongitude(-74.0);
+        fix.setAltitudeMeters(50.0);
+        return fix;
+    }
+
+    private static List<Long> ids(List<LocationHistory> fixes) {
+        return fixes.stream().map(LocationHistory::getId).toList();
+    }
+}
@@ -0,0 +1,113 @@
+package com.uav.dockingmanagement.service;
+
+import com.uav.dockingmanagement.model.StationOccupancyBucket;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for StationOccupancySeries
+ */
+class StationOccupancySeriesTest {
+
+    private static final long T0 = 1_750_000_020_000L - 1_750_000_020_000L % 60_000L;
+
+    @Test
+    void testMinuteBucketsIntegrateOccupancy() {
+        StationOccupancySeries series = new StationOccupancySeries();
+        series.track(1L, 0, 4, T0);
+        series.record(1L, 1, 4, true, T0 + 15_000);
+        series.record(1L, 2, 4, true, T0 + 30_000);
+        series.record(1L, 1, 4, false, T0 + 75_000);
+
+        List<StationOccupancySeries.Bucket> buckets = series.drain(T0 + 120_000);
+        assertEquals(List.of(
+            new StationOccupancySeries.Bucket(1L, T0, 60_000, 75_000, 240_000, 15_000, 2, 2, 0),
+            new StationOccupancySeries.Bucket(1L, T0 + 60_000, 60_000, 75_000, 240_000, 0, 2, 0, 1)), buckets);
+        assertTrue(series.drain(T0 + 120_000).isEmpty());
+    }
+
+    @Test
+    void testQuietMinutesAreClosedToo() {
+        StationOccupancySeries series = new StationOccupancySeries();
+        series.track(1L, 3, 5, T0 + 20_000);
+        series.track(2L, 0, 2, T0);
+
+        List<StationOccupancySeries.Bucket> buckets = series.drain(T0 + 10 * 60_000 + 5_000);
+        assertEquals(20, buckets.size());
+        StationOccupancySeries.Bucket first = buckets.stream().filter(bucket -> bucket.stationId() == 1L).findFirst().orElseThrow();
+        assertEquals(40_000, first.coveredMillis());
+        assertEquals(3 * 40_000, first.occupiedSlotMillis());
+
+        StationOccupancyBucket hour = new StationOccupancyBucket(2L, StationOccupancyBucket.Resolution.HOUR, null);
+        for (StationOccupancySeries.Bucket bucket : buckets) {
+            if (bucket.stationId() == 2L) {
+                hour.add(bucket.coveredMillis(), bucket.occupiedSlotMillis(), bucket.capacitySlotMillis(),
+                    bucket.idleMillis(), bucket.peakOccupancy(), bucket.dockCount(), bucket.undockCount());
+            }
+        }
+        assertEquals(600_000L, hour.getIdleMillis().longValue());
+        assertEquals(1_200_000L, hour.getCapacitySlotMillis().longValue());
+        assertEquals(0, hour.getPeakOccupancy());
+    }
+
+    @Test
+    void testLateEventCountsAtLastSeenTime() {
+        StationOccupancySeries series = new StationOccupancySeries();
+        series.record(1L, 1, 2, true, T0 + 30_000);
+        series.record(1L, 2, 2, true, T0 + 10_000);
+
+        StationOccupancySeries.Bucket bucket = series.drain(T0 + 60_000).get(0);
+        assertEquals(30_000, bucket.coveredMillis());
+        assertEquals(60_000, bucket.occupiedSlotMillis());
+        assertEquals(2, bucket.dockCount());
+    }
+
+    @Test
+    void testRequeuedBucketsAreDrainedFirst() {
+        StationOccupancySeries series = new StationOccupancySeries();
+        series.track(1L, 1, 2, T0);
+        List<StationOccupancySeries.Bucket> failed = series.drain(T0 + 120_000);
+        assertEquals(2, failed.size());
+
+        series.requeue(failed);
+        List<StationOccupancySeries.Bucket> buckets = series.drain(T0 + 180_000);
+        assertEquals(3, buckets.size());
+        assertEquals(failed, buckets.subList(0, 2));
+        assertEquals(T0 + 120_000, buckets.get(2).startMillis());
+        assertTrue(series.drain(T0 + 180_000).isEmpty());
+    }
+
+    @Test
+    void testSegmentsUseCoarsestBuckets() {
+        LocalDateTime from = LocalDateTime.of(2025, 6, 1, 10, 17, 30);
+        LocalDateTime to = LocalDateTime.of(2025, 6, 3, 5, 5);
+        assertEquals(List.of(
+            segment(StationOccupancyBucket.Resolution.MINUTE, LocalDateTime.of(2025, 6, 1, 10, 17), LocalDateTime.of(2025, 6, 1, 11, 0)),
+            segment(StationOccupancyBucket.Resolution.HOUR, LocalDateTime.of(2025, 6, 1, 11, 0), LocalDateTime.of(2025, 6, 2, 0, 0)),
+            segment(StationOccupancyBucket.Resolution.DAY, LocalDateTime.of(2025, 6, 2, 0, 0), LocalDateTime.of(2025, 6, 3, 0, 0)),
+            segment(StationOccupancyBucket.Resolution.HOUR, LocalDateTime.of(2025, 6, 3, 0, 0), LocalDateTime.of(2025, 6, 3, 5, 0)),
+            segment(StationOccupancyBucket.Resolution.MINUTE, LocalDateTime.of(2025, 6, 3, 5, 0), to)),
+            StationOccupancySeries.segments(from, to));
+
+        // Within one day: no day buckets
+        assertEquals(List.of(
+            segment(StationOccupancyBucket.Resolution.HOUR, LocalDateTime.of(2025, 6, 1, 0, 0), LocalDateTime.of(2025, 6, 1, 6, 0)),
+            segment(StationOccupancyBucket.Resolution.MINUTE, LocalDateTime.of(2025, 6, 1, 6, 0), LocalDateTime.of(2025, 6, 1, 6, 30))),
+            StationOccupancySeries.segments(LocalDateTime.of(2025, 6, 1, 0, 0), LocalDateTime.of(2025, 6, 1, 6, 30)));
+
+        // Within one hour: minutes only
+        assertEquals(List.of(
+            segment(StationOccupancyBucket.Resolution.MINUTE, LocalDateTime.of(2025, 6, 1, 6, 10), LocalDateTime.of(2025, 6, 1, 6, 40))),
+            StationOccupancySeries.segments(LocalDateTime.of(2025, 6, 1, 6, 10), LocalDateTime.of(2025, 6, 1, 6, 40)));
+        assertTrue(StationOccupancySeries.segments(to, from).isEmpty());
+    }
+
+    private static StationOccupancySeries.Segment segment(StationOccupancyBucket.Resolution resolution,
+                                                          LocalDateTime from, LocalDateTime to) {
+        return new StationOccupancySeries.Segment(resolution, from, to);
+    }
+}
@@ -0,0 +1,67 @@
+package com.uav.dockingmanagement.service;
+
+import com.uav.dockingmanagement.model.DockingStation;
+import com.uav.dockingmanagement.model.StationOccupancyBucket;
+import com.uav.dockingmanagement.repository.DockingStationRepository;
+import com.uav.dockingmanagement.repository.StationOccupancyBucketRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for StationOccupancyService
+ */
+@ExtendWith(MockitoExtension.class)
+class StationOccupancyServiceTest {
+
+    @Mock
+    private StationOccupancyBucketRepository bucketRepository;
+
+    @Mock
+    private DockingStationRepository dockingStationRepository;
+
+    @InjectMocks
+    private StationOccupancyService stationOccupancyService;
+
+    @Test
+    void testMinutesOfFailedFlushAreStoredByNextFlush() {
+        DockingStation station = new DockingStation();
+        station.setId(7L);
+        station.setMaxCapacity(4);
+        station.setCurrentOccupancy(1);
+        // A station created after startup is followed from its creation
+        stationOccupancyService.onStationUpdated(station);
+        long now = System.currentTimeMillis() + 3 * StationOccupancySeries.MINUTE_MILLIS;
+
+        List<StationOccupancyBucket> stored = new ArrayList<>();
+        when(bucketRepository.saveAll(anyList()))
+            .thenThrow(new RuntimeException("Lock wait timeout exceeded"))
+            .thenAnswer(invocation -> {
+                stored.addAll(invocation.getArgument(0));
+                return stored;
+            });
+
+        assertThrows(RuntimeException.class, () -> ReflectionTestUtils.invokeMethod(stationOccupancyService, "flush", now));
+        ReflectionTestUtils.invokeMethod(stationOccupancyService, "flush", now);
+
+        List<StationOccupancyBucket> minutes = stored.stream()
+            .filter(bucket -> bucket.getResolution() == StationOccupancyBucket.Resolution.MINUTE)
+            .toList();
+        assertEquals(3, minutes.size());
+        assertEquals(7L, minutes.get(0).getStationId().longValue());
+        assertEquals(1, minutes.get(1).getPeakOccupancy());
+
+        ReflectionTestUtils.invokeMethod(stationOccupancyService, "flush", now);
+        verify(bucketRepository, times(2)).saveAll(anyList());
+    }
+}
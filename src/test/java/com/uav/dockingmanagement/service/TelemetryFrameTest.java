@@ -0,0 +1,80 @@
+package com.uav.dockingmanagement.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for TelemetryFrame
+ */
+class TelemetryFrameTest {
+
+    @Test
+    void testRoundTrip() {
+        ByteBuffer buffer = ByteBuffer.allocate(TelemetryFrame.SIZE);
+        TelemetryFrame.encode(buffer, 42, 1_700_000_000_123L, 40.7128123, -74.0060456, 85.25, 42.3, 271.5, 76);
+        assertEquals(TelemetryFrame.SIZE, buffer.position());
+        buffer.flip();
+
+        TelemetryFrame frame = new TelemetryFrame();
+        assertTrue(frame.decode(buffer));
+        assertEquals(TelemetryFrame.SIZE, buffer.position());
+        assertEquals(42, frame.getUavId());
+        assertEquals(1_700_000_000_123L, frame.getTimestampMillis());
+        assertEquals(40.7128123, frame.getLatitude(), 1e-7);
+        assertEquals(-74.0060456, frame.getLongitude(), 1e-7);
+        assertEquals(85.25, frame.getAltitudeMeters(), 0.01);
+        assertEquals(42.3, frame.getSpeedKmh(), 0.1);
+        assertEquals(271.5, frame.getHeadingDegrees(), 0.01);
+        assertEquals(76, frame.getBatteryPercent());
+    }
+
+    @Test
+    void testUnknownOptionalFields() {
+        ByteBuffer buffer = ByteBuffer.allocate(TelemetryFrame.SIZE);
+        TelemetryFrame.encode(buffer, 7, 0L, -33.8688, 151.2093, null, null, null, null);
+        buffer.flip();
+
+        TelemetryFrame frame = new TelemetryFrame();
+        assertTrue(frame.decode(buffer));
+        assertFalse(frame.hasAltitude());
+        assertFalse(frame.hasSpeed());
+        assertFalse(frame.hasHeading());
+        assertFalse(frame.hasBattery());
+    }
+
+    @Test
+    void testReusedInstanceDecodesConsecutiveFrames() {
+        ByteBuffer buffer = ByteBuffer.allocate(TelemetryFrame.SIZE * 2);
+        TelemetryFrame.encode(buffer, 1, 1L, 10.0, 20.0, 30.0, 40.0, 50.0, 60);
+        TelemetryFrame.encode(buffer, 2, 2L, -10.0, -20.0, null, null, null, null);
+        buffer.flip();
+
+        TelemetryFrame frame = new TelemetryFrame();
+        assertTrue(frame.decode(buffer));
+        assertEquals(1, frame.getUavId());
+        assertTrue(frame.decode(buffer));
+        assertEquals(2, frame.getUavId());
+        assertEquals(-10.0, frame.getLatitude(), 1e-7);
+        assertFalse(frame.hasAltitude());
+        assertFalse(buffer.hasRemaining());
+    }
+
+    @Test
+    void testRejectsBadMagicAndOutOfRangeValues() {
+        ByteBuffer buffer = ByteBuffer.allocate(TelemetryFrame.SIZE);
+        TelemetryFrame.encode(buffer, 1, 1L, 10.0, 20.0, null, null, null, null);
+        buffer.putShort(0, (short) 0x1234);
+        buffer.flip();
+        assertFalse(new TelemetryFrame().decode(buffer));
+        assertEquals(TelemetryFrame.SIZE, buffer.position());
+
+        buffer.clear();
+        TelemetryFrame.encode(buffer, 1, 1L, 10.0, 20.0, null, null, null, null);
+        buffer.putInt(16, 950_000_000); // latitude 95 degrees
+        buffer.flip();
+        assertFalse(new TelemetryFrame().decode(buffer));
+    }
+}
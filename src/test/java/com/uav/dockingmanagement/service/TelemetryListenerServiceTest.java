@@ -0,0 +1,185 @@
+package com.uav.dockingmanagement.service;
+
+import com.uav.dockingmanagement.model.LocationHistory;
+import com.uav.dockingmanagement.model.UAV;
+import com.uav.dockingmanagement.repository.UAVRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Loopback tests for TelemetryListenerService
+ */
+@ExtendWith(MockitoExtension.class)
+class TelemetryListenerServiceTest {
+
+    @Mock
+    private UAVRepository uavRepository;
+
+    @Mock
+    private LocationService locationService;
+
+    @InjectMocks
+    private TelemetryListenerService telemetryListenerService;
+
+    private DatagramChannel sender;
+    private UAV testUAV;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        ReflectionTestUtils.setField(telemetryListenerService, "bindAddress", "127.0.0.1");
+        ReflectionTestUtils.setField(telemetryListenerService, "port", 0);
+        ReflectionTestUtils.setField(telemetryListenerService, "receiverThreads", 1);
+        telemetryListenerService.start();
+
+        sender = DatagramChannel.open();
+        sender.connect(new InetSocketAddress("127.0.0.1", telemetryListenerService.getLocalPort()));
+
+        testUAV = new UAV();
+        testUAV.setId(1);
+        testUAV.setRfidTag("TEST001");
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        sender.close();
+        telemetryListenerService.stop();
+    }
+
+    @Test
+    void testFrameIsFedToIngestionPath() throws Exception {
+        when(uavRepository.findAllIds()).thenReturn(List.of(1));
+        when(uavRepository.findById(1)).thenReturn(Optional.of(testUAV));
+
+        ByteBuffer datagram = ByteBuffer.allocate(TelemetryFrame.SIZE);
+        TelemetryFrame.encode(datagram, 1, System.currentTimeMillis(), 40.7128, -74.0060, 85.5, 42.0, 90.0, 77);
+        datagram.flip();
+        sender.write(datagram);
+
+        ArgumentCaptor<LocationHistory> captor = ArgumentCaptor.forClass(LocationHistory.class);
+        verify(locationService, timeout(2000)).recordLocation(eq(testUAV), captor.capture());
+        LocationHistory fix = captor.getValue();
+        assertEquals(40.7128, fix.getLatitude(), 1e-7);
+        assertEquals(-74.0060, fix.getLongitude(), 1e-7);
+        assertEquals(85.5, fix.getAltitudeMeters(), 0.01);
+        assertEquals(42.0, fix.getSpeedKmh(), 0.1);
+        assertEquals(90.0, fix.getHeadingDegrees(), 0.01);
+        assertEquals(77, fix.getBatteryLevel());
+    }
+
+    @Test
+    void testBatchedDatagramDeliversEveryFrame() throws Exception {
+        when(uavRepository.findAllIds()).thenReturn(List.of(1));
+        when(uavRepository.findById(1)).thenReturn(Optional.of(testUAV));
+        long now = System.currentTimeMillis();
+
+        ByteBuffer datagram = ByteBuffer.allocate(TelemetryFrame.SIZE * 3);
+        for (int i = 0; i < 3; i++) {
+            TelemetryFrame.encode(datagram, 1, now + i, 40.0 + i * 0.001, -74.0, 50.0, null, null, null);
+        }
+        datagram.flip();
+        sender.write(datagram);
+
+        verify(locationService, timeout(2000).times(3)).recordLocation(eq(testUAV), any(LocationHistory.class));
+    }
+
+    @Test
+    void testStaleMalformedAndUnknownFramesAreDropped() throws Exception {
+        when(uavRepository.findAllIds()).thenReturn(List.of(1));
+        long now = System.currentTimeMillis();
+
+        ByteBuffer stale = ByteBuffer.allocate(TelemetryFrame.SIZE);
+        TelemetryFrame.encode(stale, 1, now - 3_600_000L, 40.0, -74.0, null, null, null, null);
+        stale.flip();
+        sender.write(stale);
+
+        sender.write(ByteBuffer.wrap(new byte[TelemetryFrame.SIZE - 1]));
+
+        ByteBuffer unknown = ByteBuffer.allocate(TelemetryFrame.SIZE * 3);
+        for (int i = 0; i < 3; i++) {
+            TelemetryFrame.encode(unknown, 97 + i, now, 40.0, -74.0, null, null, null, null);
+        }
+        unknown.flip();
+        sender.write(unknown);
+
+        // A single receiver thread handles datagrams in order, so waiting for the last frame covers all of them
+        waitForStatistic("framesUnknownUav", 3L);
+
+        assertEquals(1L, telemetryListenerService.getStatistics().get("framesStale"));
+        assertEquals(1L, telemetryListenerService.getStatistics().get("framesMalformed"));
+        verify(locationService, never()).recordLocation(any(), any());
+        // Unknown ids cost one reload of the known ids, no per-frame lookup and no per-UAV state
+        verify(uavRepository, times(1)).findAllIds();
+        verify(uavRepository, never()).findById(anyInt());
+        assertTrue(((Map<?, ?>) ReflectionTestUtils.getField(telemetryListenerService, "lastTimestamps")).isEmpty());
+    }
+
+    @Test
+    void testUavRegisteredAfterLoadIsAccepted() throws Exception {
+        ReflectionTestUtils.setField(telemetryListenerService, "knownUavRefreshMillis", 0L);
+        when(uavRepository.findAllIds()).thenReturn(List.of(), List.of(1));
+        when(uavRepository.findById(1)).thenReturn(Optional.of(testUAV));
+        long now = System.currentTimeMillis();
+
+        ByteBuffer datagram = ByteBuffer.allocate(TelemetryFrame.SIZE * 2);
+        TelemetryFrame.encode(datagram, 1, now, 40.0, -74.0, null, null, null, null);
+        TelemetryFrame.encode(datagram, 1, now + 1, 40.001, -74.0, null, null, null, null);
+        datagram.flip();
+        sender.write(datagram);
+
+        ArgumentCaptor<LocationHistory> captor = ArgumentCaptor.forClass(LocationHistory.class);
+        verify(locationService, timeout(2000)).recordLocation(eq(testUAV), captor.capture());
+        assertEquals(40.001, captor.getValue().getLatitude(), 1e-7);
+        assertEquals(1L, telemetryListenerService.getStatistics().get("framesUnknownUav"));
+    }
+
+    @Test
+    void testFutureDatedFrameDoesNotBlockLaterFixes() throws Exception {
+        when(uavRepository.findAllIds()).thenReturn(List.of(1));
+        when(uavRepository.findById(1)).thenReturn(Optional.of(testUAV));
+        long now = System.currentTimeMillis();
+
+        ByteBuffer future = ByteBuffer.allocate(TelemetryFrame.SIZE);
+        TelemetryFrame.encode(future, 1, now + 3_600_000L, 41.0, -74.0, null, null, null, null);
+        future.flip();
+        sender.write(future);
+
+        ByteBuffer current = ByteBuffer.allocate(TelemetryFrame.SIZE);
+        TelemetryFrame.encode(current, 1, now, 40.0, -74.0, null, null, null, null);
+        current.flip();
+        sender.write(current);
+
+        ArgumentCaptor<LocationHistory> captor = ArgumentCaptor.forClass(LocationHistory.class);
+        verify(locationService, timeout(2000)).recordLocation(eq(testUAV), captor.capture());
+        assertEquals(40.0, captor.getValue().getLatitude(), 1e-7);
+        assertEquals(1L, telemetryListenerService.getStatistics().get("framesFutureDated"));
+        assertEquals(0L, telemetryListenerService.getStatistics().get("framesStale"));
+    }
+
+    private void waitForStatistic(String name, long expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 2000;
+        while (!Long.valueOf(expected).equals(telemetryListenerService.getStatistics().get(name))
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(expected, telemetryListenerService.getStatistics().get(name));
+    }
+}